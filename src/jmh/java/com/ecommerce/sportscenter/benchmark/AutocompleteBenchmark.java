@@ -0,0 +1,51 @@
+package com.ecommerce.sportscenter.benchmark;
+
+import com.ecommerce.sportscenter.autocomplete.CompletionTrie;
+import com.ecommerce.sportscenter.autocomplete.Suggestion;
+import com.ecommerce.sportscenter.model.ProductResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/** Per-keystroke completion lookups. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class AutocompleteBenchmark {
+
+	@Param({"100000"})
+	int catalogSize;
+
+	@Param({"n", "nike tr", "salomon ultra carbon"})
+	String prefix;
+
+	private CompletionTrie trie;
+
+	@Setup
+	public void setUp() {
+		List<Suggestion> suggestions = new ArrayList<>();
+		List<CompletionTrie.Key> keys = new ArrayList<>();
+		for (ProductResponse product : CatalogFixtures.products(catalogSize)) {
+			suggestions.add(new Suggestion(product.getName(), Suggestion.Kind.PRODUCT, product.getId(),
+					product.getId() % 1000));
+			keys.add(new CompletionTrie.Key(product.getName().toLowerCase(Locale.ROOT), suggestions.size() - 1));
+		}
+		trie = CompletionTrie.build(suggestions, keys, 10, 64);
+	}
+
+	@Benchmark
+	public List<Suggestion> complete() {
+		return trie.complete(prefix, 8);
+	}
+
+}
@@ -0,0 +1,62 @@
+package com.ecommerce.sportscenter.benchmark;
+
+import com.ecommerce.sportscenter.basket.Basket;
+import com.ecommerce.sportscenter.basket.OffHeapBasketRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/** Basket reads and add-to-basket mutations against a populated off-heap store. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class BasketStoreBenchmark {
+
+	@Param({"1000000"})
+	int basketCount;
+
+	private OffHeapBasketRepository repository;
+	private UUID[] ids;
+
+	@Setup
+	public void setUp() {
+		repository = new OffHeapBasketRepository(16, 1L << 30, 100, Duration.ofDays(7), Clock.systemUTC());
+		ids = new UUID[basketCount];
+		ThreadLocalRandom random = ThreadLocalRandom.current();
+		for (int i = 0; i < basketCount; i++) {
+			ids[i] = UUID.randomUUID();
+			Basket basket = Basket.empty(ids[i]);
+			for (int line = random.nextInt(1, 6); line > 0; line--) {
+				basket = basket.withQuantity(random.nextInt(1, 100_000), random.nextInt(1, 4));
+			}
+			repository.save(basket);
+		}
+	}
+
+	@Benchmark
+	public Optional<Basket> read() {
+		return repository.findById(ids[ThreadLocalRandom.current().nextInt(basketCount)]);
+	}
+
+	@Benchmark
+	public Optional<Basket> addItem() {
+		ThreadLocalRandom random = ThreadLocalRandom.current();
+		int productId = random.nextInt(1, 100_000);
+		return repository.update(ids[random.nextInt(basketCount)],
+				basket -> basket.lines().size() < 20 ? basket.withQuantity(productId, basket.quantityOf(productId) + 1)
+						: basket.withQuantity(basket.lines().get(0).productId(), 0));
+	}
+
+}
@@ -0,0 +1,64 @@
+package com.ecommerce.sportscenter.benchmark;
+
+import com.ecommerce.sportscenter.cache.CatalogCache;
+import com.ecommerce.sportscenter.cache.CatalogCacheProperties;
+import com.ecommerce.sportscenter.model.ProductResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/** Product card lookups served from a warm {@link CatalogCache}. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class CatalogCacheBenchmark {
+
+	@Param({"100000"})
+	int catalogSize;
+
+	private CatalogCache cache;
+	private Map<Integer, ProductResponse> database;
+	private Function<Integer, ProductResponse> loader;
+	private Function<List<Integer>, Map<Integer, ProductResponse>> bulkLoader;
+
+	@Setup
+	public void setUp() {
+		database = CatalogFixtures.products(catalogSize).stream()
+				.collect(Collectors.toMap(ProductResponse::getId, Function.identity()));
+		cache = new CatalogCache(new CatalogCacheProperties());
+		loader = database::get;
+		bulkLoader = ids -> ids.stream().collect(Collectors.toMap(Function.identity(), database::get));
+		for (int id = 1; id <= catalogSize; id++) {
+			cache.getProduct(id, loader);
+		}
+	}
+
+	@Benchmark
+	public ProductResponse productLookup() {
+		return cache.getProduct(ThreadLocalRandom.current().nextInt(1, catalogSize + 1), loader);
+	}
+
+	@Benchmark
+	public List<ProductResponse> listingPageLookup() {
+		int first = ThreadLocalRandom.current().nextInt(1, catalogSize - 20);
+		List<Integer> ids = new ArrayList<>(20);
+		for (int id = first; id < first + 20; id++) {
+			ids.add(id);
+		}
+		return cache.getProducts(ids, bulkLoader);
+	}
+
+}
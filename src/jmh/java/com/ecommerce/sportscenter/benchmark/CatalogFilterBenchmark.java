@@ -0,0 +1,73 @@
+package com.ecommerce.sportscenter.benchmark;
+
+import com.ecommerce.sportscenter.facet.FacetIndex;
+import com.ecommerce.sportscenter.facet.FacetQuery;
+import com.ecommerce.sportscenter.facet.FacetResult;
+import com.ecommerce.sportscenter.model.ProductResponse;
+import com.ecommerce.sportscenter.search.InvertedIndex;
+import com.ecommerce.sportscenter.search.SearchHit;
+import com.ecommerce.sportscenter.search.TextAnalyzer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/** Storefront filtering (facets) and full-text search over an in-memory catalog. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class CatalogFilterBenchmark {
+
+	@Param({"100000"})
+	int catalogSize;
+
+	private FacetIndex facetIndex;
+	private InvertedIndex searchIndex;
+	private List<String> searchTerms;
+	private FacetQuery brandTypePriceQuery;
+	private FacetQuery unfilteredQuery;
+
+	@Setup
+	public void setUp() {
+		TextAnalyzer analyzer = new TextAnalyzer();
+		facetIndex = new FacetIndex(List.of(0L, 2500L, 5000L, 10000L, 20000L, 50000L));
+		searchIndex = new InvertedIndex();
+		for (ProductResponse product : CatalogFixtures.products(catalogSize)) {
+			facetIndex.put(product.getId(), product.getBrandId(), product.getTypeId(), product.getPrice());
+			Map<String, Integer> frequencies = new HashMap<>();
+			analyzer.analyze(product.getName() + " " + product.getDescription())
+					.forEach(term -> frequencies.merge(term, 1, Integer::sum));
+			searchIndex.index(product.getId(), frequencies);
+		}
+		searchIndex.compact();
+		searchTerms = analyzer.analyze("waterproof trail running shoes");
+		brandTypePriceQuery = new FacetQuery(Set.of(1, 2, 3), Set.of(1), 3000L, 15000L, -1, 20);
+		unfilteredQuery = new FacetQuery(Set.of(), Set.of(), null, null, -1, 20);
+	}
+
+	@Benchmark
+	public FacetResult facetBrandTypePrice() {
+		return facetIndex.query(brandTypePriceQuery);
+	}
+
+	@Benchmark
+	public FacetResult facetUnfiltered() {
+		return facetIndex.query(unfilteredQuery);
+	}
+
+	@Benchmark
+	public List<SearchHit> fullTextSearch() {
+		return searchIndex.search(searchTerms, 20);
+	}
+
+}
@@ -0,0 +1,49 @@
+package com.ecommerce.sportscenter.benchmark;
+
+import com.ecommerce.sportscenter.model.ProductResponse;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/** Deterministic synthetic catalog shared by the benchmarks. */
+final class CatalogFixtures {
+
+	static final String[] BRANDS = {"Nike", "Adidas", "Puma", "Asics", "Reebok", "Under Armour", "New Balance",
+			"Salomon", "Wilson", "Head", "Babolat", "Mizuno"};
+	static final String[] TYPES = {"Shoes", "Boots", "Gloves", "Rackets", "Balls", "Boards", "Hats", "Bags"};
+	static final String[] WORDS = {"trail", "road", "running", "training", "pro", "elite", "lite", "max", "air",
+			"court", "grip", "ultra", "speed", "carbon", "classic", "junior", "indoor", "outdoor", "waterproof",
+			"breathable", "cushioned", "lightweight", "performance", "competition", "tour", "team", "club"};
+
+	private CatalogFixtures() {
+	}
+
+	static List<ProductResponse> products(int count) {
+		SplittableRandom random = new SplittableRandom(42);
+		List<ProductResponse> products = new ArrayList<>(count);
+		for (int id = 1; id <= count; id++) {
+			int brand = random.nextInt(BRANDS.length);
+			int type = random.nextInt(TYPES.length);
+			String name = BRANDS[brand] + " " + word(random) + " " + word(random) + " " + TYPES[type];
+			products.add(ProductResponse.builder()
+					.id(id)
+					.name(name)
+					.description("The " + name + " for " + word(random) + " " + word(random) + " and "
+							+ word(random) + " athletes.")
+					.price(500L + random.nextLong(60_000))
+					.pictureUrl("images/products/" + id + ".png")
+					.brandId(brand + 1)
+					.productBrand(BRANDS[brand])
+					.typeId(type + 1)
+					.productType(TYPES[type])
+					.build());
+		}
+		return products;
+	}
+
+	private static String word(SplittableRandom random) {
+		return WORDS[random.nextInt(WORDS.length)];
+	}
+
+}
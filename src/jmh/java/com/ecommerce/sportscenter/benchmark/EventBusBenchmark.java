@@ -0,0 +1,89 @@
+package com.ecommerce.sportscenter.benchmark;
+
+import com.ecommerce.sportscenter.eventbus.BusEvent;
+import com.ecommerce.sportscenter.eventbus.BusEventHandler;
+import com.ecommerce.sportscenter.eventbus.BusEventType;
+import com.ecommerce.sportscenter.eventbus.EventBusProperties;
+import com.ecommerce.sportscenter.eventbus.RingBufferEventBus;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.PayloadApplicationEvent;
+import org.springframework.context.event.SimpleApplicationEventMulticaster;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Publishing product views from several request threads to the {@link RingBufferEventBus}, against
+ * Spring's synchronous event multicaster delivering an event object to a listener. Run with
+ * {@code -prof gc} to compare allocation per event.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Threads(4)
+public class EventBusBenchmark {
+
+	private RingBufferEventBus bus;
+	private SimpleApplicationEventMulticaster multicaster;
+	private final LongAdder views = new LongAdder();
+
+	@Setup
+	public void setUp() {
+		bus = new RingBufferEventBus(new EventBusProperties(), List.of(new CountingHandler()),
+				new SimpleMeterRegistry());
+		bus.start();
+		multicaster = new SimpleApplicationEventMulticaster();
+		multicaster.addApplicationListener((ApplicationListener<PayloadApplicationEvent<ProductViewed>>) event ->
+				views.increment());
+	}
+
+	@TearDown
+	public void tearDown() throws InterruptedException {
+		bus.stop();
+	}
+
+	@Benchmark
+	public boolean ringBuffer() {
+		return bus.productViewed(ThreadLocalRandom.current().nextInt(1, 100_000));
+	}
+
+	@Benchmark
+	public void applicationEvents() {
+		multicaster.multicastEvent(new PayloadApplicationEvent<>(this,
+				new ProductViewed(ThreadLocalRandom.current().nextInt(1, 100_000))));
+	}
+
+	record ProductViewed(int productId) {
+	}
+
+	private static final class CountingHandler implements BusEventHandler {
+
+		private long views;
+
+		@Override
+		public Set<BusEventType> eventTypes() {
+			return EnumSet.of(BusEventType.PRODUCT_VIEWED);
+		}
+
+		@Override
+		public void onEvent(BusEvent event) {
+			views += event.productId() & 1;
+		}
+
+	}
+
+}
@@ -0,0 +1,131 @@
+package com.ecommerce.sportscenter.benchmark;
+
+import com.ecommerce.sportscenter.model.ProductResponse;
+import com.ecommerce.sportscenter.pricing.CompiledPromotions;
+import com.ecommerce.sportscenter.pricing.PromotionRule;
+import com.ecommerce.sportscenter.pricing.PromotionRule.Scope;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Promotion pricing of a product card and of a basket with {@link CompiledPromotions}, against
+ * checking every rule for every line as a plain rule list would.
+ */
+@State(org.openjdk.jmh.annotations.Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class PricingBenchmark {
+
+	@Param({"20", "500"})
+	int ruleCount;
+
+	@Param({"20"})
+	int basketLines;
+
+	private final long now = Instant.parse("2024-06-01T12:00:00Z").toEpochMilli();
+	private List<PromotionRule> rules;
+	private CompiledPromotions promotions;
+	private ProductResponse card;
+	private int[] brandIds;
+	private int[] typeIds;
+	private long[] prices;
+	private int[] quantities;
+	private long[] unitPricesOut;
+	private int[] rulesOut;
+
+	@Setup
+	public void setUp() {
+		SplittableRandom random = new SplittableRandom(7);
+		rules = new ArrayList<>(ruleCount);
+		for (int i = 0; i < ruleCount; i++) {
+			Scope scope = switch (i % 3) {
+				case 0 -> Scope.BRAND;
+				case 1 -> Scope.TYPE;
+				default -> Scope.ALL;
+			};
+			Integer targetId = switch (scope) {
+				case BRAND -> 1 + random.nextInt(CatalogFixtures.BRANDS.length);
+				case TYPE -> 1 + random.nextInt(CatalogFixtures.TYPES.length);
+				case ALL -> null;
+			};
+			boolean percent = random.nextBoolean();
+			rules.add(new PromotionRule("rule-" + i, scope, targetId, percent ? 1 + random.nextInt(30) : null,
+					percent ? null : 100L + random.nextInt(2_000), i % 5 == 0 ? 10_000L + random.nextInt(50_000) : null,
+					i % 7 == 0 ? "CODE" + i % 4 : null, i % 4 == 0 ? Instant.ofEpochMilli(now - 60_000) : null,
+					i % 4 == 0 ? Instant.ofEpochMilli(now + 60_000) : null));
+		}
+		promotions = CompiledPromotions.compile(rules);
+
+		List<ProductResponse> products = CatalogFixtures.products(basketLines);
+		card = products.get(0);
+		brandIds = new int[basketLines];
+		typeIds = new int[basketLines];
+		prices = new long[basketLines];
+		quantities = new int[basketLines];
+		for (int i = 0; i < basketLines; i++) {
+			brandIds[i] = products.get(i).getBrandId();
+			typeIds[i] = products.get(i).getTypeId();
+			prices[i] = products.get(i).getPrice();
+			quantities[i] = 1 + random.nextInt(3);
+		}
+		unitPricesOut = new long[basketLines];
+		rulesOut = new int[basketLines];
+	}
+
+	@Benchmark
+	public long productCard() {
+		return promotions.unitPrice(card.getBrandId(), card.getTypeId(), card.getPrice(), now);
+	}
+
+	@Benchmark
+	public long basket() {
+		return promotions.priceBasket(brandIds, typeIds, prices, quantities, basketLines, "CODE0", now, unitPricesOut,
+				rulesOut);
+	}
+
+	@Benchmark
+	public long basketRuleList() {
+		long subtotal = 0;
+		for (int line = 0; line < basketLines; line++) {
+			subtotal += prices[line] * quantities[line];
+		}
+		long discount = 0;
+		for (int line = 0; line < basketLines; line++) {
+			long best = 0;
+			for (PromotionRule rule : rules) {
+				if (applies(rule, brandIds[line], typeIds[line], subtotal, "CODE0")) {
+					long ruleDiscount = rule.percentOff() != null ? prices[line] * rule.percentOff() / 100
+							: Math.min(rule.amountOff(), prices[line]);
+					best = Math.max(best, ruleDiscount);
+				}
+			}
+			discount += best * quantities[line];
+		}
+		return discount;
+	}
+
+	private boolean applies(PromotionRule rule, int brandId, int typeId, long subtotal, String couponCode) {
+		boolean inScope = switch (rule.scope()) {
+			case ALL -> true;
+			case BRAND -> rule.targetId() == brandId;
+			case TYPE -> rule.targetId() == typeId;
+		};
+		return inScope
+				&& (rule.couponCode() == null || rule.couponCode().equalsIgnoreCase(couponCode))
+				&& (rule.minSubtotal() == null || rule.minSubtotal() <= subtotal)
+				&& (rule.startsAt() == null || rule.startsAt().toEpochMilli() <= now)
+				&& (rule.endsAt() == null || rule.endsAt().toEpochMilli() > now);
+	}
+
+}
@@ -0,0 +1,54 @@
+package com.ecommerce.sportscenter.benchmark;
+
+import com.ecommerce.sportscenter.model.CursorPage;
+import com.ecommerce.sportscenter.model.ProductResponse;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/** JSON serialization of product DTOs as the listing endpoints return them. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ProductJsonBenchmark {
+
+	private ObjectWriter productWriter;
+	private ObjectWriter pageWriter;
+	private ProductResponse product;
+	private CursorPage<ProductResponse> page;
+
+	@Setup
+	public void setUp() {
+		ObjectMapper mapper = new ObjectMapper();
+		productWriter = mapper.writerFor(ProductResponse.class);
+		pageWriter = mapper.writerFor(CursorPage.class);
+		List<ProductResponse> products = CatalogFixtures.products(20);
+		product = products.get(0);
+		page = CursorPage.<ProductResponse>builder()
+				.content(products)
+				.nextCursor("djF8UFJJQ0V8QVNDfDIwfDQ5OTk")
+				.hasMore(true)
+				.build();
+	}
+
+	@Benchmark
+	public byte[] singleProduct() throws JsonProcessingException {
+		return productWriter.writeValueAsBytes(product);
+	}
+
+	@Benchmark
+	public byte[] listingPage() throws JsonProcessingException {
+		return pageWriter.writeValueAsBytes(page);
+	}
+
+}
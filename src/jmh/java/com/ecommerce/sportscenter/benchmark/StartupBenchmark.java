@@ -0,0 +1,68 @@
+package com.ecommerce.sportscenter.benchmark;
+
+import com.ecommerce.sportscenter.SportscenterApplication;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cold start of the whole application, up to ready to serve, against an empty in-memory database.
+ * Every fork is a fresh JVM that starts the application once, so the score is the mean first start.
+ * The {@code benchmarks} profile runs it in an execution of its own that fixes one start per fork;
+ * set the number of forks, 10 or more, with {@code -Djmh.startupForks}. When running it by hand, do
+ * not pass {@code -wi} or {@code -i}: further starts in a fork are warm restarts against the database
+ * the first one left behind. The {@code fast-startup} variant adds lazy initialization and background
+ * JPA bootstrap. To include AOT, build with {@code -Pfast-startup} and pass
+ * {@code -Djmh.jvmArgsAppend=-Dspring.aot.enabled=true}. The CDS archive only matches the extracted
+ * jar it was trained on, not the benchmark's class path, so compare it by starting that jar with and
+ * without {@code -XX:SharedArchiveFile}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(10)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+public class StartupBenchmark {
+
+	@Param({"default", "fast-startup"})
+	String profile;
+
+	private ConfigurableApplicationContext context;
+
+	@Benchmark
+	public ConfigurableApplicationContext startUntilReady() {
+		// Command-line arguments, so they override the profile's own schema and dialect settings.
+		context = new SpringApplicationBuilder(SportscenterApplication.class)
+				.profiles(profile)
+				.run("--server.port=0",
+						"--spring.datasource.url=jdbc:h2:mem:startup;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+						"--spring.datasource.username=sa",
+						"--spring.datasource.password=",
+						"--spring.jpa.hibernate.ddl-auto=create",
+						"--spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+						"--logging.level.root=warn");
+		return context;
+	}
+
+	@TearDown(Level.Iteration)
+	public void stop() {
+		if (context != null) {
+			context.close();
+		}
+	}
+
+}
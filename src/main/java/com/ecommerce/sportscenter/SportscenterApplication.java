@@ -2,8 +2,12 @@ package com.ecommerce.sportscenter;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
+import org.springframework.context.annotation.ImportRuntimeHints;
 
 @SpringBootApplication
+@ConfigurationPropertiesScan
+@ImportRuntimeHints(SportscenterRuntimeHints.class)
 public class SportscenterApplication {
 
 	public static void main(String[] args) {
@@ -0,0 +1,38 @@
+package com.ecommerce.sportscenter;
+
+import com.ecommerce.sportscenter.model.OrderResponse;
+import com.ecommerce.sportscenter.model.ProductResponse;
+import com.ecommerce.sportscenter.outbox.OutboxMessage;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+
+/**
+ * Native-image hints for what Spring's AOT processing cannot see on its own. Entities, controller
+ * request and response types (with their Lombok accessors) and configuration properties are
+ * registered by Spring itself; this covers the rest:
+ * <ul>
+ * <li>the JCache provider and region configuration, which Hibernate looks up by name;</li>
+ * <li>types Jackson serializes outside of controllers, such as the product feed and outbox events.</li>
+ * </ul>
+ */
+class SportscenterRuntimeHints implements RuntimeHintsRegistrar {
+
+	static final String JCACHE_PROVIDER = "com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider";
+
+	private final BindingReflectionHintsRegistrar bindingHints = new BindingReflectionHintsRegistrar();
+
+	@Override
+	public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+		hints.reflection().registerTypeIfPresent(classLoader, JCACHE_PROVIDER,
+				MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+		hints.resources().registerPattern("hibernate-jcache.conf");
+		// Typesafe Config defaults that Caffeine's JCache configuration falls back on.
+		hints.resources().registerPattern("reference.conf");
+
+		bindingHints.registerReflectionHints(hints.reflection(), ProductResponse.class, OrderResponse.class,
+				OutboxMessage.class);
+	}
+
+}
@@ -0,0 +1,27 @@
+package com.ecommerce.sportscenter.autocomplete;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "sportscenter.autocomplete")
+public class AutocompleteProperties {
+
+	/** Products fetched per query while loading the catalog at startup. */
+	private int loadBatchSize = 1000;
+
+	/** Largest number of completions a request may ask for. */
+	private int topK = 10;
+
+	/** Trie nodes covering at most this many keys are scanned per query instead of precomputed. */
+	private int scanThreshold = 64;
+
+	/** Also complete from the start of every word in a product name, not only from its beginning. */
+	private boolean indexWordStarts = true;
+
+	/** How often the background job checks for catalog or popularity changes to publish. */
+	private Duration rebuildInterval = Duration.ofSeconds(30);
+
+}
@@ -0,0 +1,193 @@
+package com.ecommerce.sportscenter.autocomplete;
+
+import com.ecommerce.sportscenter.event.CatalogImportedEvent;
+import com.ecommerce.sportscenter.event.ProductChangedEvent;
+import com.ecommerce.sportscenter.model.ProductResponse;
+import com.ecommerce.sportscenter.service.ProductCatalogScanner;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Serves search-box completions from an immutable {@link CompletionTrie}.
+ * <p>
+ * Committed catalog changes reach a small source map through the event bus; a scheduled job rebuilds
+ * the trie from that map off the request path and publishes it with a single volatile write, so
+ * readers never block and always see a complete trie. A full load scans into a fresh source map and
+ * swaps it in whole, so a rebuild that runs meanwhile still works from the previous complete map;
+ * products changed during the scan are reloaded into the new map afterwards.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class AutocompleteService {
+
+	private final AtomicBoolean dirty = new AtomicBoolean();
+	private final ReentrantLock rebuildLock = new ReentrantLock();
+	private final ReentrantLock loadLock = new ReentrantLock();
+	private final Set<Integer> changedDuringLoad = ConcurrentHashMap.newKeySet();
+	private final ProductCatalogScanner catalogScanner;
+	private final ProductPopularity popularity;
+	private final AutocompleteProperties properties;
+	private volatile Map<Integer, Entry> entries = new ConcurrentHashMap<>();
+	private volatile boolean loading;
+	private volatile CompletionTrie trie = CompletionTrie.empty();
+	private long publishedPopularityVersion = -1;
+
+	@EventListener({ApplicationReadyEvent.class, CatalogImportedEvent.class})
+	public void load() {
+		loadLock.lock();
+		try {
+			changedDuringLoad.clear();
+			loading = true;
+			Map<Integer, Entry> loaded = new ConcurrentHashMap<>();
+			try {
+				catalogScanner.scan(properties.getLoadBatchSize(),
+						batch -> batch.forEach(product -> put(loaded, product)));
+				rebuildLock.lock();
+				try {
+					entries = loaded;
+					dirty.set(true);
+				}
+				finally {
+					rebuildLock.unlock();
+				}
+			}
+			finally {
+				loading = false;
+			}
+			for (Integer productId : changedDuringLoad) {
+				changedDuringLoad.remove(productId);
+				refresh(productId);
+			}
+		}
+		finally {
+			loadLock.unlock();
+		}
+		rebuildIfChanged();
+	}
+
+	/** Called from the event bus's {@code CacheInvalidationHandler} once a product change has committed. */
+	public void onProductChanged(ProductChangedEvent event) {
+		if (loading) {
+			changedDuringLoad.add(event.productId());
+		}
+		if (event.changeType() == ProductChangedEvent.ChangeType.DELETED) {
+			entries.remove(event.productId());
+			popularity.forget(event.productId());
+		}
+		else {
+			refresh(event.productId());
+		}
+		dirty.set(true);
+	}
+
+	@Scheduled(fixedDelayString = "${sportscenter.autocomplete.rebuild-interval:PT30S}")
+	public void rebuildIfChanged() {
+		// A lock rather than synchronized: a rebuild can be long and must not pin a virtual thread.
+		rebuildLock.lock();
+		try {
+			long popularityVersion = popularity.version();
+			if (!dirty.getAndSet(false) && popularityVersion == publishedPopularityVersion) {
+				return;
+			}
+			long start = System.nanoTime();
+			CompletionTrie rebuilt = build();
+			trie = rebuilt;
+			publishedPopularityVersion = popularityVersion;
+			log.debug("Autocomplete trie rebuilt: {} suggestions, {} nodes in {} ms", rebuilt.size(),
+					rebuilt.nodeCount(), (System.nanoTime() - start) / 1_000_000);
+		}
+		finally {
+			rebuildLock.unlock();
+		}
+	}
+
+	public List<Suggestion> complete(String prefix, int limit) {
+		return trie.complete(normalize(prefix), limit);
+	}
+
+	private void refresh(int productId) {
+		Map<Integer, Entry> current = entries;
+		catalogScanner.load(productId).ifPresentOrElse(product -> put(current, product),
+				() -> current.remove(productId));
+	}
+
+	private static void put(Map<Integer, Entry> target, ProductResponse product) {
+		target.put(product.getId(), new Entry(product.getName(), product.getBrandId(), product.getProductBrand()));
+	}
+
+	private CompletionTrie build() {
+		Map<Integer, Entry> entries = this.entries;
+		List<Suggestion> suggestions = new ArrayList<>(entries.size());
+		List<CompletionTrie.Key> keys = new ArrayList<>(entries.size() * 2);
+		Map<Integer, String> brandNames = new HashMap<>();
+		Map<Integer, Long> brandWeights = new HashMap<>();
+
+		entries.forEach((productId, entry) -> {
+			long weight = 1 + popularity.views(productId);
+			int index = suggestions.size();
+			suggestions.add(new Suggestion(entry.name(), Suggestion.Kind.PRODUCT, productId, weight));
+			addKeys(keys, entry.name(), index);
+			if (entry.brandName() != null) {
+				brandNames.put(entry.brandId(), entry.brandName());
+				brandWeights.merge(entry.brandId(), weight, Long::sum);
+			}
+		});
+		brandNames.forEach((brandId, name) -> {
+			int index = suggestions.size();
+			suggestions.add(new Suggestion(name, Suggestion.Kind.BRAND, brandId, brandWeights.get(brandId)));
+			keys.add(new CompletionTrie.Key(normalize(name), index));
+		});
+		return CompletionTrie.build(suggestions, keys, properties.getTopK(), properties.getScanThreshold());
+	}
+
+	private void addKeys(List<CompletionTrie.Key> keys, String name, int index) {
+		String normalized = normalize(name);
+		keys.add(new CompletionTrie.Key(normalized, index));
+		if (properties.isIndexWordStarts()) {
+			for (int i = normalized.indexOf(' '); i >= 0; i = normalized.indexOf(' ', i + 1)) {
+				keys.add(new CompletionTrie.Key(normalized.substring(i + 1), index));
+			}
+		}
+	}
+
+	/** Lower-cases and reduces every run of non-alphanumeric characters to a single space. */
+	static String normalize(String text) {
+		if (text == null) {
+			return "";
+		}
+		StringBuilder normalized = new StringBuilder(text.length());
+		boolean pendingSpace = false;
+		for (int i = 0; i < text.length(); i++) {
+			char c = text.charAt(i);
+			if (Character.isLetterOrDigit(c)) {
+				if (pendingSpace && !normalized.isEmpty()) {
+					normalized.append(' ');
+				}
+				pendingSpace = false;
+				normalized.append(Character.toLowerCase(c));
+			}
+			else {
+				pendingSpace = true;
+			}
+		}
+		return normalized.toString();
+	}
+
+	private record Entry(String name, Integer brandId, String brandName) {
+	}
+
+}
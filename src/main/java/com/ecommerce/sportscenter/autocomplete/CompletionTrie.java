@@ -0,0 +1,301 @@
+package com.ecommerce.sportscenter.autocomplete;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Immutable radix trie answering weighted prefix completions.
+ * <p>
+ * All keys are sorted once at build time, so every node covers a contiguous range of the sorted key
+ * array. Nodes, edge labels and the per-key suggestion references are flattened into primitive
+ * arrays. Only nodes whose range is larger than {@code scanThreshold} keys carry a precomputed top-k
+ * list; smaller ranges are scanned at query time, which bounds the extra memory to a fraction of
+ * the key count while keeping every lookup to a short walk plus at most a handful of comparisons.
+ */
+public final class CompletionTrie {
+
+	private static final int NO_TOP = -1;
+
+	private final Suggestion[] suggestions;
+	private final int[] keySuggestion;
+	private final char[] labels;
+	private final int[] labelStart;
+	private final int[] labelLength;
+	private final int[] firstChild;
+	private final int[] childCount;
+	private final int[] rangeStart;
+	private final int[] rangeEnd;
+	private final int[] topStart;
+	private final int[] topCount;
+	private final int[] top;
+	private final int topK;
+
+	private CompletionTrie(Builder builder) {
+		this.suggestions = builder.suggestions;
+		this.keySuggestion = builder.keySuggestion;
+		this.labels = builder.labels.toString().toCharArray();
+		this.labelStart = builder.labelStart.toArray();
+		this.labelLength = builder.labelLength.toArray();
+		this.firstChild = builder.firstChild.toArray();
+		this.childCount = builder.childCount.toArray();
+		this.rangeStart = builder.rangeStart.toArray();
+		this.rangeEnd = builder.rangeEnd.toArray();
+		this.topStart = builder.topStart.toArray();
+		this.topCount = builder.topCount.toArray();
+		this.top = builder.top.toArray();
+		this.topK = builder.topK;
+	}
+
+	public static CompletionTrie empty() {
+		return build(List.of(), List.of(), 1, 1);
+	}
+
+	/**
+	 * @param suggestions the things that can be suggested
+	 * @param keys normalized lookup keys, each paired with the index of its suggestion; one
+	 * suggestion may be reachable through several keys (e.g. one per word)
+	 * @param topK the largest number of completions a query may ask for
+	 * @param scanThreshold ranges up to this many keys are scanned instead of precomputed
+	 */
+	public static CompletionTrie build(List<Suggestion> suggestions, List<Key> keys, int topK, int scanThreshold) {
+		return new Builder(suggestions, keys, topK, Math.max(topK, scanThreshold)).build();
+	}
+
+	public int size() {
+		return suggestions.length;
+	}
+
+	public int nodeCount() {
+		return labelStart.length;
+	}
+
+	/** Returns up to {@code limit} distinct suggestions for the normalized prefix, heaviest first. */
+	public List<Suggestion> complete(String prefix, int limit) {
+		int count = Math.min(limit, topK);
+		if (count <= 0 || keySuggestion.length == 0) {
+			return List.of();
+		}
+		int node = find(prefix);
+		if (node < 0) {
+			return List.of();
+		}
+		int[] best = topStart[node] != NO_TOP
+				? Arrays.copyOfRange(top, topStart[node], topStart[node] + Math.min(count, topCount[node]))
+				: selectTop(keySuggestion, rangeStart[node], rangeEnd[node], suggestions, count);
+		List<Suggestion> result = new ArrayList<>(best.length);
+		for (int index : best) {
+			result.add(suggestions[index]);
+		}
+		return result;
+	}
+
+	private int find(String prefix) {
+		int node = 0;
+		int matched = 0;
+		while (matched < prefix.length()) {
+			int child = findChild(node, prefix.charAt(matched));
+			if (child < 0) {
+				return -1;
+			}
+			int start = labelStart[child];
+			int length = labelLength[child];
+			for (int i = 0; i < length && matched < prefix.length(); i++, matched++) {
+				if (labels[start + i] != prefix.charAt(matched)) {
+					return -1;
+				}
+			}
+			node = child;
+		}
+		return node;
+	}
+
+	private int findChild(int node, char c) {
+		int low = firstChild[node];
+		int high = low + childCount[node] - 1;
+		while (low <= high) {
+			int mid = (low + high) >>> 1;
+			char first = labels[labelStart[mid]];
+			if (first < c) {
+				low = mid + 1;
+			}
+			else if (first > c) {
+				high = mid - 1;
+			}
+			else {
+				return mid;
+			}
+		}
+		return -1;
+	}
+
+	/** Picks the {@code count} heaviest distinct suggestions among {@code candidates[from, to)}. */
+	static int[] selectTop(int[] candidates, int from, int to, Suggestion[] suggestions, int count) {
+		int[] best = new int[count];
+		int size = 0;
+		for (int i = from; i < to; i++) {
+			int candidate = candidates[i];
+			if (contains(best, size, candidate)) {
+				continue;
+			}
+			long weight = suggestions[candidate].weight();
+			if (size == count && weight <= suggestions[best[size - 1]].weight()) {
+				continue;
+			}
+			int position = size == count ? size - 1 : size++;
+			while (position > 0 && suggestions[best[position - 1]].weight() < weight) {
+				best[position] = best[position - 1];
+				position--;
+			}
+			best[position] = candidate;
+		}
+		return size == count ? best : Arrays.copyOf(best, size);
+	}
+
+	private static boolean contains(int[] values, int size, int value) {
+		for (int i = 0; i < size; i++) {
+			if (values[i] == value) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/** A normalized lookup key pointing at a suggestion. */
+	public record Key(String text, int suggestion) {
+	}
+
+	private static final class Builder {
+
+		private final Suggestion[] suggestions;
+		private final String[] keys;
+		private final int[] keySuggestion;
+		private final int topK;
+		private final int scanThreshold;
+		private final StringBuilder labels = new StringBuilder();
+		private final IntList labelStart = new IntList();
+		private final IntList labelLength = new IntList();
+		private final IntList firstChild = new IntList();
+		private final IntList childCount = new IntList();
+		private final IntList rangeStart = new IntList();
+		private final IntList rangeEnd = new IntList();
+		private final IntList topStart = new IntList();
+		private final IntList topCount = new IntList();
+		private final IntList top = new IntList();
+
+		Builder(List<Suggestion> suggestions, List<Key> keys, int topK, int scanThreshold) {
+			this.suggestions = suggestions.toArray(Suggestion[]::new);
+			List<Key> sorted = keys.stream()
+					.filter(key -> !key.text().isEmpty())
+					.sorted(Comparator.comparing(Key::text).thenComparingInt(Key::suggestion))
+					.toList();
+			this.keys = new String[sorted.size()];
+			this.keySuggestion = new int[sorted.size()];
+			for (int i = 0; i < sorted.size(); i++) {
+				this.keys[i] = sorted.get(i).text();
+				this.keySuggestion[i] = sorted.get(i).suggestion();
+			}
+			this.topK = topK;
+			this.scanThreshold = scanThreshold;
+		}
+
+		CompletionTrie build() {
+			int root = addNode(0, 0, 0, keys.length);
+			fill(root, 0, keys.length, 0);
+			return new CompletionTrie(this);
+		}
+
+		private void fill(int node, int from, int to, int depth) {
+			int groupStart = from;
+			while (groupStart < to && keys[groupStart].length() == depth) {
+				groupStart++;
+			}
+			List<int[]> groups = new ArrayList<>();
+			while (groupStart < to) {
+				char c = keys[groupStart].charAt(depth);
+				int groupEnd = groupStart + 1;
+				while (groupEnd < to && keys[groupEnd].charAt(depth) == c) {
+					groupEnd++;
+				}
+				groups.add(new int[] {groupStart, groupEnd});
+				groupStart = groupEnd;
+			}
+
+			// Reserve the children first so siblings are contiguous and can be binary searched.
+			int first = labelStart.size();
+			firstChild.set(node, first);
+			childCount.set(node, groups.size());
+			int[] childDepth = new int[groups.size()];
+			for (int i = 0; i < groups.size(); i++) {
+				int[] group = groups.get(i);
+				int common = commonPrefix(keys[group[0]], keys[group[1] - 1], depth);
+				labels.append(keys[group[0]], depth, depth + common);
+				addNode(labels.length() - common, common, group[0], group[1]);
+				childDepth[i] = depth + common;
+			}
+			for (int i = 0; i < groups.size(); i++) {
+				fill(first + i, groups.get(i)[0], groups.get(i)[1], childDepth[i]);
+			}
+
+			if (to - from > scanThreshold) {
+				int[] best = selectTop(keySuggestion, from, to, suggestions, topK);
+				topStart.set(node, top.size());
+				topCount.set(node, best.length);
+				for (int index : best) {
+					top.add(index);
+				}
+			}
+		}
+
+		private int addNode(int start, int length, int from, int to) {
+			int node = labelStart.size();
+			labelStart.add(start);
+			labelLength.add(length);
+			firstChild.add(0);
+			childCount.add(0);
+			rangeStart.add(from);
+			rangeEnd.add(to);
+			topStart.add(NO_TOP);
+			topCount.add(0);
+			return node;
+		}
+
+		private static int commonPrefix(String a, String b, int from) {
+			int max = Math.min(a.length(), b.length());
+			int i = from;
+			while (i < max && a.charAt(i) == b.charAt(i)) {
+				i++;
+			}
+			return i - from;
+		}
+
+	}
+
+	private static final class IntList {
+
+		private int[] values = new int[16];
+		private int size;
+
+		void add(int value) {
+			if (size == values.length) {
+				values = Arrays.copyOf(values, size * 2);
+			}
+			values[size++] = value;
+		}
+
+		void set(int index, int value) {
+			values[index] = value;
+		}
+
+		int size() {
+			return size;
+		}
+
+		int[] toArray() {
+			return Arrays.copyOf(values, size);
+		}
+
+	}
+
+}
@@ -0,0 +1,36 @@
+package com.ecommerce.sportscenter.autocomplete;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/** Counts product detail views; used to weight completions. */
+@Component
+public class ProductPopularity {
+
+	private final Map<Integer, LongAdder> views = new ConcurrentHashMap<>();
+	private final AtomicLong version = new AtomicLong();
+
+	public void recordView(int productId) {
+		views.computeIfAbsent(productId, id -> new LongAdder()).increment();
+		version.incrementAndGet();
+	}
+
+	public long views(int productId) {
+		LongAdder adder = views.get(productId);
+		return adder == null ? 0 : adder.sum();
+	}
+
+	public void forget(int productId) {
+		views.remove(productId);
+	}
+
+	/** Changes whenever a view is recorded; lets readers cheaply detect that weights moved. */
+	public long version() {
+		return version.get();
+	}
+
+}
@@ -0,0 +1,9 @@
+package com.ecommerce.sportscenter.autocomplete;
+
+public record Suggestion(String text, Kind kind, int id, long weight) {
+
+	public enum Kind {
+		PRODUCT, BRAND
+	}
+
+}
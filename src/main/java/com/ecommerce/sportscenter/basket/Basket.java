@@ -0,0 +1,56 @@
+package com.ecommerce.sportscenter.basket;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/** Immutable basket contents, lines in the order they were first added. */
+public record Basket(UUID id, List<BasketLine> lines) {
+
+	public Basket {
+		lines = List.copyOf(lines);
+	}
+
+	public static Basket empty(UUID id) {
+		return new Basket(id, List.of());
+	}
+
+	public int quantityOf(int productId) {
+		for (BasketLine line : lines) {
+			if (line.productId() == productId) {
+				return line.quantity();
+			}
+		}
+		return 0;
+	}
+
+	public int totalQuantity() {
+		int total = 0;
+		for (BasketLine line : lines) {
+			total += line.quantity();
+		}
+		return total;
+	}
+
+	/** Returns a copy with the product's quantity set; zero removes the line. */
+	public Basket withQuantity(int productId, int quantity) {
+		List<BasketLine> updated = new ArrayList<>(lines.size() + 1);
+		boolean found = false;
+		for (BasketLine line : lines) {
+			if (line.productId() != productId) {
+				updated.add(line);
+			}
+			else {
+				found = true;
+				if (quantity > 0) {
+					updated.add(new BasketLine(productId, quantity));
+				}
+			}
+		}
+		if (!found && quantity > 0) {
+			updated.add(new BasketLine(productId, quantity));
+		}
+		return new Basket(id, updated);
+	}
+
+}
@@ -0,0 +1,46 @@
+package com.ecommerce.sportscenter.basket;
+
+import com.ecommerce.sportscenter.repository.StoredBasketRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Clock;
+
+/** Selects the {@link BasketRepository} implementation with {@code sportscenter.basket.store}. */
+@Slf4j
+@Configuration(proxyBeanMethods = false)
+public class BasketConfig {
+
+	@Bean
+	@ConditionalOnProperty(prefix = "sportscenter.basket", name = "store", havingValue = BasketProperties.OFF_HEAP,
+			matchIfMissing = true)
+	OffHeapBasketRepository offHeapBasketRepository(BasketProperties properties) {
+		OffHeapBasketRepository repository = new OffHeapBasketRepository(properties.getSegments(),
+				properties.getMaxMemory(), properties.getMaxLines(), properties.getIdleTtl(), Clock.systemUTC());
+		if (properties.getSnapshotPath() != null) {
+			try {
+				long restored = repository.restore(properties.getSnapshotPath());
+				log.info("Restored {} baskets from {}", restored, properties.getSnapshotPath());
+			}
+			catch (IOException ex) {
+				throw new UncheckedIOException("Could not restore baskets from " + properties.getSnapshotPath(), ex);
+			}
+		}
+		return repository;
+	}
+
+	@Bean
+	@ConditionalOnProperty(prefix = "sportscenter.basket", name = "store", havingValue = BasketProperties.JPA)
+	JpaBasketRepository jpaBasketRepository(StoredBasketRepository storedBasketRepository,
+			PlatformTransactionManager transactionManager, BasketProperties properties) {
+		return new JpaBasketRepository(storedBasketRepository, new TransactionTemplate(transactionManager),
+				properties.getIdleTtl(), Clock.systemUTC());
+	}
+
+}
@@ -0,0 +1,5 @@
+package com.ecommerce.sportscenter.basket;
+
+/** One product in a basket. Product details and prices are looked up when the basket is rendered. */
+public record BasketLine(int productId, int quantity) {
+}
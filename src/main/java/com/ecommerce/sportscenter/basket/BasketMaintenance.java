@@ -0,0 +1,49 @@
+package com.ecommerce.sportscenter.basket;
+
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+
+/** Background expiry of idle baskets and, for the off-heap store, snapshots to disk. */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class BasketMaintenance {
+
+	private final BasketRepository basketRepository;
+	private final BasketProperties properties;
+
+	@Scheduled(fixedDelayString = "${sportscenter.basket.expiry-interval:PT1M}")
+	public void removeExpired() {
+		int removed = basketRepository.removeExpired();
+		if (removed > 0) {
+			log.debug("Removed {} idle baskets", removed);
+		}
+	}
+
+	@Scheduled(fixedDelayString = "${sportscenter.basket.snapshot-interval:PT1M}")
+	public void snapshot() {
+		if (!(basketRepository instanceof OffHeapBasketRepository offHeap) || properties.getSnapshotPath() == null) {
+			return;
+		}
+		long start = System.nanoTime();
+		try {
+			long written = offHeap.snapshot(properties.getSnapshotPath());
+			log.debug("Snapshotted {} baskets to {} in {} ms", written, properties.getSnapshotPath(),
+					(System.nanoTime() - start) / 1_000_000);
+		}
+		catch (IOException ex) {
+			log.warn("Could not snapshot baskets to {}", properties.getSnapshotPath(), ex);
+		}
+	}
+
+	@PreDestroy
+	public void snapshotOnShutdown() {
+		snapshot();
+	}
+
+}
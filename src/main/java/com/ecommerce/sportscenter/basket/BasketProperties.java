@@ -0,0 +1,46 @@
+package com.ecommerce.sportscenter.basket;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "sportscenter.basket")
+public class BasketProperties {
+
+	public static final String OFF_HEAP = "off-heap";
+	public static final String JPA = "jpa";
+
+	/** Basket storage: {@code off-heap} (default) or {@code jpa}. */
+	private String store = OFF_HEAP;
+
+	/** Baskets not read or written for this long are discarded. */
+	private Duration idleTtl = Duration.ofDays(7);
+
+	/** Maximum number of distinct products in one basket. */
+	private int maxLines = 100;
+
+	/** Maximum quantity of a single product in one basket. */
+	private int maxQuantity = 99;
+
+	/** Upper bound on the direct memory used by the off-heap store, in bytes. */
+	private long maxMemory = 256L * 1024 * 1024;
+
+	/** Number of independently locked segments in the off-heap store; rounded up to a power of two. */
+	private int segments = 16;
+
+	/**
+	 * File the off-heap store is periodically written to and restored from at startup. Unset
+	 * disables snapshots, so baskets do not survive a restart.
+	 */
+	private Path snapshotPath;
+
+	/** How often the off-heap store is written to {@link #snapshotPath}. */
+	private Duration snapshotInterval = Duration.ofMinutes(1);
+
+	/** How often idle baskets are swept out of the store. */
+	private Duration expiryInterval = Duration.ofMinutes(1);
+
+}
@@ -0,0 +1,30 @@
+package com.ecommerce.sportscenter.basket;
+
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.UnaryOperator;
+
+/**
+ * Storage for shopping baskets. Every read or write of a basket counts as activity; baskets left
+ * idle for longer than the configured TTL disappear.
+ */
+public interface BasketRepository {
+
+	Optional<Basket> findById(UUID id);
+
+	void save(Basket basket);
+
+	/**
+	 * Atomically replaces a basket with the result of {@code mutation}. Concurrent updates of the same
+	 * basket are applied one after the other, never lost. Returns empty if the basket does not exist.
+	 */
+	Optional<Basket> update(UUID id, UnaryOperator<Basket> mutation);
+
+	void deleteById(UUID id);
+
+	/** Removes baskets idle for longer than the TTL and returns how many were removed. */
+	int removeExpired();
+
+	long count();
+
+}
@@ -0,0 +1,204 @@
+package com.ecommerce.sportscenter.basket;
+
+import com.ecommerce.sportscenter.eventbus.RingBufferEventBus;
+import com.ecommerce.sportscenter.exceptions.BasketNotFoundException;
+import com.ecommerce.sportscenter.model.BasketItemResponse;
+import com.ecommerce.sportscenter.model.BasketResponse;
+import com.ecommerce.sportscenter.model.ProductResponse;
+import com.ecommerce.sportscenter.pricing.CompiledPromotions;
+import com.ecommerce.sportscenter.pricing.PricingEngine;
+import com.ecommerce.sportscenter.service.ProductService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+import java.util.stream.Collectors;
+
+/**
+ * Basket operations for the storefront. Baskets hold only product ids and quantities; names and
+ * prices come from the catalog cache when a basket is rendered, so they are never stale, and
+ * promotions are applied to the whole basket at that point by the {@link PricingEngine}.
+ * <p>
+ * Calls into the basket store are timed as {@code sportscenter.basket.store}, tagged with the
+ * operation and the configured store. Every line change is published to the {@link RingBufferEventBus}.
+ */
+@Service
+public class BasketService {
+
+	private final BasketRepository basketRepository;
+	private final ProductService productService;
+	private final PricingEngine pricingEngine;
+	private final RingBufferEventBus eventBus;
+	private final BasketProperties properties;
+	private final Timer findTimer;
+	private final Timer saveTimer;
+	private final Timer updateTimer;
+	private final Timer deleteTimer;
+
+	public BasketService(BasketRepository basketRepository, ProductService productService,
+			PricingEngine pricingEngine, RingBufferEventBus eventBus, BasketProperties properties,
+			MeterRegistry meterRegistry) {
+		this.basketRepository = basketRepository;
+		this.productService = productService;
+		this.pricingEngine = pricingEngine;
+		this.eventBus = eventBus;
+		this.properties = properties;
+		this.findTimer = storeTimer(meterRegistry, "find");
+		this.saveTimer = storeTimer(meterRegistry, "save");
+		this.updateTimer = storeTimer(meterRegistry, "update");
+		this.deleteTimer = storeTimer(meterRegistry, "delete");
+	}
+
+	public BasketResponse createBasket() {
+		Basket basket = Basket.empty(UUID.randomUUID());
+		saveTimer.record(() -> basketRepository.save(basket));
+		return toResponse(basket, null);
+	}
+
+	public BasketResponse getBasket(UUID basketId) {
+		return getBasket(basketId, null);
+	}
+
+	/** @param couponCode coupon entered by the customer, or null */
+	public BasketResponse getBasket(UUID basketId, String couponCode) {
+		return toResponse(findTimer.record(() -> basketRepository.findById(basketId))
+				.orElseThrow(() -> new BasketNotFoundException(basketId)), couponCode);
+	}
+
+	/** Adds {@code quantity} of a product on top of whatever the basket already holds. */
+	public BasketResponse addItem(UUID basketId, Integer productId, Integer quantity) {
+		if (productId == null) {
+			throw new IllegalArgumentException("Product id is required");
+		}
+		if (quantity == null || quantity < 1) {
+			throw new IllegalArgumentException("Quantity must be at least 1");
+		}
+		productService.getProductById(productId);
+		return mutate(basketId, productId,
+				basket -> withQuantity(basket, productId, added(basket.quantityOf(productId), quantity)));
+	}
+
+	/** Sets a product's quantity; zero removes it. */
+	public BasketResponse setQuantity(UUID basketId, Integer productId, Integer quantity) {
+		if (quantity == null || quantity < 0) {
+			throw new IllegalArgumentException("Quantity must not be negative");
+		}
+		if (quantity > 0) {
+			productService.getProductById(productId);
+		}
+		return mutate(basketId, productId, basket -> withQuantity(basket, productId, quantity));
+	}
+
+	public BasketResponse removeItem(UUID basketId, Integer productId) {
+		return mutate(basketId, productId, basket -> basket.withQuantity(productId, 0));
+	}
+
+	public void deleteBasket(UUID basketId) {
+		deleteTimer.record(() -> basketRepository.deleteById(basketId));
+	}
+
+	private BasketResponse mutate(UUID basketId, int productId, UnaryOperator<Basket> mutation) {
+		Basket updated = updateTimer.record(() -> basketRepository.update(basketId, mutation))
+				.orElseThrow(() -> new BasketNotFoundException(basketId));
+		eventBus.basketChanged(basketId, productId, updated.quantityOf(productId));
+		return toResponse(updated, null);
+	}
+
+	// An overflowing sum would come out negative and remove the line instead of being refused.
+	private int added(int current, int quantity) {
+		try {
+			return Math.addExact(current, quantity);
+		}
+		catch (ArithmeticException ex) {
+			throw new IllegalArgumentException("At most " + properties.getMaxQuantity() + " of a product per basket");
+		}
+	}
+
+	private Basket withQuantity(Basket basket, int productId, int quantity) {
+		if (quantity > properties.getMaxQuantity()) {
+			throw new IllegalArgumentException("At most " + properties.getMaxQuantity() + " of a product per basket");
+		}
+		Basket updated = basket.withQuantity(productId, quantity);
+		if (updated.lines().size() > properties.getMaxLines()) {
+			throw new IllegalArgumentException("A basket holds at most " + properties.getMaxLines() + " products");
+		}
+		return updated;
+	}
+
+	private Timer storeTimer(MeterRegistry meterRegistry, String operation) {
+		return Timer.builder("sportscenter.basket.store")
+				.description("Calls into the basket store")
+				.tag("operation", operation)
+				.tag("store", properties.getStore())
+				.register(meterRegistry);
+	}
+
+	private BasketResponse toResponse(Basket basket, String couponCode) {
+		Map<Integer, ProductResponse> products = productService.getProductsByIds(basket.lines().stream()
+						.map(BasketLine::productId)
+						.toList())
+				.stream()
+				.collect(Collectors.toMap(ProductResponse::getId, Function.identity()));
+
+		// Lines whose product has since been deleted are left out rather than failing the whole basket.
+		int size = basket.lines().size();
+		ProductResponse[] lineProducts = new ProductResponse[size];
+		int[] brandIds = new int[size];
+		int[] typeIds = new int[size];
+		long[] listPrices = new long[size];
+		int[] quantities = new int[size];
+		int count = 0;
+		for (BasketLine line : basket.lines()) {
+			ProductResponse product = products.get(line.productId());
+			if (product != null) {
+				lineProducts[count] = product;
+				brandIds[count] = product.getBrandId();
+				typeIds[count] = product.getTypeId();
+				listPrices[count] = product.getPrice();
+				quantities[count] = line.quantity();
+				count++;
+			}
+		}
+		long[] unitPrices = new long[count];
+		int[] appliedRules = new int[count];
+		CompiledPromotions promotions = pricingEngine.promotions();
+		long discount = promotions.priceBasket(brandIds, typeIds, listPrices, quantities, count, couponCode,
+				System.currentTimeMillis(), unitPrices, appliedRules);
+
+		List<BasketItemResponse> items = new ArrayList<>(count);
+		int totalQuantity = 0;
+		long subtotal = 0;
+		for (int i = 0; i < count; i++) {
+			ProductResponse product = lineProducts[i];
+			long lineTotal = unitPrices[i] * quantities[i];
+			items.add(BasketItemResponse.builder()
+					.productId(product.getId())
+					.name(product.getName())
+					.pictureUrl(product.getPictureUrl())
+					.productBrand(product.getProductBrand())
+					.productType(product.getProductType())
+					.listPrice(listPrices[i])
+					.unitPrice(unitPrices[i])
+					.promotionId(appliedRules[i] < 0 ? null : promotions.rule(appliedRules[i]).id())
+					.quantity(quantities[i])
+					.lineTotal(lineTotal)
+					.build());
+			totalQuantity += quantities[i];
+			subtotal += lineTotal;
+		}
+		return BasketResponse.builder()
+				.id(basket.id())
+				.items(items)
+				.totalQuantity(totalQuantity)
+				.subtotal(subtotal)
+				.discount(discount)
+				.build();
+	}
+
+}
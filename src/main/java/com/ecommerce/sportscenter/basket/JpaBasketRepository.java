@@ -0,0 +1,118 @@
+package com.ecommerce.sportscenter.basket;
+
+import com.ecommerce.sportscenter.entity.StoredBasket;
+import com.ecommerce.sportscenter.entity.StoredBasketLine;
+import com.ecommerce.sportscenter.repository.StoredBasketRepository;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.UnaryOperator;
+
+/**
+ * Keeps baskets in the {@code baskets} and {@code basket_lines} tables. Every read also writes the
+ * access time, and every mutation rewrites the basket's lines, so this is mainly a baseline to
+ * compare {@link OffHeapBasketRepository} against.
+ */
+public class JpaBasketRepository implements BasketRepository {
+
+	private static final int EXPIRY_BATCH_SIZE = 500;
+
+	private final StoredBasketRepository repository;
+	private final TransactionTemplate transactionTemplate;
+	private final Duration idleTtl;
+	private final Clock clock;
+
+	public JpaBasketRepository(StoredBasketRepository repository, TransactionTemplate transactionTemplate,
+			Duration idleTtl, Clock clock) {
+		this.repository = repository;
+		this.transactionTemplate = transactionTemplate;
+		this.idleTtl = idleTtl;
+		this.clock = clock;
+	}
+
+	@Override
+	public Optional<Basket> findById(UUID id) {
+		return transactionTemplate.execute(status -> repository.findById(id)
+				.filter(this::touch)
+				.map(JpaBasketRepository::toBasket));
+	}
+
+	@Override
+	public void save(Basket basket) {
+		transactionTemplate.executeWithoutResult(status -> {
+			StoredBasket stored = repository.findById(basket.id())
+					.orElseGet(() -> StoredBasket.builder().id(basket.id()).build());
+			stored.setLastAccessed(clock.instant());
+			replaceLines(stored, basket);
+			repository.save(stored);
+		});
+	}
+
+	@Override
+	public Optional<Basket> update(UUID id, UnaryOperator<Basket> mutation) {
+		return transactionTemplate.execute(status -> repository.findForUpdateById(id)
+				.filter(this::touch)
+				.map(stored -> {
+					Basket updated = mutation.apply(toBasket(stored));
+					replaceLines(stored, updated);
+					return updated;
+				}));
+	}
+
+	@Override
+	public void deleteById(UUID id) {
+		transactionTemplate.executeWithoutResult(status -> repository.findById(id).ifPresent(repository::delete));
+	}
+
+	@Override
+	public int removeExpired() {
+		Instant cutoff = clock.instant().minus(idleTtl);
+		int removed = 0;
+		List<StoredBasket> expired;
+		do {
+			// Entity deletes rather than a bulk JPQL delete, which would not cascade to basket_lines.
+			expired = transactionTemplate.execute(status -> {
+				List<StoredBasket> batch = repository.findByLastAccessedBefore(cutoff,
+						PageRequest.of(0, EXPIRY_BATCH_SIZE));
+				repository.deleteAll(batch);
+				return batch;
+			});
+			removed += expired.size();
+		} while (expired.size() == EXPIRY_BATCH_SIZE);
+		return removed;
+	}
+
+	@Override
+	public long count() {
+		return repository.count();
+	}
+
+	/** Records the access and returns true, or deletes the basket and returns false if it has expired. */
+	private boolean touch(StoredBasket stored) {
+		Instant now = clock.instant();
+		if (stored.getLastAccessed().isBefore(now.minus(idleTtl))) {
+			repository.delete(stored);
+			return false;
+		}
+		stored.setLastAccessed(now);
+		return true;
+	}
+
+	private static void replaceLines(StoredBasket stored, Basket basket) {
+		stored.getLines().clear();
+		basket.lines().forEach(line -> stored.getLines().add(new StoredBasketLine(line.productId(), line.quantity())));
+	}
+
+	private static Basket toBasket(StoredBasket stored) {
+		return new Basket(stored.getId(), stored.getLines().stream()
+				.map(line -> new BasketLine(line.getProductId(), line.getQuantity()))
+				.toList());
+	}
+
+}
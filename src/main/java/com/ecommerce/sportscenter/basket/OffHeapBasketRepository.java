@@ -0,0 +1,513 @@
+package com.ecommerce.sportscenter.basket;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.UnaryOperator;
+
+/**
+ * Keeps baskets in direct memory so that millions of anonymous baskets add nothing to GC marking.
+ * <p>
+ * Baskets are spread over independently locked segments. Each segment is an open-addressing table
+ * of primitive arrays (the two halves of the basket id, a block address and the last access time)
+ * pointing into 1 MiB direct-memory chunks carved into power-of-two blocks. A block holds the line
+ * count followed by (product id, quantity) pairs; blocks freed by shrinking or deleting baskets are
+ * recycled through per-size free lists. Idle baskets are dropped lazily on access and in bulk by
+ * {@link #removeExpired()}; {@link #snapshot(Path)} and {@link #restore(Path)} carry them across
+ * restarts.
+ */
+public class OffHeapBasketRepository implements BasketRepository {
+
+	static final int CHUNK_SIZE = 1 << 20;
+
+	private static final int MIN_BLOCK_SHIFT = 4;
+	private static final int MAX_BLOCK_SHIFT = 12;
+	private static final int HEADER_BYTES = 4;
+	private static final int LINE_BYTES = 8;
+	private static final int INITIAL_CAPACITY = 64;
+	private static final int SNAPSHOT_MAGIC = 0x42534B54;
+	private static final int SNAPSHOT_VERSION = 1;
+
+	private final Segment[] segments;
+	private final int segmentShift;
+	private final int maxLines;
+	private final long idleTtlMillis;
+	private final long maxMemory;
+	private final Clock clock;
+	private final AtomicLong reservedMemory = new AtomicLong();
+
+	public OffHeapBasketRepository(int segments, long maxMemory, int maxLines, Duration idleTtl, Clock clock) {
+		if (maxLines < 1 || HEADER_BYTES + (long) LINE_BYTES * maxLines > 1 << MAX_BLOCK_SHIFT) {
+			throw new IllegalArgumentException("Max lines must be between 1 and "
+					+ ((1 << MAX_BLOCK_SHIFT) - HEADER_BYTES) / LINE_BYTES);
+		}
+		int count = segments <= 1 ? 1 : Integer.highestOneBit(segments - 1) << 1;
+		this.segments = new Segment[count];
+		for (int i = 0; i < count; i++) {
+			this.segments[i] = new Segment();
+		}
+		this.segmentShift = 32 - Integer.numberOfTrailingZeros(count);
+		this.maxLines = maxLines;
+		this.idleTtlMillis = idleTtl.toMillis();
+		this.maxMemory = maxMemory;
+		this.clock = clock;
+	}
+
+	@Override
+	public Optional<Basket> findById(UUID id) {
+		long msb = id.getMostSignificantBits();
+		long lsb = id.getLeastSignificantBits();
+		int hash = hash(msb, lsb);
+		Segment segment = segmentFor(hash);
+		segment.lock.lock();
+		try {
+			long now = clock.millis();
+			int slot = segment.findLive(msb, lsb, hash, now);
+			if (slot < 0) {
+				return Optional.empty();
+			}
+			segment.accessed[slot] = now;
+			return Optional.of(new Basket(id, segment.readLines(slot)));
+		}
+		finally {
+			segment.lock.unlock();
+		}
+	}
+
+	@Override
+	public void save(Basket basket) {
+		checkLines(basket.lines());
+		long msb = basket.id().getMostSignificantBits();
+		long lsb = basket.id().getLeastSignificantBits();
+		int hash = hash(msb, lsb);
+		Segment segment = segmentFor(hash);
+		segment.lock.lock();
+		try {
+			segment.put(msb, lsb, hash, basket.lines(), clock.millis());
+		}
+		finally {
+			segment.lock.unlock();
+		}
+	}
+
+	@Override
+	public Optional<Basket> update(UUID id, UnaryOperator<Basket> mutation) {
+		long msb = id.getMostSignificantBits();
+		long lsb = id.getLeastSignificantBits();
+		int hash = hash(msb, lsb);
+		Segment segment = segmentFor(hash);
+		segment.lock.lock();
+		try {
+			long now = clock.millis();
+			int slot = segment.findLive(msb, lsb, hash, now);
+			if (slot < 0) {
+				return Optional.empty();
+			}
+			Basket updated = mutation.apply(new Basket(id, segment.readLines(slot)));
+			checkLines(updated.lines());
+			segment.writeLines(slot, updated.lines());
+			segment.accessed[slot] = now;
+			return Optional.of(updated);
+		}
+		finally {
+			segment.lock.unlock();
+		}
+	}
+
+	@Override
+	public void deleteById(UUID id) {
+		long msb = id.getMostSignificantBits();
+		long lsb = id.getLeastSignificantBits();
+		int hash = hash(msb, lsb);
+		Segment segment = segmentFor(hash);
+		segment.lock.lock();
+		try {
+			int slot = segment.find(msb, lsb, hash);
+			if (slot >= 0) {
+				segment.removeAt(slot);
+			}
+		}
+		finally {
+			segment.lock.unlock();
+		}
+	}
+
+	@Override
+	public int removeExpired() {
+		long cutoff = clock.millis() - idleTtlMillis;
+		int removed = 0;
+		for (Segment segment : segments) {
+			segment.lock.lock();
+			try {
+				removed += segment.removeAccessedBefore(cutoff);
+			}
+			finally {
+				segment.lock.unlock();
+			}
+		}
+		return removed;
+	}
+
+	@Override
+	public long count() {
+		long count = 0;
+		for (Segment segment : segments) {
+			segment.lock.lock();
+			try {
+				count += segment.size;
+			}
+			finally {
+				segment.lock.unlock();
+			}
+		}
+		return count;
+	}
+
+	/** Direct memory reserved for basket blocks, in bytes. Chunks are never returned to the OS. */
+	public long reservedMemory() {
+		return reservedMemory.get();
+	}
+
+	/**
+	 * Writes every live basket to {@code path}, replacing it atomically. Segments are copied one at a
+	 * time under their own lock, so writers are only ever blocked for the copy of one segment.
+	 */
+	public long snapshot(Path path) throws IOException {
+		Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+		long written = 0;
+		try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+			out.writeInt(SNAPSHOT_MAGIC);
+			out.writeInt(SNAPSHOT_VERSION);
+			ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+			for (Segment segment : segments) {
+				buffer.reset();
+				segment.lock.lock();
+				try {
+					written += segment.export(new DataOutputStream(buffer));
+				}
+				finally {
+					segment.lock.unlock();
+				}
+				buffer.writeTo(out);
+			}
+			out.writeByte(0);
+		}
+		Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		return written;
+	}
+
+	/**
+	 * Loads the baskets in a snapshot written by {@link #snapshot(Path)}, skipping those that have
+	 * been idle too long in the meantime. A missing file restores nothing.
+	 */
+	public long restore(Path path) throws IOException {
+		if (!Files.exists(path)) {
+			return 0;
+		}
+		long cutoff = clock.millis() - idleTtlMillis;
+		long restored = 0;
+		try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+			if (in.readInt() != SNAPSHOT_MAGIC || in.readInt() != SNAPSHOT_VERSION) {
+				throw new IOException("Not a basket snapshot: " + path);
+			}
+			while (in.readByte() != 0) {
+				long msb = in.readLong();
+				long lsb = in.readLong();
+				long accessed = in.readLong();
+				int count = in.readInt();
+				if (count < 0 || count > maxLines) {
+					throw new IOException("Corrupt basket snapshot " + path + ": " + count + " lines");
+				}
+				List<BasketLine> lines = new ArrayList<>(count);
+				for (int i = 0; i < count; i++) {
+					lines.add(new BasketLine(in.readInt(), in.readInt()));
+				}
+				if (accessed < cutoff) {
+					continue;
+				}
+				int hash = hash(msb, lsb);
+				Segment segment = segmentFor(hash);
+				segment.lock.lock();
+				try {
+					segment.put(msb, lsb, hash, lines, accessed);
+				}
+				finally {
+					segment.lock.unlock();
+				}
+				restored++;
+			}
+		}
+		catch (EOFException ex) {
+			throw new IOException("Truncated basket snapshot: " + path, ex);
+		}
+		return restored;
+	}
+
+	private void checkLines(List<BasketLine> lines) {
+		if (lines.size() > maxLines) {
+			throw new IllegalArgumentException("A basket holds at most " + maxLines + " products");
+		}
+	}
+
+	private Segment segmentFor(int hash) {
+		return segments[(int) ((hash & 0xFFFFFFFFL) >>> segmentShift)];
+	}
+
+	private static int hash(long msb, long lsb) {
+		long h = msb * 0x9E3779B97F4A7C15L ^ lsb;
+		h ^= h >>> 33;
+		h *= 0xFF51AFD7ED558CCDL;
+		h ^= h >>> 33;
+		return (int) (h ^ (h >>> 32));
+	}
+
+	private static int sizeClass(int lineCount) {
+		int bytes = HEADER_BYTES + LINE_BYTES * lineCount;
+		return Math.max(MIN_BLOCK_SHIFT, 32 - Integer.numberOfLeadingZeros(bytes - 1)) - MIN_BLOCK_SHIFT;
+	}
+
+	private static int blockSize(int sizeClass) {
+		return 1 << (sizeClass + MIN_BLOCK_SHIFT);
+	}
+
+	/**
+	 * One lock's worth of baskets. Slots with a zero address are empty; block addresses are the
+	 * chunk number (from one) in the high word and the byte offset in the low word.
+	 */
+	private final class Segment {
+
+		final ReentrantLock lock = new ReentrantLock();
+		final List<ByteBuffer> chunks = new ArrayList<>();
+		final long[][] freeBlocks = new long[MAX_BLOCK_SHIFT - MIN_BLOCK_SHIFT + 1][8];
+		final int[] freeCounts = new int[MAX_BLOCK_SHIFT - MIN_BLOCK_SHIFT + 1];
+		int bumpOffset = CHUNK_SIZE;
+		long[] msbs = new long[INITIAL_CAPACITY];
+		long[] lsbs = new long[INITIAL_CAPACITY];
+		long[] addresses = new long[INITIAL_CAPACITY];
+		long[] accessed = new long[INITIAL_CAPACITY];
+		int size;
+
+		int find(long msb, long lsb, int hash) {
+			int mask = addresses.length - 1;
+			for (int i = hash & mask; addresses[i] != 0; i = (i + 1) & mask) {
+				if (msbs[i] == msb && lsbs[i] == lsb) {
+					return i;
+				}
+			}
+			return -1;
+		}
+
+		/** Like {@link #find}, but drops and ignores the basket if it has been idle too long. */
+		int findLive(long msb, long lsb, int hash, long now) {
+			int slot = find(msb, lsb, hash);
+			if (slot >= 0 && accessed[slot] < now - idleTtlMillis) {
+				removeAt(slot);
+				return -1;
+			}
+			return slot;
+		}
+
+		void put(long msb, long lsb, int hash, List<BasketLine> lines, long accessedAt) {
+			int slot = find(msb, lsb, hash);
+			if (slot < 0) {
+				if (size + 1 > addresses.length - (addresses.length >>> 2)) {
+					resize();
+				}
+				int mask = addresses.length - 1;
+				slot = hash & mask;
+				while (addresses[slot] != 0) {
+					slot = (slot + 1) & mask;
+				}
+				msbs[slot] = msb;
+				lsbs[slot] = lsb;
+				addresses[slot] = allocate(sizeClass(lines.size()));
+				size++;
+				writeBlock(addresses[slot], lines);
+			}
+			else {
+				writeLines(slot, lines);
+			}
+			accessed[slot] = accessedAt;
+		}
+
+		List<BasketLine> readLines(int slot) {
+			long address = addresses[slot];
+			ByteBuffer chunk = chunks.get((int) (address >>> 32) - 1);
+			int offset = (int) address;
+			int count = chunk.getInt(offset);
+			List<BasketLine> lines = new ArrayList<>(count);
+			for (int i = 0, at = offset + HEADER_BYTES; i < count; i++, at += LINE_BYTES) {
+				lines.add(new BasketLine(chunk.getInt(at), chunk.getInt(at + 4)));
+			}
+			return lines;
+		}
+
+		/** Overwrites the slot's block in place, moving to a block of another size only when needed. */
+		void writeLines(int slot, List<BasketLine> lines) {
+			long address = addresses[slot];
+			int sizeClass = sizeClass(lines.size());
+			int current = sizeClass(chunks.get((int) (address >>> 32) - 1).getInt((int) address));
+			if (current != sizeClass) {
+				long moved = allocate(sizeClass);
+				release(address, current);
+				address = moved;
+				addresses[slot] = address;
+			}
+			writeBlock(address, lines);
+		}
+
+		void writeBlock(long address, List<BasketLine> lines) {
+			ByteBuffer chunk = chunks.get((int) (address >>> 32) - 1);
+			int offset = (int) address;
+			chunk.putInt(offset, lines.size());
+			int at = offset + HEADER_BYTES;
+			for (BasketLine line : lines) {
+				chunk.putInt(at, line.productId());
+				chunk.putInt(at + 4, line.quantity());
+				at += LINE_BYTES;
+			}
+		}
+
+		/** Removes the slot and shifts later entries of its probe run back so lookups need no tombstones. */
+		void removeAt(int slot) {
+			long address = addresses[slot];
+			release(address, sizeClass(chunks.get((int) (address >>> 32) - 1).getInt((int) address)));
+			int mask = addresses.length - 1;
+			int hole = slot;
+			for (int i = (slot + 1) & mask; addresses[i] != 0; i = (i + 1) & mask) {
+				int home = hash(msbs[i], lsbs[i]) & mask;
+				if (((i - home) & mask) >= ((i - hole) & mask)) {
+					msbs[hole] = msbs[i];
+					lsbs[hole] = lsbs[i];
+					addresses[hole] = addresses[i];
+					accessed[hole] = accessed[i];
+					hole = i;
+				}
+			}
+			addresses[hole] = 0;
+			size--;
+		}
+
+		int removeAccessedBefore(long cutoff) {
+			int removed = 0;
+			for (int i = 0; i < addresses.length;) {
+				if (addresses[i] != 0 && accessed[i] < cutoff) {
+					// Re-examine this slot: removal may have shifted a later entry into it.
+					removeAt(i);
+					removed++;
+				}
+				else {
+					i++;
+				}
+			}
+			return removed;
+		}
+
+		int export(DataOutputStream out) throws IOException {
+			int exported = 0;
+			for (int i = 0; i < addresses.length; i++) {
+				if (addresses[i] == 0) {
+					continue;
+				}
+				List<BasketLine> lines = readLines(i);
+				out.writeByte(1);
+				out.writeLong(msbs[i]);
+				out.writeLong(lsbs[i]);
+				out.writeLong(accessed[i]);
+				out.writeInt(lines.size());
+				for (BasketLine line : lines) {
+					out.writeInt(line.productId());
+					out.writeInt(line.quantity());
+				}
+				exported++;
+			}
+			return exported;
+		}
+
+		private void resize() {
+			long[] oldMsbs = msbs;
+			long[] oldLsbs = lsbs;
+			long[] oldAddresses = addresses;
+			long[] oldAccessed = accessed;
+			int capacity = oldAddresses.length * 2;
+			msbs = new long[capacity];
+			lsbs = new long[capacity];
+			addresses = new long[capacity];
+			accessed = new long[capacity];
+			int mask = capacity - 1;
+			for (int i = 0; i < oldAddresses.length; i++) {
+				if (oldAddresses[i] == 0) {
+					continue;
+				}
+				int slot = hash(oldMsbs[i], oldLsbs[i]) & mask;
+				while (addresses[slot] != 0) {
+					slot = (slot + 1) & mask;
+				}
+				msbs[slot] = oldMsbs[i];
+				lsbs[slot] = oldLsbs[i];
+				addresses[slot] = oldAddresses[i];
+				accessed[slot] = oldAccessed[i];
+			}
+		}
+
+		private long allocate(int sizeClass) {
+			int free = freeCounts[sizeClass];
+			if (free > 0) {
+				freeCounts[sizeClass] = free - 1;
+				return freeBlocks[sizeClass][free - 1];
+			}
+			int blockSize = blockSize(sizeClass);
+			if (bumpOffset + blockSize > CHUNK_SIZE) {
+				newChunk();
+			}
+			long address = ((long) chunks.size() << 32) | bumpOffset;
+			bumpOffset += blockSize;
+			return address;
+		}
+
+		private void newChunk() {
+			if (reservedMemory.addAndGet(CHUNK_SIZE) > maxMemory) {
+				reservedMemory.addAndGet(-CHUNK_SIZE);
+				throw new IllegalStateException("Basket store is full: " + maxMemory + " bytes in use");
+			}
+			// Hand the unused tail of the current chunk to the free lists rather than leaking it.
+			while (!chunks.isEmpty() && CHUNK_SIZE - bumpOffset >= blockSize(0)) {
+				int sizeClass = Math.min(freeCounts.length - 1,
+						31 - Integer.numberOfLeadingZeros(CHUNK_SIZE - bumpOffset) - MIN_BLOCK_SHIFT);
+				release(((long) chunks.size() << 32) | bumpOffset, sizeClass);
+				bumpOffset += blockSize(sizeClass);
+			}
+			chunks.add(ByteBuffer.allocateDirect(CHUNK_SIZE).order(ByteOrder.nativeOrder()));
+			bumpOffset = 0;
+		}
+
+		private void release(long address, int sizeClass) {
+			int free = freeCounts[sizeClass];
+			if (free == freeBlocks[sizeClass].length) {
+				freeBlocks[sizeClass] = Arrays.copyOf(freeBlocks[sizeClass], free * 2);
+			}
+			freeBlocks[sizeClass][free] = address;
+			freeCounts[sizeClass] = free + 1;
+		}
+
+	}
+
+}
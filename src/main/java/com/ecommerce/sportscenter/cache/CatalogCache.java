@@ -0,0 +1,194 @@
+package com.ecommerce.sportscenter.cache;
+
+import com.ecommerce.sportscenter.event.ProductChangedEvent;
+import com.ecommerce.sportscenter.model.BrandResponse;
+import com.ecommerce.sportscenter.model.ProductResponse;
+import com.ecommerce.sportscenter.model.TypeResponse;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Read-through cache in front of the catalog repositories.
+ * <p>
+ * Products are held in a weight-bounded Caffeine cache (W-TinyLFU admission and eviction) keyed by
+ * product id, so a listing page only touches the database for the ids it has not seen recently.
+ * Brand and type lists are small and live in a separate size-bounded region. Entries are
+ * invalidated after the transaction that changed them commits. Both regions report Micrometer
+ * {@code cache.*} meters tagged {@code cache=catalog-<region>}, and lookups emit
+ * {@link CatalogCacheEvent}s for Flight Recorder.
+ */
+@Component
+public class CatalogCache implements MeterBinder {
+
+	public static final String PRODUCTS_REGION = "products";
+	public static final String REFERENCES_REGION = "references";
+
+	private enum ReferenceKey {
+		BRANDS, TYPES
+	}
+
+	private final Cache<Integer, ProductResponse> products;
+	private final Cache<ReferenceKey, List<?>> references;
+
+	public CatalogCache(CatalogCacheProperties properties) {
+		this.products = Caffeine.newBuilder()
+				.maximumWeight(properties.getMaximumWeight())
+				.weigher((Integer id, ProductResponse product) -> estimateWeight(product))
+				.expireAfter(new JitteredExpiry(properties.getProductTtl().toNanos(), properties.getTtlJitter()))
+				.recordStats()
+				.build();
+		this.references = Caffeine.newBuilder()
+				.maximumSize(ReferenceKey.values().length)
+				.expireAfterWrite(properties.getReferenceTtl())
+				.recordStats()
+				.build();
+	}
+
+	public ProductResponse getProduct(Integer id, Function<Integer, ProductResponse> loader) {
+		CatalogCacheEvent event = new CatalogCacheEvent(PRODUCTS_REGION, 1);
+		event.begin();
+		ProductResponse product = products.get(id, key -> {
+			event.loaded = 1;
+			return loader.apply(key);
+		});
+		event.commit();
+		return product;
+	}
+
+	/**
+	 * Returns the cached products for the given ids, in the order requested, loading all misses with
+	 * a single call to {@code loader}. Ids the loader does not return are omitted from the result.
+	 */
+	public List<ProductResponse> getProducts(Collection<Integer> ids,
+			Function<List<Integer>, Map<Integer, ProductResponse>> loader) {
+		CatalogCacheEvent event = new CatalogCacheEvent(PRODUCTS_REGION, ids.size());
+		event.begin();
+		Map<Integer, ProductResponse> found = products.getAll(ids, missing -> {
+			event.loaded = missing.size();
+			return loader.apply(new ArrayList<>(missing));
+		});
+		event.commit();
+		List<ProductResponse> result = new ArrayList<>(found.size());
+		for (Integer id : ids) {
+			ProductResponse product = found.get(id);
+			if (product != null) {
+				result.add(product);
+			}
+		}
+		return result;
+	}
+
+	@SuppressWarnings("unchecked")
+	public List<BrandResponse> getBrands(Supplier<List<BrandResponse>> loader) {
+		return (List<BrandResponse>) getReferences(ReferenceKey.BRANDS, loader);
+	}
+
+	@SuppressWarnings("unchecked")
+	public List<TypeResponse> getTypes(Supplier<List<TypeResponse>> loader) {
+		return (List<TypeResponse>) getReferences(ReferenceKey.TYPES, loader);
+	}
+
+	private List<?> getReferences(ReferenceKey key, Supplier<? extends List<?>> loader) {
+		CatalogCacheEvent event = new CatalogCacheEvent(REFERENCES_REGION, 1);
+		event.begin();
+		List<?> values = references.get(key, missing -> {
+			event.loaded = 1;
+			return List.copyOf(loader.get());
+		});
+		event.commit();
+		return values;
+	}
+
+	public void invalidateProduct(Integer id) {
+		products.invalidate(id);
+	}
+
+	public void invalidateReferences() {
+		references.invalidateAll();
+	}
+
+	public void invalidateAll() {
+		products.invalidateAll();
+		references.invalidateAll();
+	}
+
+	// Before CatalogVersions moves the product's ETag on, so a new tag is never served with stale content.
+	@TransactionalEventListener(fallbackExecution = true)
+	@Order(Ordered.HIGHEST_PRECEDENCE)
+	public void onProductChanged(ProductChangedEvent event) {
+		invalidateProduct(event.productId());
+	}
+
+	@Override
+	public void bindTo(MeterRegistry registry) {
+		CaffeineCacheMetrics.monitor(registry, products, "catalog-" + PRODUCTS_REGION);
+		CaffeineCacheMetrics.monitor(registry, references, "catalog-" + REFERENCES_REGION);
+	}
+
+	/** Runs pending eviction and expiration work synchronously. */
+	void cleanUp() {
+		products.cleanUp();
+		references.cleanUp();
+	}
+
+	public Map<String, CatalogCacheStats> stats() {
+		Map<String, CatalogCacheStats> stats = new LinkedHashMap<>();
+		stats.put(PRODUCTS_REGION, CatalogCacheStats.of(products.stats(), products.estimatedSize()));
+		stats.put(REFERENCES_REGION, CatalogCacheStats.of(references.stats(), references.estimatedSize()));
+		return stats;
+	}
+
+	/** Rough retained size of a cached product in bytes: object headers plus UTF-16 string payloads. */
+	static int estimateWeight(ProductResponse product) {
+		return 96
+				+ stringWeight(product.getName())
+				+ stringWeight(product.getDescription())
+				+ stringWeight(product.getPictureUrl())
+				+ stringWeight(product.getProductBrand())
+				+ stringWeight(product.getProductType());
+	}
+
+	private static int stringWeight(String value) {
+		return value == null ? 0 : 40 + 2 * value.length();
+	}
+
+	private record JitteredExpiry(long ttlNanos, double jitter) implements Expiry<Integer, ProductResponse> {
+
+		@Override
+		public long expireAfterCreate(Integer key, ProductResponse value, long currentTime) {
+			if (jitter <= 0) {
+				return ttlNanos;
+			}
+			return ttlNanos - (long) (ttlNanos * jitter * ThreadLocalRandom.current().nextDouble());
+		}
+
+		@Override
+		public long expireAfterUpdate(Integer key, ProductResponse value, long currentTime, long currentDuration) {
+			return expireAfterCreate(key, value, currentTime);
+		}
+
+		@Override
+		public long expireAfterRead(Integer key, ProductResponse value, long currentTime, long currentDuration) {
+			return currentDuration;
+		}
+
+	}
+
+}
@@ -0,0 +1,40 @@
+package com.ecommerce.sportscenter.cache;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * JFR event spanning one catalog cache lookup, including loading any misses. Only lookups slower
+ * than the threshold are recorded by default, which in practice means those that loaded something.
+ */
+@Name(CatalogCacheEvent.NAME)
+@Label("Catalog Cache Lookup")
+@Category("Sportscenter")
+@Threshold("1 ms")
+@StackTrace(false)
+public class CatalogCacheEvent extends Event {
+
+	public static final String NAME = "sportscenter.CatalogCache";
+
+	@Label("Region")
+	String region;
+
+	@Label("Requested")
+	@Description("Entries looked up")
+	int requested;
+
+	@Label("Loaded")
+	@Description("Entries missing from the cache and loaded")
+	int loaded;
+
+	CatalogCacheEvent(String region, int requested) {
+		this.region = region;
+		this.requested = requested;
+	}
+
+}
@@ -0,0 +1,27 @@
+package com.ecommerce.sportscenter.cache;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "sportscenter.catalog.cache")
+public class CatalogCacheProperties {
+
+	/** Upper bound on the estimated heap footprint of cached products, in bytes. */
+	private long maximumWeight = 64L * 1024 * 1024;
+
+	/** Base time-to-live of a product entry. */
+	private Duration productTtl = Duration.ofMinutes(10);
+
+	/**
+	 * Fraction of the product TTL by which each entry's expiry is randomly shortened so that entries
+	 * loaded together (e.g. a warm-up burst) do not all expire and reload in the same instant.
+	 */
+	private double ttlJitter = 0.1;
+
+	/** Time-to-live of the brand and type lists. */
+	private Duration referenceTtl = Duration.ofHours(1);
+
+}
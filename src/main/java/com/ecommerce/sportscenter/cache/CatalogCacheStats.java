@@ -0,0 +1,29 @@
+package com.ecommerce.sportscenter.cache;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+public record CatalogCacheStats(
+		long hitCount,
+		long missCount,
+		double hitRate,
+		long evictionCount,
+		long evictionWeight,
+		long loadSuccessCount,
+		long loadFailureCount,
+		double averageLoadPenaltyNanos,
+		long estimatedSize) {
+
+	static CatalogCacheStats of(CacheStats stats, long estimatedSize) {
+		return new CatalogCacheStats(
+				stats.hitCount(),
+				stats.missCount(),
+				stats.hitRate(),
+				stats.evictionCount(),
+				stats.evictionWeight(),
+				stats.loadSuccessCount(),
+				stats.loadFailureCount(),
+				stats.averageLoadPenalty(),
+				estimatedSize);
+	}
+
+}
@@ -0,0 +1,101 @@
+package com.ecommerce.sportscenter.cache;
+
+import com.ecommerce.sportscenter.event.ProductChangedEvent;
+import com.ecommerce.sportscenter.event.ProductChangedEvent.ChangeType;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Clock;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory version counters behind the catalog's HTTP validators ({@code ETag} and
+ * {@code Last-Modified}), so a conditional request can be answered with a 304 without loading or
+ * serializing anything.
+ * <p>
+ * Every product change takes the next value of one counter, recorded for that product and for the
+ * catalog as a whole (which covers listing pages). Versions start from the instance's start time, so
+ * tags issued before a restart never match afterwards. Versions are bumped after the cache entry was
+ * invalidated; read the version before the body, so a tag is never newer than the content sent
+ * with it.
+ */
+@Component
+public class CatalogVersions {
+
+	private final Clock clock;
+	private final String prefix;
+	private final AtomicLong counter = new AtomicLong();
+	private final Map<Integer, Version> products = new ConcurrentHashMap<>();
+	private volatile Version catalog;
+	private volatile Version floor;
+
+	public CatalogVersions() {
+		this(Clock.systemUTC());
+	}
+
+	CatalogVersions(Clock clock) {
+		this.clock = clock;
+		this.prefix = Long.toString(clock.millis(), 36) + "-";
+		this.floor = new Version(0, clock.millis());
+		this.catalog = floor;
+	}
+
+	public Validators product(Integer productId) {
+		Version version = products.get(productId);
+		Version floor = this.floor;
+		return validators(version == null || version.value() < floor.value() ? floor : version);
+	}
+
+	/** Covers everything derived from the whole catalog, such as listing pages. */
+	public Validators catalog() {
+		return validators(catalog);
+	}
+
+	/** Brands and types, which only change out of band. */
+	public Validators references() {
+		return validators(floor);
+	}
+
+	/** Marks every version as changed, e.g. after the catalog was edited directly in the database. */
+	public void invalidateAll() {
+		Version version = next();
+		floor = version;
+		catalog = version;
+		products.clear();
+	}
+
+	// After CatalogCache's invalidation of the same product. A deleted product's entry is dropped
+	// rather than kept forever; its id falls back to the floor, and the product itself now answers 404.
+	@TransactionalEventListener(fallbackExecution = true)
+	@Order(Ordered.LOWEST_PRECEDENCE)
+	public void onProductChanged(ProductChangedEvent event) {
+		Version version = next();
+		if (event.changeType() == ChangeType.DELETED) {
+			products.remove(event.productId());
+		}
+		else {
+			products.put(event.productId(), version);
+		}
+		catalog = version;
+	}
+
+	private Version next() {
+		return new Version(counter.incrementAndGet(), clock.millis());
+	}
+
+	private Validators validators(Version version) {
+		return new Validators("\"" + prefix + Long.toString(version.value(), 36) + "\"", version.modifiedMillis());
+	}
+
+	private record Version(long value, long modifiedMillis) {
+	}
+
+	/** A strong entity tag, quoted, and the last-modified time in epoch milliseconds. */
+	public record Validators(String eTag, long lastModified) {
+	}
+
+}
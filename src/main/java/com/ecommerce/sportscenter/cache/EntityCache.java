@@ -0,0 +1,44 @@
+package com.ecommerce.sportscenter.cache;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Hibernate's second-level cache, which holds brands and types by id and by name and the results of
+ * the brand and type list queries (regions are configured in {@code hibernate-jcache.conf}).
+ * Hibernate keeps it current for writes made through JPA; anything written to those tables directly
+ * needs {@link #evictAll()}.
+ */
+@Component
+public class EntityCache {
+
+	private final SessionFactory sessionFactory;
+
+	public EntityCache(EntityManagerFactory entityManagerFactory) {
+		this.sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+	}
+
+	/** Per region, keyed by region name. All zero unless {@code hibernate.generate_statistics} is on. */
+	public Map<String, EntityCacheRegionStats> stats() {
+		Statistics statistics = sessionFactory.getStatistics();
+		Map<String, EntityCacheRegionStats> regions = new TreeMap<>();
+		for (String name : statistics.getSecondLevelCacheRegionNames()) {
+			CacheRegionStatistics region = statistics.getCacheRegionStatistics(name);
+			if (region != null) {
+				regions.put(name, EntityCacheRegionStats.of(region));
+			}
+		}
+		return regions;
+	}
+
+	public void evictAll() {
+		sessionFactory.getCache().evictAllRegions();
+	}
+
+}
@@ -0,0 +1,21 @@
+package com.ecommerce.sportscenter.cache;
+
+import org.hibernate.stat.CacheRegionStatistics;
+
+/** Counters of one Hibernate second-level or query cache region since startup. */
+public record EntityCacheRegionStats(
+		long hitCount,
+		long missCount,
+		long putCount,
+		double hitRate) {
+
+	static EntityCacheRegionStats of(CacheRegionStatistics statistics) {
+		long requests = statistics.getHitCount() + statistics.getMissCount();
+		return new EntityCacheRegionStats(
+				statistics.getHitCount(),
+				statistics.getMissCount(),
+				statistics.getPutCount(),
+				requests == 0 ? 1.0 : (double) statistics.getHitCount() / requests);
+	}
+
+}
@@ -0,0 +1,37 @@
+package com.ecommerce.sportscenter.concurrency;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+
+import javax.sql.DataSource;
+
+/**
+ * Puts a {@link ConnectionLimitingDataSource} in front of a Hikari pool, sized to that pool unless
+ * {@code sportscenter.virtual-threads.connection-permits} says otherwise. Applied to every pool on its
+ * own, the primary's and each read replica's, so that no pool's permits are shared with another.
+ */
+@Slf4j
+public class ConnectionLimiter {
+
+	private static final int DEFAULT_POOL_SIZE = 10;
+
+	private final VirtualThreadProperties properties;
+
+	public ConnectionLimiter(VirtualThreadProperties properties) {
+		this.properties = properties;
+	}
+
+	public DataSource limit(HikariDataSource pool, String name) {
+		int permits = properties.getConnectionPermits();
+		if (permits <= 0) {
+			permits = pool.getMaximumPoolSize();
+		}
+		if (permits <= 0) {
+			// Hikari reports -1 until its pool starts, meaning its own default of 10.
+			permits = DEFAULT_POOL_SIZE;
+		}
+		log.info("Limiting data source '{}' to {} concurrent connection holders", name, permits);
+		return new ConnectionLimitingDataSource(pool, permits, properties.getConnectionAcquireTimeout());
+	}
+
+}
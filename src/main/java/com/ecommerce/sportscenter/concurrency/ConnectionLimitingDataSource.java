@@ -0,0 +1,154 @@
+package com.ecommerce.sportscenter.concurrency;
+
+import org.springframework.jdbc.datasource.ConnectionProxy;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.io.IOException;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Admits at most {@code permits} threads into the wrapped pool at a time, in arrival order.
+ * <p>
+ * With virtual threads there is no longer a request thread pool bounding how many callers reach
+ * the database together, so thousands of them can pile up inside the pool and the JDBC driver. Parking
+ * them on a fair semaphore instead keeps that contention out of the driver (whose
+ * {@code synchronized} sections pin carrier threads) and fails with a clear error once the wait
+ * exceeds the acquire timeout.
+ */
+public class ConnectionLimitingDataSource extends DelegatingDataSource implements Closeable {
+
+	private final Semaphore permits;
+	private final long acquireTimeoutNanos;
+
+	public ConnectionLimitingDataSource(DataSource target, int permits, Duration acquireTimeout) {
+		super(target);
+		if (permits <= 0) {
+			throw new IllegalArgumentException("Connection permits must be positive");
+		}
+		this.permits = new Semaphore(permits, true);
+		this.acquireTimeoutNanos = acquireTimeout.toNanos();
+	}
+
+	@Override
+	public Connection getConnection() throws SQLException {
+		acquire();
+		try {
+			return guard(obtainTargetDataSource().getConnection());
+		}
+		catch (SQLException | RuntimeException ex) {
+			permits.release();
+			throw ex;
+		}
+	}
+
+	@Override
+	public Connection getConnection(String username, String password) throws SQLException {
+		acquire();
+		try {
+			return guard(obtainTargetDataSource().getConnection(username, password));
+		}
+		catch (SQLException | RuntimeException ex) {
+			permits.release();
+			throw ex;
+		}
+	}
+
+	/** Closes the wrapped pool, which the context would otherwise no longer find to close on shutdown. */
+	@Override
+	public void close() throws IOException {
+		if (obtainTargetDataSource() instanceof Closeable target) {
+			target.close();
+		}
+	}
+
+	public int availablePermits() {
+		return permits.availablePermits();
+	}
+
+	public int queueLength() {
+		return permits.getQueueLength();
+	}
+
+	private void acquire() throws SQLException {
+		try {
+			if (!permits.tryAcquire(acquireTimeoutNanos, TimeUnit.NANOSECONDS)) {
+				throw new SQLTransientConnectionException("Timed out after "
+						+ TimeUnit.NANOSECONDS.toMillis(acquireTimeoutNanos) + " ms waiting for a connection permit ("
+						+ permits.getQueueLength() + " waiting)");
+			}
+		}
+		catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			throw new SQLTransientConnectionException("Interrupted while waiting for a connection permit", ex);
+		}
+	}
+
+	private Connection guard(Connection target) {
+		return (Connection) Proxy.newProxyInstance(ConnectionProxy.class.getClassLoader(),
+				new Class<?>[] {ConnectionProxy.class}, new PermitReleasingHandler(target));
+	}
+
+	private final class PermitReleasingHandler implements InvocationHandler {
+
+		private final Connection target;
+		private final AtomicBoolean released = new AtomicBoolean();
+
+		PermitReleasingHandler(Connection target) {
+			this.target = target;
+		}
+
+		@Override
+		public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+			switch (method.getName()) {
+				case "getTargetConnection":
+					return target;
+				case "equals":
+					return proxy == args[0];
+				case "hashCode":
+					return System.identityHashCode(proxy);
+				case "unwrap":
+					if (((Class<?>) args[0]).isInstance(proxy)) {
+						return proxy;
+					}
+					break;
+				case "isWrapperFor":
+					if (((Class<?>) args[0]).isInstance(proxy)) {
+						return true;
+					}
+					break;
+				case "close":
+					try {
+						target.close();
+					}
+					finally {
+						if (released.compareAndSet(false, true)) {
+							permits.release();
+						}
+					}
+					return null;
+				default:
+					break;
+			}
+			try {
+				return method.invoke(target, args);
+			}
+			catch (InvocationTargetException ex) {
+				throw ex.getTargetException();
+			}
+		}
+
+	}
+
+}
@@ -0,0 +1,63 @@
+package com.ecommerce.sportscenter.concurrency;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * Extras for the virtual-thread execution mode. Boot itself moves Tomcat request handling,
+ * {@code @Async} and {@code @Scheduled} work onto virtual threads when
+ * {@code spring.threads.virtual.enabled=true}; this adds the pieces that mode needs to be safe under
+ * load: a fair connection-permit gate in front of each connection pool and a pinning monitor.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadConfig {
+
+	@Bean
+	ConnectionLimiter connectionLimiter(VirtualThreadProperties properties) {
+		return new ConnectionLimiter(properties);
+	}
+
+	@Bean
+	static BeanPostProcessor connectionLimitingDataSourcePostProcessor(ObjectProvider<ConnectionLimiter> limiter) {
+		return new ConnectionLimitingPostProcessor(limiter);
+	}
+
+	@Bean
+	VirtualThreadPinningMonitor virtualThreadPinningMonitor(VirtualThreadProperties properties) {
+		return new VirtualThreadPinningMonitor(properties.getPinnedThreshold());
+	}
+
+	// Only Hikari pools: proxies over a pool (LazyConnectionDataSourceProxy and the like) would
+	// otherwise get a second, default-sized gate shared by everything behind them.
+	private static final class ConnectionLimitingPostProcessor implements BeanPostProcessor, Ordered {
+
+		private final ObjectProvider<ConnectionLimiter> limiter;
+
+		ConnectionLimitingPostProcessor(ObjectProvider<ConnectionLimiter> limiter) {
+			this.limiter = limiter;
+		}
+
+		@Override
+		public Object postProcessAfterInitialization(Object bean, String beanName) {
+			if (bean instanceof HikariDataSource pool) {
+				return limiter.getObject().limit(pool, beanName);
+			}
+			return bean;
+		}
+
+		// Ahead of post-processors that wrap the pool in something else, such as the read/write splitting one.
+		@Override
+		public int getOrder() {
+			return Ordered.HIGHEST_PRECEDENCE;
+		}
+
+	}
+
+}
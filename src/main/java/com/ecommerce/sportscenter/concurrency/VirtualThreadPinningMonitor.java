@@ -0,0 +1,78 @@
+package com.ecommerce.sportscenter.concurrency;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * Streams the JDK's {@code jdk.VirtualThreadPinned} events in-process and logs where a virtual
+ * thread blocked while pinned to its carrier (typically inside {@code synchronized} JDBC driver
+ * code), so pinning hot spots show up in the application log without attaching a profiler.
+ */
+@Slf4j
+public class VirtualThreadPinningMonitor implements InitializingBean, DisposableBean {
+
+	static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+	private static final int LOGGED_FRAMES = 8;
+
+	private final Duration threshold;
+	private final LongAdder pinnedCount = new LongAdder();
+	private RecordingStream stream;
+
+	public VirtualThreadPinningMonitor(Duration threshold) {
+		this.threshold = threshold;
+	}
+
+	@Override
+	public void afterPropertiesSet() {
+		try {
+			stream = new RecordingStream();
+			stream.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+			stream.onEvent(PINNED_EVENT, this::onPinned);
+			stream.startAsync();
+			log.info("Monitoring virtual thread pinning longer than {} ms", threshold.toMillis());
+		}
+		catch (RuntimeException ex) {
+			log.warn("Virtual thread pinning monitor unavailable: {}", ex.getMessage());
+			stream = null;
+		}
+	}
+
+	@Override
+	public void destroy() {
+		if (stream != null) {
+			stream.close();
+		}
+	}
+
+	public long pinnedCount() {
+		return pinnedCount.sum();
+	}
+
+	private void onPinned(RecordedEvent event) {
+		pinnedCount.increment();
+		log.warn("Virtual thread pinned for {} ms at {}", event.getDuration().toMillis(), topFrames(event.getStackTrace()));
+	}
+
+	private static String topFrames(RecordedStackTrace stackTrace) {
+		if (stackTrace == null) {
+			return "<no stack trace>";
+		}
+		List<RecordedFrame> frames = stackTrace.getFrames();
+		return frames.stream()
+				.limit(LOGGED_FRAMES)
+				.map(frame -> frame.getMethod().getType().getName() + "." + frame.getMethod().getName()
+						+ ":" + frame.getLineNumber())
+				.collect(Collectors.joining(" <- "));
+	}
+
+}
@@ -0,0 +1,25 @@
+package com.ecommerce.sportscenter.concurrency;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/** Settings that only take effect when {@code spring.threads.virtual.enabled=true}. */
+@Data
+@ConfigurationProperties(prefix = "sportscenter.virtual-threads")
+public class VirtualThreadProperties {
+
+	/** Log virtual threads that stay pinned to their carrier for at least this long. */
+	private Duration pinnedThreshold = Duration.ofMillis(20);
+
+	/**
+	 * Maximum number of threads allowed to hold or wait inside each connection pool at once. Zero
+	 * means the pool's own maximum size.
+	 */
+	private int connectionPermits = 0;
+
+	/** How long a request waits for a connection permit before failing. */
+	private Duration connectionAcquireTimeout = Duration.ofSeconds(5);
+
+}
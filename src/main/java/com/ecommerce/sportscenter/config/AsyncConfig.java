@@ -0,0 +1,13 @@
+package com.ecommerce.sportscenter.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableAsync;
+
+/**
+ * Enables {@code @Async}. The executor is Boot's {@code applicationTaskExecutor}, which runs each
+ * task on its own virtual thread when {@code spring.threads.virtual.enabled=true}.
+ */
+@Configuration
+@EnableAsync
+public class AsyncConfig {
+}
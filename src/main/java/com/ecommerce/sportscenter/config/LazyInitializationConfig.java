@@ -0,0 +1,43 @@
+package com.ecommerce.sportscenter.config;
+
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.MethodIntrospector;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.core.annotation.AnnotationUtils;
+import org.springframework.orm.jpa.AbstractEntityManagerFactoryBean;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.web.bind.annotation.RestController;
+
+import javax.sql.DataSource;
+
+/**
+ * Decides what stays eager when {@code spring.main.lazy-initialization=true} (the
+ * {@code fast-startup} profile), so that only beans off the request path are deferred:
+ * <ul>
+ * <li>the data source and the entity manager factory, which every first request would otherwise
+ * wait for;</li>
+ * <li>controllers, and with them the services and repositories they use;</li>
+ * <li>beans with {@code @Scheduled} methods, which are only scheduled once created and would
+ * otherwise never run.</li>
+ * </ul>
+ */
+@Configuration(proxyBeanMethods = false)
+public class LazyInitializationConfig {
+
+	@Bean
+	static LazyInitializationExcludeFilter requestPathAndScheduledBeans() {
+		return (beanName, beanDefinition, beanType) -> DataSource.class.isAssignableFrom(beanType)
+				|| AbstractEntityManagerFactoryBean.class.isAssignableFrom(beanType)
+				|| AnnotatedElementUtils.hasAnnotation(beanType, RestController.class)
+				|| hasScheduledMethods(beanType);
+	}
+
+	private static boolean hasScheduledMethods(Class<?> beanType) {
+		return AnnotationUtils.isCandidateClass(beanType, Scheduled.class)
+				&& !MethodIntrospector.selectMethods(beanType, (MethodIntrospector.MetadataLookup<Scheduled>) method ->
+						AnnotatedElementUtils.findMergedAnnotation(method, Scheduled.class)).isEmpty();
+	}
+
+}
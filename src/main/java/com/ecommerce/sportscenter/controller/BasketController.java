@@ -0,0 +1,63 @@
+package com.ecommerce.sportscenter.controller;
+
+import com.ecommerce.sportscenter.basket.BasketService;
+import com.ecommerce.sportscenter.model.BasketItemRequest;
+import com.ecommerce.sportscenter.model.BasketResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/baskets")
+@RequiredArgsConstructor
+public class BasketController {
+
+	private final BasketService basketService;
+
+	@PostMapping
+	public ResponseEntity<BasketResponse> createBasket() {
+		return ResponseEntity.status(HttpStatus.CREATED).body(basketService.createBasket());
+	}
+
+	@GetMapping("/{id}")
+	public ResponseEntity<BasketResponse> getBasket(@PathVariable("id") UUID basketId,
+			@RequestParam(name = "coupon", required = false) String couponCode) {
+		return ResponseEntity.ok(basketService.getBasket(basketId, couponCode));
+	}
+
+	@PostMapping("/{id}/items")
+	public ResponseEntity<BasketResponse> addItem(@PathVariable("id") UUID basketId,
+			@RequestBody BasketItemRequest request) {
+		return ResponseEntity.ok(basketService.addItem(basketId, request.getProductId(), request.getQuantity()));
+	}
+
+	@PutMapping("/{id}/items/{productId}")
+	public ResponseEntity<BasketResponse> setQuantity(@PathVariable("id") UUID basketId,
+			@PathVariable("productId") Integer productId, @RequestBody BasketItemRequest request) {
+		return ResponseEntity.ok(basketService.setQuantity(basketId, productId, request.getQuantity()));
+	}
+
+	@DeleteMapping("/{id}/items/{productId}")
+	public ResponseEntity<BasketResponse> removeItem(@PathVariable("id") UUID basketId,
+			@PathVariable("productId") Integer productId) {
+		return ResponseEntity.ok(basketService.removeItem(basketId, productId));
+	}
+
+	@DeleteMapping("/{id}")
+	public ResponseEntity<Void> deleteBasket(@PathVariable("id") UUID basketId) {
+		basketService.deleteBasket(basketId);
+		return ResponseEntity.noContent().build();
+	}
+
+}
@@ -0,0 +1,44 @@
+package com.ecommerce.sportscenter.controller;
+
+import com.ecommerce.sportscenter.cache.CatalogCache;
+import com.ecommerce.sportscenter.cache.CatalogCacheStats;
+import com.ecommerce.sportscenter.cache.CatalogVersions;
+import com.ecommerce.sportscenter.cache.EntityCache;
+import com.ecommerce.sportscenter.cache.EntityCacheRegionStats;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/catalog/cache")
+@RequiredArgsConstructor
+public class CatalogCacheController {
+
+	private final CatalogCache catalogCache;
+	private final CatalogVersions catalogVersions;
+	private final EntityCache entityCache;
+
+	@GetMapping("/stats")
+	public ResponseEntity<Map<String, CatalogCacheStats>> getStats() {
+		return ResponseEntity.ok(catalogCache.stats());
+	}
+
+	@GetMapping("/regions")
+	public ResponseEntity<Map<String, EntityCacheRegionStats>> getRegionStats() {
+		return ResponseEntity.ok(entityCache.stats());
+	}
+
+	@PostMapping("/invalidate")
+	public ResponseEntity<Void> invalidateAll() {
+		entityCache.evictAll();
+		catalogCache.invalidateAll();
+		catalogVersions.invalidateAll();
+		return ResponseEntity.noContent().build();
+	}
+
+}
@@ -0,0 +1,45 @@
+package com.ecommerce.sportscenter.controller;
+
+import com.ecommerce.sportscenter.ingest.CatalogImportService;
+import com.ecommerce.sportscenter.ingest.ImportFormat;
+import com.ecommerce.sportscenter.ingest.ImportJob;
+import com.ecommerce.sportscenter.mapper.ImportMapper;
+import com.ecommerce.sportscenter.model.ImportResponse;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import java.io.IOException;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/catalog/imports")
+@RequiredArgsConstructor
+public class CatalogImportController {
+
+	private final CatalogImportService importService;
+
+	/** Accepts a CSV ({@code text/csv}) or JSON Lines ({@code application/x-ndjson}) body; 202 with its status. */
+	@PostMapping
+	public ResponseEntity<ImportResponse> submit(HttpServletRequest request) throws IOException {
+		ImportFormat format = ImportFormat.fromContentType(request.getContentType() == null ? null
+				: MediaType.parseMediaType(request.getContentType()));
+		ImportJob job = importService.submit(format, request.getInputStream());
+		return ResponseEntity.accepted()
+				.location(ServletUriComponentsBuilder.fromCurrentRequest().path("/{id}").buildAndExpand(job.getId()).toUri())
+				.body(ImportMapper.toResponse(job));
+	}
+
+	@GetMapping("/{id}")
+	public ResponseEntity<ImportResponse> getImport(@PathVariable("id") UUID importId) {
+		return ResponseEntity.ok(ImportMapper.toResponse(importService.getImport(importId)));
+	}
+
+}
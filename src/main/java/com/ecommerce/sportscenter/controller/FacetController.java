@@ -0,0 +1,32 @@
+package com.ecommerce.sportscenter.controller;
+
+import com.ecommerce.sportscenter.facet.FacetService;
+import com.ecommerce.sportscenter.model.FacetSearchResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Set;
+
+@RestController
+@RequestMapping("/api/products")
+@RequiredArgsConstructor
+public class FacetController {
+
+	private final FacetService facetService;
+
+	@GetMapping("/facets")
+	public ResponseEntity<FacetSearchResponse> filter(
+			@RequestParam(name = "brandId", required = false) Set<Integer> brandIds,
+			@RequestParam(name = "typeId", required = false) Set<Integer> typeIds,
+			@RequestParam(name = "minPrice", required = false) Long minPrice,
+			@RequestParam(name = "maxPrice", required = false) Long maxPrice,
+			@RequestParam(name = "afterId", required = false) Integer afterId,
+			@RequestParam(name = "limit", defaultValue = "20") int limit) {
+		return ResponseEntity.ok(facetService.search(brandIds, typeIds, minPrice, maxPrice, afterId, limit));
+	}
+
+}
@@ -0,0 +1,56 @@
+package com.ecommerce.sportscenter.controller;
+
+import com.ecommerce.sportscenter.inventory.InventoryService;
+import com.ecommerce.sportscenter.model.ReservationRequest;
+import com.ecommerce.sportscenter.model.ReservationResponse;
+import com.ecommerce.sportscenter.model.StockRequest;
+import com.ecommerce.sportscenter.model.StockResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/inventory")
+@RequiredArgsConstructor
+public class InventoryController {
+
+	private final InventoryService inventoryService;
+
+	@GetMapping("/{productId}")
+	public ResponseEntity<StockResponse> getStock(@PathVariable("productId") Integer productId) {
+		return ResponseEntity.ok(inventoryService.getStock(productId));
+	}
+
+	@PutMapping("/{productId}")
+	public ResponseEntity<StockResponse> setStock(@PathVariable("productId") Integer productId,
+			@RequestBody StockRequest request) {
+		return ResponseEntity.ok(inventoryService.setStock(productId, request.getAvailable()));
+	}
+
+	@PostMapping("/reservations")
+	public ResponseEntity<ReservationResponse> reserve(@RequestBody ReservationRequest request) {
+		return ResponseEntity.status(HttpStatus.CREATED).body(inventoryService.reserveBasket(request.getBasketId()));
+	}
+
+	@GetMapping("/reservations/{id}")
+	public ResponseEntity<ReservationResponse> getReservation(@PathVariable("id") UUID reservationId) {
+		return ResponseEntity.ok(inventoryService.getReservation(reservationId));
+	}
+
+	@DeleteMapping("/reservations/{id}")
+	public ResponseEntity<Void> release(@PathVariable("id") UUID reservationId) {
+		inventoryService.releaseReservation(reservationId);
+		return ResponseEntity.noContent().build();
+	}
+
+}
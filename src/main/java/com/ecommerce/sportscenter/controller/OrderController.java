@@ -0,0 +1,39 @@
+package com.ecommerce.sportscenter.controller;
+
+import com.ecommerce.sportscenter.model.CheckoutRequest;
+import com.ecommerce.sportscenter.model.OrderResponse;
+import com.ecommerce.sportscenter.order.OrderService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/orders")
+@RequiredArgsConstructor
+public class OrderController {
+
+	private final OrderService orderService;
+
+	/**
+	 * Requests sent again with the same {@code Idempotency-Key} header get the order the first one
+	 * placed instead of placing another.
+	 */
+	@PostMapping
+	public ResponseEntity<OrderResponse> checkout(@RequestBody CheckoutRequest request,
+			@RequestHeader(name = "Idempotency-Key", required = false) String idempotencyKey) {
+		return ResponseEntity.status(HttpStatus.CREATED).body(orderService.checkout(request, idempotencyKey));
+	}
+
+	@GetMapping("/{id}")
+	public ResponseEntity<OrderResponse> getOrder(@PathVariable("id") Long orderId) {
+		return ResponseEntity.ok(orderService.getOrder(orderId));
+	}
+
+}
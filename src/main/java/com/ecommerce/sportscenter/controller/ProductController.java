@@ -0,0 +1,152 @@
+package com.ecommerce.sportscenter.controller;
+
+import com.ecommerce.sportscenter.cache.CatalogVersions;
+import com.ecommerce.sportscenter.cache.CatalogVersions.Validators;
+import com.ecommerce.sportscenter.eventbus.RingBufferEventBus;
+import com.ecommerce.sportscenter.model.BrandResponse;
+import com.ecommerce.sportscenter.model.CursorPage;
+import com.ecommerce.sportscenter.model.ProductRequest;
+import com.ecommerce.sportscenter.model.ProductResponse;
+import com.ecommerce.sportscenter.model.TypeResponse;
+import com.ecommerce.sportscenter.pagination.ProductSortField;
+import com.ecommerce.sportscenter.pricing.EffectivePriceTable;
+import com.ecommerce.sportscenter.service.BrandService;
+import com.ecommerce.sportscenter.service.ProductService;
+import com.ecommerce.sportscenter.service.TypeService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.List;
+
+/**
+ * Catalog reads are conditional: each response carries an {@code ETag} and {@code Last-Modified}
+ * from {@link CatalogVersions}, and a request whose {@code If-None-Match} (or
+ * {@code If-Modified-Since}) still matches is answered with 304 before the catalog is read. A single
+ * product is resolved first, from the catalog cache, so that an unknown id answers 404.
+ * <p>
+ * Products are returned with their effective price from the {@link EffectivePriceTable}, on copies so
+ * that cached responses stay untouched.
+ */
+@RestController
+@RequestMapping("/api/products")
+@RequiredArgsConstructor
+public class ProductController {
+
+	private final ProductService productService;
+	private final BrandService brandService;
+	private final TypeService typeService;
+	private final RingBufferEventBus eventBus;
+	private final CatalogVersions catalogVersions;
+	private final EffectivePriceTable effectivePrices;
+
+	@GetMapping("/{id}")
+	public ResponseEntity<ProductResponse> getProductById(@PathVariable("id") Integer productId,
+			WebRequest request) {
+		// Resolved before the validators are compared: ids without a product answer 404, never a 304
+		// against the catalog-wide floor tag. Usually a hit in the catalog cache.
+		Validators validators = catalogVersions.product(productId);
+		ProductResponse product = productService.getProductById(productId);
+		eventBus.productViewed(productId);
+		if (notModified(request, validators)) {
+			return null;
+		}
+		return revalidated(withEffectivePrice(product));
+	}
+
+	@GetMapping
+	public ResponseEntity<Page<ProductResponse>> getProducts(@PageableDefault(size = 10) Pageable pageable,
+			WebRequest request) {
+		if (notModified(request, catalogVersions.catalog())) {
+			return null;
+		}
+		return revalidated(productService.getProducts(pageable).map(this::withEffectivePrice));
+	}
+
+	@GetMapping("/cursor")
+	public ResponseEntity<CursorPage<ProductResponse>> getProductsByCursor(
+			@RequestParam(name = "sort", defaultValue = "id") String sort,
+			@RequestParam(name = "direction", defaultValue = "asc") String direction,
+			@RequestParam(name = "cursor", required = false) String cursor,
+			@RequestParam(name = "size", defaultValue = "20") int size,
+			@RequestParam(name = "includeCount", defaultValue = "false") boolean includeCount,
+			WebRequest request) {
+		if (notModified(request, catalogVersions.catalog())) {
+			return null;
+		}
+		CursorPage<ProductResponse> page = productService.getProductsAfter(ProductSortField.fromParameter(sort),
+				Sort.Direction.fromString(direction), cursor, size, includeCount);
+		return revalidated(CursorPage.<ProductResponse>builder()
+				.content(page.getContent().stream().map(this::withEffectivePrice).toList())
+				.nextCursor(page.getNextCursor())
+				.hasMore(page.isHasMore())
+				.totalElements(page.getTotalElements())
+				.build());
+	}
+
+	@GetMapping("/brands")
+	public ResponseEntity<List<BrandResponse>> getBrands(WebRequest request) {
+		if (notModified(request, catalogVersions.references())) {
+			return null;
+		}
+		return revalidated(brandService.getAllBrands());
+	}
+
+	@GetMapping("/types")
+	public ResponseEntity<List<TypeResponse>> getTypes(WebRequest request) {
+		if (notModified(request, catalogVersions.references())) {
+			return null;
+		}
+		return revalidated(typeService.getAllTypes());
+	}
+
+	@PostMapping
+	public ResponseEntity<ProductResponse> createProduct(@RequestBody ProductRequest request) {
+		return ResponseEntity.status(HttpStatus.CREATED).body(productService.createProduct(request));
+	}
+
+	@PutMapping("/{id}")
+	public ResponseEntity<ProductResponse> updateProduct(@PathVariable("id") Integer productId,
+			@RequestBody ProductRequest request) {
+		return ResponseEntity.ok(productService.updateProduct(productId, request));
+	}
+
+	@DeleteMapping("/{id}")
+	public ResponseEntity<Void> deleteProduct(@PathVariable("id") Integer productId) {
+		productService.deleteProduct(productId);
+		return ResponseEntity.noContent().build();
+	}
+
+	private ProductResponse withEffectivePrice(ProductResponse product) {
+		return product.toBuilder().effectivePrice(effectivePrices.effectivePrice(product)).build();
+	}
+
+	/**
+	 * Writes the validators to the response and, if the client's copy is current, turns it into a
+	 * 304; the handler then returns null. Read before the body so the tag is never newer than it.
+	 */
+	private static boolean notModified(WebRequest request, Validators validators) {
+		return request.checkNotModified(validators.eTag(), validators.lastModified());
+	}
+
+	// ETag and Last-Modified were already set by notModified(); clients must revalidate before reuse.
+	private static <T> ResponseEntity<T> revalidated(T body) {
+		return ResponseEntity.ok().cacheControl(CacheControl.noCache()).body(body);
+	}
+
+}
@@ -0,0 +1,40 @@
+package com.ecommerce.sportscenter.controller;
+
+import com.ecommerce.sportscenter.export.ExportFormat;
+import com.ecommerce.sportscenter.export.ProductExportService;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+
+/**
+ * Full product feed for partners. The body is written straight to the response while the catalog is
+ * read, so it is sent chunked and never held in memory.
+ */
+@RestController
+@RequestMapping("/api/products/export")
+@RequiredArgsConstructor
+public class ProductExportController {
+
+	private final ProductExportService exportService;
+
+	@GetMapping
+	public void export(@RequestParam(name = "format", defaultValue = "json") String format,
+			HttpServletResponse response) throws IOException {
+		ExportFormat exportFormat = ExportFormat.fromParameter(format);
+		response.setContentType(exportFormat.mediaType().toString());
+		response.setCharacterEncoding("UTF-8");
+		response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+				.filename("products." + exportFormat.extension())
+				.build()
+				.toString());
+		exportService.export(exportFormat, response.getOutputStream());
+	}
+
+}
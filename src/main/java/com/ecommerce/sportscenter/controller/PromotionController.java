@@ -0,0 +1,34 @@
+package com.ecommerce.sportscenter.controller;
+
+import com.ecommerce.sportscenter.pricing.PricingEngine;
+import com.ecommerce.sportscenter.pricing.PromotionRule;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/pricing/promotions")
+@RequiredArgsConstructor
+public class PromotionController {
+
+	private final PricingEngine pricingEngine;
+
+	@GetMapping
+	public ResponseEntity<List<PromotionRule>> getPromotions() {
+		return ResponseEntity.ok(pricingEngine.promotions().rules());
+	}
+
+	/** Replaces every promotion rule, in priority order. */
+	@PutMapping
+	public ResponseEntity<List<PromotionRule>> replacePromotions(@RequestBody List<PromotionRule> rules) {
+		pricingEngine.install(rules);
+		return ResponseEntity.ok(pricingEngine.promotions().rules());
+	}
+
+}
@@ -0,0 +1,38 @@
+package com.ecommerce.sportscenter.controller;
+
+import com.ecommerce.sportscenter.autocomplete.AutocompleteService;
+import com.ecommerce.sportscenter.model.CompletionResponse;
+import com.ecommerce.sportscenter.model.SearchResultResponse;
+import com.ecommerce.sportscenter.search.ProductSearchService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/products")
+@RequiredArgsConstructor
+public class SearchController {
+
+	private final ProductSearchService searchService;
+	private final AutocompleteService autocompleteService;
+
+	@GetMapping("/search")
+	public ResponseEntity<List<SearchResultResponse>> search(@RequestParam("q") String query,
+			@RequestParam(name = "limit", defaultValue = "20") int limit) {
+		return ResponseEntity.ok(searchService.search(query, limit));
+	}
+
+	@GetMapping("/autocomplete")
+	public ResponseEntity<List<CompletionResponse>> autocomplete(@RequestParam("prefix") String prefix,
+			@RequestParam(name = "limit", defaultValue = "8") int limit) {
+		return ResponseEntity.ok(autocompleteService.complete(prefix, limit).stream()
+				.map(suggestion -> new CompletionResponse(suggestion.text(), suggestion.kind().name(), suggestion.id()))
+				.toList());
+	}
+
+}
@@ -0,0 +1,68 @@
+package com.ecommerce.sportscenter.entity;
+
+import jakarta.persistence.CascadeType;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.OneToMany;
+import jakarta.persistence.OrderBy;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Order header. Ids come from a pooled sequence (a table on MySQL) rather than IDENTITY, so that
+ * Hibernate knows them before insert and can batch header and line inserts.
+ */
+@Entity
+@Table(name = "orders")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CustomerOrder {
+
+	@Id
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "orders_seq")
+	@SequenceGenerator(name = "orders_seq", sequenceName = "orders_seq", allocationSize = 50)
+	private Long id;
+
+	private UUID basketId;
+
+	/** Client-supplied key of the checkout that placed the order, if keys are persisted. */
+	@Column(unique = true, length = 64)
+	private String idempotencyKey;
+
+	@Column(nullable = false)
+	private Instant createdAt;
+
+	@Column(nullable = false)
+	private Integer totalQuantity;
+
+	/** Sum of the line totals, in minor currency units. */
+	@Column(nullable = false)
+	private Long subtotal;
+
+	@OneToMany(mappedBy = "order", cascade = CascadeType.ALL, orphanRemoval = true)
+	@OrderBy("id")
+	@Builder.Default
+	private List<OrderLine> lines = new ArrayList<>();
+
+	public void addLine(OrderLine line) {
+		line.setOrder(this);
+		lines.add(line);
+	}
+
+}
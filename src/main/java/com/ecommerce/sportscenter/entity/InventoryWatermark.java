@@ -0,0 +1,34 @@
+package com.ecommerce.sportscenter.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Single row recording the last reservation journal sequence applied to {@code product_stock}. It is
+ * updated in the same transaction as the stock rows, so the two never disagree.
+ */
+@Entity
+@Table(name = "inventory_watermark")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class InventoryWatermark {
+
+	public static final int ID = 1;
+
+	@Id
+	private Integer id;
+
+	@Column(name = "reconciled_sequence", nullable = false)
+	private Long reconciledSequence;
+
+}
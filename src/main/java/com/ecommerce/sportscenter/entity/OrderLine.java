@@ -0,0 +1,54 @@
+package com.ecommerce.sportscenter.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/** A product line of an order, with the name and price it was sold at. */
+@Entity
+@Table(name = "order_lines")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OrderLine {
+
+	@Id
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "order_lines_seq")
+	@SequenceGenerator(name = "order_lines_seq", sequenceName = "order_lines_seq", allocationSize = 200)
+	private Long id;
+
+	@ManyToOne(fetch = FetchType.LAZY, optional = false)
+	@JoinColumn(name = "order_id")
+	private CustomerOrder order;
+
+	@Column(nullable = false)
+	private Integer productId;
+
+	@Column(nullable = false)
+	private String productName;
+
+	/** Price in minor currency units (cents). */
+	@Column(nullable = false)
+	private Long unitPrice;
+
+	@Column(nullable = false)
+	private Integer quantity;
+
+	@Column(nullable = false)
+	private Long lineTotal;
+
+}
@@ -0,0 +1,53 @@
+package com.ecommerce.sportscenter.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Lob;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+
+/**
+ * An event waiting to be relayed to downstream systems, written in the same transaction as the change
+ * it describes. Ids come from a pooled sequence, so the insert is batched with the order inserts, and
+ * give the order events are relayed in.
+ */
+@Entity
+@Table(name = "outbox_event")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OutboxEvent {
+
+	@Id
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "outbox_event_seq")
+	@SequenceGenerator(name = "outbox_event_seq", sequenceName = "outbox_event_seq", allocationSize = 50)
+	private Long id;
+
+	@Column(nullable = false, length = 64)
+	private String eventType;
+
+	/** Id of the entity the event is about, such as the order id. */
+	@Column(nullable = false, length = 64)
+	private String aggregateId;
+
+	/** The event as JSON. */
+	@Lob
+	@Column(nullable = false)
+	private String payload;
+
+	@Column(nullable = false)
+	private Instant createdAt;
+
+}
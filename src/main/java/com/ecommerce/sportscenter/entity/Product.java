@@ -0,0 +1,59 @@
+package com.ecommerce.sportscenter.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Entity
+@Table(name = "products", indexes = {
+		@Index(name = "idx_products_price_id", columnList = "price, id"),
+		@Index(name = "idx_products_name_id", columnList = "name, id")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class Product {
+
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	private Integer id;
+
+	/** Merchant stock-keeping unit; the key bulk imports match existing products on. */
+	@Column(unique = true, length = 64)
+	private String sku;
+
+	@Column(nullable = false)
+	private String name;
+
+	@Column(length = 2000)
+	private String description;
+
+	/** Price in minor currency units (cents). */
+	@Column(nullable = false)
+	private Long price;
+
+	private String pictureUrl;
+
+	@ManyToOne(fetch = FetchType.LAZY, optional = false)
+	@JoinColumn(name = "brand_id")
+	private Brand brand;
+
+	@ManyToOne(fetch = FetchType.LAZY, optional = false)
+	@JoinColumn(name = "type_id")
+	private Type type;
+
+}
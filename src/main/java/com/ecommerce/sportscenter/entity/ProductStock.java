@@ -0,0 +1,30 @@
+package com.ecommerce.sportscenter.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/** Units of a product available to sell. A product without a row cannot be ordered. */
+@Entity
+@Table(name = "product_stock")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ProductStock {
+
+	@Id
+	@Column(name = "product_id")
+	private Integer productId;
+
+	@Column(nullable = false)
+	private Integer available;
+
+}
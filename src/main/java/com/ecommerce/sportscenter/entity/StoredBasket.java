@@ -0,0 +1,45 @@
+package com.ecommerce.sportscenter.entity;
+
+import jakarta.persistence.CollectionTable;
+import jakarta.persistence.Column;
+import jakarta.persistence.ElementCollection;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.OrderColumn;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/** Row backing {@link com.ecommerce.sportscenter.basket.JpaBasketRepository}. */
+@Entity
+@Table(name = "baskets", indexes = @Index(name = "idx_baskets_last_accessed", columnList = "last_accessed"))
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class StoredBasket {
+
+	@Id
+	private UUID id;
+
+	@Column(name = "last_accessed", nullable = false)
+	private Instant lastAccessed;
+
+	@ElementCollection
+	@CollectionTable(name = "basket_lines", joinColumns = @JoinColumn(name = "basket_id"))
+	@OrderColumn(name = "line_index")
+	@Builder.Default
+	private List<StoredBasketLine> lines = new ArrayList<>();
+
+}
@@ -0,0 +1,23 @@
+package com.ecommerce.sportscenter.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Embeddable
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class StoredBasketLine {
+
+	@Column(nullable = false)
+	private Integer productId;
+
+	@Column(nullable = false)
+	private Integer quantity;
+
+}
@@ -0,0 +1,10 @@
+package com.ecommerce.sportscenter.event;
+
+import java.util.UUID;
+
+/**
+ * Published once a bulk import has written products. Imports bypass {@link ProductChangedEvent}, so
+ * in-memory views of the catalog rebuild from scratch on this event instead.
+ */
+public record CatalogImportedEvent(UUID importId, long productsWritten) {
+}
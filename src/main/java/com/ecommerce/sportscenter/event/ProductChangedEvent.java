@@ -0,0 +1,13 @@
+package com.ecommerce.sportscenter.event;
+
+/**
+ * Published by the product write path once per created, updated or deleted product.
+ * Listeners that derive in-memory state from the catalog should react after commit.
+ */
+public record ProductChangedEvent(Integer productId, ChangeType changeType) {
+
+	public enum ChangeType {
+		CREATED, UPDATED, DELETED
+	}
+
+}
@@ -0,0 +1,11 @@
+package com.ecommerce.sportscenter.event;
+
+import java.util.Set;
+
+/**
+ * Published after a new promotion rule set was installed. Effective prices can only have changed for
+ * products in the scope of a rule that was added, removed or modified: every product if
+ * {@code allProducts}, otherwise those of the listed brands and types.
+ */
+public record PromotionsChangedEvent(boolean allProducts, Set<Integer> brandIds, Set<Integer> typeIds) {
+}
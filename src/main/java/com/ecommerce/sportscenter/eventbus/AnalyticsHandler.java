@@ -0,0 +1,71 @@
+package com.ecommerce.sportscenter.eventbus;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Storefront activity totals: events by type, plus basket lines removed. Counts accumulate in plain
+ * fields on the handler thread and are published once per batch, and are reported as
+ * {@code sportscenter.events} tagged with the type.
+ */
+@Component
+public class AnalyticsHandler implements BusEventHandler {
+
+	private static final BusEventType[] TYPES = BusEventType.values();
+	private static final int BASKET_REMOVALS = TYPES.length;
+
+	private final long[] pending = new long[TYPES.length + 1];
+	private final AtomicLongArray totals = new AtomicLongArray(TYPES.length + 1);
+
+	public AnalyticsHandler(MeterRegistry meterRegistry) {
+		for (BusEventType type : TYPES) {
+			register(meterRegistry, type.name().toLowerCase(Locale.ROOT).replace('_', '-'), type.ordinal());
+		}
+		register(meterRegistry, "basket-removed", BASKET_REMOVALS);
+	}
+
+	@Override
+	public Set<BusEventType> eventTypes() {
+		return EnumSet.allOf(BusEventType.class);
+	}
+
+	@Override
+	public void onEvent(BusEvent event) {
+		pending[event.type().ordinal()]++;
+		if (event.type() == BusEventType.BASKET_CHANGED && event.quantity() == 0) {
+			pending[BASKET_REMOVALS]++;
+		}
+	}
+
+	@Override
+	public void onBatchEnd() {
+		for (int i = 0; i < pending.length; i++) {
+			if (pending[i] != 0) {
+				totals.setRelease(i, totals.getPlain(i) + pending[i]);
+				pending[i] = 0;
+			}
+		}
+	}
+
+	public long count(BusEventType type) {
+		return totals.getAcquire(type.ordinal());
+	}
+
+	public long basketRemovals() {
+		return totals.getAcquire(BASKET_REMOVALS);
+	}
+
+	private void register(MeterRegistry meterRegistry, String type, int index) {
+		FunctionCounter.builder("sportscenter.events", totals, counts -> counts.getAcquire(index))
+				.description("Storefront events seen by the event bus")
+				.tag("type", type)
+				.register(meterRegistry);
+	}
+
+}
@@ -0,0 +1,77 @@
+package com.ecommerce.sportscenter.eventbus;
+
+import com.ecommerce.sportscenter.event.ProductChangedEvent.ChangeType;
+
+import java.util.UUID;
+
+/**
+ * A slot of the {@link RingBufferEventBus}. Slots are allocated once and overwritten by every event
+ * that passes through them, so handlers must copy what they need and not keep the slot itself. Fields
+ * a type does not use are reset to zero or null.
+ */
+public final class BusEvent {
+
+	private BusEventType type;
+	private int productId;
+	private int quantity;
+	private long basketIdHigh;
+	private long basketIdLow;
+	private ChangeType changeType;
+
+	BusEvent() {
+	}
+
+	void productViewed(int productId) {
+		set(BusEventType.PRODUCT_VIEWED, productId, 0, 0, 0, null);
+	}
+
+	void basketChanged(UUID basketId, int productId, int quantity) {
+		set(BusEventType.BASKET_CHANGED, productId, quantity, basketId.getMostSignificantBits(),
+				basketId.getLeastSignificantBits(), null);
+	}
+
+	void productChanged(int productId, ChangeType changeType) {
+		set(BusEventType.PRODUCT_CHANGED, productId, 0, 0, 0, changeType);
+	}
+
+	private void set(BusEventType type, int productId, int quantity, long basketIdHigh, long basketIdLow,
+			ChangeType changeType) {
+		this.type = type;
+		this.productId = productId;
+		this.quantity = quantity;
+		this.basketIdHigh = basketIdHigh;
+		this.basketIdLow = basketIdLow;
+		this.changeType = changeType;
+	}
+
+	public BusEventType type() {
+		return type;
+	}
+
+	public int productId() {
+		return productId;
+	}
+
+	/** The product's quantity in the basket after the change; zero when it was removed. */
+	public int quantity() {
+		return quantity;
+	}
+
+	/** Most significant bits of the basket id; with {@link #basketIdLow()} avoids allocating a UUID. */
+	public long basketIdHigh() {
+		return basketIdHigh;
+	}
+
+	public long basketIdLow() {
+		return basketIdLow;
+	}
+
+	public UUID basketId() {
+		return new UUID(basketIdHigh, basketIdLow);
+	}
+
+	public ChangeType changeType() {
+		return changeType;
+	}
+
+}
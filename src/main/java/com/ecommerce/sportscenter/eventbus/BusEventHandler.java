@@ -0,0 +1,25 @@
+package com.ecommerce.sportscenter.eventbus;
+
+import java.util.Set;
+
+/**
+ * Consumer of {@link RingBufferEventBus} events. Each handler runs on its own thread and sees the
+ * events of its types in publication order, so it may keep unsynchronized state as long as other
+ * threads only read what it publishes safely.
+ */
+public interface BusEventHandler {
+
+	/** Event types delivered to {@link #onEvent}; others are skipped without calling the handler. */
+	Set<BusEventType> eventTypes();
+
+	/** Handles one event. The slot is reused once this returns. */
+	void onEvent(BusEvent event);
+
+	/**
+	 * Called after the last event of a batch, that is of all events that were available when the
+	 * handler caught up, if it handled any of them. The place to publish work accumulated per event.
+	 */
+	default void onBatchEnd() {
+	}
+
+}
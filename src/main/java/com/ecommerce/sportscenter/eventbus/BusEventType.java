@@ -0,0 +1,14 @@
+package com.ecommerce.sportscenter.eventbus;
+
+public enum BusEventType {
+
+	/** A product detail page was served; sets the product id. */
+	PRODUCT_VIEWED,
+
+	/** A product's quantity in a basket changed; sets the basket id, product id and new quantity. */
+	BASKET_CHANGED,
+
+	/** A product change committed; sets the product id and change type. */
+	PRODUCT_CHANGED
+
+}
@@ -0,0 +1,35 @@
+package com.ecommerce.sportscenter.eventbus;
+
+import com.ecommerce.sportscenter.autocomplete.AutocompleteService;
+import com.ecommerce.sportscenter.event.ProductChangedEvent;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Applies committed product changes to caches that are only eventually consistent anyway, currently
+ * the autocomplete suggestions (rebuilt on a schedule), so their reloads run off the request that
+ * changed the product. The catalog cache and ETags are invalidated synchronously on commit instead:
+ * a client must never be handed a new ETag with stale content.
+ */
+@Component
+public class CacheInvalidationHandler implements BusEventHandler {
+
+	private final AutocompleteService autocompleteService;
+
+	public CacheInvalidationHandler(AutocompleteService autocompleteService) {
+		this.autocompleteService = autocompleteService;
+	}
+
+	@Override
+	public Set<BusEventType> eventTypes() {
+		return EnumSet.of(BusEventType.PRODUCT_CHANGED);
+	}
+
+	@Override
+	public void onEvent(BusEvent event) {
+		autocompleteService.onProductChanged(new ProductChangedEvent(event.productId(), event.changeType()));
+	}
+
+}
@@ -0,0 +1,21 @@
+package com.ecommerce.sportscenter.eventbus;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "sportscenter.event-bus")
+public class EventBusProperties {
+
+	/** Number of event slots; rounded up to a power of two. */
+	private int bufferSize = 65_536;
+
+	/**
+	 * How long an idle handler sleeps between checks for new events, after briefly spinning and
+	 * yielding. Bounds the delivery delay of an event arriving on a quiet bus.
+	 */
+	private Duration idleWait = Duration.ofMillis(1);
+
+}
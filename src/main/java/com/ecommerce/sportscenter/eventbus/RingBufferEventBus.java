@@ -0,0 +1,286 @@
+package com.ecommerce.sportscenter.eventbus;
+
+import com.ecommerce.sportscenter.event.ProductChangedEvent;
+import com.ecommerce.sportscenter.event.ProductChangedEvent.ChangeType;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * In-process bus for high-volume signals (product views, basket changes) and committed product
+ * changes, built on a pre-allocated ring of {@link BusEvent} slots in the style of the LMAX Disruptor.
+ * <p>
+ * Publishing claims the next sequence with a single compare-and-set on the producers' cursor, fills
+ * the slot in place and marks it published by storing the sequence's lap in a per-slot flag; nothing
+ * is allocated and no lock is taken. Every {@link BusEventHandler} runs on its own thread with its
+ * own sequence, which only that thread writes. It processes everything published since it last
+ * caught up as one batch and only then moves its sequence on, which is what lets producers reuse
+ * the slots behind the slowest handler.
+ * <p>
+ * Views and basket changes are dropped rather than delay a request when the ring is full, and counted
+ * as {@code sportscenter.eventbus.dropped}; product changes wait for a free slot. Handler backlogs are
+ * reported as {@code sportscenter.eventbus.backlog}.
+ */
+@Component
+@Slf4j
+public class RingBufferEventBus {
+
+	private static final int SPIN_TRIES = 100;
+	private static final int YIELD_TRIES = 200;
+
+	private final BusEvent[] slots;
+	private final AtomicIntegerArray publishedLaps;
+	private final int mask;
+	private final int indexShift;
+	private final Sequence cursor = new Sequence();
+	private final Sequence gatingCache = new Sequence();
+	private final Consumer[] consumers;
+	private final long idleWaitNanos;
+	private final Counter dropped;
+	private volatile boolean running = true;
+
+	public RingBufferEventBus(EventBusProperties properties, List<BusEventHandler> handlers,
+			MeterRegistry meterRegistry) {
+		int capacity = 1 << (32 - Integer.numberOfLeadingZeros(Math.max(2, properties.getBufferSize()) - 1));
+		this.slots = new BusEvent[capacity];
+		Arrays.setAll(slots, i -> new BusEvent());
+		int[] laps = new int[capacity];
+		Arrays.fill(laps, -1);
+		this.publishedLaps = new AtomicIntegerArray(laps);
+		this.mask = capacity - 1;
+		this.indexShift = Integer.numberOfTrailingZeros(capacity);
+		this.idleWaitNanos = Math.max(1, properties.getIdleWait().toNanos());
+		this.consumers = handlers.stream().map(handler -> new Consumer(handler, meterRegistry))
+				.toArray(Consumer[]::new);
+		this.dropped = Counter.builder("sportscenter.eventbus.dropped")
+				.description("Events not published because the ring buffer was full")
+				.register(meterRegistry);
+		FunctionCounter.builder("sportscenter.eventbus.published", cursor, sequence -> sequence.get() + 1)
+				.description("Events published to the ring buffer")
+				.register(meterRegistry);
+	}
+
+	@PostConstruct
+	public void start() {
+		for (Consumer consumer : consumers) {
+			consumer.thread.start();
+		}
+	}
+
+	/** Stops the handlers once they have processed the events already published. */
+	@PreDestroy
+	public void stop() throws InterruptedException {
+		running = false;
+		for (Consumer consumer : consumers) {
+			consumer.thread.join(TimeUnit.SECONDS.toMillis(5));
+		}
+	}
+
+	/** Publishes a product view; returns false if it was dropped because the bus is full. */
+	public boolean productViewed(int productId) {
+		long sequence = tryClaim();
+		if (sequence < 0) {
+			return false;
+		}
+		slot(sequence).productViewed(productId);
+		publish(sequence);
+		return true;
+	}
+
+	/** Publishes a basket line change; returns false if it was dropped because the bus is full. */
+	public boolean basketChanged(UUID basketId, int productId, int quantity) {
+		long sequence = tryClaim();
+		if (sequence < 0) {
+			return false;
+		}
+		slot(sequence).basketChanged(basketId, productId, quantity);
+		publish(sequence);
+		return true;
+	}
+
+	/** Publishes a product change, waiting for a free slot if need be. */
+	public void productChanged(int productId, ChangeType changeType) {
+		long sequence = claim();
+		if (sequence < 0) {
+			log.warn("Event bus stopped, product change {} {} not published", productId, changeType);
+			return;
+		}
+		slot(sequence).productChanged(productId, changeType);
+		publish(sequence);
+	}
+
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onProductChanged(ProductChangedEvent event) {
+		productChanged(event.productId(), event.changeType());
+	}
+
+	/** Number of slots. */
+	public int capacity() {
+		return slots.length;
+	}
+
+	private long tryClaim() {
+		long current;
+		long next;
+		do {
+			current = cursor.get();
+			next = current + 1;
+			long wrapPoint = next - slots.length;
+			if (wrapPoint > gatingCache.get()) {
+				long gating = slowestConsumer(current);
+				gatingCache.set(gating);
+				if (wrapPoint > gating) {
+					dropped.increment();
+					return -1;
+				}
+			}
+		} while (!cursor.compareAndSet(current, next));
+		return next;
+	}
+
+	private long claim() {
+		int idle = 0;
+		while (running) {
+			long current = cursor.get();
+			long next = current + 1;
+			if (next - slots.length <= slowestConsumer(current)) {
+				if (cursor.compareAndSet(current, next)) {
+					return next;
+				}
+			}
+			else {
+				idle = idle(idle);
+			}
+		}
+		return -1;
+	}
+
+	private long slowestConsumer(long fallback) {
+		long slowest = fallback;
+		for (Consumer consumer : consumers) {
+			slowest = Math.min(slowest, consumer.sequence.get());
+		}
+		return slowest;
+	}
+
+	private BusEvent slot(long sequence) {
+		return slots[(int) sequence & mask];
+	}
+
+	private void publish(long sequence) {
+		publishedLaps.setRelease((int) sequence & mask, (int) (sequence >>> indexShift));
+	}
+
+	private boolean isPublished(long sequence) {
+		return publishedLaps.getAcquire((int) sequence & mask) == (int) (sequence >>> indexShift);
+	}
+
+	/** The last sequence from {@code from} up to {@code claimed} without an unpublished one before it. */
+	private long highestPublished(long from, long claimed) {
+		for (long sequence = from; sequence <= claimed; sequence++) {
+			if (!isPublished(sequence)) {
+				return sequence - 1;
+			}
+		}
+		return claimed;
+	}
+
+	/** Spins, then yields, then sleeps; returns the next idle count. */
+	private int idle(int idle) {
+		if (idle < SPIN_TRIES) {
+			Thread.onSpinWait();
+		}
+		else if (idle < YIELD_TRIES) {
+			Thread.yield();
+		}
+		else {
+			LockSupport.parkNanos(idleWaitNanos);
+			return idle;
+		}
+		return idle + 1;
+	}
+
+	private final class Consumer implements Runnable {
+
+		private final BusEventHandler handler;
+		private final boolean[] accepts = new boolean[BusEventType.values().length];
+		private final Sequence sequence = new Sequence();
+		private final Counter errors;
+		private final Thread thread;
+
+		Consumer(BusEventHandler handler, MeterRegistry meterRegistry) {
+			this.handler = handler;
+			handler.eventTypes().forEach(type -> accepts[type.ordinal()] = true);
+			String name = handler.getClass().getSimpleName();
+			this.errors = Counter.builder("sportscenter.eventbus.errors")
+					.description("Exceptions thrown by event bus handlers")
+					.tag("handler", name)
+					.register(meterRegistry);
+			Gauge.builder("sportscenter.eventbus.backlog", this, consumer -> cursor.get() - consumer.sequence.get())
+					.description("Events published but not yet processed by the handler")
+					.tag("handler", name)
+					.register(meterRegistry);
+			this.thread = Thread.ofPlatform().name("event-bus-" + name).daemon().unstarted(this);
+		}
+
+		@Override
+		public void run() {
+			long next = sequence.get() + 1;
+			int idle = 0;
+			while (true) {
+				long highest = highestPublished(next, cursor.get());
+				if (highest < next) {
+					if (!running) {
+						return;
+					}
+					idle = idle(idle);
+					continue;
+				}
+				idle = 0;
+				boolean handled = false;
+				for (long current = next; current <= highest; current++) {
+					BusEvent event = slot(current);
+					if (accepts[event.type().ordinal()]) {
+						handled = true;
+						try {
+							handler.onEvent(event);
+						}
+						catch (RuntimeException ex) {
+							failed(ex);
+						}
+					}
+				}
+				if (handled) {
+					try {
+						handler.onBatchEnd();
+					}
+					catch (RuntimeException ex) {
+						failed(ex);
+					}
+				}
+				sequence.set(highest);
+				next = highest + 1;
+			}
+		}
+
+		private void failed(RuntimeException ex) {
+			errors.increment();
+			log.warn("Event bus handler {} failed", handler.getClass().getSimpleName(), ex);
+		}
+
+	}
+
+}
@@ -0,0 +1,59 @@
+package com.ecommerce.sportscenter.eventbus;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
+/**
+ * A ring buffer position, normally written by a single thread and read by others. The value is padded
+ * on both sides so that sequences of different threads never share a cache line.
+ */
+final class Sequence extends SequenceValue {
+
+	static final long INITIAL = -1;
+
+	private static final VarHandle VALUE;
+
+	static {
+		try {
+			VALUE = MethodHandles.lookup().findVarHandle(SequenceValue.class, "value", long.class);
+		}
+		catch (ReflectiveOperationException ex) {
+			throw new ExceptionInInitializerError(ex);
+		}
+	}
+
+	@SuppressWarnings("unused")
+	private long p9, p10, p11, p12, p13, p14, p15;
+
+	Sequence() {
+		this.value = INITIAL;
+	}
+
+	long get() {
+		return (long) VALUE.getAcquire(this);
+	}
+
+	/** Publishes the value to other threads without the full fence of a volatile write. */
+	void set(long newValue) {
+		VALUE.setRelease(this, newValue);
+	}
+
+	/** For the one sequence with several writers, the producers' claim cursor. */
+	boolean compareAndSet(long expected, long newValue) {
+		return VALUE.compareAndSet(this, expected, newValue);
+	}
+
+}
+
+abstract class SequenceLeftPadding {
+
+	@SuppressWarnings("unused")
+	private long p1, p2, p3, p4, p5, p6, p7;
+
+}
+
+abstract class SequenceValue extends SequenceLeftPadding {
+
+	protected long value;
+
+}
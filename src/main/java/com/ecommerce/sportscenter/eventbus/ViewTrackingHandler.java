@@ -0,0 +1,32 @@
+package com.ecommerce.sportscenter.eventbus;
+
+import com.ecommerce.sportscenter.autocomplete.ProductPopularity;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Counts product views into {@link ProductPopularity} off the request path, from a single thread, so
+ * page views no longer contend on the shared counters.
+ */
+@Component
+public class ViewTrackingHandler implements BusEventHandler {
+
+	private final ProductPopularity popularity;
+
+	public ViewTrackingHandler(ProductPopularity popularity) {
+		this.popularity = popularity;
+	}
+
+	@Override
+	public Set<BusEventType> eventTypes() {
+		return EnumSet.of(BusEventType.PRODUCT_VIEWED);
+	}
+
+	@Override
+	public void onEvent(BusEvent event) {
+		popularity.recordView(event.productId());
+	}
+
+}
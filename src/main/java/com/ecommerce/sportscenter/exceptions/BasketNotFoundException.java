@@ -0,0 +1,11 @@
+package com.ecommerce.sportscenter.exceptions;
+
+import java.util.UUID;
+
+public class BasketNotFoundException extends RuntimeException {
+
+	public BasketNotFoundException(UUID basketId) {
+		super("Basket not found with id: " + basketId);
+	}
+
+}
@@ -0,0 +1,10 @@
+package com.ecommerce.sportscenter.exceptions;
+
+/** Checkout is temporarily turned away, e.g. because the order writer is saturated; clients may retry. */
+public class CheckoutUnavailableException extends RuntimeException {
+
+	public CheckoutUnavailableException(String message) {
+		super(message);
+	}
+
+}
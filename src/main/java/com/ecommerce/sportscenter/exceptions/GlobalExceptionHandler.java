@@ -0,0 +1,37 @@
+package com.ecommerce.sportscenter.exceptions;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ProblemDetail;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+@RestControllerAdvice
+public class GlobalExceptionHandler {
+
+	@ExceptionHandler({ProductNotFoundException.class, BasketNotFoundException.class, OrderNotFoundException.class,
+			ReservationNotFoundException.class, ImportNotFoundException.class})
+	public ProblemDetail handleNotFound(RuntimeException ex) {
+		return ProblemDetail.forStatusAndDetail(HttpStatus.NOT_FOUND, ex.getMessage());
+	}
+
+	@ExceptionHandler({ReferenceNotFoundException.class, IllegalArgumentException.class})
+	public ProblemDetail handleBadRequest(RuntimeException ex) {
+		return ProblemDetail.forStatusAndDetail(HttpStatus.BAD_REQUEST, ex.getMessage());
+	}
+
+	@ExceptionHandler(InsufficientStockException.class)
+	public ProblemDetail handleInsufficientStock(InsufficientStockException ex) {
+		return ProblemDetail.forStatusAndDetail(HttpStatus.CONFLICT, ex.getMessage());
+	}
+
+	@ExceptionHandler(IdempotencyKeyReusedException.class)
+	public ProblemDetail handleIdempotencyKeyReused(IdempotencyKeyReusedException ex) {
+		return ProblemDetail.forStatusAndDetail(HttpStatus.UNPROCESSABLE_ENTITY, ex.getMessage());
+	}
+
+	@ExceptionHandler(CheckoutUnavailableException.class)
+	public ProblemDetail handleCheckoutUnavailable(CheckoutUnavailableException ex) {
+		return ProblemDetail.forStatusAndDetail(HttpStatus.SERVICE_UNAVAILABLE, ex.getMessage());
+	}
+
+}
@@ -0,0 +1,10 @@
+package com.ecommerce.sportscenter.exceptions;
+
+/** An idempotency key was sent again with a request different from the one it was first used for. */
+public class IdempotencyKeyReusedException extends RuntimeException {
+
+	public IdempotencyKeyReusedException(String key) {
+		super("Idempotency key " + key + " was already used for a different checkout");
+	}
+
+}
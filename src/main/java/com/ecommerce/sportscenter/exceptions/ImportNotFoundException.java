@@ -0,0 +1,11 @@
+package com.ecommerce.sportscenter.exceptions;
+
+import java.util.UUID;
+
+public class ImportNotFoundException extends RuntimeException {
+
+	public ImportNotFoundException(UUID importId) {
+		super("Import not found with id: " + importId);
+	}
+
+}
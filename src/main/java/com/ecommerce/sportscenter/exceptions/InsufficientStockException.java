@@ -0,0 +1,11 @@
+package com.ecommerce.sportscenter.exceptions;
+
+import java.util.Collection;
+
+public class InsufficientStockException extends RuntimeException {
+
+	public InsufficientStockException(Collection<Integer> productIds) {
+		super("Insufficient stock for products: " + productIds);
+	}
+
+}
@@ -0,0 +1,9 @@
+package com.ecommerce.sportscenter.exceptions;
+
+public class OrderNotFoundException extends RuntimeException {
+
+	public OrderNotFoundException(Long orderId) {
+		super("Order not found with id: " + orderId);
+	}
+
+}
@@ -0,0 +1,9 @@
+package com.ecommerce.sportscenter.exceptions;
+
+public class ProductNotFoundException extends RuntimeException {
+
+	public ProductNotFoundException(Integer productId) {
+		super("Product not found with id: " + productId);
+	}
+
+}
@@ -0,0 +1,10 @@
+package com.ecommerce.sportscenter.exceptions;
+
+/** A unit of work issued more SQL than its query budget allows; only thrown when violations are set to fail. */
+public class QueryBudgetExceededException extends RuntimeException {
+
+	public QueryBudgetExceededException(String message) {
+		super(message);
+	}
+
+}
@@ -0,0 +1,9 @@
+package com.ecommerce.sportscenter.exceptions;
+
+public class ReferenceNotFoundException extends RuntimeException {
+
+	public ReferenceNotFoundException(String reference, Integer id) {
+		super(reference + " not found with id: " + id);
+	}
+
+}
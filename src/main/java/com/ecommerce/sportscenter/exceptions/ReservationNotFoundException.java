@@ -0,0 +1,11 @@
+package com.ecommerce.sportscenter.exceptions;
+
+import java.util.UUID;
+
+public class ReservationNotFoundException extends RuntimeException {
+
+	public ReservationNotFoundException(UUID reservationId) {
+		super("Reservation not found or expired with id: " + reservationId);
+	}
+
+}
@@ -0,0 +1,37 @@
+package com.ecommerce.sportscenter.export;
+
+import org.springframework.http.MediaType;
+
+import java.util.Locale;
+
+public enum ExportFormat {
+
+	JSON(MediaType.APPLICATION_JSON, "json"),
+	CSV(new MediaType("text", "csv"), "csv");
+
+	private final MediaType mediaType;
+	private final String extension;
+
+	ExportFormat(MediaType mediaType, String extension) {
+		this.mediaType = mediaType;
+		this.extension = extension;
+	}
+
+	public MediaType mediaType() {
+		return mediaType;
+	}
+
+	public String extension() {
+		return extension;
+	}
+
+	public static ExportFormat fromParameter(String value) {
+		try {
+			return valueOf(value.toUpperCase(Locale.ROOT));
+		}
+		catch (IllegalArgumentException ex) {
+			throw new IllegalArgumentException("Unsupported export format: " + value);
+		}
+	}
+
+}
@@ -0,0 +1,16 @@
+package com.ecommerce.sportscenter.export;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "sportscenter.export")
+public class ExportProperties {
+
+	/**
+	 * Rows the JDBC driver fetches per round trip while streaming the feed. MySQL only honours it
+	 * with {@code useCursorFetch=true} on the connection URL; otherwise it buffers the whole result.
+	 */
+	private int fetchSize = 1000;
+
+}
@@ -0,0 +1,122 @@
+package com.ecommerce.sportscenter.export;
+
+import com.ecommerce.sportscenter.model.ProductResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.CacheMode;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.Session;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+
+/**
+ * Writes the whole catalog as one JSON array or CSV document without holding it in memory.
+ * <p>
+ * Rows come from a forward-only cursor over a scalar projection, so no entities enter the
+ * persistence context and the driver holds at most one fetch of rows. Each row is written to the
+ * output as soon as it is read; heap use stays flat however large the catalog. The read runs in a
+ * single read-only transaction, so the feed is a consistent snapshot.
+ */
+@Service
+@Slf4j
+public class ProductExportService {
+
+	private static final String FEED_QUERY = "select p.id, p.sku, p.name, p.description, p.price, p.pictureUrl,"
+			+ " b.id, b.name, t.id, t.name from Product p join p.brand b join p.type t order by p.id";
+
+	private static final CsvSchema CSV_SCHEMA = CsvSchema.builder()
+			.addColumn("id")
+			.addColumn("sku")
+			.addColumn("name")
+			.addColumn("description")
+			.addColumn("price")
+			.addColumn("pictureUrl")
+			.addColumn("brandId")
+			.addColumn("productBrand")
+			.addColumn("typeId")
+			.addColumn("productType")
+			.build()
+			.withHeader();
+
+	private final ObjectMapper objectMapper;
+	private final CsvMapper csvMapper = new CsvMapper();
+	private final TransactionTemplate transactionTemplate;
+	private final ExportProperties properties;
+
+	@PersistenceContext
+	private EntityManager entityManager;
+
+	public ProductExportService(ObjectMapper objectMapper, PlatformTransactionManager transactionManager,
+			ExportProperties properties) {
+		this.objectMapper = objectMapper;
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+		this.transactionTemplate.setReadOnly(true);
+		this.properties = properties;
+	}
+
+	/** Streams every product to {@code out} and closes it. Returns the number of products written. */
+	public long export(ExportFormat format, OutputStream out) throws IOException {
+		long start = System.nanoTime();
+		try (SequenceWriter writer = open(format, out)) {
+			long written = transactionTemplate.execute(status -> write(writer));
+			log.info("Exported {} products as {} in {} ms", written, format, (System.nanoTime() - start) / 1_000_000);
+			return written;
+		}
+		catch (UncheckedIOException ex) {
+			throw ex.getCause();
+		}
+	}
+
+	private long write(SequenceWriter writer) {
+		long written = 0;
+		try (ScrollableResults<Object[]> rows = entityManager.unwrap(Session.class)
+				.createSelectionQuery(FEED_QUERY, Object[].class)
+				.setReadOnly(true)
+				.setCacheMode(CacheMode.IGNORE)
+				.setFetchSize(properties.getFetchSize())
+				.scroll(ScrollMode.FORWARD_ONLY)) {
+			while (rows.next()) {
+				writer.write(toResponse(rows.get()));
+				written++;
+			}
+		}
+		catch (IOException ex) {
+			throw new UncheckedIOException(ex);
+		}
+		return written;
+	}
+
+	private SequenceWriter open(ExportFormat format, OutputStream out) throws IOException {
+		return switch (format) {
+			case JSON -> objectMapper.writerFor(ProductResponse.class).writeValuesAsArray(out);
+			case CSV -> csvMapper.writerFor(ProductResponse.class).with(CSV_SCHEMA).writeValues(out);
+		};
+	}
+
+	private static ProductResponse toResponse(Object[] row) {
+		return ProductResponse.builder()
+				.id((Integer) row[0])
+				.sku((String) row[1])
+				.name((String) row[2])
+				.description((String) row[3])
+				.price((Long) row[4])
+				.pictureUrl((String) row[5])
+				.brandId((Integer) row[6])
+				.productBrand((String) row[7])
+				.typeId((Integer) row[8])
+				.productType((String) row[9])
+				.build();
+	}
+
+}
@@ -0,0 +1,237 @@
+package com.ecommerce.sportscenter.facet;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Bitmap index over the filterable product attributes. Bit {@code n} of every set stands for the
+ * product with id {@code n}: one set per brand, per type and per price bucket. Filtering is an OR
+ * within a dimension and an AND across dimensions; facet counts are then tallied in a single pass
+ * over the surviving bits using per-product attribute arrays.
+ */
+public class FacetIndex {
+
+	private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+	private final long[] bucketBounds;
+	private final BitSet live = new BitSet();
+	private final Dimension brands = new Dimension();
+	private final Dimension types = new Dimension();
+	private final BitSet[] byPriceBucket;
+	private int[] brandOrdinalOf = new int[1024];
+	private int[] typeOrdinalOf = new int[1024];
+	private long[] priceOf = new long[1024];
+
+	public FacetIndex(List<Long> priceBucketBounds) {
+		if (priceBucketBounds.isEmpty()) {
+			throw new IllegalArgumentException("At least one price bucket is required");
+		}
+		this.bucketBounds = priceBucketBounds.stream().mapToLong(Long::longValue).toArray();
+		for (int i = 1; i < bucketBounds.length; i++) {
+			if (bucketBounds[i] <= bucketBounds[i - 1]) {
+				throw new IllegalArgumentException("Price bucket bounds must be strictly ascending");
+			}
+		}
+		this.byPriceBucket = new BitSet[bucketBounds.length];
+		for (int i = 0; i < byPriceBucket.length; i++) {
+			byPriceBucket[i] = new BitSet();
+		}
+	}
+
+	public void put(int productId, int brandId, int typeId, long price) {
+		lock.writeLock().lock();
+		try {
+			removeInternal(productId);
+			ensureCapacity(productId);
+			live.set(productId);
+			brandOrdinalOf[productId] = brands.add(brandId, productId);
+			typeOrdinalOf[productId] = types.add(typeId, productId);
+			byPriceBucket[bucketOf(price)].set(productId);
+			priceOf[productId] = price;
+		}
+		finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	public void remove(int productId) {
+		lock.writeLock().lock();
+		try {
+			removeInternal(productId);
+		}
+		finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	public int size() {
+		lock.readLock().lock();
+		try {
+			return live.cardinality();
+		}
+		finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/** Lower bound (inclusive) of each price bucket, in minor currency units. */
+	public long[] bucketBounds() {
+		return bucketBounds.clone();
+	}
+
+	public FacetResult query(FacetQuery query) {
+		lock.readLock().lock();
+		try {
+			BitSet matches = (BitSet) live.clone();
+			if (!query.brandIds().isEmpty()) {
+				matches.and(brands.union(query.brandIds()));
+			}
+			if (!query.typeIds().isEmpty()) {
+				matches.and(types.union(query.typeIds()));
+			}
+			if (query.minPrice() != null || query.maxPrice() != null) {
+				matches.and(priceRange(matches, query.minPrice(), query.maxPrice()));
+			}
+			return collect(matches, query.afterId(), query.limit());
+		}
+		finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	private FacetResult collect(BitSet matches, int afterId, int limit) {
+		int[] brandCounts = new int[brands.size()];
+		int[] typeCounts = new int[types.size()];
+		int[] bucketCounts = new int[bucketBounds.length];
+		List<Integer> window = new ArrayList<>(Math.max(0, limit));
+		int total = 0;
+		for (int id = matches.nextSetBit(0); id >= 0; id = matches.nextSetBit(id + 1)) {
+			total++;
+			brandCounts[brandOrdinalOf[id]]++;
+			typeCounts[typeOrdinalOf[id]]++;
+			bucketCounts[bucketOf(priceOf[id])]++;
+			if (id > afterId && window.size() < limit) {
+				window.add(id);
+			}
+		}
+		return new FacetResult(total, window, brands.counts(brandCounts), types.counts(typeCounts), bucketCounts);
+	}
+
+	/**
+	 * Buckets lying entirely inside the range are taken whole; only candidates from the (at most two)
+	 * buckets straddling a bound have their exact price checked.
+	 */
+	private BitSet priceRange(BitSet candidates, Long minPrice, Long maxPrice) {
+		long min = minPrice == null ? Long.MIN_VALUE : minPrice;
+		long max = maxPrice == null ? Long.MAX_VALUE : maxPrice;
+		BitSet range = new BitSet();
+		for (int bucket = 0; bucket < bucketBounds.length; bucket++) {
+			long lower = bucket == 0 ? Long.MIN_VALUE : bucketBounds[bucket];
+			long upper = bucket + 1 < bucketBounds.length ? bucketBounds[bucket + 1] - 1 : Long.MAX_VALUE;
+			if (upper < min || lower > max) {
+				continue;
+			}
+			if (lower >= min && upper <= max) {
+				range.or(byPriceBucket[bucket]);
+				continue;
+			}
+			BitSet straddling = (BitSet) byPriceBucket[bucket].clone();
+			straddling.and(candidates);
+			for (int id = straddling.nextSetBit(0); id >= 0; id = straddling.nextSetBit(id + 1)) {
+				if (priceOf[id] >= min && priceOf[id] <= max) {
+					range.set(id);
+				}
+			}
+		}
+		return range;
+	}
+
+	int bucketOf(long price) {
+		int position = Arrays.binarySearch(bucketBounds, price);
+		if (position >= 0) {
+			return position;
+		}
+		return Math.max(0, -position - 2);
+	}
+
+	private void removeInternal(int productId) {
+		if (productId < 0) {
+			throw new IllegalArgumentException("Product id must not be negative: " + productId);
+		}
+		if (!live.get(productId)) {
+			return;
+		}
+		live.clear(productId);
+		brands.remove(brandOrdinalOf[productId], productId);
+		types.remove(typeOrdinalOf[productId], productId);
+		byPriceBucket[bucketOf(priceOf[productId])].clear(productId);
+	}
+
+	private void ensureCapacity(int productId) {
+		if (productId >= priceOf.length) {
+			int capacity = Math.max(productId + 1, priceOf.length + (priceOf.length >> 1));
+			brandOrdinalOf = Arrays.copyOf(brandOrdinalOf, capacity);
+			typeOrdinalOf = Arrays.copyOf(typeOrdinalOf, capacity);
+			priceOf = Arrays.copyOf(priceOf, capacity);
+		}
+	}
+
+	/**
+	 * The bitsets of one attribute, addressed by a dense ordinal so that per-value counts can be
+	 * tallied into a plain int array. Ordinals are never reused; a value that loses all its products
+	 * simply keeps an empty set.
+	 */
+	private static final class Dimension {
+
+		private final Map<Integer, Integer> ordinals = new HashMap<>();
+		private final List<Integer> values = new ArrayList<>();
+		private final List<BitSet> sets = new ArrayList<>();
+
+		int add(int value, int productId) {
+			int ordinal = ordinals.computeIfAbsent(value, v -> {
+				values.add(v);
+				sets.add(new BitSet());
+				return values.size() - 1;
+			});
+			sets.get(ordinal).set(productId);
+			return ordinal;
+		}
+
+		void remove(int ordinal, int productId) {
+			sets.get(ordinal).clear(productId);
+		}
+
+		BitSet union(Set<Integer> selected) {
+			BitSet union = new BitSet();
+			for (Integer value : selected) {
+				Integer ordinal = ordinals.get(value);
+				if (ordinal != null) {
+					union.or(sets.get(ordinal));
+				}
+			}
+			return union;
+		}
+
+		Map<Integer, Integer> counts(int[] tally) {
+			Map<Integer, Integer> counts = new LinkedHashMap<>();
+			for (int ordinal = 0; ordinal < tally.length; ordinal++) {
+				if (tally[ordinal] > 0) {
+					counts.put(values.get(ordinal), tally[ordinal]);
+				}
+			}
+			return counts;
+		}
+
+		int size() {
+			return values.size();
+		}
+
+	}
+
+}
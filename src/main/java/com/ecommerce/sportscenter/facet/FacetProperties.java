@@ -0,0 +1,24 @@
+package com.ecommerce.sportscenter.facet;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.List;
+
+@Data
+@ConfigurationProperties(prefix = "sportscenter.facets")
+public class FacetProperties {
+
+	/** Products fetched per query while building the index at startup. */
+	private int loadBatchSize = 1000;
+
+	/**
+	 * Ascending lower bounds of the price buckets, in minor currency units. The last bucket is open
+	 * ended; prices below the first bound fall into the first bucket.
+	 */
+	private List<Long> priceBuckets = List.of(0L, 2500L, 5000L, 10000L, 20000L, 50000L);
+
+	/** Upper bound on the number of product ids returned per request. */
+	private int maxResults = 100;
+
+}
@@ -0,0 +1,20 @@
+package com.ecommerce.sportscenter.facet;
+
+import java.util.Set;
+
+/**
+ * Values within one dimension are OR-ed, dimensions are AND-ed. Empty sets and {@code null} price
+ * bounds leave the dimension unfiltered; both price bounds are inclusive.
+ */
+public record FacetQuery(Set<Integer> brandIds, Set<Integer> typeIds, Long minPrice, Long maxPrice,
+		int afterId, int limit) {
+
+	public FacetQuery {
+		brandIds = brandIds == null ? Set.of() : Set.copyOf(brandIds);
+		typeIds = typeIds == null ? Set.of() : Set.copyOf(typeIds);
+		if (minPrice != null && maxPrice != null && minPrice > maxPrice) {
+			throw new IllegalArgumentException("minPrice must not exceed maxPrice");
+		}
+	}
+
+}
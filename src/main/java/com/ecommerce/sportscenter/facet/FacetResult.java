@@ -0,0 +1,12 @@
+package com.ecommerce.sportscenter.facet;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Matching product ids (a window in ascending id order) together with how many of all matches carry
+ * each brand, type and price bucket.
+ */
+public record FacetResult(int total, List<Integer> productIds, Map<Integer, Integer> brandCounts,
+		Map<Integer, Integer> typeCounts, int[] priceBucketCounts) {
+}
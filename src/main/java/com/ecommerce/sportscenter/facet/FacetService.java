@@ -0,0 +1,150 @@
+package com.ecommerce.sportscenter.facet;
+
+import com.ecommerce.sportscenter.event.CatalogImportedEvent;
+import com.ecommerce.sportscenter.event.ProductChangedEvent;
+import com.ecommerce.sportscenter.model.BrandResponse;
+import com.ecommerce.sportscenter.model.FacetSearchResponse;
+import com.ecommerce.sportscenter.model.FacetValueCount;
+import com.ecommerce.sportscenter.model.PriceRangeCount;
+import com.ecommerce.sportscenter.model.ProductResponse;
+import com.ecommerce.sportscenter.model.TypeResponse;
+import com.ecommerce.sportscenter.service.BrandService;
+import com.ecommerce.sportscenter.service.ProductCatalogScanner;
+import com.ecommerce.sportscenter.service.ProductService;
+import com.ecommerce.sportscenter.service.TypeService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+
+/**
+ * Storefront filtering by brand, type and price. Answers come entirely from {@link FacetIndex};
+ * only the returned window of products is hydrated through the catalog cache.
+ * <p>
+ * Rebuilds fill a new index and swap it in with one volatile write, so filtering never sees a half
+ * loaded catalog; products changed during the scan are reloaded into the new index afterwards.
+ */
+@Service
+@Slf4j
+public class FacetService {
+
+	private final ReentrantLock rebuildLock = new ReentrantLock();
+	private final Set<Integer> changedDuringRebuild = ConcurrentHashMap.newKeySet();
+	private volatile FacetIndex index;
+	private volatile boolean rebuilding;
+	private final FacetProperties properties;
+	private final ProductCatalogScanner catalogScanner;
+	private final ProductService productService;
+	private final BrandService brandService;
+	private final TypeService typeService;
+
+	public FacetService(FacetProperties properties, ProductCatalogScanner catalogScanner,
+			ProductService productService, BrandService brandService, TypeService typeService) {
+		this.index = new FacetIndex(properties.getPriceBuckets());
+		this.properties = properties;
+		this.catalogScanner = catalogScanner;
+		this.productService = productService;
+		this.brandService = brandService;
+		this.typeService = typeService;
+	}
+
+	@EventListener({ApplicationReadyEvent.class, CatalogImportedEvent.class})
+	public void rebuild() {
+		rebuildLock.lock();
+		try {
+			long start = System.nanoTime();
+			changedDuringRebuild.clear();
+			rebuilding = true;
+			FacetIndex rebuilt = new FacetIndex(properties.getPriceBuckets());
+			long indexed;
+			try {
+				indexed = catalogScanner.scan(properties.getLoadBatchSize(),
+						batch -> batch.forEach(product -> put(rebuilt, product)));
+				index = rebuilt;
+			}
+			finally {
+				rebuilding = false;
+			}
+			for (Integer productId : changedDuringRebuild) {
+				changedDuringRebuild.remove(productId);
+				refresh(productId);
+			}
+			log.info("Facet index built with {} products in {} ms", indexed, (System.nanoTime() - start) / 1_000_000);
+		}
+		finally {
+			rebuildLock.unlock();
+		}
+	}
+
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onProductChanged(ProductChangedEvent event) {
+		if (rebuilding) {
+			changedDuringRebuild.add(event.productId());
+		}
+		if (event.changeType() == ProductChangedEvent.ChangeType.DELETED) {
+			index.remove(event.productId());
+			return;
+		}
+		refresh(event.productId());
+	}
+
+	public FacetSearchResponse search(Set<Integer> brandIds, Set<Integer> typeIds, Long minPrice, Long maxPrice,
+			Integer afterId, int limit) {
+		int size = Math.max(1, Math.min(limit, properties.getMaxResults()));
+		FacetResult result = index.query(new FacetQuery(brandIds, typeIds, minPrice, maxPrice,
+				afterId == null ? -1 : afterId, size + 1));
+
+		List<Integer> ids = result.productIds();
+		Integer nextAfterId = null;
+		if (ids.size() > size) {
+			ids = ids.subList(0, size);
+			nextAfterId = ids.get(size - 1);
+		}
+		return FacetSearchResponse.builder()
+				.total(result.total())
+				.content(productService.getProductsByIds(ids))
+				.nextAfterId(nextAfterId)
+				.brands(named(result.brandCounts(), brandService.getAllBrands().stream()
+						.collect(Collectors.toMap(BrandResponse::getId, BrandResponse::getName))))
+				.types(named(result.typeCounts(), typeService.getAllTypes().stream()
+						.collect(Collectors.toMap(TypeResponse::getId, TypeResponse::getName))))
+				.priceRanges(priceRanges(result.priceBucketCounts()))
+				.build();
+	}
+
+	private void refresh(int productId) {
+		FacetIndex current = index;
+		catalogScanner.load(productId).ifPresentOrElse(product -> put(current, product),
+				() -> current.remove(productId));
+	}
+
+	private static void put(FacetIndex target, ProductResponse product) {
+		target.put(product.getId(), product.getBrandId(), product.getTypeId(), product.getPrice());
+	}
+
+	private static List<FacetValueCount> named(Map<Integer, Integer> counts, Map<Integer, String> names) {
+		List<FacetValueCount> values = new ArrayList<>(counts.size());
+		counts.forEach((id, count) -> values.add(new FacetValueCount(id, names.get(id), count)));
+		return values;
+	}
+
+	private List<PriceRangeCount> priceRanges(int[] counts) {
+		long[] bounds = index.bucketBounds();
+		List<PriceRangeCount> ranges = new ArrayList<>(counts.length);
+		for (int i = 0; i < counts.length; i++) {
+			ranges.add(new PriceRangeCount(i == 0 ? null : bounds[i], i + 1 < bounds.length ? bounds[i + 1] : null,
+					counts[i]));
+		}
+		return ranges;
+	}
+
+}
@@ -0,0 +1,301 @@
+package com.ecommerce.sportscenter.ingest;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Cuts a memory-mapped import file into chunks at record boundaries and parses chunks independently,
+ * so that they can be handed to parallel workers.
+ * <p>
+ * {@link #split} is one sequential pass over the mapped bytes that only looks for record ends
+ * (tracking CSV quotes, so quoted line breaks stay inside their record) and counts records, which
+ * gives every chunk the file row number it starts at. {@link #parse} is thread-safe.
+ */
+public class CatalogFileParser {
+
+	static final int SKU = 0;
+	static final int NAME = 1;
+	static final int DESCRIPTION = 2;
+	static final int PRICE = 3;
+	static final int PICTURE_URL = 4;
+	static final int BRAND = 5;
+	static final int TYPE = 6;
+	static final List<String> COLUMNS = List.of("sku", "name", "description", "price", "pictureUrl", "brand", "type");
+
+	private static final int[] MAX_LENGTHS = {64, 255, 2000, 0, 255, 255, 255};
+	private static final long WINDOW_BYTES = 256L * 1024 * 1024;
+	private static final int MAX_RECORD_BYTES = 1024 * 1024;
+
+	private final ImportFormat format;
+	private final ObjectMapper objectMapper;
+	private final int chunkSize;
+	private int[] columnPositions;
+
+	public CatalogFileParser(ImportFormat format, ObjectMapper objectMapper, int chunkSize) {
+		this.format = format;
+		this.objectMapper = objectMapper;
+		this.chunkSize = chunkSize;
+	}
+
+	/** A slice of the file holding whole records, the first of which is record {@code firstRow}. */
+	public record Chunk(long offset, int length, long firstRow) {
+	}
+
+	public record ParsedChunk(List<ImportRow> rows, List<RowError> errors) {
+	}
+
+	/** Reads the CSV header, if any, and returns the chunks covering every record after it. */
+	public List<Chunk> split(FileChannel channel) throws IOException {
+		long size = channel.size();
+		List<Chunk> chunks = new ArrayList<>();
+		boolean csv = format == ImportFormat.CSV;
+		boolean quoted = false;
+		boolean header = csv;
+		long chunkStart = 0;
+		long row = 1;
+		long chunkFirstRow = 1;
+
+		for (long windowStart = 0; windowStart < size; windowStart += WINDOW_BYTES) {
+			int windowLength = (int) Math.min(WINDOW_BYTES, size - windowStart);
+			MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, windowStart, windowLength);
+			for (int i = 0; i < windowLength; i++) {
+				byte b = window.get(i);
+				if (csv && b == '"') {
+					quoted = !quoted;
+					continue;
+				}
+				if (b != '\n' || quoted) {
+					continue;
+				}
+				long recordEnd = windowStart + i + 1;
+				row++;
+				if (header) {
+					readHeader(channel, (int) (recordEnd - 1));
+					header = false;
+					chunkStart = recordEnd;
+					chunkFirstRow = row;
+				}
+				else if (recordEnd - chunkStart >= chunkSize) {
+					chunks.add(new Chunk(chunkStart, (int) (recordEnd - chunkStart), chunkFirstRow));
+					chunkStart = recordEnd;
+					chunkFirstRow = row;
+				}
+			}
+			if (windowStart + windowLength - chunkStart > (long) chunkSize + MAX_RECORD_BYTES) {
+				throw new IllegalArgumentException("Record at row " + row + " is longer than " + MAX_RECORD_BYTES
+						+ " bytes" + (quoted ? " (unterminated quoted field?)" : ""));
+			}
+		}
+		if (header) {
+			readHeader(channel, (int) size);
+			chunkStart = size;
+		}
+		if (chunkStart < size) {
+			chunks.add(new Chunk(chunkStart, (int) (size - chunkStart), chunkFirstRow));
+		}
+		return chunks;
+	}
+
+	/** Parses and validates every record in the chunk. Blank lines are skipped. */
+	public ParsedChunk parse(FileChannel channel, Chunk chunk) throws IOException {
+		byte[] bytes = new byte[chunk.length()];
+		channel.map(FileChannel.MapMode.READ_ONLY, chunk.offset(), chunk.length()).get(bytes);
+
+		List<ImportRow> rows = new ArrayList<>(chunk.length() / 128);
+		List<RowError> errors = new ArrayList<>();
+		FieldScratch scratch = new FieldScratch();
+		long row = chunk.firstRow();
+		int start = 0;
+		while (start < bytes.length) {
+			int end = recordEnd(bytes, start);
+			int contentEnd = end > start && bytes[end - 1] == '\n' ? end - 1 : end;
+			if (contentEnd > start && bytes[contentEnd - 1] == '\r') {
+				contentEnd--;
+			}
+			if (contentEnd > start) {
+				try {
+					String[] values = format == ImportFormat.CSV
+							? csvValues(bytes, start, contentEnd, scratch)
+							: jsonValues(bytes, start, contentEnd);
+					rows.add(toRow(row, values));
+				}
+				catch (IllegalArgumentException ex) {
+					errors.add(new RowError(row, ex.getMessage()));
+				}
+			}
+			row++;
+			start = end;
+		}
+		return new ParsedChunk(rows, errors);
+	}
+
+	private int recordEnd(byte[] bytes, int start) {
+		boolean quoted = false;
+		for (int i = start; i < bytes.length; i++) {
+			byte b = bytes[i];
+			if (b == '"' && format == ImportFormat.CSV) {
+				quoted = !quoted;
+			}
+			else if (b == '\n' && !quoted) {
+				return i + 1;
+			}
+		}
+		return bytes.length;
+	}
+
+	private void readHeader(FileChannel channel, int end) throws IOException {
+		byte[] bytes = new byte[end];
+		channel.map(FileChannel.MapMode.READ_ONLY, 0, end).get(bytes);
+		int contentEnd = end > 0 && bytes[end - 1] == '\r' ? end - 1 : end;
+		int contentStart = contentEnd >= 3 && (bytes[0] & 0xFF) == 0xEF && (bytes[1] & 0xFF) == 0xBB
+				&& (bytes[2] & 0xFF) == 0xBF ? 3 : 0;
+		String[] names = parseCsv(bytes, contentStart, contentEnd, new FieldScratch());
+
+		int[] positions = new int[COLUMNS.size()];
+		Arrays.fill(positions, -1);
+		for (int i = 0; i < names.length; i++) {
+			String name = names[i] == null ? "" : names[i].replace("_", "").replace(" ", "").toLowerCase(Locale.ROOT);
+			for (int column = 0; column < COLUMNS.size(); column++) {
+				if (COLUMNS.get(column).toLowerCase(Locale.ROOT).equals(name)) {
+					positions[column] = i;
+				}
+			}
+		}
+		for (int column : new int[] {SKU, NAME, PRICE, BRAND, TYPE}) {
+			if (positions[column] < 0) {
+				throw new IllegalArgumentException("CSV header has no '" + COLUMNS.get(column) + "' column");
+			}
+		}
+		this.columnPositions = positions;
+	}
+
+	private String[] csvValues(byte[] bytes, int start, int end, FieldScratch scratch) {
+		String[] fields = parseCsv(bytes, start, end, scratch);
+		String[] values = new String[COLUMNS.size()];
+		for (int column = 0; column < values.length; column++) {
+			int position = columnPositions[column];
+			values[column] = position >= 0 && position < fields.length ? fields[position] : null;
+		}
+		return values;
+	}
+
+	/** Splits one CSV record into fields; empty fields become null. */
+	private static String[] parseCsv(byte[] bytes, int start, int end, FieldScratch scratch) {
+		List<String> fields = new ArrayList<>(COLUMNS.size());
+		int i = start;
+		while (true) {
+			if (i < end && bytes[i] == '"') {
+				scratch.length = 0;
+				i++;
+				while (true) {
+					if (i >= end) {
+						throw new IllegalArgumentException("Unterminated quoted field");
+					}
+					if (bytes[i] == '"') {
+						if (i + 1 < end && bytes[i + 1] == '"') {
+							scratch.append(bytes[i]);
+							i += 2;
+							continue;
+						}
+						i++;
+						break;
+					}
+					scratch.append(bytes[i++]);
+				}
+				if (i < end && bytes[i] != ',') {
+					throw new IllegalArgumentException("Unexpected character after quoted field");
+				}
+				fields.add(scratch.length == 0 ? null : new String(scratch.bytes, 0, scratch.length, StandardCharsets.UTF_8));
+			}
+			else {
+				int fieldStart = i;
+				while (i < end && bytes[i] != ',') {
+					i++;
+				}
+				fields.add(i == fieldStart ? null : new String(bytes, fieldStart, i - fieldStart, StandardCharsets.UTF_8));
+			}
+			if (i >= end) {
+				return fields.toArray(String[]::new);
+			}
+			i++;
+		}
+	}
+
+	private String[] jsonValues(byte[] bytes, int start, int end) {
+		JsonNode node;
+		try {
+			node = objectMapper.readTree(bytes, start, end - start);
+		}
+		catch (JsonProcessingException ex) {
+			throw new IllegalArgumentException("Malformed JSON: " + ex.getOriginalMessage());
+		}
+		catch (IOException ex) {
+			throw new IllegalArgumentException("Malformed JSON: " + ex.getMessage());
+		}
+		if (node == null || !node.isObject()) {
+			throw new IllegalArgumentException("Expected a JSON object");
+		}
+		String[] values = new String[COLUMNS.size()];
+		for (int column = 0; column < values.length; column++) {
+			JsonNode value = node.get(COLUMNS.get(column));
+			values[column] = value == null || value.isNull() ? null : value.asText();
+		}
+		return values;
+	}
+
+	private static ImportRow toRow(long row, String[] values) {
+		for (int column = 0; column < values.length; column++) {
+			if (values[column] != null) {
+				values[column] = values[column].strip();
+				if (values[column].isEmpty()) {
+					values[column] = null;
+				}
+			}
+			if (values[column] == null && column != DESCRIPTION && column != PICTURE_URL) {
+				throw new IllegalArgumentException("Missing " + COLUMNS.get(column));
+			}
+			if (values[column] != null && MAX_LENGTHS[column] > 0 && values[column].length() > MAX_LENGTHS[column]) {
+				throw new IllegalArgumentException(COLUMNS.get(column) + " is longer than " + MAX_LENGTHS[column]
+						+ " characters");
+			}
+		}
+		long price;
+		try {
+			price = Long.parseLong(values[PRICE]);
+		}
+		catch (NumberFormatException ex) {
+			throw new IllegalArgumentException("Price must be a whole number of cents: " + values[PRICE]);
+		}
+		if (price < 0) {
+			throw new IllegalArgumentException("Price must not be negative");
+		}
+		return new ImportRow(row, values[SKU], values[NAME], values[DESCRIPTION], price, values[PICTURE_URL],
+				values[BRAND], values[TYPE]);
+	}
+
+	/** Reusable buffer for unescaping quoted CSV fields. */
+	private static final class FieldScratch {
+
+		private byte[] bytes = new byte[256];
+		private int length;
+
+		void append(byte b) {
+			if (length == bytes.length) {
+				bytes = Arrays.copyOf(bytes, length * 2);
+			}
+			bytes[length++] = b;
+		}
+
+	}
+
+}
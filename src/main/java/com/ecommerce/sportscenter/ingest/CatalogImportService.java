@@ -0,0 +1,212 @@
+package com.ecommerce.sportscenter.ingest;
+
+import com.ecommerce.sportscenter.cache.CatalogCache;
+import com.ecommerce.sportscenter.cache.CatalogVersions;
+import com.ecommerce.sportscenter.event.CatalogImportedEvent;
+import com.ecommerce.sportscenter.exceptions.ImportNotFoundException;
+import com.ecommerce.sportscenter.ingest.CatalogFileParser.Chunk;
+import com.ecommerce.sportscenter.ingest.CatalogFileParser.ParsedChunk;
+import com.ecommerce.sportscenter.repository.BrandRepository;
+import com.ecommerce.sportscenter.repository.TypeRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * Bulk product import from CSV or JSON Lines files.
+ * <p>
+ * The upload is spooled to a temporary file and imported in the background, one import at a time.
+ * The file is memory-mapped and cut into chunks at record boundaries; a {@link ForkJoinPool} parses
+ * chunks in parallel, resolves brand and type names through a {@link ReferenceDictionary} and
+ * upserts each chunk's rows in multi-row batches keyed on {@code sku}. Invalid records, and rows of
+ * a batch the database rejects, are reported per row without stopping the import. Progress can be
+ * polled while it runs.
+ * <p>
+ * Batches commit independently, so a failed import may have written part of the file; importing
+ * the same file again is safe. Afterwards the catalog cache is cleared and
+ * {@link CatalogImportedEvent} is published so that the in-memory indexes rebuild.
+ */
+@Service
+@Slf4j
+public class CatalogImportService {
+
+	private final ObjectMapper objectMapper;
+	private final ProductUpsertWriter writer;
+	private final BrandRepository brandRepository;
+	private final TypeRepository typeRepository;
+	private final CatalogCache catalogCache;
+	private final CatalogVersions catalogVersions;
+	private final ApplicationEventPublisher eventPublisher;
+	private final ImportProperties properties;
+	private final Map<UUID, ImportJob> jobs = new LinkedHashMap<>();
+	private final ExecutorService executor = Executors.newSingleThreadExecutor(
+			Thread.ofPlatform().name("catalog-import").daemon().factory());
+
+	public CatalogImportService(ObjectMapper objectMapper, ProductUpsertWriter writer,
+			BrandRepository brandRepository, TypeRepository typeRepository, CatalogCache catalogCache,
+			CatalogVersions catalogVersions, ApplicationEventPublisher eventPublisher, ImportProperties properties) {
+		this.objectMapper = objectMapper;
+		this.writer = writer;
+		this.brandRepository = brandRepository;
+		this.typeRepository = typeRepository;
+		this.catalogCache = catalogCache;
+		this.catalogVersions = catalogVersions;
+		this.eventPublisher = eventPublisher;
+		this.properties = properties;
+	}
+
+	/** Spools {@code content} to disk and queues its import. */
+	public ImportJob submit(ImportFormat format, InputStream content) throws IOException {
+		Path file = Files.createTempFile("catalog-import-", "." + format.name().toLowerCase(Locale.ROOT));
+		try {
+			Files.copy(content, file, StandardCopyOption.REPLACE_EXISTING);
+		}
+		catch (IOException ex) {
+			Files.deleteIfExists(file);
+			throw ex;
+		}
+		ImportJob job = new ImportJob(format, Files.size(file), properties.getMaxReportedErrors());
+		register(job);
+		executor.execute(() -> run(job, file));
+		return job;
+	}
+
+	public ImportJob getImport(UUID importId) {
+		synchronized (jobs) {
+			ImportJob job = jobs.get(importId);
+			if (job == null) {
+				throw new ImportNotFoundException(importId);
+			}
+			return job;
+		}
+	}
+
+	@PreDestroy
+	public void shutdown() {
+		executor.shutdownNow();
+	}
+
+	void run(ImportJob job, Path file) {
+		job.started();
+		long start = System.nanoTime();
+		ForkJoinPool pool = new ForkJoinPool(properties.getParallelism());
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+			CatalogFileParser parser = new CatalogFileParser(job.getFormat(), objectMapper, properties.getChunkSize());
+			List<Chunk> chunks = parser.split(channel);
+			ReferenceDictionary references = new ReferenceDictionary(brandRepository, typeRepository);
+			List<Callable<Void>> tasks = new ArrayList<>(chunks.size());
+			for (Chunk chunk : chunks) {
+				tasks.add(() -> {
+					importChunk(job, parser, channel, chunk, references);
+					return null;
+				});
+			}
+			for (Future<Void> result : pool.invokeAll(tasks)) {
+				result.get();
+			}
+			job.completed(references.created());
+			log.info("Import {} finished: {} rows written, {} rejected in {} ms", job.getId(), job.getRowsWritten(),
+					job.getRowsFailed(), (System.nanoTime() - start) / 1_000_000);
+		}
+		catch (ExecutionException ex) {
+			fail(job, ex.getCause());
+		}
+		catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			fail(job, ex);
+		}
+		catch (IOException | RuntimeException ex) {
+			fail(job, ex);
+		}
+		finally {
+			pool.shutdownNow();
+			deleteQuietly(file);
+			if (job.getRowsWritten() > 0) {
+				catalogCache.invalidateAll();
+				catalogVersions.invalidateAll();
+				eventPublisher.publishEvent(new CatalogImportedEvent(job.getId(), job.getRowsWritten()));
+			}
+		}
+	}
+
+	private void importChunk(ImportJob job, CatalogFileParser parser, FileChannel channel, Chunk chunk,
+			ReferenceDictionary references) throws IOException {
+		ParsedChunk parsed = parser.parse(channel, chunk);
+		parsed.errors().forEach(job::rejected);
+		job.parsed(chunk.length(), parsed.rows().size() + parsed.errors().size());
+
+		List<ImportRow> rows = parsed.rows();
+		for (int from = 0; from < rows.size(); from += properties.getBatchSize()) {
+			List<ImportRow> batch = rows.subList(from, Math.min(rows.size(), from + properties.getBatchSize()));
+			try {
+				writer.upsert(batch, references);
+				job.written(batch.size());
+			}
+			catch (DataAccessException ex) {
+				// Find the offending rows by writing the batch one row at a time.
+				for (ImportRow row : batch) {
+					try {
+						writer.upsert(List.of(row), references);
+						job.written(1);
+					}
+					catch (DataAccessException rowFailure) {
+						job.rejected(new RowError(row.row(), NestedExceptionUtils.getMostSpecificCause(rowFailure)
+								.getMessage()));
+					}
+				}
+			}
+		}
+	}
+
+	private void register(ImportJob job) {
+		synchronized (jobs) {
+			jobs.put(job.getId(), job);
+			Iterator<ImportJob> oldest = jobs.values().iterator();
+			while (jobs.size() > properties.getRetainedImports() && oldest.hasNext()) {
+				if (oldest.next().isFinished()) {
+					oldest.remove();
+				}
+			}
+		}
+	}
+
+	private static void fail(ImportJob job, Throwable cause) {
+		log.warn("Import {} failed", job.getId(), cause);
+		job.failed(cause.getMessage());
+	}
+
+	private static void deleteQuietly(Path file) {
+		try {
+			Files.deleteIfExists(file);
+		}
+		catch (IOException ex) {
+			log.warn("Could not delete import file {}", file, ex);
+		}
+	}
+
+}
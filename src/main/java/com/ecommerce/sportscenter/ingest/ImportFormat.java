@@ -0,0 +1,30 @@
+package com.ecommerce.sportscenter.ingest;
+
+import org.springframework.http.MediaType;
+
+/**
+ * Accepted import file formats. Both put one product per record so a file can be cut into chunks at
+ * record boundaries and parsed in parallel.
+ */
+public enum ImportFormat {
+
+	/** RFC 4180 CSV with a header row naming the columns. */
+	CSV,
+
+	/** JSON Lines: one JSON object per line. */
+	NDJSON;
+
+	public static final MediaType TEXT_CSV = new MediaType("text", "csv");
+
+	public static ImportFormat fromContentType(MediaType contentType) {
+		if (contentType != null && TEXT_CSV.isCompatibleWith(contentType)) {
+			return CSV;
+		}
+		if (contentType != null && MediaType.APPLICATION_NDJSON.isCompatibleWith(contentType)) {
+			return NDJSON;
+		}
+		throw new IllegalArgumentException("Unsupported import content type: " + contentType
+				+ " (expected text/csv or application/x-ndjson)");
+	}
+
+}
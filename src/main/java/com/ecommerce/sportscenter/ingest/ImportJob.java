@@ -0,0 +1,138 @@
+package com.ecommerce.sportscenter.ingest;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/** Progress of one import, updated by its workers and read by status requests. */
+public class ImportJob {
+
+	public enum Status {
+		QUEUED, RUNNING, COMPLETED, FAILED
+	}
+
+	private final UUID id = UUID.randomUUID();
+	private final ImportFormat format;
+	private final long fileBytes;
+	private final int maxReportedErrors;
+	private final Instant createdAt = Instant.now();
+	private final AtomicLong bytesParsed = new AtomicLong();
+	private final AtomicLong rowsParsed = new AtomicLong();
+	private final AtomicLong rowsWritten = new AtomicLong();
+	private final AtomicLong rowsFailed = new AtomicLong();
+	private final AtomicInteger reportedErrors = new AtomicInteger();
+	private final Queue<RowError> errors = new ConcurrentLinkedQueue<>();
+	private volatile Status status = Status.QUEUED;
+	private volatile Instant startedAt;
+	private volatile Instant finishedAt;
+	private volatile int referencesCreated;
+	private volatile String failure;
+
+	ImportJob(ImportFormat format, long fileBytes, int maxReportedErrors) {
+		this.format = format;
+		this.fileBytes = fileBytes;
+		this.maxReportedErrors = maxReportedErrors;
+	}
+
+	void started() {
+		startedAt = Instant.now();
+		status = Status.RUNNING;
+	}
+
+	void parsed(long bytes, int rows) {
+		bytesParsed.addAndGet(bytes);
+		rowsParsed.addAndGet(rows);
+	}
+
+	void written(int rows) {
+		rowsWritten.addAndGet(rows);
+	}
+
+	void rejected(RowError error) {
+		rowsFailed.incrementAndGet();
+		if (reportedErrors.getAndIncrement() < maxReportedErrors) {
+			errors.add(error);
+		}
+	}
+
+	void completed(int referencesCreated) {
+		this.referencesCreated = referencesCreated;
+		finishedAt = Instant.now();
+		status = Status.COMPLETED;
+	}
+
+	void failed(String failure) {
+		this.failure = failure;
+		finishedAt = Instant.now();
+		status = Status.FAILED;
+	}
+
+	public UUID getId() {
+		return id;
+	}
+
+	public ImportFormat getFormat() {
+		return format;
+	}
+
+	public Status getStatus() {
+		return status;
+	}
+
+	public Instant getCreatedAt() {
+		return createdAt;
+	}
+
+	public Instant getStartedAt() {
+		return startedAt;
+	}
+
+	public Instant getFinishedAt() {
+		return finishedAt;
+	}
+
+	public long getFileBytes() {
+		return fileBytes;
+	}
+
+	public long getBytesParsed() {
+		return bytesParsed.get();
+	}
+
+	public long getRowsParsed() {
+		return rowsParsed.get();
+	}
+
+	public long getRowsWritten() {
+		return rowsWritten.get();
+	}
+
+	public long getRowsFailed() {
+		return rowsFailed.get();
+	}
+
+	public int getReferencesCreated() {
+		return referencesCreated;
+	}
+
+	public String getFailure() {
+		return failure;
+	}
+
+	/** The first reported row errors, in row order. */
+	public List<RowError> getErrors() {
+		List<RowError> sorted = new ArrayList<>(errors);
+		sorted.sort((a, b) -> Long.compare(a.row(), b.row()));
+		return sorted;
+	}
+
+	public boolean isFinished() {
+		return status == Status.COMPLETED || status == Status.FAILED;
+	}
+
+}
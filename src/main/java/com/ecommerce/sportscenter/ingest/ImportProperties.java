@@ -0,0 +1,28 @@
+package com.ecommerce.sportscenter.ingest;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "sportscenter.import")
+public class ImportProperties {
+
+	/**
+	 * Chunks parsed and written at the same time. Each holds a database connection while writing, so
+	 * keep it below the connection pool size.
+	 */
+	private int parallelism = 4;
+
+	/** Approximate size of the file slice each parallel task parses, in bytes. */
+	private int chunkSize = 8 * 1024 * 1024;
+
+	/** Rows per multi-row upsert statement. */
+	private int batchSize = 1000;
+
+	/** Row errors kept for the import status; later ones are only counted. */
+	private int maxReportedErrors = 1000;
+
+	/** Finished imports whose status is kept for polling. */
+	private int retainedImports = 20;
+
+}
@@ -0,0 +1,9 @@
+package com.ecommerce.sportscenter.ingest;
+
+/**
+ * A validated product record from an import file. {@code row} is its 1-based record number in the
+ * file, counting a CSV header.
+ */
+public record ImportRow(long row, String sku, String name, String description, long price, String pictureUrl,
+		String brand, String type) {
+}
@@ -0,0 +1,69 @@
+package com.ecommerce.sportscenter.ingest;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Writes imported products with multi-row {@code INSERT ... ON DUPLICATE KEY UPDATE} statements
+ * matched on {@code sku}: one round trip and one statement per batch instead of a select and an
+ * insert or update per row through JPA.
+ */
+@Component
+@RequiredArgsConstructor
+class ProductUpsertWriter {
+
+	private static final int COLUMNS = 7;
+	private static final int LOCK_RETRIES = 3;
+
+	private final JdbcTemplate jdbcTemplate;
+	private final Map<Integer, String> statements = new ConcurrentHashMap<>();
+
+	/**
+	 * Upserts the rows in one statement. Parallel writers whose batches share rows can deadlock on the
+	 * unique index; the losing statement is retried.
+	 */
+	void upsert(List<ImportRow> rows, ReferenceDictionary references) {
+		Object[] arguments = new Object[rows.size() * COLUMNS];
+		int i = 0;
+		for (ImportRow row : rows) {
+			arguments[i++] = row.sku();
+			arguments[i++] = row.name();
+			arguments[i++] = row.description();
+			arguments[i++] = row.price();
+			arguments[i++] = row.pictureUrl();
+			arguments[i++] = references.brandId(row.brand());
+			arguments[i++] = references.typeId(row.type());
+		}
+		String sql = statements.computeIfAbsent(rows.size(), ProductUpsertWriter::statement);
+		for (int attempt = 1; ; attempt++) {
+			try {
+				jdbcTemplate.update(sql, arguments);
+				return;
+			}
+			catch (PessimisticLockingFailureException ex) {
+				if (attempt == LOCK_RETRIES) {
+					throw ex;
+				}
+			}
+		}
+	}
+
+	private static String statement(int rows) {
+		StringBuilder sql = new StringBuilder(160 + rows * 24)
+				.append("insert into products (sku, name, description, price, picture_url, brand_id, type_id) values ");
+		for (int i = 0; i < rows; i++) {
+			sql.append(i == 0 ? "" : ", ").append("(?, ?, ?, ?, ?, ?, ?)");
+		}
+		// VALUES(col) rather than a row alias: the alias form needs MySQL 8.0.19+ and is not understood by H2.
+		return sql.append(" on duplicate key update name = values(name), description = values(description),"
+				+ " price = values(price), picture_url = values(picture_url), brand_id = values(brand_id),"
+				+ " type_id = values(type_id)").toString();
+	}
+
+}
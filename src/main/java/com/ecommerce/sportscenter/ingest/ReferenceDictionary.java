@@ -0,0 +1,55 @@
+package com.ecommerce.sportscenter.ingest;
+
+import com.ecommerce.sportscenter.entity.Brand;
+import com.ecommerce.sportscenter.entity.Type;
+import com.ecommerce.sportscenter.repository.BrandRepository;
+import com.ecommerce.sportscenter.repository.TypeRepository;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Brand and type ids by name for one import, loaded once up front so that resolving a row's
+ * references is a map lookup. Names not seen before are looked up by natural id, in case they were
+ * added since, and otherwise created on first use, once each.
+ */
+class ReferenceDictionary {
+
+	private final Map<String, Integer> brands = new ConcurrentHashMap<>();
+	private final Map<String, Integer> types = new ConcurrentHashMap<>();
+	private final AtomicInteger created = new AtomicInteger();
+	private final BrandRepository brandRepository;
+	private final TypeRepository typeRepository;
+
+	ReferenceDictionary(BrandRepository brandRepository, TypeRepository typeRepository) {
+		this.brandRepository = brandRepository;
+		this.typeRepository = typeRepository;
+		brandRepository.findAll().forEach(brand -> brands.putIfAbsent(brand.getName(), brand.getId()));
+		typeRepository.findAll().forEach(type -> types.putIfAbsent(type.getName(), type.getId()));
+	}
+
+	int brandId(String name) {
+		return brands.computeIfAbsent(name, missing -> brandRepository.findByNaturalId(missing)
+				.map(Brand::getId)
+				.orElseGet(() -> {
+					created.incrementAndGet();
+					return brandRepository.save(Brand.builder().name(missing).build()).getId();
+				}));
+	}
+
+	int typeId(String name) {
+		return types.computeIfAbsent(name, missing -> typeRepository.findByNaturalId(missing)
+				.map(Type::getId)
+				.orElseGet(() -> {
+					created.incrementAndGet();
+					return typeRepository.save(Type.builder().name(missing).build()).getId();
+				}));
+	}
+
+	/** Brands and types created by this import. */
+	int created() {
+		return created.get();
+	}
+
+}
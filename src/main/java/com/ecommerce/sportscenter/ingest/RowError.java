@@ -0,0 +1,5 @@
+package com.ecommerce.sportscenter.ingest;
+
+/** A record that was not imported, by its 1-based record number in the file. */
+public record RowError(long row, String message) {
+}
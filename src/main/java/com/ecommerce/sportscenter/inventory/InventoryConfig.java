@@ -0,0 +1,38 @@
+package com.ecommerce.sportscenter.inventory;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.time.Clock;
+
+/** Wires the {@link ReservationEngine} when {@code sportscenter.inventory.reservations-enabled=true}. */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(prefix = "sportscenter.inventory", name = "reservations-enabled", havingValue = "true")
+public class InventoryConfig {
+
+	@Bean(destroyMethod = "close")
+	ReservationJournal reservationJournal(InventoryProperties properties) throws IOException {
+		return new ReservationJournal(properties.getJournalPath(), properties.isJournalFsync());
+	}
+
+	// The schema must exist before the stock rows can be loaded.
+	@Bean
+	@DependsOn("entityManagerFactory")
+	ReservationEngine reservationEngine(ReservationJournal journal, JdbcTemplate jdbcTemplate,
+			TransactionTemplate transactionTemplate) throws IOException {
+		InventoryMaintenance.DurableStock durable = InventoryMaintenance.load(jdbcTemplate, transactionTemplate);
+		return new ReservationEngine(journal, durable.available(), durable.reconciledSequence(), Clock.systemUTC());
+	}
+
+	@Bean
+	InventoryMaintenance inventoryMaintenance(ReservationEngine engine, JdbcTemplate jdbcTemplate,
+			TransactionTemplate transactionTemplate, InventoryProperties properties) {
+		return new InventoryMaintenance(engine, jdbcTemplate, transactionTemplate, properties);
+	}
+
+}
@@ -0,0 +1,106 @@
+package com.ecommerce.sportscenter.inventory;
+
+import com.ecommerce.sportscenter.entity.InventoryWatermark;
+import com.ecommerce.sportscenter.inventory.JournalEntry.Moved;
+import com.ecommerce.sportscenter.inventory.JournalEntry.StockLine;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+/**
+ * Applies committed reservation changes to {@code product_stock} in the background and releases
+ * expired reservations. Each batch of stock updates is committed together with the journal
+ * sequence it reaches, which is what lets a restart replay exactly the changes the database lacks.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class InventoryMaintenance {
+
+	private static final String ADD_STOCK = "update product_stock set available = available + ? where product_id = ?";
+	private static final String INSERT_STOCK = "insert into product_stock (product_id, available) values (?, ?)";
+	private static final String UPDATE_WATERMARK =
+			"update inventory_watermark set reconciled_sequence = ? where id = " + InventoryWatermark.ID;
+
+	private final ReservationEngine engine;
+	private final JdbcTemplate jdbcTemplate;
+	private final TransactionTemplate transactionTemplate;
+	private final InventoryProperties properties;
+
+	/** Reads the stock rows and the sequence they reflect, creating the watermark row on first start. */
+	public static DurableStock load(JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate) {
+		return transactionTemplate.execute(status -> {
+			Map<Integer, Integer> stock = new HashMap<>();
+			jdbcTemplate.query("select product_id, available from product_stock",
+					row -> {
+						stock.put(row.getInt(1), row.getInt(2));
+					});
+			List<Long> sequence = jdbcTemplate.queryForList(
+					"select reconciled_sequence from inventory_watermark where id = " + InventoryWatermark.ID, Long.class);
+			if (sequence.isEmpty()) {
+				jdbcTemplate.update("insert into inventory_watermark (id, reconciled_sequence) values (?, 0)",
+						InventoryWatermark.ID);
+				return new DurableStock(stock, 0);
+			}
+			return new DurableStock(stock, sequence.get(0));
+		});
+	}
+
+	@Scheduled(fixedDelayString = "${sportscenter.inventory.reconcile-interval:PT1S}")
+	public void reconcile() throws IOException {
+		List<Moved> batch;
+		do {
+			batch = engine.unreconciled(properties.getReconcileBatchSize());
+			if (batch.isEmpty()) {
+				break;
+			}
+			apply(batch);
+			engine.markReconciled(batch.size());
+		} while (batch.size() == properties.getReconcileBatchSize());
+		engine.compactIfLargerThan(properties.getJournalCompactionThreshold());
+	}
+
+	@Scheduled(fixedDelayString = "${sportscenter.inventory.expiry-interval:PT10S}")
+	public void releaseExpired() {
+		int released = engine.releaseExpired();
+		if (released > 0) {
+			log.debug("Released {} expired stock reservations", released);
+		}
+	}
+
+	private void apply(List<Moved> batch) {
+		SortedMap<Integer, Integer> deltas = new TreeMap<>();
+		for (Moved moved : batch) {
+			for (StockLine delta : moved.deltas()) {
+				deltas.merge(delta.productId(), delta.quantity(), Integer::sum);
+			}
+		}
+		List<Object[]> arguments = new ArrayList<>(deltas.size());
+		deltas.forEach((productId, delta) -> arguments.add(new Object[] {delta, productId}));
+		long through = batch.get(batch.size() - 1).sequence();
+
+		transactionTemplate.executeWithoutResult(status -> {
+			int[] updated = jdbcTemplate.batchUpdate(ADD_STOCK, arguments);
+			for (int i = 0; i < updated.length; i++) {
+				if (updated[i] == 0) {
+					// First stock movement of a product without a row yet.
+					jdbcTemplate.update(INSERT_STOCK, arguments.get(i)[1], arguments.get(i)[0]);
+				}
+			}
+			jdbcTemplate.update(UPDATE_WATERMARK, through);
+		});
+	}
+
+	public record DurableStock(Map<Integer, Integer> available, long reconciledSequence) {
+	}
+
+}
@@ -0,0 +1,43 @@
+package com.ecommerce.sportscenter.inventory;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "sportscenter.inventory")
+public class InventoryProperties {
+
+	/**
+	 * Take stock at checkout from the in-memory {@link ReservationEngine} instead of a conditional
+	 * update of the stock row. Only valid with a single application instance per database.
+	 */
+	private boolean reservationsEnabled = false;
+
+	/** How long a reservation holds its units before they become available again. */
+	private Duration reservationTtl = Duration.ofMinutes(10);
+
+	/** Reservation journal file. */
+	private Path journalPath = Path.of("data", "inventory.journal");
+
+	/**
+	 * Force commits to disk before acknowledging them. Without it a power loss, though not a process
+	 * crash, can lose recent commits.
+	 */
+	private boolean journalFsync = true;
+
+	/** The journal is compacted once it grows past this many bytes. */
+	private long journalCompactionThreshold = 64L * 1024 * 1024;
+
+	/** How often committed changes are applied to the database. */
+	private Duration reconcileInterval = Duration.ofSeconds(1);
+
+	/** Most journal changes applied to the database in one transaction. */
+	private int reconcileBatchSize = 1000;
+
+	/** How often expired reservations are released. */
+	private Duration expiryInterval = Duration.ofSeconds(10);
+
+}
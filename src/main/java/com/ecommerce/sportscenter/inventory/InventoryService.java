@@ -0,0 +1,117 @@
+package com.ecommerce.sportscenter.inventory;
+
+import com.ecommerce.sportscenter.basket.BasketService;
+import com.ecommerce.sportscenter.entity.ProductStock;
+import com.ecommerce.sportscenter.exceptions.ReservationNotFoundException;
+import com.ecommerce.sportscenter.inventory.JournalEntry.StockLine;
+import com.ecommerce.sportscenter.model.BasketResponse;
+import com.ecommerce.sportscenter.model.ReservationLineResponse;
+import com.ecommerce.sportscenter.model.ReservationResponse;
+import com.ecommerce.sportscenter.model.StockResponse;
+import com.ecommerce.sportscenter.repository.ProductStockRepository;
+import com.ecommerce.sportscenter.service.ProductService;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Stock levels that checkout draws down. A product with no stock row has none available.
+ * <p>
+ * With reservations enabled the {@link ReservationEngine} is the live source of truth and
+ * {@code product_stock} trails it by the reconcile interval.
+ */
+@Service
+public class InventoryService {
+
+	private final ProductStockRepository stockRepository;
+	private final ProductService productService;
+	private final BasketService basketService;
+	private final ReservationEngine reservationEngine;
+	private final InventoryProperties properties;
+
+	public InventoryService(ProductStockRepository stockRepository, ProductService productService,
+			BasketService basketService, ObjectProvider<ReservationEngine> reservationEngine,
+			InventoryProperties properties) {
+		this.stockRepository = stockRepository;
+		this.productService = productService;
+		this.basketService = basketService;
+		this.reservationEngine = reservationEngine.getIfAvailable();
+		this.properties = properties;
+	}
+
+	public StockResponse getStock(Integer productId) {
+		productService.getProductById(productId);
+		if (reservationEngine != null) {
+			return new StockResponse(productId, reservationEngine.available(productId));
+		}
+		return new StockResponse(productId, stockRepository.findById(productId)
+				.map(ProductStock::getAvailable)
+				.orElse(0));
+	}
+
+	@Transactional
+	public StockResponse setStock(Integer productId, Integer available) {
+		if (available == null || available < 0) {
+			throw new IllegalArgumentException("Available stock must not be negative");
+		}
+		productService.getProductById(productId);
+		if (reservationEngine != null) {
+			// The reconciler applies the change to the stock row.
+			reservationEngine.adjustTo(productId, available);
+		}
+		else {
+			stockRepository.save(new ProductStock(productId, available));
+		}
+		return new StockResponse(productId, available);
+	}
+
+	/** Holds the basket's current contents for the reservation TTL. */
+	public ReservationResponse reserveBasket(UUID basketId) {
+		ReservationEngine engine = requireEngine();
+		if (basketId == null) {
+			throw new IllegalArgumentException("Basket id is required");
+		}
+		BasketResponse basket = basketService.getBasket(basketId);
+		if (basket.getItems().isEmpty()) {
+			throw new IllegalArgumentException("Basket " + basketId + " is empty");
+		}
+		List<StockLine> lines = basket.getItems().stream()
+				.map(item -> new StockLine(item.getProductId(), item.getQuantity()))
+				.toList();
+		return toResponse(engine.reserve(lines, properties.getReservationTtl()));
+	}
+
+	public ReservationResponse getReservation(UUID reservationId) {
+		return requireEngine().find(reservationId)
+				.map(InventoryService::toResponse)
+				.orElseThrow(() -> new ReservationNotFoundException(reservationId));
+	}
+
+	public void releaseReservation(UUID reservationId) {
+		if (!requireEngine().release(reservationId)) {
+			throw new ReservationNotFoundException(reservationId);
+		}
+	}
+
+	private ReservationEngine requireEngine() {
+		if (reservationEngine == null) {
+			throw new IllegalArgumentException("Stock reservations are not enabled");
+		}
+		return reservationEngine;
+	}
+
+	private static ReservationResponse toResponse(Reservation reservation) {
+		return ReservationResponse.builder()
+				.id(reservation.id())
+				.expiresAt(Instant.ofEpochMilli(reservation.expiresAtMillis()))
+				.lines(reservation.lines().stream()
+						.map(line -> new ReservationLineResponse(line.productId(), line.quantity()))
+						.toList())
+				.build();
+	}
+
+}
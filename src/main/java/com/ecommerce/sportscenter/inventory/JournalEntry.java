@@ -0,0 +1,32 @@
+package com.ecommerce.sportscenter.inventory;
+
+import java.util.List;
+import java.util.UUID;
+
+/** A record in the {@link ReservationJournal}. Sequence numbers increase strictly in journal order. */
+public sealed interface JournalEntry {
+
+	long sequence();
+
+	/** Units set aside for a reservation until it is committed, released or expires. */
+	record Reserved(long sequence, UUID reservationId, long expiresAtMillis, List<StockLine> lines)
+			implements JournalEntry {
+	}
+
+	/** A reservation released before being committed; its units are available again. */
+	record Released(long sequence, UUID reservationId) implements JournalEntry {
+	}
+
+	/**
+	 * A permanent change to stock that still has to be applied to the database: committing a
+	 * reservation (negative deltas, ending its hold), reverting a committed one, or a manual
+	 * adjustment. {@code reservationId} is null for adjustments.
+	 */
+	record Moved(long sequence, UUID reservationId, List<StockLine> deltas) implements JournalEntry {
+	}
+
+	/** A quantity, or for {@link Moved} a signed change, of one product. */
+	record StockLine(int productId, int quantity) {
+	}
+
+}
@@ -0,0 +1,28 @@
+package com.ecommerce.sportscenter.inventory;
+
+import com.ecommerce.sportscenter.inventory.JournalEntry.StockLine;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/** Units held for a checkout until {@code expiresAtMillis}. {@code sequence} is its journal record. */
+public record Reservation(UUID id, long expiresAtMillis, List<StockLine> lines, long sequence) {
+
+	/** Whether this reservation holds exactly the given quantities, however they are split into lines. */
+	public boolean covers(List<StockLine> wanted) {
+		Map<Integer, Integer> quantities = new HashMap<>();
+		wanted.forEach(line -> quantities.merge(line.productId(), line.quantity(), Integer::sum));
+		if (quantities.size() != lines.size()) {
+			return false;
+		}
+		for (StockLine line : lines) {
+			if (!Integer.valueOf(line.quantity()).equals(quantities.get(line.productId()))) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+}
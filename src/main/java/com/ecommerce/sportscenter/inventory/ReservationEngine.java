@@ -0,0 +1,329 @@
+package com.ecommerce.sportscenter.inventory;
+
+import com.ecommerce.sportscenter.exceptions.InsufficientStockException;
+import com.ecommerce.sportscenter.exceptions.ReservationNotFoundException;
+import com.ecommerce.sportscenter.inventory.JournalEntry.Moved;
+import com.ecommerce.sportscenter.inventory.JournalEntry.Released;
+import com.ecommerce.sportscenter.inventory.JournalEntry.Reserved;
+import com.ecommerce.sportscenter.inventory.JournalEntry.StockLine;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * In-memory stock ledger that lets checkout take stock without touching the database.
+ * <p>
+ * Each product's available count is an {@link AtomicInteger} decremented by compare-and-set, so
+ * thousands of reservations per second on one hot product never queue on a row lock. A reservation
+ * holds its units until it is committed, released or expires. Every change is appended to a
+ * {@link ReservationJournal}; commits and adjustments are synced to disk before they return and are
+ * later applied to {@code product_stock} in batches, together with the sequence number they were
+ * applied up to. On restart, stock is rebuilt as the database values plus the journal's changes
+ * after that sequence, minus the holds still open, so nothing committed here can be sold twice.
+ */
+@Slf4j
+public class ReservationEngine {
+
+	private final Map<Integer, AtomicInteger> available = new ConcurrentHashMap<>();
+	private final Map<UUID, Reservation> holds = new ConcurrentHashMap<>();
+	private final ConcurrentLinkedQueue<Moved> unreconciled = new ConcurrentLinkedQueue<>();
+	private final ReentrantLock appendLock = new ReentrantLock();
+	private final ReservationJournal journal;
+	private final Clock clock;
+	private long lastSequence;
+
+	/**
+	 * @param durableStock available units per product as stored in the database
+	 * @param reconciledSequence sequence number of the last journal change already in {@code durableStock}
+	 */
+	public ReservationEngine(ReservationJournal journal, Map<Integer, Integer> durableStock, long reconciledSequence,
+			Clock clock) throws IOException {
+		this.journal = journal;
+		this.clock = clock;
+		durableStock.forEach((productId, units) -> available.put(productId, new AtomicInteger(units)));
+		replay(journal.readAll(), reconciledSequence);
+	}
+
+	public int available(int productId) {
+		AtomicInteger units = available.get(productId);
+		return units == null ? 0 : Math.max(0, units.get());
+	}
+
+	public Optional<Reservation> find(UUID reservationId) {
+		return Optional.ofNullable(holds.get(reservationId)).filter(hold -> !isExpired(hold));
+	}
+
+	/**
+	 * Sets aside the given units for {@code ttl}, all or nothing. Quantities of the same product are
+	 * combined.
+	 */
+	public Reservation reserve(List<StockLine> lines, Duration ttl) {
+		List<StockLine> merged = merge(lines);
+		for (int taken = 0; taken < merged.size(); taken++) {
+			if (!tryTake(merged.get(taken))) {
+				giveBack(merged.subList(0, taken));
+				throw new InsufficientStockException(List.of(merged.get(taken).productId()));
+			}
+		}
+		UUID id = UUID.randomUUID();
+		long expiresAt = clock.millis() + ttl.toMillis();
+		appendLock.lock();
+		try {
+			long sequence = ++lastSequence;
+			journal.append(new Reserved(sequence, id, expiresAt, merged));
+			Reservation reservation = new Reservation(id, expiresAt, merged, sequence);
+			holds.put(id, reservation);
+			return reservation;
+		}
+		catch (RuntimeException ex) {
+			giveBack(merged);
+			throw ex;
+		}
+		finally {
+			appendLock.unlock();
+		}
+	}
+
+	/**
+	 * Turns the reservation's hold into a permanent deduction, durable when this returns. Fails if the
+	 * reservation does not exist or has expired.
+	 */
+	public Reservation commit(UUID reservationId) {
+		Reservation reservation = holds.remove(reservationId);
+		if (reservation == null) {
+			throw new ReservationNotFoundException(reservationId);
+		}
+		if (isExpired(reservation)) {
+			giveBack(reservation.lines());
+			append(new Released(0, reservationId));
+			throw new ReservationNotFoundException(reservationId);
+		}
+		List<StockLine> deltas = new ArrayList<>(reservation.lines().size());
+		reservation.lines().forEach(line -> deltas.add(new StockLine(line.productId(), -line.quantity())));
+		long sequence;
+		try {
+			sequence = append(new Moved(0, reservationId, deltas));
+		}
+		catch (RuntimeException ex) {
+			holds.put(reservationId, reservation);
+			throw ex;
+		}
+		try {
+			journal.sync(sequence);
+		}
+		catch (RuntimeException ex) {
+			// The move is journaled and queued for reconciliation but the caller will not write the
+			// order: cancel the deduction and put the hold back, so the units are neither lost nor sold.
+			try {
+				append(new Moved(0, reservationId, reservation.lines()));
+				holds.put(reservationId, reservation);
+			}
+			catch (RuntimeException compensation) {
+				ex.addSuppressed(compensation);
+				log.error("Could not cancel commit of reservation {} after a failed journal sync", reservationId,
+						compensation);
+			}
+			throw ex;
+		}
+		return reservation;
+	}
+
+	/** Gives back the units of a committed reservation whose order could not be written. */
+	public void revert(Reservation reservation) {
+		giveBack(reservation.lines());
+		append(new Moved(0, reservation.id(), reservation.lines()));
+	}
+
+	/** Returns an uncommitted reservation's units; false if it was already committed, released or expired. */
+	public boolean release(UUID reservationId) {
+		Reservation reservation = holds.remove(reservationId);
+		if (reservation == null) {
+			return false;
+		}
+		giveBack(reservation.lines());
+		append(new Released(0, reservationId));
+		return true;
+	}
+
+	/**
+	 * Sets the units of a product available to reserve now, e.g. after a stock count. Units held by
+	 * open reservations are not included and come back on top if those reservations are released.
+	 */
+	public void adjustTo(int productId, int units) {
+		int previous = available.computeIfAbsent(productId, id -> new AtomicInteger()).getAndSet(units);
+		journal.sync(append(new Moved(0, null, List.of(new StockLine(productId, units - previous)))));
+	}
+
+	public int releaseExpired() {
+		int released = 0;
+		for (Reservation reservation : holds.values()) {
+			if (isExpired(reservation) && holds.remove(reservation.id(), reservation)) {
+				giveBack(reservation.lines());
+				append(new Released(0, reservation.id()));
+				released++;
+			}
+		}
+		return released;
+	}
+
+	public int openReservations() {
+		return holds.size();
+	}
+
+	/** Up to {@code max} committed changes not yet applied to the database, oldest first. */
+	public List<Moved> unreconciled(int max) {
+		List<Moved> batch = new ArrayList<>(Math.min(max, 256));
+		Iterator<Moved> iterator = unreconciled.iterator();
+		while (iterator.hasNext() && batch.size() < max) {
+			batch.add(iterator.next());
+		}
+		return batch;
+	}
+
+	/** Drops the oldest {@code count} changes after they were applied to the database. */
+	public void markReconciled(int count) {
+		for (int i = 0; i < count; i++) {
+			unreconciled.poll();
+		}
+	}
+
+	/**
+	 * Rewrites the journal down to the records still needed on restart, open holds and unreconciled
+	 * changes, once it has grown past {@code thresholdBytes}.
+	 */
+	public void compactIfLargerThan(long thresholdBytes) throws IOException {
+		appendLock.lock();
+		try {
+			if (journal.size() <= thresholdBytes) {
+				return;
+			}
+			List<JournalEntry> live = new ArrayList<>(holds.size() + unreconciled.size());
+			holds.values().forEach(hold -> live.add(new Reserved(hold.sequence(), hold.id(), hold.expiresAtMillis(),
+					hold.lines())));
+			live.addAll(unreconciled);
+			live.sort(Comparator.comparingLong(JournalEntry::sequence));
+			long before = journal.size();
+			journal.rewrite(live);
+			log.info("Compacted reservation journal from {} to {} bytes", before, journal.size());
+		}
+		finally {
+			appendLock.unlock();
+		}
+	}
+
+	/** Appends the entry under the next sequence number and returns that number. */
+	private long append(JournalEntry entry) {
+		appendLock.lock();
+		try {
+			long sequence = ++lastSequence;
+			JournalEntry numbered = switch (entry) {
+				case Reserved reserved -> new Reserved(sequence, reserved.reservationId(), reserved.expiresAtMillis(),
+						reserved.lines());
+				case Released released -> new Released(sequence, released.reservationId());
+				case Moved moved -> new Moved(sequence, moved.reservationId(), moved.deltas());
+			};
+			journal.append(numbered);
+			if (numbered instanceof Moved moved) {
+				// Queued under the lock so the reconciler always sees changes in sequence order.
+				unreconciled.add(moved);
+			}
+			return sequence;
+		}
+		finally {
+			appendLock.unlock();
+		}
+	}
+
+	private void replay(List<JournalEntry> entries, long reconciledSequence) {
+		Map<UUID, Reserved> open = new LinkedHashMap<>();
+		long last = reconciledSequence;
+		int changes = 0;
+		for (JournalEntry entry : entries) {
+			last = Math.max(last, entry.sequence());
+			switch (entry) {
+				case Reserved reserved -> open.put(reserved.reservationId(), reserved);
+				case Released released -> open.remove(released.reservationId());
+				case Moved moved -> {
+					if (moved.reservationId() != null) {
+						open.remove(moved.reservationId());
+					}
+					if (moved.sequence() > reconciledSequence) {
+						moved.deltas().forEach(delta -> available.computeIfAbsent(delta.productId(),
+								id -> new AtomicInteger()).addAndGet(delta.quantity()));
+						unreconciled.add(moved);
+						changes++;
+					}
+				}
+			}
+		}
+		long now = clock.millis();
+		for (Reserved reserved : open.values()) {
+			if (reserved.expiresAtMillis() <= now) {
+				continue;
+			}
+			reserved.lines().forEach(line -> available.computeIfAbsent(line.productId(), id -> new AtomicInteger())
+					.addAndGet(-line.quantity()));
+			holds.put(reserved.reservationId(), new Reservation(reserved.reservationId(), reserved.expiresAtMillis(),
+					reserved.lines(), reserved.sequence()));
+		}
+		lastSequence = last;
+		log.info("Reservation journal replayed: {} unreconciled changes, {} open reservations", changes, holds.size());
+	}
+
+	private boolean tryTake(StockLine line) {
+		AtomicInteger units = available.get(line.productId());
+		if (units == null) {
+			return false;
+		}
+		int current;
+		do {
+			current = units.get();
+			if (current < line.quantity()) {
+				return false;
+			}
+		} while (!units.compareAndSet(current, current - line.quantity()));
+		return true;
+	}
+
+	private void giveBack(List<StockLine> lines) {
+		lines.forEach(line -> available.computeIfAbsent(line.productId(), id -> new AtomicInteger())
+				.addAndGet(line.quantity()));
+	}
+
+	private boolean isExpired(Reservation reservation) {
+		return reservation.expiresAtMillis() <= clock.millis();
+	}
+
+	/** Combines lines per product, in product id order. */
+	private static List<StockLine> merge(List<StockLine> lines) {
+		if (lines.isEmpty()) {
+			throw new IllegalArgumentException("Nothing to reserve");
+		}
+		Map<Integer, Integer> quantities = new TreeMap<>();
+		for (StockLine line : lines) {
+			if (line.quantity() < 1) {
+				throw new IllegalArgumentException("Reserved quantity must be at least 1");
+			}
+			quantities.merge(line.productId(), line.quantity(), Integer::sum);
+		}
+		List<StockLine> merged = new ArrayList<>(quantities.size());
+		quantities.forEach((productId, quantity) -> merged.add(new StockLine(productId, quantity)));
+		return List.copyOf(merged);
+	}
+
+}
@@ -0,0 +1,262 @@
+package com.ecommerce.sportscenter.inventory;
+
+import com.ecommerce.sportscenter.inventory.JournalEntry.Moved;
+import com.ecommerce.sportscenter.inventory.JournalEntry.Released;
+import com.ecommerce.sportscenter.inventory.JournalEntry.Reserved;
+import com.ecommerce.sportscenter.inventory.JournalEntry.StockLine;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.CRC32C;
+
+/**
+ * Append-only file of {@link JournalEntry} records, each framed as length, CRC32C and payload so a
+ * record torn by a crash is detected and cut off on the next start.
+ * <p>
+ * Appends must be serialized by the caller. {@link #sync(long)} makes everything up to a sequence
+ * number durable; callers that arrive while a sync is in progress share the next one, so a burst
+ * of commits costs one {@code fsync} rather than one each. Compaction writes the replacement file
+ * on the side and only swaps it in under the sync lock, so a concurrent sync never forces a
+ * half-written or closed file.
+ */
+@Slf4j
+public class ReservationJournal implements Closeable {
+
+	private static final byte RESERVED = 1;
+	private static final byte RELEASED = 2;
+	private static final byte MOVED = 3;
+	private static final int FRAME_HEADER_BYTES = 8;
+	private static final int MAX_RECORD_BYTES = 1 << 20;
+
+	private final Path path;
+	private final boolean fsync;
+	private final ReentrantLock syncLock = new ReentrantLock();
+	// Replaced by compaction under syncLock; volatile so that appends and syncs see the new file.
+	private volatile FileChannel channel;
+	private ByteBuffer buffer = ByteBuffer.allocate(4096);
+	private volatile long appendedSequence;
+	private volatile long syncedSequence;
+
+	public ReservationJournal(Path path, boolean fsync) throws IOException {
+		this.path = path;
+		this.fsync = fsync;
+		Path parent = path.toAbsolutePath().getParent();
+		if (parent != null) {
+			Files.createDirectories(parent);
+		}
+		this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+				StandardOpenOption.WRITE);
+	}
+
+	/**
+	 * Reads every intact record from the start of the file, truncates anything after the last one and
+	 * leaves the journal positioned for appending.
+	 */
+	public List<JournalEntry> readAll() throws IOException {
+		List<JournalEntry> entries = new ArrayList<>();
+		long size = channel.size();
+		long position = 0;
+		ByteBuffer header = ByteBuffer.allocate(FRAME_HEADER_BYTES);
+		while (position + FRAME_HEADER_BYTES <= size) {
+			header.clear();
+			channel.read(header, position);
+			int length = header.getInt(0);
+			int crc = header.getInt(4);
+			if (length <= 0 || length > MAX_RECORD_BYTES || position + FRAME_HEADER_BYTES + length > size) {
+				break;
+			}
+			ByteBuffer payload = ByteBuffer.allocate(length);
+			channel.read(payload, position + FRAME_HEADER_BYTES);
+			payload.flip();
+			if (checksum(payload) != crc) {
+				break;
+			}
+			entries.add(decode(payload));
+			position += FRAME_HEADER_BYTES + length;
+		}
+		if (position < size) {
+			log.warn("Truncating {} bytes of incomplete records at the end of {}", size - position, path);
+			channel.truncate(position);
+		}
+		channel.position(position);
+		if (!entries.isEmpty()) {
+			appendedSequence = entries.get(entries.size() - 1).sequence();
+			syncedSequence = appendedSequence;
+		}
+		return entries;
+	}
+
+	/** Writes the record to the file (not necessarily to disk). Callers serialize appends. */
+	public void append(JournalEntry entry) {
+		try {
+			write(channel, entry);
+		}
+		catch (IOException ex) {
+			throw new UncheckedIOException("Could not append to reservation journal " + path, ex);
+		}
+		appendedSequence = entry.sequence();
+	}
+
+	/** Returns once every record up to {@code sequence} is on disk (immediately if fsync is off). */
+	public void sync(long sequence) {
+		if (!fsync || syncedSequence >= sequence) {
+			return;
+		}
+		syncLock.lock();
+		try {
+			if (syncedSequence >= sequence) {
+				return;
+			}
+			long upTo = appendedSequence;
+			channel.force(false);
+			syncedSequence = upTo;
+		}
+		catch (IOException ex) {
+			throw new UncheckedIOException("Could not sync reservation journal " + path, ex);
+		}
+		finally {
+			syncLock.unlock();
+		}
+	}
+
+	/**
+	 * Atomically replaces the journal with {@code entries}, which must hold every record still needed
+	 * to rebuild state on restart. Callers serialize this with appends.
+	 */
+	public void rewrite(List<JournalEntry> entries) throws IOException {
+		Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+		// Written through its own channel: the journal's stays in place for concurrent syncs.
+		try (FileChannel out = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+				StandardOpenOption.TRUNCATE_EXISTING)) {
+			for (JournalEntry entry : entries) {
+				write(out, entry);
+			}
+			out.force(false);
+		}
+		syncLock.lock();
+		try {
+			Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+			channel.close();
+			FileChannel reopened = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+			reopened.position(reopened.size());
+			channel = reopened;
+			syncedSequence = appendedSequence;
+		}
+		finally {
+			syncLock.unlock();
+		}
+	}
+
+	public long size() throws IOException {
+		return channel.size();
+	}
+
+	@Override
+	public void close() throws IOException {
+		channel.close();
+	}
+
+	private void write(FileChannel target, JournalEntry entry) throws IOException {
+		buffer.clear();
+		buffer.position(FRAME_HEADER_BYTES);
+		encode(entry);
+		buffer.flip();
+		ByteBuffer payload = buffer.duplicate().position(FRAME_HEADER_BYTES);
+		buffer.putInt(0, buffer.limit() - FRAME_HEADER_BYTES);
+		buffer.putInt(4, checksum(payload));
+		while (buffer.hasRemaining()) {
+			target.write(buffer);
+		}
+	}
+
+	private void encode(JournalEntry entry) {
+		switch (entry) {
+			case Reserved reserved -> {
+				ensureCapacity(41 + 8 * reserved.lines().size());
+				buffer.put(RESERVED).putLong(reserved.sequence());
+				putId(reserved.reservationId());
+				buffer.putLong(reserved.expiresAtMillis());
+				putLines(reserved.lines());
+			}
+			case Released released -> {
+				ensureCapacity(25);
+				buffer.put(RELEASED).putLong(released.sequence());
+				putId(released.reservationId());
+			}
+			case Moved moved -> {
+				ensureCapacity(33 + 8 * moved.deltas().size());
+				buffer.put(MOVED).putLong(moved.sequence());
+				putId(moved.reservationId());
+				putLines(moved.deltas());
+			}
+		}
+	}
+
+	private static JournalEntry decode(ByteBuffer payload) {
+		byte type = payload.get();
+		long sequence = payload.getLong();
+		UUID id = getId(payload);
+		return switch (type) {
+			case RESERVED -> {
+				long expiresAt = payload.getLong();
+				yield new Reserved(sequence, id, expiresAt, getLines(payload));
+			}
+			case RELEASED -> new Released(sequence, id);
+			case MOVED -> new Moved(sequence, id, getLines(payload));
+			default -> throw new IllegalStateException("Unknown reservation journal record type " + type);
+		};
+	}
+
+	private void putId(UUID id) {
+		buffer.putLong(id == null ? 0 : id.getMostSignificantBits());
+		buffer.putLong(id == null ? 0 : id.getLeastSignificantBits());
+	}
+
+	private static UUID getId(ByteBuffer payload) {
+		long msb = payload.getLong();
+		long lsb = payload.getLong();
+		return msb == 0 && lsb == 0 ? null : new UUID(msb, lsb);
+	}
+
+	private void putLines(List<StockLine> lines) {
+		buffer.putInt(lines.size());
+		for (StockLine line : lines) {
+			buffer.putInt(line.productId()).putInt(line.quantity());
+		}
+	}
+
+	private static List<StockLine> getLines(ByteBuffer payload) {
+		int count = payload.getInt();
+		List<StockLine> lines = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			lines.add(new StockLine(payload.getInt(), payload.getInt()));
+		}
+		return lines;
+	}
+
+	private void ensureCapacity(int payloadBytes) {
+		if (FRAME_HEADER_BYTES + payloadBytes > buffer.capacity()) {
+			buffer = ByteBuffer.allocate(Integer.highestOneBit(FRAME_HEADER_BYTES + payloadBytes) << 1)
+					.position(FRAME_HEADER_BYTES);
+		}
+	}
+
+	private static int checksum(ByteBuffer payload) {
+		CRC32C crc = new CRC32C();
+		crc.update(payload.duplicate());
+		return (int) crc.getValue();
+	}
+
+}
@@ -0,0 +1,117 @@
+package com.ecommerce.sportscenter.jfr;
+
+import com.ecommerce.sportscenter.cache.CatalogCacheEvent;
+import com.ecommerce.sportscenter.order.CheckoutEvent;
+import com.ecommerce.sportscenter.search.SearchEvent;
+import jdk.jfr.Configuration;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * A Flight Recorder recording that runs for the life of the application, keeping the last
+ * {@code maxAge} of events, and is written to a file when one of the application's own events
+ * ({@link CheckoutEvent}, {@link SearchEvent}, {@link CatalogCacheEvent}) takes longer than its SLA.
+ * The dump then holds the minutes leading up to the slow operation: its business context from the
+ * event fields, and the JVM's view (GC, locks, I/O, CPU samples) from the standard events.
+ * <p>
+ * Breaches are seen through the recording's own event stream, so the request path pays nothing
+ * beyond committing the event. Dumps run on a separate thread, at most one per cooldown period.
+ */
+@Slf4j
+public class ContinuousRecording implements Closeable {
+
+	private static final DateTimeFormatter FILE_TIME = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+	private final RecordingStream stream;
+	private final FlightRecorderProperties properties;
+	private final ExecutorService dumper = Executors.newSingleThreadExecutor(
+			Thread.ofPlatform().name("jfr-dump").daemon().factory());
+	private final AtomicLong lastDumpMillis = new AtomicLong(Long.MIN_VALUE / 2);
+
+	public ContinuousRecording(FlightRecorderProperties properties) throws IOException, ParseException {
+		this.properties = properties;
+		this.stream = new RecordingStream(Configuration.getConfiguration(properties.getSettings()));
+		stream.setMaxAge(properties.getMaxAge());
+		stream.setMaxSize(properties.getMaxSize());
+		watch(CheckoutEvent.NAME, properties.getCheckoutSla());
+		watch(SearchEvent.NAME, properties.getSearchSla());
+		watch(CatalogCacheEvent.NAME, properties.getCacheSla());
+	}
+
+	public void start() {
+		stream.startAsync();
+		log.info("Continuous Flight Recorder recording started with '{}' settings, keeping {}", properties.getSettings(),
+				properties.getMaxAge());
+	}
+
+	@Override
+	public void close() {
+		dumper.shutdownNow();
+		stream.close();
+	}
+
+	private void watch(String eventName, Duration sla) {
+		stream.enable(eventName);
+		stream.onEvent(eventName, event -> {
+			if (event.getDuration().compareTo(sla) > 0) {
+				breached(event, sla);
+			}
+		});
+	}
+
+	private void breached(RecordedEvent event, Duration sla) {
+		long now = System.currentTimeMillis();
+		long last = lastDumpMillis.get();
+		if (now - last < properties.getDumpCooldown().toMillis() || !lastDumpMillis.compareAndSet(last, now)) {
+			return;
+		}
+		String name = event.getEventType().getName();
+		long tookMillis = event.getDuration().toMillis();
+		dumper.execute(() -> dump(name, tookMillis, sla));
+	}
+
+	private void dump(String eventName, long tookMillis, Duration sla) {
+		try {
+			Path directory = properties.getDumpDirectory();
+			Files.createDirectories(directory);
+			Path file = directory.resolve("sportscenter-" + LocalDateTime.now().format(FILE_TIME) + ".jfr");
+			stream.dump(file);
+			log.warn("{} took {} ms, over its {} ms SLA; dumped the last {} of recording to {}", eventName, tookMillis,
+					sla.toMillis(), properties.getMaxAge(), file);
+			deleteOldDumps(directory);
+		}
+		catch (IOException | RuntimeException ex) {
+			log.error("Could not dump Flight Recorder recording", ex);
+		}
+	}
+
+	private void deleteOldDumps(Path directory) throws IOException {
+		List<Path> dumps;
+		try (Stream<Path> files = Files.list(directory)) {
+			dumps = files.filter(file -> file.getFileName().toString().startsWith("sportscenter-")
+							&& file.getFileName().toString().endsWith(".jfr"))
+					.sorted(Comparator.comparing(Path::getFileName).reversed())
+					.toList();
+		}
+		for (Path old : dumps.subList(Math.min(properties.getRetainedDumps(), dumps.size()), dumps.size())) {
+			Files.deleteIfExists(old);
+		}
+	}
+
+}
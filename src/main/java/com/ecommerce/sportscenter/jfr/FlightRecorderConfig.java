@@ -0,0 +1,24 @@
+package com.ecommerce.sportscenter.jfr;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+import java.text.ParseException;
+
+/**
+ * Continuous Flight Recorder recording, enabled with {@code sportscenter.jfr.continuous-enabled=true}.
+ * The application's JFR events are emitted either way and also show up in recordings started from
+ * outside, e.g. with {@code -XX:StartFlightRecording} or {@code jcmd <pid> JFR.start}.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(prefix = "sportscenter.jfr", name = "continuous-enabled", havingValue = "true")
+public class FlightRecorderConfig {
+
+	@Bean(initMethod = "start", destroyMethod = "close")
+	ContinuousRecording continuousRecording(FlightRecorderProperties properties) throws IOException, ParseException {
+		return new ContinuousRecording(properties);
+	}
+
+}
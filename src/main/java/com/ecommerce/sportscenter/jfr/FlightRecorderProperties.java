@@ -0,0 +1,46 @@
+package com.ecommerce.sportscenter.jfr;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "sportscenter.jfr")
+public class FlightRecorderProperties {
+
+	/**
+	 * Keep a rolling Flight Recorder recording in the background and dump it when a checkout, search
+	 * or cache lookup breaches its latency SLA.
+	 */
+	private boolean continuousEnabled = false;
+
+	/** Name of the JFR settings to record with: {@code default} (about 1% overhead) or {@code profile}. */
+	private String settings = "default";
+
+	/** How much history the rolling recording keeps, and so each dump covers. */
+	private Duration maxAge = Duration.ofMinutes(10);
+
+	/** Upper bound on the rolling recording's size on disk, in bytes. */
+	private long maxSize = 256L * 1024 * 1024;
+
+	/** Where dumps are written. */
+	private Path dumpDirectory = Path.of("data", "jfr");
+
+	/** Dumps kept in {@link #dumpDirectory}; older ones are deleted. */
+	private int retainedDumps = 10;
+
+	/** Minimum time between two dumps, so a sustained slowdown produces one dump rather than hundreds. */
+	private Duration dumpCooldown = Duration.ofMinutes(5);
+
+	/** Checkouts taking longer than this trigger a dump. */
+	private Duration checkoutSla = Duration.ofMillis(500);
+
+	/** Searches taking longer than this trigger a dump. */
+	private Duration searchSla = Duration.ofMillis(200);
+
+	/** Catalog cache lookups, including loading misses, taking longer than this trigger a dump. */
+	private Duration cacheSla = Duration.ofMillis(100);
+
+}
@@ -0,0 +1,38 @@
+package com.ecommerce.sportscenter.mapper;
+
+import com.ecommerce.sportscenter.entity.Brand;
+import com.ecommerce.sportscenter.entity.Product;
+import com.ecommerce.sportscenter.entity.Type;
+import com.ecommerce.sportscenter.model.BrandResponse;
+import com.ecommerce.sportscenter.model.ProductResponse;
+import com.ecommerce.sportscenter.model.TypeResponse;
+
+public final class CatalogMapper {
+
+	private CatalogMapper() {
+	}
+
+	public static ProductResponse toResponse(Product product) {
+		return ProductResponse.builder()
+				.id(product.getId())
+				.sku(product.getSku())
+				.name(product.getName())
+				.description(product.getDescription())
+				.price(product.getPrice())
+				.pictureUrl(product.getPictureUrl())
+				.brandId(product.getBrand().getId())
+				.productBrand(product.getBrand().getName())
+				.typeId(product.getType().getId())
+				.productType(product.getType().getName())
+				.build();
+	}
+
+	public static BrandResponse toResponse(Brand brand) {
+		return new BrandResponse(brand.getId(), brand.getName());
+	}
+
+	public static TypeResponse toResponse(Type type) {
+		return new TypeResponse(type.getId(), type.getName());
+	}
+
+}
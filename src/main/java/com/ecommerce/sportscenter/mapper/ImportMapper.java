@@ -0,0 +1,33 @@
+package com.ecommerce.sportscenter.mapper;
+
+import com.ecommerce.sportscenter.ingest.ImportJob;
+import com.ecommerce.sportscenter.model.ImportErrorResponse;
+import com.ecommerce.sportscenter.model.ImportResponse;
+
+public final class ImportMapper {
+
+	private ImportMapper() {
+	}
+
+	public static ImportResponse toResponse(ImportJob job) {
+		return ImportResponse.builder()
+				.id(job.getId())
+				.format(job.getFormat().name())
+				.status(job.getStatus().name())
+				.createdAt(job.getCreatedAt())
+				.startedAt(job.getStartedAt())
+				.finishedAt(job.getFinishedAt())
+				.fileBytes(job.getFileBytes())
+				.bytesParsed(job.getBytesParsed())
+				.rowsParsed(job.getRowsParsed())
+				.rowsWritten(job.getRowsWritten())
+				.rowsFailed(job.getRowsFailed())
+				.referencesCreated(job.getReferencesCreated())
+				.failure(job.getFailure())
+				.errors(job.getErrors().stream()
+						.map(error -> new ImportErrorResponse(error.row(), error.message()))
+						.toList())
+				.build();
+	}
+
+}
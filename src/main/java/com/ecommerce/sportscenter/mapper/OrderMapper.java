@@ -0,0 +1,34 @@
+package com.ecommerce.sportscenter.mapper;
+
+import com.ecommerce.sportscenter.entity.CustomerOrder;
+import com.ecommerce.sportscenter.entity.OrderLine;
+import com.ecommerce.sportscenter.model.OrderLineResponse;
+import com.ecommerce.sportscenter.model.OrderResponse;
+
+public final class OrderMapper {
+
+	private OrderMapper() {
+	}
+
+	public static OrderResponse toResponse(CustomerOrder order) {
+		return OrderResponse.builder()
+				.id(order.getId())
+				.basketId(order.getBasketId())
+				.createdAt(order.getCreatedAt())
+				.lines(order.getLines().stream().map(OrderMapper::toResponse).toList())
+				.totalQuantity(order.getTotalQuantity())
+				.subtotal(order.getSubtotal())
+				.build();
+	}
+
+	public static OrderLineResponse toResponse(OrderLine line) {
+		return OrderLineResponse.builder()
+				.productId(line.getProductId())
+				.productName(line.getProductName())
+				.unitPrice(line.getUnitPrice())
+				.quantity(line.getQuantity())
+				.lineTotal(line.getLineTotal())
+				.build();
+	}
+
+}
@@ -0,0 +1,17 @@
+package com.ecommerce.sportscenter.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BasketItemRequest {
+
+	private Integer productId;
+	private Integer quantity;
+
+}
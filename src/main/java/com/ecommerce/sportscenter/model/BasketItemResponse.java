@@ -0,0 +1,34 @@
+package com.ecommerce.sportscenter.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BasketItemResponse {
+
+	private Integer productId;
+	private String name;
+	private String pictureUrl;
+	private String productBrand;
+	private String productType;
+
+	/** Price before promotions, in minor currency units (cents). */
+	private Long listPrice;
+
+	/** Price after promotions, in minor currency units (cents). */
+	private Long unitPrice;
+
+	/** Id of the promotion rule applied to this line, if any. */
+	private String promotionId;
+
+	private Integer quantity;
+
+	/** {@code unitPrice * quantity}, in minor currency units. */
+	private Long lineTotal;
+
+}
@@ -0,0 +1,27 @@
+package com.ecommerce.sportscenter.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BasketResponse {
+
+	private UUID id;
+	private List<BasketItemResponse> items;
+	private Integer totalQuantity;
+
+	/** Sum of the line totals, in minor currency units. */
+	private Long subtotal;
+
+	/** Taken off the list prices by promotions, in minor currency units. */
+	private Long discount;
+
+}
@@ -0,0 +1,17 @@
+package com.ecommerce.sportscenter.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BrandResponse {
+
+	private Integer id;
+	private String name;
+
+}
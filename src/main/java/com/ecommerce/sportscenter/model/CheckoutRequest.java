@@ -0,0 +1,24 @@
+package com.ecommerce.sportscenter.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CheckoutRequest {
+
+	private UUID basketId;
+
+	/** Optional reservation made for the basket beforehand (see POST /api/inventory/reservations). */
+	private UUID reservationId;
+
+	/** Optional coupon unlocking promotions that require one. */
+	private String couponCode;
+
+}
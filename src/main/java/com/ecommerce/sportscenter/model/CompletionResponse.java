@@ -0,0 +1,21 @@
+package com.ecommerce.sportscenter.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CompletionResponse {
+
+	private String text;
+
+	/** {@code PRODUCT} or {@code BRAND}. */
+	private String kind;
+
+	private Integer id;
+
+}
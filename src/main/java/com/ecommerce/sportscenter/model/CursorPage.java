@@ -0,0 +1,28 @@
+package com.ecommerce.sportscenter.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class CursorPage<T> {
+
+	private List<T> content;
+
+	/** Opaque token for the next page; absent on the last page. */
+	private String nextCursor;
+
+	private boolean hasMore;
+
+	/** Only populated when the caller asked for a count. */
+	private Long totalElements;
+
+}
@@ -0,0 +1,28 @@
+package com.ecommerce.sportscenter.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class FacetSearchResponse {
+
+	private int total;
+	private List<ProductResponse> content;
+
+	/** Pass as {@code afterId} to fetch the next window; absent when there is none. */
+	private Integer nextAfterId;
+
+	private List<FacetValueCount> brands;
+	private List<FacetValueCount> types;
+	private List<PriceRangeCount> priceRanges;
+
+}
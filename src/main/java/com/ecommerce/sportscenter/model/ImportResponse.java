@@ -0,0 +1,33 @@
+package com.ecommerce.sportscenter.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ImportResponse {
+
+	private UUID id;
+	private String format;
+	private String status;
+	private Instant createdAt;
+	private Instant startedAt;
+	private Instant finishedAt;
+	private long fileBytes;
+	private long bytesParsed;
+	private long rowsParsed;
+	private long rowsWritten;
+	private long rowsFailed;
+	private int referencesCreated;
+	private String failure;
+	private List<ImportErrorResponse> errors;
+
+}
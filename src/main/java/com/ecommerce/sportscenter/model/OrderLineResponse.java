@@ -0,0 +1,23 @@
+package com.ecommerce.sportscenter.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OrderLineResponse {
+
+	private Integer productId;
+	private String productName;
+
+	/** Price in minor currency units (cents) at the time of the order. */
+	private Long unitPrice;
+
+	private Integer quantity;
+	private Long lineTotal;
+
+}
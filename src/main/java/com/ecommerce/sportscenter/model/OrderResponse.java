@@ -0,0 +1,27 @@
+package com.ecommerce.sportscenter.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OrderResponse {
+
+	private Long id;
+	private UUID basketId;
+	private Instant createdAt;
+	private List<OrderLineResponse> lines;
+	private Integer totalQuantity;
+
+	/** Sum of the line totals, in minor currency units. */
+	private Long subtotal;
+
+}
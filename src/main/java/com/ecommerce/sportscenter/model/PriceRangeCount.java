@@ -0,0 +1,24 @@
+package com.ecommerce.sportscenter.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class PriceRangeCount {
+
+	/** Inclusive lower bound; absent for the first bucket. */
+	private Long minPrice;
+
+	/** Exclusive upper bound; absent for the last bucket. */
+	private Long maxPrice;
+
+	private int count;
+
+}
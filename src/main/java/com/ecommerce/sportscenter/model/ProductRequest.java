@@ -0,0 +1,22 @@
+package com.ecommerce.sportscenter.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ProductRequest {
+
+	private String sku;
+	private String name;
+	private String description;
+	private Long price;
+	private String pictureUrl;
+	private Integer brandId;
+	private Integer typeId;
+
+}
@@ -0,0 +1,34 @@
+package com.ecommerce.sportscenter.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder(toBuilder = true)
+public class ProductResponse {
+
+	private Integer id;
+	private String sku;
+	private String name;
+	private String description;
+	private Long price;
+
+	/**
+	 * Price after the promotions open to everyone, in minor currency units. Only set on storefront
+	 * reads; baskets also apply coupons and minimum-subtotal promotions.
+	 */
+	@JsonInclude(JsonInclude.Include.NON_NULL)
+	private Long effectivePrice;
+
+	private String pictureUrl;
+	private Integer brandId;
+	private String productBrand;
+	private Integer typeId;
+	private String productType;
+
+}
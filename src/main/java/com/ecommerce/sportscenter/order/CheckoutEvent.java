@@ -0,0 +1,47 @@
+package com.ecommerce.sportscenter.order;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/** JFR event spanning one checkout, committed whether or not it succeeded. */
+@Name(CheckoutEvent.NAME)
+@Label("Checkout")
+@Category("Sportscenter")
+@Description("Turning a basket into an order")
+@StackTrace(false)
+public class CheckoutEvent extends Event {
+
+	public static final String NAME = "sportscenter.Checkout";
+
+	@Label("Basket Id")
+	String basketId;
+
+	@Label("Order Id")
+	@Description("Zero if no order was written")
+	long orderId;
+
+	@Label("Basket Lines")
+	int lines;
+
+	@Label("Units")
+	int quantity;
+
+	@Label("Subtotal")
+	@Description("In minor currency units")
+	long subtotal;
+
+	@Label("Reserved")
+	@Description("Stock was taken from the in-memory reservation engine")
+	boolean reserved;
+
+	@Label("Outcome")
+	String outcome;
+
+	@Label("Failure")
+	String failure;
+
+}
@@ -0,0 +1,137 @@
+package com.ecommerce.sportscenter.order;
+
+import com.ecommerce.sportscenter.entity.CustomerOrder;
+import com.ecommerce.sportscenter.exceptions.IdempotencyKeyReusedException;
+import com.ecommerce.sportscenter.mapper.OrderMapper;
+import com.ecommerce.sportscenter.model.CheckoutRequest;
+import com.ecommerce.sportscenter.model.OrderResponse;
+import com.ecommerce.sportscenter.repository.CustomerOrderRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+
+/**
+ * Checkout results by client-supplied idempotency key, so a retried checkout returns the order the
+ * first attempt placed instead of placing another.
+ * <p>
+ * Keys live in a Caffeine cache bounded by size and time since they were first used. The first
+ * request with a key claims it with an in-flight future; duplicates arriving meanwhile wait on that
+ * future rather than running checkout again, and later ones get its result straight away. Failures
+ * are not remembered: the key is released so the client can retry once the cause (such as missing
+ * stock) is gone. A key sent again with a different request is rejected.
+ * <p>
+ * With persistent keys, keys are also stored with their orders (unique) and looked up on a miss,
+ * which covers retries after a restart or to another instance. Replayed and coalesced checkouts are
+ * counted as {@code sportscenter.checkout.replays}.
+ */
+@Component
+public class IdempotencyStore {
+
+	static final int MAX_KEY_LENGTH = 64;
+
+	private final Cache<String, Claim> claims;
+	private final CustomerOrderRepository orderRepository;
+	private final TransactionTemplate transactionTemplate;
+	private final boolean persistent;
+	private final Counter replays;
+
+	public IdempotencyStore(OrderProperties properties, CustomerOrderRepository orderRepository,
+			TransactionTemplate transactionTemplate, MeterRegistry meterRegistry) {
+		this.claims = Caffeine.newBuilder()
+				.maximumSize(properties.getIdempotencyMaxKeys())
+				.expireAfterWrite(properties.getIdempotencyTtl())
+				.build();
+		this.orderRepository = orderRepository;
+		this.transactionTemplate = transactionTemplate;
+		this.persistent = properties.isIdempotencyPersistent();
+		this.replays = Counter.builder("sportscenter.checkout.replays")
+				.description("Checkouts answered with the order of an earlier request with the same idempotency key")
+				.register(meterRegistry);
+		Gauge.builder("sportscenter.checkout.idempotency.keys", claims, Cache::estimatedSize)
+				.description("Idempotency keys held in memory")
+				.register(meterRegistry);
+	}
+
+	/** Whether keys are stored with their orders; checkout sets them when they are. */
+	public boolean isPersistent() {
+		return persistent;
+	}
+
+	/**
+	 * Runs {@code checkout} unless a checkout with this key already ran or is running, in which case
+	 * that one's order is returned.
+	 *
+	 * @throws IdempotencyKeyReusedException if the key was used for a different request
+	 */
+	public OrderResponse execute(String key, CheckoutRequest request, Supplier<OrderResponse> checkout) {
+		if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+			throw new IllegalArgumentException("Idempotency key must be 1 to " + MAX_KEY_LENGTH + " characters");
+		}
+		Claim mine = new Claim(request, new CompletableFuture<>());
+		Claim existing = claims.asMap().putIfAbsent(key, mine);
+		if (existing != null) {
+			if (!existing.request().equals(request)) {
+				throw new IdempotencyKeyReusedException(key);
+			}
+			replays.increment();
+			return await(existing.result());
+		}
+		try {
+			OrderResponse placed;
+			try {
+				placed = placedBefore(key, request).orElseGet(checkout);
+			}
+			catch (DataIntegrityViolationException ex) {
+				// Another instance may have placed an order with this key at the same time.
+				placed = placedBefore(key, request).orElseThrow(() -> ex);
+			}
+			mine.result().complete(placed);
+			return placed;
+		}
+		catch (RuntimeException ex) {
+			claims.asMap().remove(key, mine);
+			mine.result().completeExceptionally(ex);
+			throw ex;
+		}
+	}
+
+	private Optional<OrderResponse> placedBefore(String key, CheckoutRequest request) {
+		if (!persistent) {
+			return Optional.empty();
+		}
+		// Not read-only, so the lookup goes to the primary rather than a replica that may lag.
+		Optional<CustomerOrder> order = transactionTemplate.execute(status ->
+				orderRepository.findWithLinesByIdempotencyKey(key));
+		if (order.isPresent() && !Objects.equals(order.get().getBasketId(), request.getBasketId())) {
+			throw new IdempotencyKeyReusedException(key);
+		}
+		return order.map(OrderMapper::toResponse);
+	}
+
+	private static OrderResponse await(CompletableFuture<OrderResponse> result) {
+		try {
+			return result.join();
+		}
+		catch (CompletionException ex) {
+			if (ex.getCause() instanceof RuntimeException cause) {
+				throw cause;
+			}
+			throw ex;
+		}
+	}
+
+	private record Claim(CheckoutRequest request, CompletableFuture<OrderResponse> result) {
+	}
+
+}
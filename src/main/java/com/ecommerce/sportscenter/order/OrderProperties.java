@@ -0,0 +1,42 @@
+package com.ecommerce.sportscenter.order;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "sportscenter.orders")
+public class OrderProperties {
+
+	/**
+	 * Hand orders to a single writer thread that commits whatever has queued up meanwhile in one
+	 * transaction, instead of one transaction per checkout.
+	 */
+	private boolean writeBehindEnabled = false;
+
+	/** Most orders committed together in one grouped transaction. */
+	private int writeBehindMaxBatch = 64;
+
+	/**
+	 * How long the writer waits for more orders to join a group that is not yet full. Zero groups only
+	 * the orders already queued, adding no latency when checkout is quiet.
+	 */
+	private Duration writeBehindMaxDelay = Duration.ZERO;
+
+	/** Orders that may wait for the writer before further checkouts are turned away. */
+	private int writeBehindQueueCapacity = 10_000;
+
+	/** How long a checkout's result is kept for retries with the same {@code Idempotency-Key}. */
+	private Duration idempotencyTtl = Duration.ofHours(1);
+
+	/** Most idempotency keys kept in memory; the least recently used beyond that are forgotten. */
+	private long idempotencyMaxKeys = 20_000;
+
+	/**
+	 * Also store idempotency keys with their orders and look them up when a key is not in memory, so
+	 * retries are recognized after a restart and across instances.
+	 */
+	private boolean idempotencyPersistent = false;
+
+}
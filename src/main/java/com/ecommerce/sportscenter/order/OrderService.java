@@ -0,0 +1,220 @@
+package com.ecommerce.sportscenter.order;
+
+import com.ecommerce.sportscenter.basket.BasketService;
+import com.ecommerce.sportscenter.entity.CustomerOrder;
+import com.ecommerce.sportscenter.entity.OrderLine;
+import com.ecommerce.sportscenter.exceptions.OrderNotFoundException;
+import com.ecommerce.sportscenter.inventory.InventoryProperties;
+import com.ecommerce.sportscenter.inventory.JournalEntry.StockLine;
+import com.ecommerce.sportscenter.inventory.Reservation;
+import com.ecommerce.sportscenter.inventory.ReservationEngine;
+import com.ecommerce.sportscenter.mapper.OrderMapper;
+import com.ecommerce.sportscenter.model.BasketItemResponse;
+import com.ecommerce.sportscenter.model.BasketResponse;
+import com.ecommerce.sportscenter.model.CheckoutRequest;
+import com.ecommerce.sportscenter.model.OrderResponse;
+import com.ecommerce.sportscenter.repository.CustomerOrderRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Turns a basket into an order. Pricing happens here, outside any transaction; only the stock update
+ * and the inserts run inside one, either directly or grouped with other checkouts by
+ * {@link OrderWriteBehindQueue} when write-behind is enabled.
+ * <p>
+ * With reservations enabled, stock is taken from the {@link ReservationEngine} instead: the
+ * basket's reservation (or a new one) is committed before the order is written and reverted if the
+ * write fails.
+ * <p>
+ * Each checkout is timed as {@code sportscenter.checkout} (tagged with its outcome) and each of its
+ * steps as {@code sportscenter.checkout.step}, and emits a {@link CheckoutEvent} for Flight Recorder.
+ * Checkouts with an idempotency key go through the {@link IdempotencyStore}, so retries skip all of
+ * this and get the first attempt's order.
+ */
+@Service
+public class OrderService {
+
+	private final BasketService basketService;
+	private final OrderWriter orderWriter;
+	private final OrderWriteBehindQueue writeBehindQueue;
+	private final ReservationEngine reservationEngine;
+	private final InventoryProperties inventoryProperties;
+	private final CustomerOrderRepository orderRepository;
+	private final IdempotencyStore idempotencyStore;
+	private final MeterRegistry meterRegistry;
+	private final Timer loadBasketStep;
+	private final Timer reserveStep;
+	private final Timer commitReservationStep;
+	private final Timer writeOrderStep;
+	private final Timer clearBasketStep;
+
+	public OrderService(BasketService basketService, OrderWriter orderWriter,
+			ObjectProvider<OrderWriteBehindQueue> writeBehindQueue, ObjectProvider<ReservationEngine> reservationEngine,
+			InventoryProperties inventoryProperties, CustomerOrderRepository orderRepository,
+			IdempotencyStore idempotencyStore, MeterRegistry meterRegistry) {
+		this.basketService = basketService;
+		this.orderWriter = orderWriter;
+		this.writeBehindQueue = writeBehindQueue.getIfAvailable();
+		this.reservationEngine = reservationEngine.getIfAvailable();
+		this.inventoryProperties = inventoryProperties;
+		this.orderRepository = orderRepository;
+		this.idempotencyStore = idempotencyStore;
+		this.meterRegistry = meterRegistry;
+		this.loadBasketStep = step("load-basket");
+		this.reserveStep = step("reserve");
+		this.commitReservationStep = step("commit-reservation");
+		this.writeOrderStep = step("write-order");
+		this.clearBasketStep = step("clear-basket");
+	}
+
+	/**
+	 * Places an order for the request's basket. Its reservation id is optional and ignored when
+	 * reservations are disabled.
+	 *
+	 * @param idempotencyKey client-supplied key identifying retries of the same checkout, or null
+	 */
+	public OrderResponse checkout(CheckoutRequest request, String idempotencyKey) {
+		if (request.getBasketId() == null) {
+			throw new IllegalArgumentException("Basket id is required");
+		}
+		if (idempotencyKey == null) {
+			return run(request, null);
+		}
+		return idempotencyStore.execute(idempotencyKey, request,
+				() -> run(request, idempotencyStore.isPersistent() ? idempotencyKey : null));
+	}
+
+	// Not read-only: with read replicas enabled that would route here, and a just-placed order may
+	// not have reached a replica yet.
+	@Transactional
+	public OrderResponse getOrder(Long orderId) {
+		return orderRepository.findWithLinesById(orderId)
+				.map(OrderMapper::toResponse)
+				.orElseThrow(() -> new OrderNotFoundException(orderId));
+	}
+
+	private OrderResponse run(CheckoutRequest request, String storedKey) {
+		UUID basketId = request.getBasketId();
+		CheckoutEvent event = new CheckoutEvent();
+		event.begin();
+		event.basketId = basketId.toString();
+		event.reserved = reservationEngine != null;
+		Timer.Sample sample = Timer.start(meterRegistry);
+		String outcome = "failure";
+		try {
+			OrderResponse placed = placeOrder(basketId, request.getReservationId(), request.getCouponCode(),
+					storedKey, event);
+			outcome = "success";
+			return placed;
+		}
+		catch (RuntimeException ex) {
+			event.failure = ex.getClass().getSimpleName();
+			throw ex;
+		}
+		finally {
+			sample.stop(Timer.builder("sportscenter.checkout")
+					.description("Checkouts from loading the basket to clearing it")
+					.tag("outcome", outcome)
+					.register(meterRegistry));
+			event.outcome = outcome;
+			event.commit();
+		}
+	}
+
+	private OrderResponse placeOrder(UUID basketId, UUID reservationId, String couponCode, String idempotencyKey,
+			CheckoutEvent event) {
+		BasketResponse basket = loadBasketStep.record(() -> basketService.getBasket(basketId, couponCode));
+		event.lines = basket.getItems().size();
+		event.quantity = basket.getTotalQuantity();
+		event.subtotal = basket.getSubtotal();
+		if (basket.getItems().isEmpty()) {
+			throw new IllegalArgumentException("Basket " + basketId + " is empty");
+		}
+		CustomerOrder order = CustomerOrder.builder()
+				.basketId(basketId)
+				.idempotencyKey(idempotencyKey)
+				.createdAt(Instant.now())
+				.totalQuantity(basket.getTotalQuantity())
+				.subtotal(basket.getSubtotal())
+				.build();
+		for (BasketItemResponse item : basket.getItems()) {
+			order.addLine(OrderLine.builder()
+					.productId(item.getProductId())
+					.productName(item.getName())
+					.unitPrice(item.getUnitPrice())
+					.quantity(item.getQuantity())
+					.lineTotal(item.getLineTotal())
+					.build());
+		}
+		if (reservationEngine == null) {
+			place(order);
+		}
+		else {
+			placeReserved(order, reservationId);
+		}
+		event.orderId = order.getId() == null ? 0 : order.getId();
+		clearBasketStep.record(() -> basketService.deleteBasket(basketId));
+		return OrderMapper.toResponse(order);
+	}
+
+	private void placeReserved(CustomerOrder order, UUID reservationId) {
+		List<StockLine> lines = new ArrayList<>(order.getLines().size());
+		order.getLines().forEach(line -> lines.add(new StockLine(line.getProductId(), line.getQuantity())));
+		if (reservationId == null) {
+			reservationId = reserveStep.record(() -> reservationEngine.reserve(lines,
+					inventoryProperties.getReservationTtl())).id();
+		}
+		else {
+			reservationEngine.find(reservationId)
+					.filter(reservation -> reservation.covers(lines))
+					.orElseThrow(() -> new IllegalArgumentException(
+							"Reservation does not match the contents of basket " + order.getBasketId()));
+		}
+		UUID toCommit = reservationId;
+		Reservation committed = commitReservationStep.record(() -> reservationEngine.commit(toCommit));
+		try {
+			place(order);
+		}
+		catch (RuntimeException ex) {
+			reservationEngine.revert(committed);
+			throw ex;
+		}
+	}
+
+	private void place(CustomerOrder order) {
+		writeOrderStep.record(() -> write(order));
+	}
+
+	private void write(CustomerOrder order) {
+		if (writeBehindQueue == null) {
+			orderWriter.write(List.of(order));
+			return;
+		}
+		try {
+			writeBehindQueue.submit(order).join();
+		}
+		catch (CompletionException ex) {
+			if (ex.getCause() instanceof RuntimeException cause) {
+				throw cause;
+			}
+			throw ex;
+		}
+	}
+
+	private Timer step(String name) {
+		return Timer.builder("sportscenter.checkout.step")
+				.description("Individual checkout steps")
+				.tag("step", name)
+				.register(meterRegistry);
+	}
+
+}
@@ -0,0 +1,131 @@
+package com.ecommerce.sportscenter.order;
+
+import com.ecommerce.sportscenter.entity.CustomerOrder;
+import com.ecommerce.sportscenter.exceptions.CheckoutUnavailableException;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coalesces concurrent checkouts into grouped transactions.
+ * <p>
+ * Checkouts enqueue their order and wait on a future. A single writer thread takes the first queued
+ * order plus everything that arrived behind it (up to the batch size) and commits them together, so
+ * under load one commit, one stock update batch and one insert batch per table serve many orders,
+ * while a lone order is written immediately. If a group fails, its orders are retried one by one so
+ * that a single out-of-stock order cannot fail the others.
+ */
+@Component
+@Slf4j
+@ConditionalOnProperty(prefix = "sportscenter.orders", name = "write-behind-enabled", havingValue = "true")
+public class OrderWriteBehindQueue {
+
+	private static final long IDLE_POLL_MILLIS = 100;
+
+	private final BlockingQueue<PendingOrder> queue;
+	private final OrderWriter orderWriter;
+	private final int maxBatch;
+	private final long maxDelayNanos;
+	private final Thread writer;
+	private volatile boolean running = true;
+
+	public OrderWriteBehindQueue(OrderWriter orderWriter, OrderProperties properties) {
+		this.queue = new ArrayBlockingQueue<>(properties.getWriteBehindQueueCapacity());
+		this.orderWriter = orderWriter;
+		this.maxBatch = Math.max(1, properties.getWriteBehindMaxBatch());
+		this.maxDelayNanos = properties.getWriteBehindMaxDelay().toNanos();
+		this.writer = Thread.ofPlatform().name("order-write-behind").daemon().unstarted(this::drain);
+	}
+
+	@PostConstruct
+	public void start() {
+		writer.start();
+	}
+
+	/** Stops accepting orders and waits for the queued ones to be written. */
+	@PreDestroy
+	public void stop() throws InterruptedException {
+		running = false;
+		writer.join(TimeUnit.SECONDS.toMillis(30));
+	}
+
+	/** Queues the order; the future completes once it is committed, or fails with the reason it was not. */
+	public CompletableFuture<CustomerOrder> submit(CustomerOrder order) {
+		PendingOrder pending = new PendingOrder(order, new CompletableFuture<>());
+		if (!running || !queue.offer(pending)) {
+			throw new CheckoutUnavailableException("Too many orders waiting to be written; please retry");
+		}
+		return pending.result();
+	}
+
+	public int queued() {
+		return queue.size();
+	}
+
+	private void drain() {
+		List<PendingOrder> group = new ArrayList<>(maxBatch);
+		while (running || !queue.isEmpty()) {
+			try {
+				PendingOrder first = queue.poll(IDLE_POLL_MILLIS, TimeUnit.MILLISECONDS);
+				if (first == null) {
+					continue;
+				}
+				group.add(first);
+				queue.drainTo(group, maxBatch - 1);
+				long deadline = System.nanoTime() + maxDelayNanos;
+				while (group.size() < maxBatch && maxDelayNanos > 0) {
+					PendingOrder next = queue.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+					if (next == null) {
+						break;
+					}
+					group.add(next);
+				}
+			}
+			catch (InterruptedException ex) {
+				// Nobody else interrupts this thread; treat it as shutdown but still flush what is queued.
+				running = false;
+			}
+			if (!group.isEmpty()) {
+				write(group);
+				group.clear();
+			}
+		}
+	}
+
+	private void write(List<PendingOrder> group) {
+		try {
+			orderWriter.write(group.stream().map(PendingOrder::order).toList());
+			group.forEach(pending -> pending.result().complete(pending.order()));
+			return;
+		}
+		catch (RuntimeException ex) {
+			if (group.size() == 1) {
+				group.get(0).result().completeExceptionally(ex);
+				return;
+			}
+			log.debug("Group of {} orders failed ({}); writing them one by one", group.size(), ex.toString());
+		}
+		for (PendingOrder pending : group) {
+			try {
+				orderWriter.write(List.of(pending.order()));
+				pending.result().complete(pending.order());
+			}
+			catch (RuntimeException ex) {
+				pending.result().completeExceptionally(ex);
+			}
+		}
+	}
+
+	private record PendingOrder(CustomerOrder order, CompletableFuture<CustomerOrder> result) {
+	}
+
+}
@@ -0,0 +1,94 @@
+package com.ecommerce.sportscenter.order;
+
+import com.ecommerce.sportscenter.entity.CustomerOrder;
+import com.ecommerce.sportscenter.entity.OrderLine;
+import com.ecommerce.sportscenter.exceptions.InsufficientStockException;
+import com.ecommerce.sportscenter.inventory.InventoryProperties;
+import com.ecommerce.sportscenter.mapper.OrderMapper;
+import com.ecommerce.sportscenter.outbox.Outbox;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+/**
+ * Writes orders and takes their stock in a single transaction.
+ * <p>
+ * Stock is decremented with one batched conditional update per distinct product, in product id
+ * order so that concurrent writers lock stock rows in the same order. Headers and lines are then
+ * persisted with sequence-assigned ids, which lets Hibernate batch the inserts per table
+ * ({@code hibernate.jdbc.batch_size}, {@code hibernate.order_inserts}).
+ * <p>
+ * With reservations enabled the stock has already been taken by the
+ * {@link com.ecommerce.sportscenter.inventory.ReservationEngine}, so only the inserts run here.
+ */
+@Component
+@RequiredArgsConstructor
+public class OrderWriter {
+
+	private static final String TAKE_STOCK =
+			"update product_stock set available = available - ? where product_id = ? and available >= ?";
+
+	private final JdbcTemplate jdbcTemplate;
+	private final TransactionTemplate transactionTemplate;
+	private final InventoryProperties inventoryProperties;
+	private final Outbox outbox;
+
+	@PersistenceContext
+	private EntityManager entityManager;
+
+	/** Persists all of the orders or, if any of them cannot be written, none of them. */
+	public void write(List<CustomerOrder> orders) {
+		try {
+			transactionTemplate.executeWithoutResult(status -> {
+				if (!inventoryProperties.isReservationsEnabled()) {
+					takeStock(orders);
+				}
+				orders.forEach(entityManager::persist);
+				orders.forEach(order -> outbox.append(Outbox.ORDER_PLACED, order.getId(), OrderMapper.toResponse(order)));
+			});
+		}
+		catch (RuntimeException ex) {
+			// Ids assigned before the rollback would make a retry look like a detached entity.
+			orders.forEach(order -> {
+				order.setId(null);
+				order.getLines().forEach(line -> line.setId(null));
+			});
+			throw ex;
+		}
+	}
+
+	private void takeStock(List<CustomerOrder> orders) {
+		SortedMap<Integer, Integer> quantities = new TreeMap<>();
+		for (CustomerOrder order : orders) {
+			for (OrderLine line : order.getLines()) {
+				quantities.merge(line.getProductId(), line.getQuantity(), Integer::sum);
+			}
+		}
+		List<Object[]> arguments = new ArrayList<>(quantities.size());
+		for (Map.Entry<Integer, Integer> entry : quantities.entrySet()) {
+			arguments.add(new Object[] {entry.getValue(), entry.getKey(), entry.getValue()});
+		}
+		int[] updated = jdbcTemplate.batchUpdate(TAKE_STOCK, arguments);
+
+		List<Integer> shortProducts = new ArrayList<>();
+		int i = 0;
+		for (Integer productId : quantities.keySet()) {
+			if (updated[i++] == 0) {
+				shortProducts.add(productId);
+			}
+		}
+		if (!shortProducts.isEmpty()) {
+			throw new InsufficientStockException(shortProducts);
+		}
+	}
+
+}
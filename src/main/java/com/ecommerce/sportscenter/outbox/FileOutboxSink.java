@@ -0,0 +1,60 @@
+package com.ecommerce.sportscenter.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Appends relayed events to a file as JSON lines, standing in for a message broker: a log shipper or
+ * broker agent tailing the file forwards them. Each batch is written with a single append and,
+ * with fsync on, forced to disk before the relay deletes it from the outbox.
+ */
+public class FileOutboxSink implements OutboxSink, Closeable {
+
+	private final FileChannel channel;
+	private final boolean fsync;
+	private final ObjectWriter writer;
+	private final ByteArrayOutputStream buffer = new ByteArrayOutputStream(64 * 1024);
+
+	public FileOutboxSink(Path path, boolean fsync, ObjectMapper objectMapper) throws IOException {
+		if (path.getParent() != null) {
+			Files.createDirectories(path.getParent());
+		}
+		this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+				StandardOpenOption.APPEND);
+		this.fsync = fsync;
+		this.writer = objectMapper.writerFor(OutboxMessage.class);
+	}
+
+	// Only ever called by the relay's single scheduled thread.
+	@Override
+	public void publish(List<OutboxMessage> messages) throws IOException {
+		buffer.reset();
+		for (OutboxMessage message : messages) {
+			writer.writeValue(buffer, message);
+			buffer.write('\n');
+		}
+		ByteBuffer bytes = ByteBuffer.wrap(buffer.toByteArray());
+		while (bytes.hasRemaining()) {
+			channel.write(bytes);
+		}
+		if (fsync) {
+			channel.force(false);
+		}
+	}
+
+	@Override
+	public void close() throws IOException {
+		channel.close();
+	}
+
+}
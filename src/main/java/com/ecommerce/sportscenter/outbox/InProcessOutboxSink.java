@@ -0,0 +1,24 @@
+package com.ecommerce.sportscenter.outbox;
+
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.List;
+
+/**
+ * Publishes relayed events as {@link OutboxMessage} application events, for listeners in this
+ * application. They run on the relay thread, after the transaction that wrote the event committed.
+ */
+public class InProcessOutboxSink implements OutboxSink {
+
+	private final ApplicationEventPublisher eventPublisher;
+
+	public InProcessOutboxSink(ApplicationEventPublisher eventPublisher) {
+		this.eventPublisher = eventPublisher;
+	}
+
+	@Override
+	public void publish(List<OutboxMessage> messages) {
+		messages.forEach(eventPublisher::publishEvent);
+	}
+
+}
@@ -0,0 +1,51 @@
+package com.ecommerce.sportscenter.outbox;
+
+import com.ecommerce.sportscenter.entity.OutboxEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+
+/**
+ * Records events for downstream systems in the {@code outbox_event} table. Events are only ever
+ * appended within the caller's transaction, so they are committed exactly when the change they
+ * describe is, and the {@link OutboxRelay} publishes them afterwards.
+ */
+@Component
+public class Outbox {
+
+	public static final String ORDER_PLACED = "OrderPlaced";
+
+	private final ObjectMapper objectMapper;
+
+	@PersistenceContext
+	private EntityManager entityManager;
+
+	public Outbox(ObjectMapper objectMapper) {
+		this.objectMapper = objectMapper;
+	}
+
+	/** Adds an event to the current transaction; its payload is serialized as JSON. */
+	@Transactional(propagation = Propagation.MANDATORY)
+	public void append(String eventType, Object aggregateId, Object payload) {
+		String json;
+		try {
+			json = objectMapper.writeValueAsString(payload);
+		}
+		catch (JsonProcessingException ex) {
+			throw new IllegalArgumentException("Cannot serialize " + eventType + " event for " + aggregateId, ex);
+		}
+		entityManager.persist(OutboxEvent.builder()
+				.eventType(eventType)
+				.aggregateId(String.valueOf(aggregateId))
+				.payload(json)
+				.createdAt(Instant.now())
+				.build());
+	}
+
+}
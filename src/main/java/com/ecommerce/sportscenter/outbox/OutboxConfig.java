@@ -0,0 +1,42 @@
+package com.ecommerce.sportscenter.outbox;
+
+import com.ecommerce.sportscenter.repository.OutboxEventRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+
+/**
+ * Selects the {@link OutboxSink} with {@code sportscenter.outbox.sink} and runs the
+ * {@link OutboxRelay} unless {@code sportscenter.outbox.relay-enabled=false}.
+ */
+@Configuration(proxyBeanMethods = false)
+public class OutboxConfig {
+
+	@Bean
+	@ConditionalOnProperty(prefix = "sportscenter.outbox", name = "sink", havingValue = OutboxProperties.IN_PROCESS,
+			matchIfMissing = true)
+	InProcessOutboxSink inProcessOutboxSink(ApplicationEventPublisher eventPublisher) {
+		return new InProcessOutboxSink(eventPublisher);
+	}
+
+	@Bean(destroyMethod = "close")
+	@ConditionalOnProperty(prefix = "sportscenter.outbox", name = "sink", havingValue = OutboxProperties.FILE)
+	FileOutboxSink fileOutboxSink(OutboxProperties properties, ObjectMapper objectMapper) throws IOException {
+		return new FileOutboxSink(properties.getFilePath(), properties.isFileFsync(), objectMapper);
+	}
+
+	@Bean
+	@ConditionalOnProperty(prefix = "sportscenter.outbox", name = "relay-enabled", havingValue = "true",
+			matchIfMissing = true)
+	OutboxRelay outboxRelay(OutboxEventRepository repository, TransactionTemplate transactionTemplate,
+			OutboxSink sink, OutboxProperties properties, MeterRegistry meterRegistry) {
+		return new OutboxRelay(repository, transactionTemplate, sink, properties, meterRegistry);
+	}
+
+}
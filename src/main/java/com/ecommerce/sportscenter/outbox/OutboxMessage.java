@@ -0,0 +1,10 @@
+package com.ecommerce.sportscenter.outbox;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+
+import java.time.Instant;
+
+/** An outbox event as handed to an {@link OutboxSink}; the payload is the event's JSON. */
+public record OutboxMessage(long id, String type, String aggregateId, Instant createdAt,
+		@JsonRawValue String payload) {
+}
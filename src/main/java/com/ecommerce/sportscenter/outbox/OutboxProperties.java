@@ -0,0 +1,40 @@
+package com.ecommerce.sportscenter.outbox;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "sportscenter.outbox")
+public class OutboxProperties {
+
+	public static final String IN_PROCESS = "in-process";
+	public static final String FILE = "file";
+
+	/**
+	 * Where relayed events go: {@code in-process} (default) publishes them as application events,
+	 * {@code file} appends them as JSON lines to {@link #filePath} for a broker agent to ship.
+	 */
+	private String sink = IN_PROCESS;
+
+	/** File the {@code file} sink appends to. */
+	private Path filePath = Path.of("data/outbox.ndjson");
+
+	/** Force appended events to disk before they are deleted from the outbox. */
+	private boolean fileFsync = true;
+
+	/**
+	 * Run the relay on this instance. Several instances may relay at once; each claims different
+	 * events.
+	 */
+	private boolean relayEnabled = true;
+
+	/** How long the relay waits after draining the outbox before polling it again. */
+	private Duration pollInterval = Duration.ofMillis(500);
+
+	/** Most events claimed, published and deleted together. */
+	private int batchSize = 500;
+
+}
@@ -0,0 +1,104 @@
+package com.ecommerce.sportscenter.outbox;
+
+import com.ecommerce.sportscenter.entity.OutboxEvent;
+import com.ecommerce.sportscenter.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Moves events from the outbox to the {@link OutboxSink} in the background, so that checkout only
+ * pays for one more insert and never for publishing.
+ * <p>
+ * Each batch is one transaction: the oldest events are claimed with {@code FOR UPDATE SKIP LOCKED},
+ * published, and deleted with a single statement. Relays on other instances skip the claimed rows
+ * rather than wait for them. If publishing fails the transaction rolls back and the batch is retried
+ * on the next poll. Batches follow one another until the outbox is drained.
+ * <p>
+ * Publishing is measured as {@code sportscenter.outbox.relay} per batch, relayed events are counted as
+ * {@code sportscenter.outbox.published}, and {@code sportscenter.outbox.lag} records how long events
+ * waited in the outbox.
+ */
+@Slf4j
+public class OutboxRelay {
+
+	private final OutboxEventRepository repository;
+	private final TransactionTemplate transactionTemplate;
+	private final OutboxSink sink;
+	private final int batchSize;
+	private final Timer relayTimer;
+	private final Timer lag;
+	private final Counter published;
+
+	public OutboxRelay(OutboxEventRepository repository, TransactionTemplate transactionTemplate, OutboxSink sink,
+			OutboxProperties properties, MeterRegistry meterRegistry) {
+		this.repository = repository;
+		this.transactionTemplate = transactionTemplate;
+		this.sink = sink;
+		this.batchSize = Math.max(1, properties.getBatchSize());
+		this.relayTimer = Timer.builder("sportscenter.outbox.relay")
+				.description("Outbox batches claimed, published and deleted")
+				.register(meterRegistry);
+		this.lag = Timer.builder("sportscenter.outbox.lag")
+				.description("Time from writing an outbox event to publishing it")
+				.register(meterRegistry);
+		this.published = Counter.builder("sportscenter.outbox.published")
+				.description("Outbox events handed to the sink")
+				.register(meterRegistry);
+	}
+
+	/** Relays batches until the outbox is drained and returns how many events were published. */
+	@Scheduled(fixedDelayString = "${sportscenter.outbox.poll-interval:PT0.5S}")
+	public long relay() {
+		long total = 0;
+		int relayed;
+		try {
+			do {
+				relayed = relayTimer.record(this::relayBatch);
+				total += relayed;
+			} while (relayed == batchSize);
+		}
+		catch (RuntimeException ex) {
+			log.warn("Relaying outbox events failed after {} events, retrying on the next poll", total, ex);
+		}
+		return total;
+	}
+
+	private int relayBatch() {
+		return transactionTemplate.execute(status -> {
+			List<OutboxEvent> events = repository.claimOldest(batchSize);
+			if (events.isEmpty()) {
+				return 0;
+			}
+			List<OutboxMessage> messages = new ArrayList<>(events.size());
+			List<Long> ids = new ArrayList<>(events.size());
+			for (OutboxEvent event : events) {
+				messages.add(new OutboxMessage(event.getId(), event.getEventType(), event.getAggregateId(),
+						event.getCreatedAt(), event.getPayload()));
+				ids.add(event.getId());
+			}
+			try {
+				sink.publish(messages);
+			}
+			catch (IOException ex) {
+				throw new UncheckedIOException(ex);
+			}
+			repository.deleteAllByIdIn(ids);
+			Instant now = Instant.now();
+			messages.forEach(message -> lag.record(Duration.between(message.createdAt(), now)));
+			published.increment(messages.size());
+			return messages.size();
+		});
+	}
+
+}
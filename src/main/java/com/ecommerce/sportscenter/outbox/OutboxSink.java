@@ -0,0 +1,16 @@
+package com.ecommerce.sportscenter.outbox;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Destination of relayed outbox events. Events are deleted from the outbox only once
+ * {@link #publish} has returned, so delivery is at least once: a batch may be published again if the
+ * relay fails before the delete commits. Consumers dedupe by {@link OutboxMessage#id()}.
+ */
+public interface OutboxSink {
+
+	/** Publishes the batch, in order, or throws if any of it may not have been published. */
+	void publish(List<OutboxMessage> messages) throws IOException;
+
+}
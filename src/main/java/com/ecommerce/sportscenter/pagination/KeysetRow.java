@@ -0,0 +1,5 @@
+package com.ecommerce.sportscenter.pagination;
+
+/** A product id together with the value of the column the page is sorted on. */
+public record KeysetRow(Integer id, Object sortValue) {
+}
@@ -0,0 +1,61 @@
+package com.ecommerce.sportscenter.pagination;
+
+import org.springframework.data.domain.Sort;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Position of the last row returned by a keyset page: the sort it was produced under, the sort key
+ * of that row and its id. Clients only ever see the opaque {@link #encode() encoded} form.
+ */
+public record ProductCursor(ProductSortField field, Sort.Direction direction, Object value, Integer id) {
+
+	private static final String VERSION = "v1";
+	private static final char SEPARATOR = '|';
+
+	public ProductCursor {
+		if (field == null || direction == null || id == null) {
+			throw new IllegalArgumentException("Cursor requires a sort field, direction and id");
+		}
+		if (field != ProductSortField.ID && value == null) {
+			throw new IllegalArgumentException("Cursor requires a sort value for field " + field);
+		}
+	}
+
+	public String encode() {
+		String raw = VERSION + SEPARATOR + field + SEPARATOR + direction + SEPARATOR + id + SEPARATOR
+				+ (field == ProductSortField.ID ? "" : value);
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+	}
+
+	public static ProductCursor decode(String token) {
+		String raw;
+		try {
+			raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+		}
+		catch (IllegalArgumentException ex) {
+			throw new IllegalArgumentException("Malformed cursor", ex);
+		}
+		// The value is last and may itself contain the separator (product names), so split at most 5 ways.
+		String[] parts = raw.split("\\|", 5);
+		if (parts.length != 5 || !VERSION.equals(parts[0])) {
+			throw new IllegalArgumentException("Malformed cursor");
+		}
+		try {
+			ProductSortField field = ProductSortField.valueOf(parts[1]);
+			Sort.Direction direction = Sort.Direction.valueOf(parts[2]);
+			Integer id = Integer.valueOf(parts[3]);
+			Object value = switch (field) {
+				case PRICE -> Long.valueOf(parts[4]);
+				case NAME -> parts[4];
+				case ID -> id;
+			};
+			return new ProductCursor(field, direction, value, id);
+		}
+		catch (IllegalArgumentException ex) {
+			throw new IllegalArgumentException("Malformed cursor", ex);
+		}
+	}
+
+}
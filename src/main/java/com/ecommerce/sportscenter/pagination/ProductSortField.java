@@ -0,0 +1,32 @@
+package com.ecommerce.sportscenter.pagination;
+
+/**
+ * Columns a product listing can be seek-paginated on. Each is backed by a composite index ending in
+ * {@code id}, which doubles as the tie-breaker so that the ordering is total.
+ */
+public enum ProductSortField {
+
+	PRICE("price"),
+	NAME("name"),
+	ID("id");
+
+	private final String attribute;
+
+	ProductSortField(String attribute) {
+		this.attribute = attribute;
+	}
+
+	public String attribute() {
+		return attribute;
+	}
+
+	public static ProductSortField fromParameter(String value) {
+		for (ProductSortField field : values()) {
+			if (field.attribute.equalsIgnoreCase(value)) {
+				return field;
+			}
+		}
+		throw new IllegalArgumentException("Unsupported sort field: " + value);
+	}
+
+}
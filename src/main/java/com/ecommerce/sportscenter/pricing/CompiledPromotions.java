@@ -0,0 +1,331 @@
+package com.ecommerce.sportscenter.pricing;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * An immutable promotion rule set compiled for evaluation on every product card and basket view.
+ * <p>
+ * Rules are numbered in list order and every condition becomes a bitset over those numbers: rules per
+ * brand id and per type id (arrays indexed by id), rules for all products, rules per coupon, rules
+ * without a coupon, and the rules valid at the current time. Pricing a line ORs the bitsets of its
+ * brand, its type and the catalog-wide rules, ANDs them with the bitset of rules eligible for the
+ * basket and only looks at the rules left, so the cost depends on how many rules can apply rather
+ * than on the size of the rule set. Nothing is allocated per line.
+ * <p>
+ * The set of rules valid at the current time only changes when some rule starts or ends; it is kept
+ * together with the interval it holds for and recomputed once that interval is left.
+ * <p>
+ * Rules do not stack: each line gets the rule taking most off its unit price, the earliest in the
+ * list on a tie. Instances are thread-safe.
+ */
+public final class CompiledPromotions {
+
+	/** Brand and type ids index arrays, so they have to stay reasonably small. */
+	static final int MAX_TARGET_ID = 1 << 16;
+
+	private static final CompiledPromotions EMPTY = new CompiledPromotions(List.of());
+
+	private final List<PromotionRule> rules;
+	private final int words;
+	private final int[] percentOff;
+	private final long[] amountOff;
+	private final long[] minSubtotal;
+	private final long[] startsAt;
+	private final long[] endsAt;
+	private final long[] none;
+	private final long[] allProducts;
+	private final long[][] byBrand;
+	private final long[][] byType;
+	private final long[] withoutCoupon;
+	private final long[] withoutConditions;
+	private final Map<String, long[]> byCoupon = new HashMap<>();
+	/** Rules with a minimum subtotal, highest minimum first. */
+	private final int[] thresholdRules;
+	private volatile Validity validity;
+
+	private CompiledPromotions(List<PromotionRule> rules) {
+		this.rules = List.copyOf(rules);
+		int count = rules.size();
+		this.words = (count + 63) >>> 6;
+		this.percentOff = new int[count];
+		this.amountOff = new long[count];
+		this.minSubtotal = new long[count];
+		this.startsAt = new long[count];
+		this.endsAt = new long[count];
+		this.none = new long[words];
+		this.allProducts = new long[words];
+		this.withoutCoupon = new long[words];
+		this.withoutConditions = new long[words];
+
+		int maxBrand = -1;
+		int maxType = -1;
+		for (PromotionRule rule : rules) {
+			if (rule.scope() == PromotionRule.Scope.BRAND) {
+				maxBrand = Math.max(maxBrand, rule.targetId());
+			}
+			else if (rule.scope() == PromotionRule.Scope.TYPE) {
+				maxType = Math.max(maxType, rule.targetId());
+			}
+		}
+		this.byBrand = new long[maxBrand + 1][];
+		this.byType = new long[maxType + 1][];
+
+		List<Integer> thresholds = new ArrayList<>();
+		for (int i = 0; i < count; i++) {
+			PromotionRule rule = rules.get(i);
+			percentOff[i] = rule.percentOff() == null ? 0 : rule.percentOff();
+			amountOff[i] = rule.amountOff() == null ? 0 : rule.amountOff();
+			minSubtotal[i] = rule.minSubtotal() == null ? 0 : rule.minSubtotal();
+			startsAt[i] = rule.startsAt() == null ? Long.MIN_VALUE : rule.startsAt().toEpochMilli();
+			endsAt[i] = rule.endsAt() == null ? Long.MAX_VALUE : rule.endsAt().toEpochMilli();
+			switch (rule.scope()) {
+				case ALL -> set(allProducts, i);
+				case BRAND -> set(bitsetFor(byBrand, rule.targetId()), i);
+				case TYPE -> set(bitsetFor(byType, rule.targetId()), i);
+			}
+			if (rule.couponCode() == null) {
+				set(withoutCoupon, i);
+			}
+			else {
+				set(byCoupon.computeIfAbsent(normalizeCoupon(rule.couponCode()), code -> new long[words]), i);
+			}
+			if (minSubtotal[i] > 0) {
+				thresholds.add(i);
+			}
+			else if (rule.couponCode() == null) {
+				set(withoutConditions, i);
+			}
+		}
+		thresholds.sort(Comparator.comparingLong((Integer rule) -> minSubtotal[rule]).reversed());
+		this.thresholdRules = thresholds.stream().mapToInt(Integer::intValue).toArray();
+	}
+
+	public static CompiledPromotions empty() {
+		return EMPTY;
+	}
+
+	/**
+	 * Validates and compiles a rule set.
+	 *
+	 * @throws IllegalArgumentException naming the first invalid rule
+	 */
+	public static CompiledPromotions compile(List<PromotionRule> rules) {
+		Set<String> ids = new HashSet<>();
+		for (PromotionRule rule : rules) {
+			validate(rule);
+			if (!ids.add(rule.id())) {
+				throw new IllegalArgumentException("Duplicate promotion rule id " + rule.id());
+			}
+		}
+		return rules.isEmpty() ? EMPTY : new CompiledPromotions(rules);
+	}
+
+	public List<PromotionRule> rules() {
+		return rules;
+	}
+
+	/** The rule a pricing method reported by its index. */
+	public PromotionRule rule(int index) {
+		return rules.get(index);
+	}
+
+	/**
+	 * The unit price shown outside a basket: rules needing a coupon or a minimum subtotal are left
+	 * out.
+	 */
+	public long unitPrice(int brandId, int typeId, long basePrice, long nowMillis) {
+		if (words == 0) {
+			return basePrice;
+		}
+		int rule = bestRule(brandId, typeId, basePrice, validity(nowMillis).withoutConditions());
+		return rule < 0 ? basePrice : basePrice - discount(rule, basePrice);
+	}
+
+	/**
+	 * Prices the first {@code lineCount} lines of a basket in one pass over parallel arrays, which
+	 * callers can reuse between baskets.
+	 *
+	 * @param couponCode coupon entered by the customer, or null
+	 * @param unitPricesOut receives each line's unit price after promotions
+	 * @param rulesOut receives the index of the rule applied to each line, or -1
+	 * @return the basket's total discount, in minor currency units
+	 */
+	public long priceBasket(int[] brandIds, int[] typeIds, long[] unitPrices, int[] quantities, int lineCount,
+			String couponCode, long nowMillis, long[] unitPricesOut, int[] rulesOut) {
+		if (words == 0) {
+			System.arraycopy(unitPrices, 0, unitPricesOut, 0, lineCount);
+			Arrays.fill(rulesOut, 0, lineCount, -1);
+			return 0;
+		}
+		long subtotal = 0;
+		for (int line = 0; line < lineCount; line++) {
+			subtotal += unitPrices[line] * quantities[line];
+		}
+		long[] eligible = eligible(validity(nowMillis).active(), couponCode, subtotal);
+
+		long discount = 0;
+		for (int line = 0; line < lineCount; line++) {
+			long basePrice = unitPrices[line];
+			int rule = bestRule(brandIds[line], typeIds[line], basePrice, eligible);
+			long unitDiscount = rule < 0 ? 0 : discount(rule, basePrice);
+			unitPricesOut[line] = basePrice - unitDiscount;
+			rulesOut[line] = rule;
+			discount += unitDiscount * quantities[line];
+		}
+		return discount;
+	}
+
+	/** When the rules valid at {@code nowMillis} next change, or {@link Long#MAX_VALUE} if never. */
+	public long nextChangeAfter(long nowMillis) {
+		return words == 0 ? Long.MAX_VALUE : validity(nowMillis).until();
+	}
+
+	private long[] eligible(long[] active, String couponCode, long subtotal) {
+		long[] coupon = couponCode == null ? none : byCoupon.getOrDefault(normalizeCoupon(couponCode), none);
+		long[] eligible = new long[words];
+		for (int w = 0; w < words; w++) {
+			eligible[w] = active[w] & (withoutCoupon[w] | coupon[w]);
+		}
+		for (int rule : thresholdRules) {
+			if (minSubtotal[rule] <= subtotal) {
+				break;
+			}
+			eligible[rule >>> 6] &= ~(1L << rule);
+		}
+		return eligible;
+	}
+
+	private int bestRule(int brandId, int typeId, long basePrice, long[] eligible) {
+		long[] brandRules = bitsetOrNone(byBrand, brandId);
+		long[] typeRules = bitsetOrNone(byType, typeId);
+		int best = -1;
+		long bestDiscount = 0;
+		for (int w = 0; w < words; w++) {
+			long candidates = (allProducts[w] | brandRules[w] | typeRules[w]) & eligible[w];
+			while (candidates != 0) {
+				int rule = (w << 6) + Long.numberOfTrailingZeros(candidates);
+				long discount = discount(rule, basePrice);
+				if (discount > bestDiscount) {
+					best = rule;
+					bestDiscount = discount;
+				}
+				candidates &= candidates - 1;
+			}
+		}
+		return best;
+	}
+
+	private long discount(int rule, long basePrice) {
+		return percentOff[rule] > 0 ? basePrice * percentOff[rule] / 100 : Math.min(amountOff[rule], basePrice);
+	}
+
+	private Validity validity(long nowMillis) {
+		Validity current = validity;
+		if (current != null && nowMillis >= current.from() && nowMillis < current.until()) {
+			return current;
+		}
+		// Racing threads compute the same thing; whichever write lands last is as good as the other.
+		Validity computed = computeValidity(nowMillis);
+		validity = computed;
+		return computed;
+	}
+
+	private Validity computeValidity(long nowMillis) {
+		long from = Long.MIN_VALUE;
+		long until = Long.MAX_VALUE;
+		long[] active = new long[words];
+		for (int i = 0; i < rules.size(); i++) {
+			if (startsAt[i] <= nowMillis) {
+				from = Math.max(from, startsAt[i]);
+			}
+			else {
+				until = Math.min(until, startsAt[i]);
+			}
+			if (endsAt[i] <= nowMillis) {
+				from = Math.max(from, endsAt[i]);
+			}
+			else {
+				until = Math.min(until, endsAt[i]);
+			}
+			if (startsAt[i] <= nowMillis && nowMillis < endsAt[i]) {
+				set(active, i);
+			}
+		}
+		long[] unconditional = new long[words];
+		for (int w = 0; w < words; w++) {
+			unconditional[w] = active[w] & withoutConditions[w];
+		}
+		return new Validity(from, until, active, unconditional);
+	}
+
+	private long[] bitsetFor(long[][] index, int id) {
+		if (index[id] == null) {
+			index[id] = new long[words];
+		}
+		return index[id];
+	}
+
+	private long[] bitsetOrNone(long[][] index, int id) {
+		return id >= 0 && id < index.length && index[id] != null ? index[id] : none;
+	}
+
+	private static void set(long[] bitset, int bit) {
+		bitset[bit >>> 6] |= 1L << bit;
+	}
+
+	private static String normalizeCoupon(String code) {
+		return code.strip().toUpperCase(Locale.ROOT);
+	}
+
+	private static void validate(PromotionRule rule) {
+		if (rule.id() == null || rule.id().isBlank()) {
+			throw new IllegalArgumentException("Promotion rule id is required");
+		}
+		String prefix = "Promotion rule " + rule.id() + ": ";
+		if (rule.scope() == null) {
+			throw new IllegalArgumentException(prefix + "scope is required");
+		}
+		if (rule.scope() == PromotionRule.Scope.ALL) {
+			if (rule.targetId() != null) {
+				throw new IllegalArgumentException(prefix + "a rule for all products takes no target id");
+			}
+		}
+		else if (rule.targetId() == null || rule.targetId() < 0 || rule.targetId() >= MAX_TARGET_ID) {
+			throw new IllegalArgumentException(prefix + "target id must be between 0 and " + (MAX_TARGET_ID - 1));
+		}
+		if ((rule.percentOff() == null) == (rule.amountOff() == null)) {
+			throw new IllegalArgumentException(prefix + "exactly one of percentOff and amountOff is required");
+		}
+		if (rule.percentOff() != null && (rule.percentOff() < 1 || rule.percentOff() > 100)) {
+			throw new IllegalArgumentException(prefix + "percentOff must be between 1 and 100");
+		}
+		if (rule.amountOff() != null && rule.amountOff() < 1) {
+			throw new IllegalArgumentException(prefix + "amountOff must be positive");
+		}
+		if (rule.minSubtotal() != null && rule.minSubtotal() < 0) {
+			throw new IllegalArgumentException(prefix + "minSubtotal must not be negative");
+		}
+		if (rule.couponCode() != null && rule.couponCode().isBlank()) {
+			throw new IllegalArgumentException(prefix + "coupon code must not be blank");
+		}
+		if (rule.startsAt() != null && rule.endsAt() != null && !rule.endsAt().isAfter(rule.startsAt())) {
+			throw new IllegalArgumentException(prefix + "endsAt must be after startsAt");
+		}
+	}
+
+	/**
+	 * The rules valid from {@code from} (inclusive) until {@code until} (exclusive), and those of them
+	 * without a coupon or minimum subtotal.
+	 */
+	private record Validity(long from, long until, long[] active, long[] withoutConditions) {
+	}
+
+}
@@ -0,0 +1,264 @@
+package com.ecommerce.sportscenter.pricing;
+
+import com.ecommerce.sportscenter.cache.CatalogVersions;
+import com.ecommerce.sportscenter.event.CatalogImportedEvent;
+import com.ecommerce.sportscenter.event.ProductChangedEvent;
+import com.ecommerce.sportscenter.event.PromotionsChangedEvent;
+import com.ecommerce.sportscenter.model.ProductResponse;
+import com.ecommerce.sportscenter.service.ProductCatalogScanner;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Every product's effective price (its list price after the promotions shown outside a basket),
+ * materialized into primitive arrays indexed by product id, so listing pages look prices up instead
+ * of evaluating promotions.
+ * <p>
+ * The table is built from a catalog scan once the application is ready and after bulk imports, and
+ * then kept current incrementally: one slot per committed product change, and on a promotion change
+ * only the products of the brands and types the changed rules cover. Since promotions also start and
+ * end on their own, the table records until when it is valid; a scheduled job recomputes it once that
+ * time has passed.
+ * <p>
+ * A lookup falls back to evaluating the promotions directly if the table cannot vouch for the price:
+ * the product is not in it yet, its list price differs from the one the slot was computed for, or the
+ * table has expired. Whenever effective prices change, every catalog version is bumped so clients
+ * holding a listing revalidate it.
+ */
+@Service
+@Slf4j
+public class EffectivePriceTable {
+
+	private static final long ABSENT = -1;
+
+	private final ProductCatalogScanner catalogScanner;
+	private final PricingEngine pricingEngine;
+	private final CatalogVersions catalogVersions;
+	private final PricingProperties properties;
+	private final ReentrantLock writeLock = new ReentrantLock();
+	private volatile Slots slots = new Slots(0);
+	private volatile long validUntil = Long.MIN_VALUE;
+
+	public EffectivePriceTable(ProductCatalogScanner catalogScanner, PricingEngine pricingEngine,
+			CatalogVersions catalogVersions, PricingProperties properties) {
+		this.catalogScanner = catalogScanner;
+		this.pricingEngine = pricingEngine;
+		this.catalogVersions = catalogVersions;
+		this.properties = properties;
+	}
+
+	/** The product's price after the promotions available to everyone, in minor currency units. */
+	public long effectivePrice(ProductResponse product) {
+		int productId = product.getId();
+		long listPrice = product.getPrice();
+		if (System.currentTimeMillis() < validUntil) {
+			Slots current = slots;
+			if (productId < current.capacity() && current.listPrices.get(productId) == listPrice) {
+				long effective = current.effectivePrices.get(productId);
+				if (effective != ABSENT) {
+					return effective;
+				}
+			}
+		}
+		return pricingEngine.unitPrice(product.getBrandId(), product.getTypeId(), listPrice);
+	}
+
+	@EventListener({ApplicationReadyEvent.class, CatalogImportedEvent.class})
+	public void load() {
+		List<ProductResponse> products = new ArrayList<>();
+		catalogScanner.scan(properties.getLoadBatchSize(), products::addAll);
+		int maxId = products.stream().mapToInt(ProductResponse::getId).max().orElse(-1);
+		writeLock.lock();
+		try {
+			long start = System.nanoTime();
+			Slots loaded = new Slots(maxId + 1);
+			products.forEach(product -> loaded.put(product.getId(), product.getBrandId(), product.getTypeId(),
+					product.getPrice()));
+			CompiledPromotions promotions = pricingEngine.promotions();
+			long now = System.currentTimeMillis();
+			loaded.recomputeAll(promotions, now);
+			slots = loaded;
+			validUntil = promotions.nextChangeAfter(now);
+			log.info("Effective prices computed for {} products in {} ms", products.size(),
+					(System.nanoTime() - start) / 1_000_000);
+		}
+		finally {
+			writeLock.unlock();
+		}
+	}
+
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onProductChanged(ProductChangedEvent event) {
+		ProductResponse product = event.changeType() == ProductChangedEvent.ChangeType.DELETED ? null
+				: catalogScanner.load(event.productId()).orElse(null);
+		writeLock.lock();
+		try {
+			if (product == null) {
+				slots.remove(event.productId());
+				return;
+			}
+			Slots current = slots;
+			if (product.getId() >= current.capacity()) {
+				current = current.grow(product.getId());
+				slots = current;
+			}
+			current.put(product.getId(), product.getBrandId(), product.getTypeId(), product.getPrice());
+			current.recompute(product.getId(), pricingEngine.promotions(), System.currentTimeMillis());
+		}
+		finally {
+			writeLock.unlock();
+		}
+	}
+
+	@EventListener
+	public void onPromotionsChanged(PromotionsChangedEvent event) {
+		int changed;
+		writeLock.lock();
+		try {
+			CompiledPromotions promotions = pricingEngine.promotions();
+			long now = System.currentTimeMillis();
+			changed = event.allProducts() ? slots.recomputeAll(promotions, now)
+					: slots.recompute(event, promotions, now);
+			validUntil = promotions.nextChangeAfter(now);
+		}
+		finally {
+			writeLock.unlock();
+		}
+		if (changed > 0) {
+			catalogVersions.invalidateAll();
+		}
+	}
+
+	/** Recomputes the table once a promotion has started or ended since it was computed. */
+	@Scheduled(fixedDelayString = "${sportscenter.pricing.refresh-interval:PT1S}")
+	public void refreshIfExpired() {
+		if (System.currentTimeMillis() < validUntil) {
+			return;
+		}
+		int changed;
+		writeLock.lock();
+		try {
+			CompiledPromotions promotions = pricingEngine.promotions();
+			long now = System.currentTimeMillis();
+			changed = slots.recomputeAll(promotions, now);
+			validUntil = promotions.nextChangeAfter(now);
+		}
+		finally {
+			writeLock.unlock();
+		}
+		if (changed > 0) {
+			log.debug("Effective prices changed for {} products as promotions started or ended", changed);
+			catalogVersions.invalidateAll();
+		}
+	}
+
+	/**
+	 * Per-product arrays. Readers only use the two atomic arrays; brand and type ids are only used to
+	 * recompute, under the write lock. A slot's effective price is cleared before its list price is
+	 * written, so a reader that sees a new list price never pairs it with an effective price computed
+	 * from the old one.
+	 */
+	private static final class Slots {
+
+		private final AtomicLongArray listPrices;
+		private final AtomicLongArray effectivePrices;
+		private final int[] brandIds;
+		private final int[] typeIds;
+
+		Slots(int capacity) {
+			long[] absent = new long[capacity];
+			Arrays.fill(absent, ABSENT);
+			this.listPrices = new AtomicLongArray(absent);
+			this.effectivePrices = new AtomicLongArray(absent);
+			this.brandIds = new int[capacity];
+			this.typeIds = new int[capacity];
+			Arrays.fill(brandIds, -1);
+		}
+
+		int capacity() {
+			return brandIds.length;
+		}
+
+		/** A copy with room for {@code productId}, with spare capacity for further new products. */
+		Slots grow(int productId) {
+			int capacity = Math.max(productId + 1, capacity() + (capacity() >> 1));
+			Slots grown = new Slots(capacity);
+			for (int i = 0; i < capacity(); i++) {
+				grown.brandIds[i] = brandIds[i];
+				grown.typeIds[i] = typeIds[i];
+				grown.effectivePrices.set(i, effectivePrices.get(i));
+				grown.listPrices.set(i, listPrices.get(i));
+			}
+			return grown;
+		}
+
+		/** Records the product's references and list price; its effective price is computed separately. */
+		void put(int productId, int brandId, int typeId, long listPrice) {
+			brandIds[productId] = brandId;
+			typeIds[productId] = typeId;
+			effectivePrices.set(productId, ABSENT);
+			listPrices.set(productId, listPrice);
+		}
+
+		void remove(int productId) {
+			if (productId < capacity()) {
+				brandIds[productId] = -1;
+				listPrices.set(productId, ABSENT);
+				effectivePrices.set(productId, ABSENT);
+			}
+		}
+
+		/** Returns whether the effective price changed. */
+		boolean recompute(int productId, CompiledPromotions promotions, long nowMillis) {
+			if (brandIds[productId] < 0) {
+				return false;
+			}
+			long effective = promotions.unitPrice(brandIds[productId], typeIds[productId],
+					listPrices.get(productId), nowMillis);
+			return effectivePrices.getAndSet(productId, effective) != effective;
+		}
+
+		/** Recomputes every product and returns how many effective prices changed. */
+		int recomputeAll(CompiledPromotions promotions, long nowMillis) {
+			int changed = 0;
+			for (int productId = 0; productId < capacity(); productId++) {
+				if (recompute(productId, promotions, nowMillis)) {
+					changed++;
+				}
+			}
+			return changed;
+		}
+
+		/** Recomputes the products of the event's brands and types and returns how many changed. */
+		int recompute(PromotionsChangedEvent event, CompiledPromotions promotions, long nowMillis) {
+			if (event.brandIds().isEmpty() && event.typeIds().isEmpty()) {
+				return 0;
+			}
+			BitSet brands = new BitSet();
+			BitSet types = new BitSet();
+			event.brandIds().forEach(brands::set);
+			event.typeIds().forEach(types::set);
+			int changed = 0;
+			for (int productId = 0; productId < capacity(); productId++) {
+				if (brandIds[productId] >= 0 && (brands.get(brandIds[productId]) || types.get(typeIds[productId]))
+						&& recompute(productId, promotions, nowMillis)) {
+					changed++;
+				}
+			}
+			return changed;
+		}
+
+	}
+
+}
@@ -0,0 +1,149 @@
+package com.ecommerce.sportscenter.pricing;
+
+import com.ecommerce.sportscenter.event.PromotionsChangedEvent;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Holds the active promotion rules as {@link CompiledPromotions}. A new rule set, installed through
+ * the API or loaded from the rules file when that changes, is compiled off the request path and
+ * published with a single volatile write, so pricing never blocks and never sees half a rule set.
+ */
+@Service
+@Slf4j
+public class PricingEngine {
+
+	private static final TypeReference<List<PromotionRule>> RULE_LIST = new TypeReference<>() {
+	};
+
+	private final PricingProperties properties;
+	private final ObjectMapper objectMapper;
+	private final ApplicationEventPublisher eventPublisher;
+	private final ReentrantLock installLock = new ReentrantLock();
+	private volatile CompiledPromotions promotions = CompiledPromotions.empty();
+	private FileTime loadedModified;
+
+	public PricingEngine(PricingProperties properties, ObjectMapper objectMapper,
+			ApplicationEventPublisher eventPublisher) {
+		this.properties = properties;
+		this.objectMapper = objectMapper;
+		this.eventPublisher = eventPublisher;
+		if (properties.getRulesFile() != null) {
+			try {
+				loadIfChanged(properties.getRulesFile());
+			}
+			catch (IOException ex) {
+				throw new UncheckedIOException("Could not load promotion rules from " + properties.getRulesFile(), ex);
+			}
+		}
+	}
+
+	/** The current rule set; keep the instance for the duration of one page or basket. */
+	public CompiledPromotions promotions() {
+		return promotions;
+	}
+
+	/** The unit price of a product shown outside a basket, as of now. */
+	public long unitPrice(int brandId, int typeId, long basePrice) {
+		return promotions.unitPrice(brandId, typeId, basePrice, System.currentTimeMillis());
+	}
+
+	/**
+	 * Replaces the active rule set.
+	 *
+	 * @throws IllegalArgumentException if a rule is invalid; the active rule set is kept
+	 */
+	public void install(List<PromotionRule> rules) {
+		CompiledPromotions compiled = CompiledPromotions.compile(rules);
+		CompiledPromotions previous;
+		installLock.lock();
+		try {
+			previous = promotions;
+			promotions = compiled;
+		}
+		finally {
+			installLock.unlock();
+		}
+		eventPublisher.publishEvent(changes(previous.rules(), compiled.rules()));
+	}
+
+	@Scheduled(fixedDelayString = "${sportscenter.pricing.reload-interval:PT10S}")
+	public void reloadIfChanged() {
+		Path file = properties.getRulesFile();
+		if (file == null) {
+			return;
+		}
+		try {
+			loadIfChanged(file);
+		}
+		catch (IOException | IllegalArgumentException ex) {
+			log.warn("Keeping the current promotion rules, could not load {}: {}", file, ex.getMessage());
+		}
+	}
+
+	private void loadIfChanged(Path file) throws IOException {
+		installLock.lock();
+		try {
+			FileTime modified = Files.getLastModifiedTime(file);
+			if (modified.equals(loadedModified)) {
+				return;
+			}
+			List<PromotionRule> rules = objectMapper.readValue(file.toFile(), RULE_LIST);
+			// Remembered even if the rules are invalid, so a broken file is reported once, not on every check.
+			loadedModified = modified;
+			install(rules);
+			log.info("Loaded {} promotion rules from {}", rules.size(), file);
+		}
+		finally {
+			installLock.unlock();
+		}
+	}
+
+	/**
+	 * The products whose effective price a switch from {@code before} to {@code after} can affect.
+	 * Rules are compared by position, since the order breaks ties between equal discounts.
+	 */
+	private static PromotionsChangedEvent changes(List<PromotionRule> before, List<PromotionRule> after) {
+		List<PromotionRule> changed = new ArrayList<>();
+		for (int i = 0; i < Math.max(before.size(), after.size()); i++) {
+			PromotionRule previous = i < before.size() ? before.get(i) : null;
+			PromotionRule current = i < after.size() ? after.get(i) : null;
+			if (!Objects.equals(previous, current)) {
+				if (previous != null) {
+					changed.add(previous);
+				}
+				if (current != null) {
+					changed.add(current);
+				}
+			}
+		}
+		Set<Integer> brandIds = new HashSet<>();
+		Set<Integer> typeIds = new HashSet<>();
+		boolean allProducts = false;
+		for (PromotionRule rule : changed) {
+			switch (rule.scope()) {
+				case ALL -> allProducts = true;
+				case BRAND -> brandIds.add(rule.targetId());
+				case TYPE -> typeIds.add(rule.targetId());
+			}
+		}
+		return new PromotionsChangedEvent(allProducts, Set.copyOf(brandIds), Set.copyOf(typeIds));
+	}
+
+}
@@ -0,0 +1,31 @@
+package com.ecommerce.sportscenter.pricing;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "sportscenter.pricing")
+public class PricingProperties {
+
+	/**
+	 * JSON array of {@link PromotionRule}s, loaded at startup and again whenever the file changes. A
+	 * rule set installed through the API is replaced on the next change of the file.
+	 */
+	private Path rulesFile;
+
+	/** How often the rules file is checked for changes. */
+	private Duration reloadInterval = Duration.ofSeconds(10);
+
+	/** Products fetched per query while building the effective price table. */
+	private int loadBatchSize = 1000;
+
+	/**
+	 * How often the effective price table checks whether a promotion has started or ended. Lookups
+	 * stay correct in between by evaluating promotions directly.
+	 */
+	private Duration refreshInterval = Duration.ofSeconds(1);
+
+}
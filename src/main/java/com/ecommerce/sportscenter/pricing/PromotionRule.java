@@ -0,0 +1,26 @@
+package com.ecommerce.sportscenter.pricing;
+
+import java.time.Instant;
+
+/**
+ * A discount on the unit price of the products in its scope. Exactly one of {@code percentOff} and
+ * {@code amountOff} is set; the other conditions are optional and all have to hold.
+ *
+ * @param id unique within a rule set; shown on basket lines the rule was applied to
+ * @param targetId brand or type id for those scopes, null for {@link Scope#ALL}
+ * @param percentOff whole percent taken off the unit price, 1 to 100
+ * @param amountOff minor currency units taken off the unit price, at most down to zero
+ * @param minSubtotal basket subtotal before promotions, in minor currency units, needed for the rule
+ * to apply; such rules never apply to prices shown outside a basket
+ * @param couponCode coupon the customer has to enter, case-insensitive
+ * @param startsAt start of the rule's validity, inclusive
+ * @param endsAt end of the rule's validity, exclusive
+ */
+public record PromotionRule(String id, Scope scope, Integer targetId, Integer percentOff, Long amountOff,
+		Long minSubtotal, String couponCode, Instant startsAt, Instant endsAt) {
+
+	public enum Scope {
+		ALL, BRAND, TYPE
+	}
+
+}
@@ -0,0 +1,116 @@
+package com.ecommerce.sportscenter.querybudget;
+
+import com.ecommerce.sportscenter.exceptions.QueryBudgetExceededException;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Counts the SQL statements issued on the current thread during one unit of work, usually an HTTP
+ * request (see {@link QueryBudgetFilter}), and reports the first statement that takes it over budget
+ * together with the application code that issued it.
+ * <p>
+ * Two limits apply: the total number of statements, and how often the same SQL may repeat. Hibernate
+ * renders a given load with the same SQL every time, so a statement repeated many times over is
+ * almost always an N+1: a lazy association or a repository call inside a loop.
+ * <pre>
+ * try (QueryBudget budget = QueryBudget.open("nightly report", 100, 5, true)) {
+ *     ...
+ * }
+ * </pre>
+ */
+@Slf4j
+public final class QueryBudget implements AutoCloseable {
+
+	private static final ThreadLocal<QueryBudget> CURRENT = new ThreadLocal<>();
+	private static final String APPLICATION_PACKAGE = "com.ecommerce.sportscenter.";
+	private static final int CALL_SITE_FRAMES = 4;
+
+	private final String name;
+	private final int maxStatements;
+	private final int maxRepeats;
+	private final boolean failOnViolation;
+	private final QueryBudget enclosing;
+	private final Map<String, Integer> executions = new HashMap<>();
+	private int statements;
+	private int violations;
+
+	private QueryBudget(String name, int maxStatements, int maxRepeats, boolean failOnViolation,
+			QueryBudget enclosing) {
+		this.name = name;
+		this.maxStatements = maxStatements;
+		this.maxRepeats = maxRepeats;
+		this.failOnViolation = failOnViolation;
+		this.enclosing = enclosing;
+	}
+
+	/** Starts counting on this thread until {@link #close()}; an enclosing budget resumes afterwards. */
+	public static QueryBudget open(String name, int maxStatements, int maxRepeats, boolean failOnViolation) {
+		QueryBudget budget = new QueryBudget(name, maxStatements, maxRepeats, failOnViolation, CURRENT.get());
+		CURRENT.set(budget);
+		return budget;
+	}
+
+	/** Called for every statement Hibernate prepares; does nothing outside a budget. */
+	static void record(String sql) {
+		QueryBudget budget = CURRENT.get();
+		if (budget != null) {
+			budget.count(sql);
+		}
+	}
+
+	public int statements() {
+		return statements;
+	}
+
+	public int violations() {
+		return violations;
+	}
+
+	@Override
+	public void close() {
+		if (enclosing == null) {
+			CURRENT.remove();
+		}
+		else {
+			CURRENT.set(enclosing);
+		}
+	}
+
+	private void count(String sql) {
+		statements++;
+		int repeats = executions.merge(sql, 1, Integer::sum);
+		// Reported once each, at the statement that first crosses the limit.
+		if (statements == maxStatements + 1) {
+			violation("more than " + maxStatements + " SQL statements", sql);
+		}
+		if (repeats == maxRepeats + 1) {
+			violation("the same SQL more than " + maxRepeats + " times (likely N+1)", sql);
+		}
+	}
+
+	private void violation(String problem, String sql) {
+		violations++;
+		String callSite = callSite();
+		log.warn("Query budget exceeded by {}: {}, issued from {}\n    {}", name, problem, callSite, sql);
+		if (failOnViolation) {
+			throw new QueryBudgetExceededException(name + " issued " + problem + " from " + callSite + ": " + sql);
+		}
+	}
+
+	/** The innermost application frames, skipping this package and generated proxies. */
+	private static String callSite() {
+		String own = QueryBudget.class.getPackageName() + ".";
+		String frames = StackWalker.getInstance().walk(stack -> stack
+				.filter(frame -> frame.getClassName().startsWith(APPLICATION_PACKAGE)
+						&& !frame.getClassName().startsWith(own)
+						&& !frame.getClassName().contains("$$"))
+				.limit(CALL_SITE_FRAMES)
+				.map(frame -> frame.toStackTraceElement().toString())
+				.collect(Collectors.joining(" <- ")));
+		return frames.isEmpty() ? "outside application code" : frames;
+	}
+
+}
@@ -0,0 +1,33 @@
+package com.ecommerce.sportscenter.querybudget;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * Per-request SQL statement budgets (see {@link QueryBudget}). Only statements issued through
+ * Hibernate are counted; {@code JdbcTemplate} batches are deliberate and left alone.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(prefix = "sportscenter.query-budget", name = "enabled", havingValue = "true",
+		matchIfMissing = true)
+public class QueryBudgetConfig {
+
+	@Bean
+	HibernatePropertiesCustomizer queryCountingInspector() {
+		return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, new QueryCountingInspector());
+	}
+
+	@Bean
+	FilterRegistrationBean<QueryBudgetFilter> queryBudgetFilter(QueryBudgetProperties properties) {
+		FilterRegistrationBean<QueryBudgetFilter> registration = new FilterRegistrationBean<>(
+				new QueryBudgetFilter(properties));
+		registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+		return registration;
+	}
+
+}
@@ -0,0 +1,30 @@
+package com.ecommerce.sportscenter.querybudget;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/** Gives every HTTP request its own {@link QueryBudget}. */
+class QueryBudgetFilter extends OncePerRequestFilter {
+
+	private final QueryBudgetProperties properties;
+
+	QueryBudgetFilter(QueryBudgetProperties properties) {
+		this.properties = properties;
+	}
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+			throws ServletException, IOException {
+		String name = request.getMethod() + " " + request.getRequestURI();
+		try (QueryBudget ignored = QueryBudget.open(name, properties.getMaxStatements(), properties.getMaxRepeats(),
+				properties.isFailOnViolation())) {
+			chain.doFilter(request, response);
+		}
+	}
+
+}
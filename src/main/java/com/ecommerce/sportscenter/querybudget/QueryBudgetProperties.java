@@ -0,0 +1,25 @@
+package com.ecommerce.sportscenter.querybudget;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "sportscenter.query-budget")
+public class QueryBudgetProperties {
+
+	/** Count the SQL statements Hibernate issues for each HTTP request. */
+	private boolean enabled = true;
+
+	/** Statements one request may issue before it is reported. */
+	private int maxStatements = 30;
+
+	/**
+	 * Times one request may issue the same SQL before it is reported as a likely N+1 (a lazy
+	 * association or a repository call inside a loop).
+	 */
+	private int maxRepeats = 10;
+
+	/** Fail the statement that exceeds the budget instead of only logging it; meant for tests. */
+	private boolean failOnViolation = false;
+
+}
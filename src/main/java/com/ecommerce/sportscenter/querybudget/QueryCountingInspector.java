@@ -0,0 +1,14 @@
+package com.ecommerce.sportscenter.querybudget;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/** Feeds every statement Hibernate prepares into the current thread's {@link QueryBudget}. */
+class QueryCountingInspector implements StatementInspector {
+
+	@Override
+	public String inspect(String sql) {
+		QueryBudget.record(sql);
+		return sql;
+	}
+
+}
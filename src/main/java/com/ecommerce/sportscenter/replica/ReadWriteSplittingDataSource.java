@@ -0,0 +1,45 @@
+package com.ecommerce.sportscenter.replica;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.sql.SQLException;
+
+/**
+ * The application's data source when replicas are enabled: a {@link LazyConnectionDataSourceProxy}
+ * over the primary that also owns, exposes and closes the replica pools.
+ */
+public class ReadWriteSplittingDataSource extends DelegatingDataSource implements Closeable {
+
+	private final ReplicaRoutingDataSource replicas;
+
+	ReadWriteSplittingDataSource(LazyConnectionDataSourceProxy proxy, ReplicaRoutingDataSource replicas) {
+		super(proxy);
+		this.replicas = replicas;
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public <T> T unwrap(Class<T> iface) throws SQLException {
+		if (iface == ReplicaRoutingDataSource.class) {
+			return (T) replicas;
+		}
+		return super.unwrap(iface);
+	}
+
+	@Override
+	public boolean isWrapperFor(Class<?> iface) throws SQLException {
+		return iface == ReplicaRoutingDataSource.class || super.isWrapperFor(iface);
+	}
+
+	@Override
+	public void close() throws IOException {
+		replicas.close();
+		if (((LazyConnectionDataSourceProxy) obtainTargetDataSource()).getTargetDataSource() instanceof Closeable primary) {
+			primary.close();
+		}
+	}
+
+}
@@ -0,0 +1,170 @@
+package com.ecommerce.sportscenter.replica;
+
+import com.ecommerce.sportscenter.concurrency.ConnectionLimiter;
+import com.ecommerce.sportscenter.event.CatalogImportedEvent;
+import com.ecommerce.sportscenter.event.ProductChangedEvent;
+import com.ecommerce.sportscenter.replica.ReplicaRoutingDataSource.Replica;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Read/write splitting, enabled with {@code sportscenter.datasource.replicas.enabled=true}.
+ * <p>
+ * The primary data source is wrapped in a {@link LazyConnectionDataSourceProxy} whose read-only
+ * side is a {@link ReplicaRoutingDataSource}. Connections are only fetched at the first statement,
+ * by which time the transaction manager has marked the connection read-only, so
+ * {@code @Transactional(readOnly = true)} work (including Spring Data's default for repository
+ * reads) goes to a replica and everything else to the primary.
+ */
+@Slf4j
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(prefix = "sportscenter.datasource.replicas", name = "enabled", havingValue = "true")
+public class ReplicaConfig {
+
+	private static final String PRIMARY_DATA_SOURCE = "dataSource";
+
+	@Bean
+	static BeanPostProcessor readWriteSplittingPostProcessor(ObjectProvider<ReplicaProperties> properties,
+			ObjectProvider<DataSourceProperties> primaryProperties, ObjectProvider<ConnectionLimiter> limiter) {
+		return new ReadWriteSplittingPostProcessor(properties, primaryProperties, limiter);
+	}
+
+	@Bean
+	ReplicaMaintenance replicaMaintenance(DataSource dataSource, ReplicaProperties properties) throws SQLException {
+		return new ReplicaMaintenance(dataSource.unwrap(ReplicaRoutingDataSource.class), properties);
+	}
+
+	// After the connection limit (VirtualThreadConfig), which therefore gates the primary pool itself
+	// rather than the proxy; replica pools are gated here, each with its own permits.
+	private static final class ReadWriteSplittingPostProcessor implements BeanPostProcessor, Ordered {
+
+		private final ObjectProvider<ReplicaProperties> properties;
+		private final ObjectProvider<DataSourceProperties> primaryProperties;
+		private final ObjectProvider<ConnectionLimiter> limiter;
+
+		ReadWriteSplittingPostProcessor(ObjectProvider<ReplicaProperties> properties,
+				ObjectProvider<DataSourceProperties> primaryProperties, ObjectProvider<ConnectionLimiter> limiter) {
+			this.properties = properties;
+			this.primaryProperties = primaryProperties;
+			this.limiter = limiter;
+		}
+
+		@Override
+		public Object postProcessAfterInitialization(Object bean, String beanName) {
+			if (!PRIMARY_DATA_SOURCE.equals(beanName) || !(bean instanceof DataSource primary)
+					|| bean instanceof LazyConnectionDataSourceProxy) {
+				return bean;
+			}
+			ReplicaProperties settings = properties.getObject();
+			ReplicaRoutingDataSource replicas =
+					new ReplicaRoutingDataSource(createPools(settings, primaryProperties.getObject()), primary,
+							settings.getLagQuery(), settings.getMaxLag(), Clock.systemUTC());
+			replicas.checkHealth();
+			LazyConnectionDataSourceProxy proxy = new LazyConnectionDataSourceProxy(primary);
+			proxy.setReadOnlyDataSource(replicas);
+			log.info("Routing read-only transactions to {} read replicas", replicas.replicas().size());
+			return new ReadWriteSplittingDataSource(proxy, replicas);
+		}
+
+		@Override
+		public int getOrder() {
+			return Ordered.LOWEST_PRECEDENCE;
+		}
+
+		private List<Replica> createPools(ReplicaProperties settings, DataSourceProperties primary) {
+			ConnectionLimiter connectionLimiter = limiter.getIfAvailable();
+			List<Replica> replicas = new ArrayList<>(settings.getNodes().size());
+			for (int i = 0; i < settings.getNodes().size(); i++) {
+				ReplicaProperties.Node node = settings.getNodes().get(i);
+				HikariDataSource pool = new HikariDataSource();
+				pool.setPoolName("replica-" + i);
+				pool.setJdbcUrl(node.getUrl());
+				pool.setUsername(node.getUsername() != null ? node.getUsername() : primary.determineUsername());
+				pool.setPassword(node.getPassword() != null ? node.getPassword() : primary.determinePassword());
+				pool.setMaximumPoolSize(settings.getMaximumPoolSize());
+				pool.setConnectionTimeout(settings.getConnectionTimeout().toMillis());
+				pool.setReadOnly(true);
+				// Start even if the replica is down; the health check keeps it out of rotation.
+				pool.setInitializationFailTimeout(-1);
+				DataSource dataSource =
+						connectionLimiter != null ? connectionLimiter.limit(pool, pool.getPoolName()) : pool;
+				replicas.add(new Replica("replica-" + i + " (" + node.getUrl() + ")", dataSource));
+			}
+			return replicas;
+		}
+
+	}
+
+	/**
+	 * Runs the replica health checks and pins reads to the primary after catalog writes. Also reports
+	 * the replica pools' {@code hikaricp.*} meters, which Boot only binds for pools that are beans, and
+	 * each replica's lag and usability.
+	 */
+	public static class ReplicaMaintenance implements MeterBinder {
+
+		private final ReplicaRoutingDataSource replicas;
+		private final ReplicaProperties properties;
+
+		ReplicaMaintenance(ReplicaRoutingDataSource replicas, ReplicaProperties properties) {
+			this.replicas = replicas;
+			this.properties = properties;
+		}
+
+		@Override
+		public void bindTo(MeterRegistry registry) {
+			for (Replica replica : replicas.replicas()) {
+				// Tagged by pool name rather than by URL, which may carry credentials.
+				String name = replica.name();
+				HikariDataSource pool = replica.pool();
+				if (pool != null) {
+					name = pool.getPoolName();
+					if (pool.getMetricsTrackerFactory() == null) {
+						pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry));
+					}
+				}
+				Gauge.builder("sportscenter.replica.lag", replica, r -> r.lagSeconds() == null ? Double.NaN : r.lagSeconds())
+						.description("Replication lag at the last health check")
+						.baseUnit("seconds")
+						.tag("replica", name)
+						.register(registry);
+				Gauge.builder("sportscenter.replica.usable", replica, r -> r.usable() ? 1 : 0)
+						.description("Whether the replica is in rotation")
+						.tag("replica", name)
+						.register(registry);
+			}
+		}
+
+		@Scheduled(fixedDelayString = "${sportscenter.datasource.replicas.health-check-interval:PT5S}")
+		public void checkHealth() {
+			replicas.checkHealth();
+		}
+
+		// Published inside the writing transaction, so the pin starts before the commit.
+		@EventListener({ProductChangedEvent.class, CatalogImportedEvent.class})
+		public void onCatalogWritten() {
+			replicas.pinPrimary(properties.getMaxLag().plus(properties.getHealthCheckInterval()));
+		}
+
+	}
+
+}
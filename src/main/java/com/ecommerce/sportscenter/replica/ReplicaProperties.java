@@ -0,0 +1,48 @@
+package com.ecommerce.sportscenter.replica;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@ConfigurationProperties(prefix = "sportscenter.datasource.replicas")
+public class ReplicaProperties {
+
+	/** Route read-only transactions to {@link #nodes} instead of the primary data source. */
+	private boolean enabled = false;
+
+	/** Read replicas. Credentials default to the primary's. */
+	private List<Node> nodes = new ArrayList<>();
+
+	/** Connection pool size per replica. */
+	private int maximumPoolSize = 10;
+
+	/** How long to wait for a replica connection before trying the next replica. */
+	private Duration connectionTimeout = Duration.ofSeconds(2);
+
+	/** How often each replica's reachability and lag are checked. */
+	private Duration healthCheckInterval = Duration.ofSeconds(5);
+
+	/** Replicas further behind the primary than this receive no reads. */
+	private Duration maxLag = Duration.ofSeconds(5);
+
+	/**
+	 * Query returning the replica's lag in seconds, from a {@code Seconds_Behind_Source} (or
+	 * {@code Seconds_Behind_Master}) column or else the first column. No row or a null lag means the
+	 * replica is not replicating.
+	 */
+	private String lagQuery = "SHOW REPLICA STATUS";
+
+	@Data
+	public static class Node {
+
+		private String url;
+		private String username;
+		private String password;
+
+	}
+
+}
@@ -0,0 +1,207 @@
+package com.ecommerce.sportscenter.replica;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Statement;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The read-only side of the read/write split: hands out connections to healthy read replicas in
+ * turn, and to the primary when none is usable.
+ * <p>
+ * A replica is usable while its last health check reached it and measured a lag within
+ * {@code maxLag}. A replica that fails to give out a connection is taken out of rotation at once and
+ * the next one is tried; the periodic {@link #checkHealth()} brings it back. After a catalog write,
+ * {@link #pinPrimary} keeps reads on the primary for long enough that caches and indexes refilled
+ * right after the write do not load what a lagging replica still has.
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractDataSource implements Closeable {
+
+	private final List<Replica> replicas;
+	private final DataSource primary;
+	private final String lagQuery;
+	private final long maxLagSeconds;
+	private final Clock clock;
+	private final AtomicInteger next = new AtomicInteger();
+	private final AtomicLong primaryFallbacks = new AtomicLong();
+	private volatile long primaryPinnedUntil;
+
+	public ReplicaRoutingDataSource(List<Replica> replicas, DataSource primary, String lagQuery, Duration maxLag,
+			Clock clock) {
+		this.replicas = List.copyOf(replicas);
+		this.primary = primary;
+		this.lagQuery = lagQuery;
+		this.maxLagSeconds = maxLag.toSeconds();
+		this.clock = clock;
+	}
+
+	/** A replica's pool and its last known state. */
+	public static final class Replica {
+
+		private final String name;
+		private final DataSource dataSource;
+		private volatile boolean usable;
+		private volatile Long lagSeconds;
+
+		public Replica(String name, DataSource dataSource) {
+			this.name = name;
+			this.dataSource = dataSource;
+		}
+
+		public String name() {
+			return name;
+		}
+
+		public DataSource dataSource() {
+			return dataSource;
+		}
+
+		/** The replica's Hikari pool, also when it is wrapped (e.g. in a connection limit), or null. */
+		public HikariDataSource pool() {
+			try {
+				return dataSource.isWrapperFor(HikariDataSource.class) ? dataSource.unwrap(HikariDataSource.class)
+						: null;
+			}
+			catch (SQLException ex) {
+				return null;
+			}
+		}
+
+		public boolean usable() {
+			return usable;
+		}
+
+		public Long lagSeconds() {
+			return lagSeconds;
+		}
+
+	}
+
+	@Override
+	public Connection getConnection() throws SQLException {
+		if (clock.millis() >= primaryPinnedUntil) {
+			int size = replicas.size();
+			int start = Math.floorMod(next.getAndIncrement(), Math.max(size, 1));
+			for (int i = 0; i < size; i++) {
+				Replica replica = replicas.get((start + i) % size);
+				if (!replica.usable) {
+					continue;
+				}
+				try {
+					return replica.dataSource.getConnection();
+				}
+				catch (SQLException ex) {
+					markUnusable(replica, ex.getMessage());
+				}
+			}
+		}
+		primaryFallbacks.incrementAndGet();
+		return primary.getConnection();
+	}
+
+	/**
+	 * Not supported: replica pools are opened with the configured credentials, and Hikari does not hand
+	 * out connections for others either.
+	 */
+	@Override
+	public Connection getConnection(String username, String password) throws SQLException {
+		throw new SQLFeatureNotSupportedException("Replica connections use the configured credentials");
+	}
+
+	/** Sends every read to the primary for the given time. */
+	public void pinPrimary(Duration duration) {
+		long until = clock.millis() + duration.toMillis();
+		if (until > primaryPinnedUntil) {
+			primaryPinnedUntil = until;
+		}
+	}
+
+	/** Probes every replica's reachability and lag and updates which ones take reads. */
+	public void checkHealth() {
+		for (Replica replica : replicas) {
+			Long lag;
+			try {
+				lag = probeLag(replica);
+			}
+			catch (SQLException | RuntimeException ex) {
+				markUnusable(replica, ex.getMessage());
+				continue;
+			}
+			replica.lagSeconds = lag;
+			if (lag == null) {
+				markUnusable(replica, "not replicating");
+			}
+			else if (lag > maxLagSeconds) {
+				markUnusable(replica, "lagging " + lag + " s behind the primary");
+			}
+			else if (!replica.usable) {
+				replica.usable = true;
+				log.info("Read replica {} is back in rotation (lag {} s)", replica.name, lag);
+			}
+		}
+	}
+
+	public List<Replica> replicas() {
+		return replicas;
+	}
+
+	/** Read-only connections served by the primary, because no replica was usable or reads were pinned. */
+	public long primaryFallbacks() {
+		return primaryFallbacks.get();
+	}
+
+	@Override
+	public void close() {
+		for (Replica replica : replicas) {
+			HikariDataSource pool = replica.pool();
+			if (pool != null) {
+				pool.close();
+			}
+		}
+	}
+
+	private Long probeLag(Replica replica) throws SQLException {
+		try (Connection connection = replica.dataSource.getConnection();
+				Statement statement = connection.createStatement();
+				ResultSet result = statement.executeQuery(lagQuery)) {
+			if (!result.next()) {
+				return null;
+			}
+			int column = lagColumn(result.getMetaData());
+			long lag = result.getLong(column);
+			return result.wasNull() ? null : lag;
+		}
+	}
+
+	private static int lagColumn(ResultSetMetaData metaData) throws SQLException {
+		for (int i = 1; i <= metaData.getColumnCount(); i++) {
+			String label = metaData.getColumnLabel(i);
+			if ("Seconds_Behind_Source".equalsIgnoreCase(label) || "Seconds_Behind_Master".equalsIgnoreCase(label)) {
+				return i;
+			}
+		}
+		return 1;
+	}
+
+	private static void markUnusable(Replica replica, String reason) {
+		if (replica.usable) {
+			log.warn("Taking read replica {} out of rotation: {}", replica.name, reason);
+		}
+		replica.usable = false;
+	}
+
+}
@@ -0,0 +1,21 @@
+package com.ecommerce.sportscenter.repository;
+
+import com.ecommerce.sportscenter.entity.Brand;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
+
+import java.util.List;
+
+public interface BrandRepository extends JpaRepository<Brand, Integer>, BrandRepositoryCustom {
+
+	/** Answered from the query cache until a brand is written. */
+	@Override
+	@QueryHints({
+			@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+			@QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "reference-lists")
+	})
+	List<Brand> findAll();
+
+}
@@ -0,0 +1,12 @@
+package com.ecommerce.sportscenter.repository;
+
+import com.ecommerce.sportscenter.entity.Brand;
+
+import java.util.Optional;
+
+public interface BrandRepositoryCustom {
+
+	/** Looks the brand up by its unique name through the natural-id cache. */
+	Optional<Brand> findByNaturalId(String name);
+
+}
@@ -0,0 +1,22 @@
+package com.ecommerce.sportscenter.repository;
+
+import com.ecommerce.sportscenter.entity.Brand;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+@Transactional(readOnly = true)
+class BrandRepositoryCustomImpl implements BrandRepositoryCustom {
+
+	@PersistenceContext
+	private EntityManager entityManager;
+
+	@Override
+	public Optional<Brand> findByNaturalId(String name) {
+		return entityManager.unwrap(Session.class).bySimpleNaturalId(Brand.class).loadOptional(name);
+	}
+
+}
@@ -0,0 +1,17 @@
+package com.ecommerce.sportscenter.repository;
+
+import com.ecommerce.sportscenter.entity.CustomerOrder;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.Optional;
+
+public interface CustomerOrderRepository extends JpaRepository<CustomerOrder, Long> {
+
+	@EntityGraph(attributePaths = "lines")
+	Optional<CustomerOrder> findWithLinesById(Long id);
+
+	@EntityGraph(attributePaths = "lines")
+	Optional<CustomerOrder> findWithLinesByIdempotencyKey(String idempotencyKey);
+
+}
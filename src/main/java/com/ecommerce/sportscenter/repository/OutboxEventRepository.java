@@ -0,0 +1,25 @@
+package com.ecommerce.sportscenter.repository;
+
+import com.ecommerce.sportscenter.entity.OutboxEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+	/**
+	 * Locks the oldest events not locked by another transaction, so concurrent relays claim disjoint
+	 * batches instead of waiting on each other. Must run in a transaction.
+	 */
+	@Query(value = "select * from outbox_event order by id limit :limit for update skip locked", nativeQuery = true)
+	List<OutboxEvent> claimOldest(@Param("limit") int limit);
+
+	@Modifying
+	@Query("delete from OutboxEvent e where e.id in :ids")
+	int deleteAllByIdIn(@Param("ids") Collection<Long> ids);
+
+}
@@ -0,0 +1,14 @@
+package com.ecommerce.sportscenter.repository;
+
+import com.ecommerce.sportscenter.entity.Product;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+public interface ProductRepository extends JpaRepository<Product, Integer>, ProductRepositoryCustom {
+
+	@Query(value = "select p.id from Product p", countQuery = "select count(p) from Product p")
+	Page<Integer> findPageOfIds(Pageable pageable);
+
+}
@@ -0,0 +1,19 @@
+package com.ecommerce.sportscenter.repository;
+
+import com.ecommerce.sportscenter.pagination.KeysetRow;
+import com.ecommerce.sportscenter.pagination.ProductCursor;
+import com.ecommerce.sportscenter.pagination.ProductSortField;
+import org.springframework.data.domain.Sort;
+
+import java.util.List;
+
+public interface ProductRepositoryCustom {
+
+	/**
+	 * Returns up to {@code limit} product ids ordered by {@code field} then id, strictly after
+	 * {@code after} (or from the start when it is {@code null}). The query only touches the
+	 * {@code (field, id)} index, so its cost does not depend on how deep the page is.
+	 */
+	List<KeysetRow> findIdsAfter(ProductSortField field, Sort.Direction direction, ProductCursor after, int limit);
+
+}
@@ -0,0 +1,58 @@
+package com.ecommerce.sportscenter.repository;
+
+import com.ecommerce.sportscenter.pagination.KeysetRow;
+import com.ecommerce.sportscenter.pagination.ProductCursor;
+import com.ecommerce.sportscenter.pagination.ProductSortField;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+// Read-only like Spring Data's own query methods, so keyset pages are served by a read replica.
+@Transactional(readOnly = true)
+class ProductRepositoryCustomImpl implements ProductRepositoryCustom {
+
+	@PersistenceContext
+	private EntityManager entityManager;
+
+	@Override
+	public List<KeysetRow> findIdsAfter(ProductSortField field, Sort.Direction direction, ProductCursor after,
+			int limit) {
+		String column = "p." + field.attribute();
+		String order = direction.isAscending() ? "asc" : "desc";
+		String comparison = direction.isAscending() ? ">" : "<";
+
+		StringBuilder jpql = new StringBuilder("select p.id, ").append(column).append(" from Product p");
+		if (after != null) {
+			if (field == ProductSortField.ID) {
+				jpql.append(" where p.id ").append(comparison).append(" :lastId");
+			}
+			else {
+				// Row-value comparison (a, id) > (:v, :id) spelled out so MySQL can use the composite index range.
+				jpql.append(" where ").append(column).append(' ').append(comparison).append(" :lastValue")
+						.append(" or (").append(column).append(" = :lastValue and p.id ")
+						.append(comparison).append(" :lastId)");
+			}
+		}
+		jpql.append(" order by ").append(column).append(' ').append(order);
+		if (field != ProductSortField.ID) {
+			jpql.append(", p.id ").append(order);
+		}
+
+		TypedQuery<Object[]> query = entityManager.createQuery(jpql.toString(), Object[].class)
+				.setMaxResults(limit);
+		if (after != null) {
+			query.setParameter("lastId", after.id());
+			if (field != ProductSortField.ID) {
+				query.setParameter("lastValue", after.value());
+			}
+		}
+		return query.getResultList().stream()
+				.map(row -> new KeysetRow((Integer) row[0], row[1]))
+				.toList();
+	}
+
+}
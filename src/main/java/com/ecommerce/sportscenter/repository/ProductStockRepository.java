@@ -0,0 +1,7 @@
+package com.ecommerce.sportscenter.repository;
+
+import com.ecommerce.sportscenter.entity.ProductStock;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface ProductStockRepository extends JpaRepository<ProductStock, Integer> {
+}
@@ -0,0 +1,23 @@
+package com.ecommerce.sportscenter.repository;
+
+import com.ecommerce.sportscenter.entity.StoredBasket;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+public interface StoredBasketRepository extends JpaRepository<StoredBasket, UUID> {
+
+	@Lock(LockModeType.PESSIMISTIC_WRITE)
+	@Query("select b from StoredBasket b where b.id = :id")
+	Optional<StoredBasket> findForUpdateById(UUID id);
+
+	List<StoredBasket> findByLastAccessedBefore(Instant cutoff, Pageable pageable);
+
+}
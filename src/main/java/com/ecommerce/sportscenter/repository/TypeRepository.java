@@ -0,0 +1,21 @@
+package com.ecommerce.sportscenter.repository;
+
+import com.ecommerce.sportscenter.entity.Type;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
+
+import java.util.List;
+
+public interface TypeRepository extends JpaRepository<Type, Integer>, TypeRepositoryCustom {
+
+	/** Answered from the query cache until a type is written. */
+	@Override
+	@QueryHints({
+			@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+			@QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = "reference-lists")
+	})
+	List<Type> findAll();
+
+}
@@ -0,0 +1,12 @@
+package com.ecommerce.sportscenter.repository;
+
+import com.ecommerce.sportscenter.entity.Type;
+
+import java.util.Optional;
+
+public interface TypeRepositoryCustom {
+
+	/** Looks the type up by its unique name through the natural-id cache. */
+	Optional<Type> findByNaturalId(String name);
+
+}
@@ -0,0 +1,22 @@
+package com.ecommerce.sportscenter.repository;
+
+import com.ecommerce.sportscenter.entity.Type;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+@Transactional(readOnly = true)
+class TypeRepositoryCustomImpl implements TypeRepositoryCustom {
+
+	@PersistenceContext
+	private EntityManager entityManager;
+
+	@Override
+	public Optional<Type> findByNaturalId(String name) {
+		return entityManager.unwrap(Session.class).bySimpleNaturalId(Type.class).loadOptional(name);
+	}
+
+}
@@ -0,0 +1,189 @@
+package com.ecommerce.sportscenter.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory inverted index over product documents with Okapi BM25 ranking.
+ * <p>
+ * Documents are keyed by product id. Each term maps to a {@link PostingList}; a forward table of the
+ * terms per document lets an update or delete remove exactly the postings it owns. Queries take the
+ * read lock and run concurrently; writes are short and take the write lock.
+ */
+public class InvertedIndex {
+
+	static final float K1 = 1.2f;
+	static final float B = 0.75f;
+
+	private static final Comparator<SearchHit> RANKING = Comparator.comparingDouble(SearchHit::score)
+			.thenComparing(SearchHit::productId, Comparator.reverseOrder());
+
+	private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+	private final Map<String, PostingList> postings = new HashMap<>();
+	private String[][] documentTerms = new String[1024][];
+	private int[] documentLengths = new int[1024];
+	private int documentCount;
+	private long totalLength;
+
+	/** Adds or replaces a document. {@code termFrequencies} must not be empty. */
+	public void index(int docId, Map<String, Integer> termFrequencies) {
+		lock.writeLock().lock();
+		try {
+			removeInternal(docId);
+			ensureCapacity(docId);
+			String[] terms = new String[termFrequencies.size()];
+			int length = 0;
+			int i = 0;
+			for (Map.Entry<String, Integer> entry : termFrequencies.entrySet()) {
+				postings.computeIfAbsent(entry.getKey(), term -> new PostingList()).put(docId, entry.getValue());
+				terms[i++] = entry.getKey();
+				length += entry.getValue();
+			}
+			documentTerms[docId] = terms;
+			documentLengths[docId] = length;
+			documentCount++;
+			totalLength += length;
+		}
+		finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	public void remove(int docId) {
+		lock.writeLock().lock();
+		try {
+			removeInternal(docId);
+		}
+		finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/** Releases the slack left in posting arrays after a bulk load. */
+	public void compact() {
+		lock.writeLock().lock();
+		try {
+			postings.values().forEach(PostingList::trimToSize);
+		}
+		finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	public int size() {
+		lock.readLock().lock();
+		try {
+			return documentCount;
+		}
+		finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * Ranks documents containing any of the analyzed query terms by BM25 and returns the best
+	 * {@code limit}, highest score first (ties broken by ascending id).
+	 */
+	public List<SearchHit> search(Collection<String> queryTerms, int limit) {
+		if (queryTerms.isEmpty() || limit <= 0) {
+			return List.of();
+		}
+		lock.readLock().lock();
+		try {
+			if (documentCount == 0) {
+				return List.of();
+			}
+			List<PostingList> lists = new ArrayList<>();
+			int candidates = 0;
+			for (String term : new LinkedHashSet<>(queryTerms)) {
+				PostingList list = postings.get(term);
+				if (list != null) {
+					lists.add(list);
+					candidates += list.size();
+				}
+			}
+			if (lists.isEmpty()) {
+				return List.of();
+			}
+
+			float averageLength = (float) totalLength / documentCount;
+			ScoreAccumulator scores = new ScoreAccumulator(candidates);
+			for (PostingList list : lists) {
+				float idf = idf(list.size());
+				for (int i = 0; i < list.size(); i++) {
+					int docId = list.docId(i);
+					float tf = list.frequency(i);
+					float norm = K1 * (1 - B + B * documentLengths[docId] / averageLength);
+					scores.add(docId, idf * tf * (K1 + 1) / (tf + norm));
+				}
+			}
+			return topK(scores, limit);
+		}
+		finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	private float idf(int documentFrequency) {
+		return (float) Math.log(1 + (documentCount - documentFrequency + 0.5) / (documentFrequency + 0.5));
+	}
+
+	private static List<SearchHit> topK(ScoreAccumulator scores, int limit) {
+		PriorityQueue<SearchHit> heap = new PriorityQueue<>(limit + 1, RANKING);
+		for (int slot = 0; slot < scores.capacity(); slot++) {
+			if (!scores.isOccupied(slot)) {
+				continue;
+			}
+			float score = scores.valueAt(slot);
+			if (heap.size() < limit) {
+				heap.add(new SearchHit(scores.keyAt(slot), score));
+			}
+			else if (score >= heap.peek().score()) {
+				SearchHit hit = new SearchHit(scores.keyAt(slot), score);
+				if (RANKING.compare(hit, heap.peek()) > 0) {
+					heap.poll();
+					heap.add(hit);
+				}
+			}
+		}
+		List<SearchHit> hits = new ArrayList<>(heap);
+		hits.sort(RANKING.reversed());
+		return hits;
+	}
+
+	private void removeInternal(int docId) {
+		if (docId < 0) {
+			throw new IllegalArgumentException("Document id must not be negative: " + docId);
+		}
+		if (docId >= documentTerms.length || documentTerms[docId] == null) {
+			return;
+		}
+		for (String term : documentTerms[docId]) {
+			PostingList list = postings.get(term);
+			if (list != null && list.remove(docId) && list.size() == 0) {
+				postings.remove(term);
+			}
+		}
+		totalLength -= documentLengths[docId];
+		documentCount--;
+		documentTerms[docId] = null;
+		documentLengths[docId] = 0;
+	}
+
+	private void ensureCapacity(int docId) {
+		if (docId >= documentTerms.length) {
+			int capacity = Math.max(docId + 1, documentTerms.length + (documentTerms.length >> 1));
+			documentTerms = Arrays.copyOf(documentTerms, capacity);
+			documentLengths = Arrays.copyOf(documentLengths, capacity);
+		}
+	}
+
+}
@@ -0,0 +1,76 @@
+package com.ecommerce.sportscenter.search;
+
+import java.util.Arrays;
+
+/**
+ * Doc ids containing one term, kept sorted in a primitive array alongside their term frequencies.
+ * Appends in id order (the common case during a bulk load) are amortised O(1); out-of-order inserts
+ * and removals shift the tail. Not thread-safe: guarded by the owning {@link InvertedIndex}.
+ */
+final class PostingList {
+
+	private int[] docIds;
+	private int[] frequencies;
+	private int size;
+
+	PostingList() {
+		this.docIds = new int[2];
+		this.frequencies = new int[2];
+	}
+
+	void put(int docId, int frequency) {
+		int position;
+		if (size == 0 || docIds[size - 1] < docId) {
+			position = size;
+		}
+		else {
+			position = Arrays.binarySearch(docIds, 0, size, docId);
+			if (position >= 0) {
+				frequencies[position] = frequency;
+				return;
+			}
+			position = -position - 1;
+		}
+		if (size == docIds.length) {
+			int capacity = size + (size >> 1) + 1;
+			docIds = Arrays.copyOf(docIds, capacity);
+			frequencies = Arrays.copyOf(frequencies, capacity);
+		}
+		System.arraycopy(docIds, position, docIds, position + 1, size - position);
+		System.arraycopy(frequencies, position, frequencies, position + 1, size - position);
+		docIds[position] = docId;
+		frequencies[position] = frequency;
+		size++;
+	}
+
+	boolean remove(int docId) {
+		int position = Arrays.binarySearch(docIds, 0, size, docId);
+		if (position < 0) {
+			return false;
+		}
+		System.arraycopy(docIds, position + 1, docIds, position, size - position - 1);
+		System.arraycopy(frequencies, position + 1, frequencies, position, size - position - 1);
+		size--;
+		return true;
+	}
+
+	int size() {
+		return size;
+	}
+
+	int docId(int index) {
+		return docIds[index];
+	}
+
+	int frequency(int index) {
+		return frequencies[index];
+	}
+
+	void trimToSize() {
+		if (docIds.length > size) {
+			docIds = Arrays.copyOf(docIds, size);
+			frequencies = Arrays.copyOf(frequencies, size);
+		}
+	}
+
+}
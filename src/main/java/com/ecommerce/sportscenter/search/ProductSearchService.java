@@ -0,0 +1,149 @@
+package com.ecommerce.sportscenter.search;
+
+import com.ecommerce.sportscenter.event.CatalogImportedEvent;
+import com.ecommerce.sportscenter.event.ProductChangedEvent;
+import com.ecommerce.sportscenter.model.ProductResponse;
+import com.ecommerce.sportscenter.model.SearchResultResponse;
+import com.ecommerce.sportscenter.service.ProductCatalogScanner;
+import com.ecommerce.sportscenter.service.ProductService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Full-text product search. The index is built from the catalog once the application is ready and
+ * then kept current from {@link ProductChangedEvent}s; queries never touch the database except to
+ * hydrate cache misses for the returned products. Each search emits a {@link SearchEvent} for
+ * Flight Recorder.
+ * <p>
+ * A rebuild fills a fresh index on the side and publishes it with a single volatile write, so queries
+ * keep answering from the previous index meanwhile. Products changed while the scan runs are noted and
+ * reloaded into the new index once it is published.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class ProductSearchService {
+
+	private final ReentrantLock rebuildLock = new ReentrantLock();
+	private final Set<Integer> changedDuringRebuild = ConcurrentHashMap.newKeySet();
+	private volatile InvertedIndex index = new InvertedIndex();
+	private volatile boolean rebuilding;
+	private final TextAnalyzer analyzer = new TextAnalyzer();
+	private final ProductCatalogScanner catalogScanner;
+	private final ProductService productService;
+	private final SearchProperties properties;
+
+	@EventListener({ApplicationReadyEvent.class, CatalogImportedEvent.class})
+	public void rebuild() {
+		rebuildLock.lock();
+		try {
+			long start = System.nanoTime();
+			changedDuringRebuild.clear();
+			rebuilding = true;
+			InvertedIndex rebuilt = new InvertedIndex();
+			long indexed;
+			try {
+				indexed = catalogScanner.scan(properties.getLoadBatchSize(),
+						batch -> batch.forEach(product -> index(rebuilt, product)));
+				rebuilt.compact();
+				index = rebuilt;
+			}
+			finally {
+				rebuilding = false;
+			}
+			for (Integer productId : changedDuringRebuild) {
+				changedDuringRebuild.remove(productId);
+				refresh(productId);
+			}
+			log.info("Search index built with {} products in {} ms", indexed, (System.nanoTime() - start) / 1_000_000);
+		}
+		finally {
+			rebuildLock.unlock();
+		}
+	}
+
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onProductChanged(ProductChangedEvent event) {
+		if (rebuilding) {
+			changedDuringRebuild.add(event.productId());
+		}
+		if (event.changeType() == ProductChangedEvent.ChangeType.DELETED) {
+			index.remove(event.productId());
+			return;
+		}
+		refresh(event.productId());
+	}
+
+	public List<SearchHit> searchIds(String query, int limit) {
+		return index.search(analyzer.analyze(query), Math.min(limit, properties.getMaxResults()));
+	}
+
+	public List<SearchResultResponse> search(String query, int limit) {
+		SearchEvent event = new SearchEvent();
+		event.begin();
+		List<SearchHit> hits = searchIds(query, limit);
+		List<Integer> ids = new ArrayList<>(hits.size());
+		hits.forEach(hit -> ids.add(hit.productId()));
+		Map<Integer, ProductResponse> products = new HashMap<>();
+		productService.getProductsByIds(ids).forEach(product -> products.put(product.getId(), product));
+
+		List<SearchResultResponse> results = new ArrayList<>(hits.size());
+		for (SearchHit hit : hits) {
+			ProductResponse product = products.get(hit.productId());
+			if (product != null) {
+				results.add(new SearchResultResponse(product, hit.score()));
+			}
+		}
+		if (event.shouldCommit()) {
+			event.query = query;
+			event.limit = limit;
+			event.hits = hits.size();
+			event.results = results.size();
+			event.commit();
+		}
+		return results;
+	}
+
+	public int indexedProducts() {
+		return index.size();
+	}
+
+	private void refresh(int productId) {
+		InvertedIndex current = index;
+		catalogScanner.load(productId).ifPresentOrElse(product -> index(current, product),
+				() -> current.remove(productId));
+	}
+
+	private void index(InvertedIndex target, ProductResponse product) {
+		Map<String, Integer> frequencies = new HashMap<>();
+		addTerms(frequencies, product.getName(), properties.getNameBoost());
+		addTerms(frequencies, product.getProductBrand(), properties.getReferenceBoost());
+		addTerms(frequencies, product.getProductType(), properties.getReferenceBoost());
+		addTerms(frequencies, product.getDescription(), 1);
+		if (frequencies.isEmpty()) {
+			target.remove(product.getId());
+		}
+		else {
+			target.index(product.getId(), frequencies);
+		}
+	}
+
+	private void addTerms(Map<String, Integer> frequencies, String text, int weight) {
+		for (String term : analyzer.analyze(text)) {
+			frequencies.merge(term, weight, Integer::sum);
+		}
+	}
+
+}
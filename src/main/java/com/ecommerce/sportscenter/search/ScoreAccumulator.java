@@ -0,0 +1,85 @@
+package com.ecommerce.sportscenter.search;
+
+import java.util.Arrays;
+
+/**
+ * Open-addressing int-to-float map used to sum per-document scores during a query without boxing.
+ * Sized from the total posting count of the query terms, so a query touching few documents stays
+ * cheap even over a large index.
+ */
+final class ScoreAccumulator {
+
+	private static final int EMPTY = -1;
+
+	private int[] keys;
+	private float[] values;
+	private int size;
+	private int mask;
+
+	ScoreAccumulator(int expectedSize) {
+		int capacity = Integer.highestOneBit(Math.max(4, Math.min(expectedSize, 1 << 28)) * 4 - 1);
+		this.keys = new int[capacity];
+		this.values = new float[capacity];
+		this.mask = capacity - 1;
+		Arrays.fill(keys, EMPTY);
+	}
+
+	void add(int key, float value) {
+		int slot = find(key);
+		if (keys[slot] == EMPTY) {
+			if ((size + 1) * 2 > keys.length) {
+				grow();
+				slot = find(key);
+			}
+			keys[slot] = key;
+			size++;
+		}
+		values[slot] += value;
+	}
+
+	int capacity() {
+		return keys.length;
+	}
+
+	int keyAt(int slot) {
+		return keys[slot];
+	}
+
+	float valueAt(int slot) {
+		return values[slot];
+	}
+
+	boolean isOccupied(int slot) {
+		return keys[slot] != EMPTY;
+	}
+
+	private void grow() {
+		int[] oldKeys = keys;
+		float[] oldValues = values;
+		keys = new int[oldKeys.length * 2];
+		values = new float[oldValues.length * 2];
+		mask = keys.length - 1;
+		Arrays.fill(keys, EMPTY);
+		for (int i = 0; i < oldKeys.length; i++) {
+			if (oldKeys[i] != EMPTY) {
+				int slot = find(oldKeys[i]);
+				keys[slot] = oldKeys[i];
+				values[slot] = oldValues[i];
+			}
+		}
+	}
+
+	private int find(int key) {
+		int slot = mix(key) & mask;
+		while (keys[slot] != EMPTY && keys[slot] != key) {
+			slot = (slot + 1) & mask;
+		}
+		return slot;
+	}
+
+	private static int mix(int key) {
+		int h = key * 0x9E3779B9;
+		return h ^ (h >>> 16);
+	}
+
+}
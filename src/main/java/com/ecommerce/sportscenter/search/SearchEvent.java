@@ -0,0 +1,33 @@
+package com.ecommerce.sportscenter.search;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/** JFR event spanning one full-text search, including loading the matching products. */
+@Name(SearchEvent.NAME)
+@Label("Product Search")
+@Category("Sportscenter")
+@StackTrace(false)
+public class SearchEvent extends Event {
+
+	public static final String NAME = "sportscenter.Search";
+
+	@Label("Query")
+	String query;
+
+	@Label("Limit")
+	int limit;
+
+	@Label("Hits")
+	@Description("Products matching in the index")
+	int hits;
+
+	@Label("Results")
+	@Description("Hits whose product could still be loaded")
+	int results;
+
+}
@@ -0,0 +1,4 @@
+package com.ecommerce.sportscenter.search;
+
+public record SearchHit(int productId, float score) {
+}
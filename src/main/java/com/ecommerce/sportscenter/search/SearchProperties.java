@@ -0,0 +1,22 @@
+package com.ecommerce.sportscenter.search;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "sportscenter.search")
+public class SearchProperties {
+
+	/** Products fetched per query while building the index at startup. */
+	private int loadBatchSize = 1000;
+
+	/** Upper bound on the number of results a single query may ask for. */
+	private int maxResults = 100;
+
+	/** Term frequency multiplier for tokens in the product name. */
+	private int nameBoost = 3;
+
+	/** Term frequency multiplier for tokens in the brand and type names. */
+	private int referenceBoost = 2;
+
+}
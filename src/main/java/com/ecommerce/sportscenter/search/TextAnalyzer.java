@@ -0,0 +1,76 @@
+package com.ecommerce.sportscenter.search;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Splits text into lower-cased alphanumeric tokens, drops English stop words and applies a light
+ * suffix-stripping stemmer so that "running shoes" matches "run shoe". The same analyzer must be
+ * used for indexing and querying.
+ */
+public final class TextAnalyzer {
+
+	private static final Set<String> STOP_WORDS = Set.of(
+			"a", "an", "and", "are", "as", "at", "be", "by", "for", "from", "in", "is", "it", "of", "on",
+			"or", "the", "to", "with");
+
+	public List<String> analyze(String text) {
+		List<String> tokens = new ArrayList<>();
+		if (text == null || text.isEmpty()) {
+			return tokens;
+		}
+		StringBuilder current = new StringBuilder();
+		for (int i = 0; i <= text.length(); i++) {
+			char c = i < text.length() ? text.charAt(i) : ' ';
+			if (Character.isLetterOrDigit(c)) {
+				current.append(Character.toLowerCase(c));
+			}
+			else if (!current.isEmpty()) {
+				String token = current.toString();
+				current.setLength(0);
+				if (!STOP_WORDS.contains(token)) {
+					tokens.add(stem(token));
+				}
+			}
+		}
+		return tokens;
+	}
+
+	/**
+	 * Conservative English stemmer: plural forms plus "-ing" and "-ed" endings. Words of four letters
+	 * or fewer are left alone, which keeps short brand and model names (e.g. "Nike", "Vans") intact.
+	 * Longer names are stemmed like any other word ("Asics" becomes "asic"); queries go through the same
+	 * analyzer, so they still match.
+	 */
+	static String stem(String token) {
+		if (token.length() <= 4 || !Character.isLetter(token.charAt(token.length() - 1))) {
+			return token;
+		}
+		if (token.endsWith("ies")) {
+			return token.substring(0, token.length() - 3) + "y";
+		}
+		if (token.endsWith("sses") || token.endsWith("shes") || token.endsWith("ches") || token.endsWith("xes")) {
+			return token.substring(0, token.length() - 2);
+		}
+		if (token.endsWith("ing") && token.length() > 5) {
+			return undouble(token.substring(0, token.length() - 3));
+		}
+		if (token.endsWith("ed") && token.length() > 5) {
+			return undouble(token.substring(0, token.length() - 2));
+		}
+		if (token.endsWith("s") && !token.endsWith("ss") && !token.endsWith("us")) {
+			return token.substring(0, token.length() - 1);
+		}
+		return token;
+	}
+
+	private static String undouble(String stem) {
+		int n = stem.length();
+		if (n >= 2 && stem.charAt(n - 1) == stem.charAt(n - 2) && "lsz".indexOf(stem.charAt(n - 1)) < 0) {
+			return stem.substring(0, n - 1);
+		}
+		return stem;
+	}
+
+}
@@ -0,0 +1,26 @@
+package com.ecommerce.sportscenter.service;
+
+import com.ecommerce.sportscenter.cache.CatalogCache;
+import com.ecommerce.sportscenter.mapper.CatalogMapper;
+import com.ecommerce.sportscenter.model.BrandResponse;
+import com.ecommerce.sportscenter.repository.BrandRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+public class BrandServiceImpl implements BrandService {
+
+	private final BrandRepository brandRepository;
+	private final CatalogCache catalogCache;
+
+	@Override
+	public List<BrandResponse> getAllBrands() {
+		return catalogCache.getBrands(() -> brandRepository.findAll().stream()
+				.map(CatalogMapper::toResponse)
+				.toList());
+	}
+
+}
@@ -0,0 +1,63 @@
+package com.ecommerce.sportscenter.service;
+
+import com.ecommerce.sportscenter.mapper.CatalogMapper;
+import com.ecommerce.sportscenter.model.ProductResponse;
+import com.ecommerce.sportscenter.pagination.KeysetRow;
+import com.ecommerce.sportscenter.pagination.ProductCursor;
+import com.ecommerce.sportscenter.pagination.ProductSortField;
+import com.ecommerce.sportscenter.repository.ProductRepository;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * Walks the whole catalog in id order for components that build in-memory structures from it. Reads
+ * bypass {@link com.ecommerce.sportscenter.cache.CatalogCache} so a full scan does not flush the
+ * working set, and always see committed data rather than a possibly stale cache entry. Brands and
+ * types still come from Hibernate's second-level cache, which writes keep current.
+ */
+@Component
+public class ProductCatalogScanner {
+
+	private final ProductRepository productRepository;
+	private final TransactionTemplate readOnlyTransaction;
+
+	public ProductCatalogScanner(ProductRepository productRepository, PlatformTransactionManager transactionManager) {
+		this.productRepository = productRepository;
+		this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+		this.readOnlyTransaction.setReadOnly(true);
+	}
+
+	public long scan(int batchSize, Consumer<List<ProductResponse>> consumer) {
+		long scanned = 0;
+		ProductCursor after = null;
+		List<KeysetRow> ids;
+		do {
+			ids = productRepository.findIdsAfter(ProductSortField.ID, Sort.Direction.ASC, after, batchSize);
+			if (ids.isEmpty()) {
+				break;
+			}
+			List<Integer> batchIds = ids.stream().map(KeysetRow::id).toList();
+			List<ProductResponse> batch = readOnlyTransaction.execute(status -> productRepository.findAllById(batchIds)
+					.stream()
+					.map(CatalogMapper::toResponse)
+					.toList());
+			consumer.accept(batch);
+			scanned += batch.size();
+			Integer lastId = ids.get(ids.size() - 1).id();
+			after = new ProductCursor(ProductSortField.ID, Sort.Direction.ASC, lastId, lastId);
+		} while (ids.size() == batchSize);
+		return scanned;
+	}
+
+	public Optional<ProductResponse> load(Integer productId) {
+		return readOnlyTransaction.execute(status -> productRepository.findById(productId)
+				.map(CatalogMapper::toResponse));
+	}
+
+}
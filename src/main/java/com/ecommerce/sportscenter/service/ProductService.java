@@ -0,0 +1,35 @@
+package com.ecommerce.sportscenter.service;
+
+import com.ecommerce.sportscenter.model.CursorPage;
+import com.ecommerce.sportscenter.model.ProductRequest;
+import com.ecommerce.sportscenter.model.ProductResponse;
+import org.springframework.data.domain.Page;
+import com.ecommerce.sportscenter.pagination.ProductSortField;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface ProductService {
+
+	ProductResponse getProductById(Integer productId);
+
+	List<ProductResponse> getProductsByIds(Collection<Integer> productIds);
+
+	Page<ProductResponse> getProducts(Pageable pageable);
+
+	/**
+	 * Keyset listing. When {@code cursor} is present its embedded sort wins over {@code field} and
+	 * {@code direction}; the total is only counted when {@code includeCount} is set.
+	 */
+	CursorPage<ProductResponse> getProductsAfter(ProductSortField field, Sort.Direction direction, String cursor,
+			int size, boolean includeCount);
+
+	ProductResponse createProduct(ProductRequest request);
+
+	ProductResponse updateProduct(Integer productId, ProductRequest request);
+
+	void deleteProduct(Integer productId);
+
+}
@@ -0,0 +1,171 @@
+package com.ecommerce.sportscenter.service;
+
+import com.ecommerce.sportscenter.cache.CatalogCache;
+import com.ecommerce.sportscenter.entity.Brand;
+import com.ecommerce.sportscenter.entity.Product;
+import com.ecommerce.sportscenter.entity.Type;
+import com.ecommerce.sportscenter.event.ProductChangedEvent;
+import com.ecommerce.sportscenter.event.ProductChangedEvent.ChangeType;
+import com.ecommerce.sportscenter.exceptions.ProductNotFoundException;
+import com.ecommerce.sportscenter.exceptions.ReferenceNotFoundException;
+import com.ecommerce.sportscenter.mapper.CatalogMapper;
+import com.ecommerce.sportscenter.model.CursorPage;
+import com.ecommerce.sportscenter.model.ProductRequest;
+import com.ecommerce.sportscenter.model.ProductResponse;
+import com.ecommerce.sportscenter.pagination.KeysetRow;
+import com.ecommerce.sportscenter.pagination.ProductCursor;
+import com.ecommerce.sportscenter.pagination.ProductSortField;
+import com.ecommerce.sportscenter.repository.BrandRepository;
+import com.ecommerce.sportscenter.repository.ProductRepository;
+import com.ecommerce.sportscenter.repository.TypeRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Catalog reads go through {@link CatalogCache}; only cache misses reach the repositories. Reads are
+ * deliberately not wrapped in a transaction so that a cache hit never checks out a connection. A miss
+ * loads products in a short read-only transaction and resolves their brand and type from the
+ * second-level cache rather than joining them.
+ */
+@Service
+@Slf4j
+public class ProductServiceImpl implements ProductService {
+
+	static final int MAX_CURSOR_PAGE_SIZE = 100;
+
+	private final ProductRepository productRepository;
+	private final BrandRepository brandRepository;
+	private final TypeRepository typeRepository;
+	private final CatalogCache catalogCache;
+	private final ApplicationEventPublisher eventPublisher;
+	private final TransactionTemplate readOnlyTransaction;
+
+	public ProductServiceImpl(ProductRepository productRepository, BrandRepository brandRepository,
+			TypeRepository typeRepository, CatalogCache catalogCache, ApplicationEventPublisher eventPublisher,
+			PlatformTransactionManager transactionManager) {
+		this.productRepository = productRepository;
+		this.brandRepository = brandRepository;
+		this.typeRepository = typeRepository;
+		this.catalogCache = catalogCache;
+		this.eventPublisher = eventPublisher;
+		this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+		this.readOnlyTransaction.setReadOnly(true);
+	}
+
+	@Override
+	public ProductResponse getProductById(Integer productId) {
+		ProductResponse product = catalogCache.getProduct(productId, id -> readOnlyTransaction.execute(status ->
+				productRepository.findById(id)
+						.map(CatalogMapper::toResponse)
+						.orElse(null)));
+		if (product == null) {
+			throw new ProductNotFoundException(productId);
+		}
+		return product;
+	}
+
+	@Override
+	public List<ProductResponse> getProductsByIds(Collection<Integer> productIds) {
+		return catalogCache.getProducts(productIds, this::loadProducts);
+	}
+
+	@Override
+	public Page<ProductResponse> getProducts(Pageable pageable) {
+		Page<Integer> ids = productRepository.findPageOfIds(pageable);
+		return new PageImpl<>(getProductsByIds(ids.getContent()), pageable, ids.getTotalElements());
+	}
+
+	@Override
+	public CursorPage<ProductResponse> getProductsAfter(ProductSortField field, Sort.Direction direction,
+			String cursor, int size, boolean includeCount) {
+		if (size < 1 || size > MAX_CURSOR_PAGE_SIZE) {
+			throw new IllegalArgumentException("Page size must be between 1 and " + MAX_CURSOR_PAGE_SIZE);
+		}
+		ProductCursor after = cursor == null || cursor.isBlank() ? null : ProductCursor.decode(cursor);
+		if (after != null) {
+			field = after.field();
+			direction = after.direction();
+		}
+
+		// Fetch one extra row to learn whether another page exists without counting.
+		List<KeysetRow> rows = productRepository.findIdsAfter(field, direction, after, size + 1);
+		boolean hasMore = rows.size() > size;
+		List<KeysetRow> page = hasMore ? rows.subList(0, size) : rows;
+
+		String nextCursor = null;
+		if (hasMore) {
+			KeysetRow last = page.get(page.size() - 1);
+			nextCursor = new ProductCursor(field, direction, last.sortValue(), last.id()).encode();
+		}
+		return CursorPage.<ProductResponse>builder()
+				.content(getProductsByIds(page.stream().map(KeysetRow::id).toList()))
+				.nextCursor(nextCursor)
+				.hasMore(hasMore)
+				.totalElements(includeCount ? productRepository.count() : null)
+				.build();
+	}
+
+	@Override
+	@Transactional
+	public ProductResponse createProduct(ProductRequest request) {
+		Product product = new Product();
+		apply(product, request);
+		Product saved = productRepository.save(product);
+		eventPublisher.publishEvent(new ProductChangedEvent(saved.getId(), ChangeType.CREATED));
+		log.info("Created product {}", saved.getId());
+		return CatalogMapper.toResponse(saved);
+	}
+
+	@Override
+	@Transactional
+	public ProductResponse updateProduct(Integer productId, ProductRequest request) {
+		Product product = productRepository.findById(productId)
+				.orElseThrow(() -> new ProductNotFoundException(productId));
+		apply(product, request);
+		eventPublisher.publishEvent(new ProductChangedEvent(productId, ChangeType.UPDATED));
+		return CatalogMapper.toResponse(product);
+	}
+
+	@Override
+	@Transactional
+	public void deleteProduct(Integer productId) {
+		if (!productRepository.existsById(productId)) {
+			throw new ProductNotFoundException(productId);
+		}
+		productRepository.deleteById(productId);
+		eventPublisher.publishEvent(new ProductChangedEvent(productId, ChangeType.DELETED));
+	}
+
+	private Map<Integer, ProductResponse> loadProducts(List<Integer> productIds) {
+		return readOnlyTransaction.execute(status -> productRepository.findAllById(productIds).stream()
+				.collect(Collectors.toMap(Product::getId, CatalogMapper::toResponse)));
+	}
+
+	private void apply(Product product, ProductRequest request) {
+		Brand brand = brandRepository.findById(request.getBrandId())
+				.orElseThrow(() -> new ReferenceNotFoundException("Brand", request.getBrandId()));
+		Type type = typeRepository.findById(request.getTypeId())
+				.orElseThrow(() -> new ReferenceNotFoundException("Type", request.getTypeId()));
+		product.setSku(request.getSku());
+		product.setName(request.getName());
+		product.setDescription(request.getDescription());
+		product.setPrice(request.getPrice());
+		product.setPictureUrl(request.getPictureUrl());
+		product.setBrand(brand);
+		product.setType(type);
+	}
+
+}
@@ -0,0 +1,11 @@
+package com.ecommerce.sportscenter.service;
+
+import com.ecommerce.sportscenter.model.TypeResponse;
+
+import java.util.List;
+
+public interface TypeService {
+
+	List<TypeResponse> getAllTypes();
+
+}
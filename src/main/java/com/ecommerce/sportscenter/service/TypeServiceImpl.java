@@ -0,0 +1,26 @@
+package com.ecommerce.sportscenter.service;
+
+import com.ecommerce.sportscenter.cache.CatalogCache;
+import com.ecommerce.sportscenter.mapper.CatalogMapper;
+import com.ecommerce.sportscenter.model.TypeResponse;
+import com.ecommerce.sportscenter.repository.TypeRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+public class TypeServiceImpl implements TypeService {
+
+	private final TypeRepository typeRepository;
+	private final CatalogCache catalogCache;
+
+	@Override
+	public List<TypeResponse> getAllTypes() {
+		return catalogCache.getTypes(() -> typeRepository.findAll().stream()
+				.map(CatalogMapper::toResponse)
+				.toList());
+	}
+
+}
@@ -0,0 +1,38 @@
+package com.ecommerce.sportscenter;
+
+import com.ecommerce.sportscenter.model.ProductResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SportscenterRuntimeHintsTest {
+
+	private final RuntimeHints hints = new RuntimeHints();
+
+	SportscenterRuntimeHintsTest() {
+		new SportscenterRuntimeHints().registerHints(hints, getClass().getClassLoader());
+	}
+
+	@Test
+	void registersJCacheProviderConstructor() {
+		assertThat(RuntimeHintsPredicates.reflection()
+				.onType(TypeReference.of(SportscenterRuntimeHints.JCACHE_PROVIDER))
+				.withMemberCategory(MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS)).accepts(hints);
+	}
+
+	@Test
+	void registersCacheConfiguration() {
+		assertThat(RuntimeHintsPredicates.resource().forResource("hibernate-jcache.conf")).accepts(hints);
+		assertThat(RuntimeHintsPredicates.resource().forResource("reference.conf")).accepts(hints);
+	}
+
+	@Test
+	void registersExportedTypesForJackson() {
+		assertThat(RuntimeHintsPredicates.reflection().onType(ProductResponse.class)).accepts(hints);
+	}
+
+}
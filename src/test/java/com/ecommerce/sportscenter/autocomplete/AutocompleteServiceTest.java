@@ -0,0 +1,104 @@
+package com.ecommerce.sportscenter.autocomplete;
+
+import com.ecommerce.sportscenter.event.ProductChangedEvent;
+import com.ecommerce.sportscenter.event.ProductChangedEvent.ChangeType;
+import com.ecommerce.sportscenter.model.ProductResponse;
+import com.ecommerce.sportscenter.service.ProductCatalogScanner;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class AutocompleteServiceTest {
+
+	private static final int PRODUCTS = 9;
+
+	private final ProductCatalogScanner scanner = mock(ProductCatalogScanner.class);
+	private final ProductPopularity popularity = new ProductPopularity();
+	private final AutocompleteService service =
+			new AutocompleteService(scanner, popularity, new AutocompleteProperties());
+
+	@Test
+	void rebuildsDuringAReloadStillSeeTheWholeCatalog() {
+		List<Integer> seen = new ArrayList<>();
+		scanInBatches(() -> {
+			popularity.recordView(1);
+			service.rebuildIfChanged();
+			seen.add(service.complete("shoe", PRODUCTS).size());
+		});
+		service.load();
+		seen.clear();
+
+		service.load();
+
+		assertThat(seen).isNotEmpty().containsOnly(PRODUCTS);
+		assertThat(service.complete("shoe", PRODUCTS)).hasSize(PRODUCTS);
+	}
+
+	@Test
+	void reloadsWhileScheduledRebuildsRun() throws InterruptedException {
+		scanInBatches(Thread::yield);
+		service.load();
+
+		AtomicBoolean running = new AtomicBoolean(true);
+		AtomicInteger fewest = new AtomicInteger(PRODUCTS);
+		Thread rebuilder = Thread.ofPlatform().start(() -> {
+			while (running.get()) {
+				popularity.recordView(2);
+				service.rebuildIfChanged();
+				fewest.accumulateAndGet(service.complete("shoe", PRODUCTS).size(), Math::min);
+			}
+		});
+		for (int i = 0; i < 200; i++) {
+			service.load();
+		}
+		running.set(false);
+		rebuilder.join();
+
+		assertThat(fewest.get()).isEqualTo(PRODUCTS);
+	}
+
+	@Test
+	void keepsAProductAddedWhileLoading() {
+		when(scanner.load(100)).thenReturn(Optional.of(product(100, "shoe new")));
+		AtomicBoolean added = new AtomicBoolean();
+		scanInBatches(() -> {
+			if (added.compareAndSet(false, true)) {
+				service.onProductChanged(new ProductChangedEvent(100, ChangeType.CREATED));
+			}
+		});
+
+		service.load();
+
+		assertThat(service.complete("shoe new", 5)).extracting(Suggestion::id).containsExactly(100);
+	}
+
+	// Emits the catalog in three batches, running afterBatch between them.
+	private void scanInBatches(Runnable afterBatch) {
+		doAnswer(invocation -> {
+			Consumer<List<ProductResponse>> consumer = invocation.getArgument(1);
+			for (int first = 1; first <= PRODUCTS; first += 3) {
+				consumer.accept(List.of(product(first, "shoe " + first), product(first + 1, "shoe " + (first + 1)),
+						product(first + 2, "shoe " + (first + 2))));
+				afterBatch.run();
+			}
+			return (long) PRODUCTS;
+		}).when(scanner).scan(anyInt(), any());
+	}
+
+	private static ProductResponse product(int id, String name) {
+		return ProductResponse.builder().id(id).name(name).brandId(1).productBrand("Nike").build();
+	}
+
+}
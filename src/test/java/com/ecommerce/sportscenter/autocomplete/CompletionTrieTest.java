@@ -0,0 +1,68 @@
+package com.ecommerce.sportscenter.autocomplete;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CompletionTrieTest {
+
+	@Test
+	void completesByWeightAcrossBranches() {
+		CompletionTrie trie = trie(1, "air max", 5, "air force", 50, "airpods case", 20, "ball", 100);
+
+		assertThat(trie.complete("air", 10)).extracting(Suggestion::text)
+				.containsExactly("air force", "airpods case", "air max");
+		assertThat(trie.complete("air ", 10)).extracting(Suggestion::text).containsExactly("air force", "air max");
+		assertThat(trie.complete("air m", 10)).extracting(Suggestion::text).containsExactly("air max");
+		assertThat(trie.complete("b", 10)).extracting(Suggestion::text).containsExactly("ball");
+		assertThat(trie.complete("x", 10)).isEmpty();
+	}
+
+	@Test
+	void precomputedAndScannedNodesAgree() {
+		List<Suggestion> suggestions = new ArrayList<>();
+		List<CompletionTrie.Key> keys = new ArrayList<>();
+		for (int i = 0; i < 500; i++) {
+			suggestions.add(new Suggestion("shoe " + i, Suggestion.Kind.PRODUCT, i, i % 97));
+			keys.add(new CompletionTrie.Key("shoe " + i, i));
+		}
+		CompletionTrie precomputed = CompletionTrie.build(suggestions, keys, 5, 1);
+		CompletionTrie scanned = CompletionTrie.build(suggestions, keys, 5, 10_000);
+
+		for (String prefix : List.of("", "s", "shoe", "shoe 1", "shoe 19", "shoe 480")) {
+			assertThat(precomputed.complete(prefix, 5)).extracting(Suggestion::weight)
+					.containsExactlyElementsOf(scanned.complete(prefix, 5).stream().map(Suggestion::weight).toList());
+		}
+	}
+
+	@Test
+	void suggestionReachableThroughSeveralKeysIsReturnedOnce() {
+		List<Suggestion> suggestions = List.of(new Suggestion("Trail Trail Runner", Suggestion.Kind.PRODUCT, 1, 1));
+		List<CompletionTrie.Key> keys = List.of(
+				new CompletionTrie.Key("trail trail runner", 0),
+				new CompletionTrie.Key("trail runner", 0),
+				new CompletionTrie.Key("runner", 0));
+
+		assertThat(CompletionTrie.build(suggestions, keys, 5, 1).complete("trail", 5)).hasSize(1);
+	}
+
+	@Test
+	void normalizesPunctuationAndCase() {
+		assertThat(AutocompleteService.normalize("  Nike  Air-Max 90! ")).isEqualTo("nike air max 90");
+	}
+
+	private static CompletionTrie trie(Object... textAndWeight) {
+		List<Suggestion> suggestions = new ArrayList<>();
+		List<CompletionTrie.Key> keys = new ArrayList<>();
+		for (int i = 1; i < textAndWeight.length; i += 2) {
+			String text = (String) textAndWeight[i];
+			suggestions.add(new Suggestion(text, Suggestion.Kind.PRODUCT, i, (Integer) textAndWeight[i + 1]));
+			keys.add(new CompletionTrie.Key(text, suggestions.size() - 1));
+		}
+		return CompletionTrie.build(suggestions, keys, (Integer) textAndWeight[0] * 10, 1);
+	}
+
+}
@@ -0,0 +1,41 @@
+package com.ecommerce.sportscenter.basket;
+
+import com.ecommerce.sportscenter.eventbus.RingBufferEventBus;
+import com.ecommerce.sportscenter.pricing.CompiledPromotions;
+import com.ecommerce.sportscenter.pricing.PricingEngine;
+import com.ecommerce.sportscenter.service.ProductService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class BasketServiceTest {
+
+	private final BasketProperties properties = new BasketProperties();
+	private final OffHeapBasketRepository repository = new OffHeapBasketRepository(4,
+			16L * OffHeapBasketRepository.CHUNK_SIZE, 100, Duration.ofMinutes(30), Clock.systemUTC());
+	private final PricingEngine pricingEngine = mock(PricingEngine.class);
+	private final BasketService service = new BasketService(repository, mock(ProductService.class), pricingEngine,
+			mock(RingBufferEventBus.class), properties, new SimpleMeterRegistry());
+
+	@Test
+	void addingPastIntegerRangeIsRefusedAndKeepsTheLine() {
+		when(pricingEngine.promotions()).thenReturn(CompiledPromotions.empty());
+		UUID basketId = service.createBasket().getId();
+		service.setQuantity(basketId, 7, properties.getMaxQuantity());
+
+		assertThatIllegalArgumentException()
+				.isThrownBy(() -> service.addItem(basketId, 7, Integer.MAX_VALUE))
+				.withMessageContaining("At most " + properties.getMaxQuantity());
+
+		assertThat(repository.findById(basketId).orElseThrow().quantityOf(7)).isEqualTo(properties.getMaxQuantity());
+	}
+
+}
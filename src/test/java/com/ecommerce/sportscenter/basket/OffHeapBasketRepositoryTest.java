@@ -0,0 +1,137 @@
+package com.ecommerce.sportscenter.basket;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+class OffHeapBasketRepositoryTest {
+
+	private final MutableClock clock = new MutableClock();
+	private final OffHeapBasketRepository repository =
+			new OffHeapBasketRepository(4, 16L * OffHeapBasketRepository.CHUNK_SIZE, 100, Duration.ofMinutes(30), clock);
+
+	@Test
+	void savesAndUpdatesBasketsAcrossBlockSizes() {
+		UUID id = UUID.randomUUID();
+		repository.save(Basket.empty(id));
+
+		for (int productId = 1; productId <= 40; productId++) {
+			int added = productId;
+			repository.update(id, basket -> basket.withQuantity(added, added % 5 + 1));
+		}
+		repository.update(id, basket -> basket.withQuantity(7, 0));
+
+		Basket basket = repository.findById(id).orElseThrow();
+		assertThat(basket.lines()).hasSize(39);
+		assertThat(basket.lines().get(0)).isEqualTo(new BasketLine(1, 2));
+		assertThat(basket.quantityOf(7)).isZero();
+		assertThat(basket.quantityOf(40)).isEqualTo(1);
+	}
+
+	@Test
+	void keepsManyBasketsApartAndDeletesThem() {
+		List<UUID> ids = new ArrayList<>();
+		for (int i = 0; i < 10_000; i++) {
+			UUID id = UUID.randomUUID();
+			ids.add(id);
+			repository.save(Basket.empty(id).withQuantity(i, 1));
+		}
+		for (int i = 0; i < ids.size(); i += 2) {
+			repository.deleteById(ids.get(i));
+		}
+
+		assertThat(repository.count()).isEqualTo(5_000);
+		for (int i = 0; i < ids.size(); i++) {
+			Optional<Basket> found = repository.findById(ids.get(i));
+			if (i % 2 == 0) {
+				assertThat(found).isEmpty();
+			}
+			else {
+				assertThat(found.orElseThrow().lines()).containsExactly(new BasketLine(i, 1));
+			}
+		}
+	}
+
+	@Test
+	void dropsBasketsIdleForLongerThanTheTtl() {
+		UUID idle = UUID.randomUUID();
+		UUID active = UUID.randomUUID();
+		repository.save(Basket.empty(idle));
+		repository.save(Basket.empty(active));
+
+		clock.advance(Duration.ofMinutes(20));
+		repository.findById(active);
+		clock.advance(Duration.ofMinutes(20));
+
+		assertThat(repository.removeExpired()).isEqualTo(1);
+		assertThat(repository.findById(idle)).isEmpty();
+		assertThat(repository.findById(active)).isPresent();
+		assertThat(repository.update(idle, basket -> basket)).isEmpty();
+	}
+
+	@Test
+	void restoresSnapshot(@TempDir Path directory) throws Exception {
+		Path snapshot = directory.resolve("baskets.snapshot");
+		UUID id = UUID.randomUUID();
+		repository.save(Basket.empty(id).withQuantity(3, 2).withQuantity(9, 1));
+		repository.save(Basket.empty(UUID.randomUUID()));
+
+		assertThat(repository.snapshot(snapshot)).isEqualTo(2);
+
+		OffHeapBasketRepository restored =
+				new OffHeapBasketRepository(2, OffHeapBasketRepository.CHUNK_SIZE, 100, Duration.ofMinutes(30), clock);
+		assertThat(restored.restore(snapshot)).isEqualTo(2);
+		assertThat(restored.findById(id)).contains(Basket.empty(id).withQuantity(3, 2).withQuantity(9, 1));
+	}
+
+	@Test
+	void rejectsBasketsWithTooManyLines() {
+		UUID id = UUID.randomUUID();
+		Basket basket = Basket.empty(id);
+		for (int productId = 0; productId <= 100; productId++) {
+			basket = basket.withQuantity(productId, 1);
+		}
+		Basket oversized = basket;
+
+		assertThatIllegalArgumentException().isThrownBy(() -> repository.save(oversized));
+	}
+
+	private static final class MutableClock extends Clock {
+
+		private Instant now = Instant.parse("2024-06-01T00:00:00Z");
+
+		void advance(Duration duration) {
+			now = now.plus(duration);
+		}
+
+		@Override
+		public ZoneId getZone() {
+			return ZoneOffset.UTC;
+		}
+
+		@Override
+		public Clock withZone(ZoneId zone) {
+			return this;
+		}
+
+		@Override
+		public Instant instant() {
+			return now;
+		}
+
+	}
+
+}
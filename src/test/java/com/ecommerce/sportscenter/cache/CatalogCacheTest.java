@@ -0,0 +1,91 @@
+package com.ecommerce.sportscenter.cache;
+
+import com.ecommerce.sportscenter.event.ProductChangedEvent;
+import com.ecommerce.sportscenter.event.ProductChangedEvent.ChangeType;
+import com.ecommerce.sportscenter.model.ProductResponse;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CatalogCacheTest {
+
+	private final CatalogCache cache = new CatalogCache(new CatalogCacheProperties());
+
+	@Test
+	void loadsProductOnceAndServesHitsFromMemory() {
+		AtomicInteger loads = new AtomicInteger();
+		Function<Integer, ProductResponse> loader = id -> {
+			loads.incrementAndGet();
+			return product(id);
+		};
+
+		cache.getProduct(1, loader);
+		cache.getProduct(1, loader);
+
+		assertThat(loads).hasValue(1);
+		CatalogCacheStats stats = cache.stats().get(CatalogCache.PRODUCTS_REGION);
+		assertThat(stats.hitCount()).isEqualTo(1);
+		assertThat(stats.missCount()).isEqualTo(1);
+	}
+
+	@Test
+	void bulkLoadFetchesOnlyMissesAndKeepsRequestedOrder() {
+		cache.getProduct(2, CatalogCacheTest::product);
+		AtomicInteger requested = new AtomicInteger();
+
+		List<ProductResponse> products = cache.getProducts(List.of(3, 2, 1, 99), missing -> {
+			requested.addAndGet(missing.size());
+			return missing.stream()
+					.filter(id -> id != 99)
+					.collect(Collectors.toMap(Function.identity(), CatalogCacheTest::product));
+		});
+
+		assertThat(products).extracting(ProductResponse::getId).containsExactly(3, 2, 1);
+		assertThat(requested).hasValue(3);
+	}
+
+	@Test
+	void productChangeInvalidatesEntry() {
+		AtomicInteger loads = new AtomicInteger();
+		Function<Integer, ProductResponse> loader = id -> {
+			loads.incrementAndGet();
+			return product(id);
+		};
+		cache.getProduct(5, loader);
+
+		cache.onProductChanged(new ProductChangedEvent(5, ChangeType.UPDATED));
+		cache.getProduct(5, loader);
+
+		assertThat(loads).hasValue(2);
+	}
+
+	@Test
+	void weightBoundEvictsEntries() {
+		CatalogCacheProperties properties = new CatalogCacheProperties();
+		properties.setMaximumWeight(CatalogCache.estimateWeight(product(0)) * 10L);
+		CatalogCache small = new CatalogCache(properties);
+
+		for (int id = 0; id < 1_000; id++) {
+			small.getProduct(id, CatalogCacheTest::product);
+		}
+		small.cleanUp();
+
+		assertThat(small.stats().get(CatalogCache.PRODUCTS_REGION).evictionCount()).isPositive();
+	}
+
+	private static ProductResponse product(Integer id) {
+		return ProductResponse.builder()
+				.id(id)
+				.name("Product " + id)
+				.price(1000L)
+				.productBrand("Brand")
+				.productType("Type")
+				.build();
+	}
+
+}
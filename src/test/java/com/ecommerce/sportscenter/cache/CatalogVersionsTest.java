@@ -0,0 +1,76 @@
+package com.ecommerce.sportscenter.cache;
+
+import com.ecommerce.sportscenter.cache.CatalogVersions.Validators;
+import com.ecommerce.sportscenter.event.ProductChangedEvent;
+import com.ecommerce.sportscenter.event.ProductChangedEvent.ChangeType;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CatalogVersionsTest {
+
+	private final CatalogVersions versions =
+			new CatalogVersions(Clock.fixed(Instant.parse("2024-06-01T00:00:00Z"), ZoneOffset.UTC));
+
+	@Test
+	void tagsAreStableUntilTheProductChanges() {
+		Validators before = versions.product(1);
+		assertThat(versions.product(1)).isEqualTo(before);
+		assertThat(before.eTag()).startsWith("\"").endsWith("\"");
+
+		versions.onProductChanged(new ProductChangedEvent(1, ChangeType.UPDATED));
+
+		assertThat(versions.product(1).eTag()).isNotEqualTo(before.eTag());
+		assertThat(versions.product(2)).isEqualTo(before);
+	}
+
+	@Test
+	void anyProductChangeMovesTheCatalogTag() {
+		Validators catalog = versions.catalog();
+		Validators references = versions.references();
+
+		versions.onProductChanged(new ProductChangedEvent(7, ChangeType.CREATED));
+
+		assertThat(versions.catalog().eTag()).isNotEqualTo(catalog.eTag());
+		assertThat(versions.references()).isEqualTo(references);
+	}
+
+	@Test
+	void deletingAProductDropsItsVersion() {
+		Validators floor = versions.product(3);
+		versions.onProductChanged(new ProductChangedEvent(3, ChangeType.UPDATED));
+		Validators catalog = versions.catalog();
+
+		versions.onProductChanged(new ProductChangedEvent(3, ChangeType.DELETED));
+
+		assertThat(versions.product(3)).isEqualTo(floor);
+		assertThat(versions.catalog().eTag()).isNotEqualTo(catalog.eTag());
+	}
+
+	@Test
+	void invalidateAllMovesEveryTag() {
+		versions.onProductChanged(new ProductChangedEvent(1, ChangeType.UPDATED));
+		Validators changed = versions.product(1);
+		Validators untouched = versions.product(2);
+		Validators references = versions.references();
+
+		versions.invalidateAll();
+
+		assertThat(versions.product(1).eTag()).isNotEqualTo(changed.eTag());
+		assertThat(versions.product(2).eTag()).isNotEqualTo(untouched.eTag());
+		assertThat(versions.references().eTag()).isNotEqualTo(references.eTag());
+	}
+
+	@Test
+	void tagsFromAnotherInstanceStartNeverMatch() {
+		CatalogVersions restarted =
+				new CatalogVersions(Clock.fixed(Instant.parse("2024-06-01T00:00:05Z"), ZoneOffset.UTC));
+
+		assertThat(restarted.product(1).eTag()).isNotEqualTo(versions.product(1).eTag());
+	}
+
+}
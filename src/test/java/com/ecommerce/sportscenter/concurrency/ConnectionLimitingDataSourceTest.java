@@ -0,0 +1,52 @@
+package com.ecommerce.sportscenter.concurrency;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.ConnectionProxy;
+
+import java.sql.Connection;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+class ConnectionLimitingDataSourceTest {
+
+	private final ConnectionLimitingDataSource dataSource =
+			new ConnectionLimitingDataSource(h2(), 2, Duration.ofMillis(50));
+
+	@Test
+	void timesOutWhenAllPermitsAreHeld() throws Exception {
+		try (Connection first = dataSource.getConnection(); Connection second = dataSource.getConnection()) {
+			assertThat(dataSource.availablePermits()).isZero();
+			assertThatExceptionOfType(SQLTransientConnectionException.class).isThrownBy(dataSource::getConnection);
+		}
+		assertThat(dataSource.availablePermits()).isEqualTo(2);
+	}
+
+	@Test
+	void closingTwiceReleasesOnePermit() throws Exception {
+		Connection connection = dataSource.getConnection();
+		connection.close();
+		connection.close();
+
+		assertThat(dataSource.availablePermits()).isEqualTo(2);
+	}
+
+	@Test
+	void exposesTargetConnection() throws Exception {
+		try (Connection connection = dataSource.getConnection()) {
+			assertThat(connection).isInstanceOf(ConnectionProxy.class);
+			assertThat(((ConnectionProxy) connection).getTargetConnection()).isNotSameAs(connection);
+			assertThat(connection.createStatement().executeQuery("select 1").next()).isTrue();
+		}
+	}
+
+	private static JdbcDataSource h2() {
+		JdbcDataSource h2 = new JdbcDataSource();
+		h2.setURL("jdbc:h2:mem:permits;DB_CLOSE_DELAY=-1");
+		return h2;
+	}
+
+}
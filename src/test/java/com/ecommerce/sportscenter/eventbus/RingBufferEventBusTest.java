@@ -0,0 +1,152 @@
+package com.ecommerce.sportscenter.eventbus;
+
+import com.ecommerce.sportscenter.event.ProductChangedEvent.ChangeType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RingBufferEventBusTest {
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+	private RingBufferEventBus bus;
+
+	@AfterEach
+	void tearDown() throws InterruptedException {
+		bus.stop();
+	}
+
+	@Test
+	void deliversEventsOfItsTypesToEachHandlerInOrder() throws Exception {
+		RecordingHandler views = new RecordingHandler(EnumSet.of(BusEventType.PRODUCT_VIEWED), 3);
+		RecordingHandler changes = new RecordingHandler(EnumSet.of(BusEventType.PRODUCT_CHANGED), 1);
+		start(16, views, changes);
+
+		bus.productViewed(1);
+		bus.productChanged(2, ChangeType.DELETED);
+		bus.productViewed(3);
+		bus.basketChanged(UUID.randomUUID(), 4, 2);
+		bus.productViewed(5);
+
+		assertThat(views.awaitAll()).containsExactly("PRODUCT_VIEWED 1", "PRODUCT_VIEWED 3", "PRODUCT_VIEWED 5");
+		assertThat(changes.awaitAll()).containsExactly("PRODUCT_CHANGED 2 DELETED");
+	}
+
+	@Test
+	void publishesFromManyThreadsWithoutLosingEvents() throws Exception {
+		int threads = 4;
+		int perThread = 50_000;
+		AnalyticsHandler analytics = new AnalyticsHandler(meterRegistry);
+		start(1024, analytics);
+
+		CyclicBarrier barrier = new CyclicBarrier(threads);
+		List<Thread> producers = new ArrayList<>();
+		for (int t = 0; t < threads; t++) {
+			producers.add(Thread.ofPlatform().start(() -> {
+				await(barrier);
+				for (int i = 0; i < perThread; i++) {
+					while (!bus.productViewed(i)) {
+						Thread.yield();
+					}
+				}
+			}));
+		}
+		for (Thread producer : producers) {
+			producer.join();
+		}
+		// Stopping waits for the handlers to drain what was published.
+		bus.stop();
+
+		assertThat(analytics.count(BusEventType.PRODUCT_VIEWED)).isEqualTo((long) threads * perThread);
+	}
+
+	@Test
+	void dropsViewsWhileTheRingIsFull() throws Exception {
+		CountDownLatch release = new CountDownLatch(1);
+		BusEventHandler blocked = new BusEventHandler() {
+			@Override
+			public Set<BusEventType> eventTypes() {
+				return EnumSet.allOf(BusEventType.class);
+			}
+
+			@Override
+			public void onEvent(BusEvent event) {
+				try {
+					release.await(5, TimeUnit.SECONDS);
+				}
+				catch (InterruptedException ex) {
+					Thread.currentThread().interrupt();
+				}
+			}
+		};
+		start(4, blocked);
+
+		int published = 0;
+		for (int i = 0; i < 10; i++) {
+			if (bus.productViewed(i)) {
+				published++;
+			}
+		}
+		release.countDown();
+
+		assertThat(published).isEqualTo(bus.capacity());
+		assertThat(meterRegistry.get("sportscenter.eventbus.dropped").counter().count()).isEqualTo(10 - published);
+	}
+
+	private void start(int bufferSize, BusEventHandler... handlers) {
+		EventBusProperties properties = new EventBusProperties();
+		properties.setBufferSize(bufferSize);
+		bus = new RingBufferEventBus(properties, List.of(handlers), meterRegistry);
+		bus.start();
+	}
+
+	private static void await(CyclicBarrier barrier) {
+		try {
+			barrier.await(5, TimeUnit.SECONDS);
+		}
+		catch (Exception ex) {
+			throw new IllegalStateException(ex);
+		}
+	}
+
+	private static final class RecordingHandler implements BusEventHandler {
+
+		private final Set<BusEventType> types;
+		private final List<String> events = new ArrayList<>();
+		private final CountDownLatch received;
+
+		RecordingHandler(Set<BusEventType> types, int expected) {
+			this.types = types;
+			this.received = new CountDownLatch(expected);
+		}
+
+		@Override
+		public Set<BusEventType> eventTypes() {
+			return types;
+		}
+
+		@Override
+		public void onEvent(BusEvent event) {
+			events.add(event.type() + " " + event.productId()
+					+ (event.changeType() == null ? "" : " " + event.changeType()));
+			received.countDown();
+		}
+
+		List<String> awaitAll() throws InterruptedException {
+			assertThat(received.await(5, TimeUnit.SECONDS)).isTrue();
+			return events;
+		}
+
+	}
+
+}
@@ -0,0 +1,99 @@
+package com.ecommerce.sportscenter.export;
+
+import com.ecommerce.sportscenter.entity.Brand;
+import com.ecommerce.sportscenter.entity.Product;
+import com.ecommerce.sportscenter.entity.Type;
+import com.ecommerce.sportscenter.model.ProductResponse;
+import com.ecommerce.sportscenter.repository.BrandRepository;
+import com.ecommerce.sportscenter.repository.ProductRepository;
+import com.ecommerce.sportscenter.repository.TypeRepository;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Import;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+class ProductExportServiceTest {
+
+	@Autowired
+	private ProductExportService exportService;
+
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Autowired
+	private ProductRepository productRepository;
+
+	@Autowired
+	private BrandRepository brandRepository;
+
+	@Autowired
+	private TypeRepository typeRepository;
+
+	private final List<Product> products = new ArrayList<>();
+
+	@BeforeEach
+	void setUp() {
+		Brand brand = brandRepository.save(Brand.builder().name("Brand").build());
+		Type type = typeRepository.save(Type.builder().name("Type").build());
+		String[] names = {"Ball", "Boots, \"pro\"", "Net"};
+		for (int i = 0; i < names.length; i++) {
+			products.add(productRepository.save(Product.builder()
+					.name(names[i])
+					.price(1000L * (i + 1))
+					.brand(brand)
+					.type(type)
+					.build()));
+		}
+	}
+
+	@Test
+	void writesEveryProductAsOneJsonArray() throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+		long written = exportService.export(ExportFormat.JSON, out);
+
+		List<ProductResponse> exported = objectMapper.readValue(out.toByteArray(), new TypeReference<>() {
+		});
+		assertThat(written).isEqualTo(3);
+		assertThat(exported).extracting(ProductResponse::getId)
+				.containsExactlyElementsOf(products.stream().map(Product::getId).toList());
+		assertThat(exported.get(1).getName()).isEqualTo("Boots, \"pro\"");
+		assertThat(exported.get(1).getProductBrand()).isEqualTo("Brand");
+	}
+
+	@Test
+	void writesCsvWithHeaderAndQuotedValues() throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+		exportService.export(ExportFormat.CSV, out);
+
+		List<String> lines = out.toString(StandardCharsets.UTF_8).lines().toList();
+		assertThat(lines).hasSize(4);
+		assertThat(lines.get(0)).isEqualTo("id,sku,name,description,price,pictureUrl,brandId,productBrand,typeId,productType");
+		assertThat(lines.get(2)).startsWith(products.get(1).getId() + ",,\"Boots, \"\"pro\"\"\",,2000,");
+	}
+
+	@TestConfiguration
+	@EnableConfigurationProperties(ExportProperties.class)
+	@Import(ProductExportService.class)
+	static class ExportTestConfig {
+	}
+
+}
@@ -0,0 +1,79 @@
+package com.ecommerce.sportscenter.facet;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FacetIndexTest {
+
+	private static final int NIKE = 1;
+	private static final int ADIDAS = 2;
+	private static final int SHOES = 10;
+	private static final int BOARDS = 20;
+
+	private final FacetIndex index = new FacetIndex(List.of(0L, 1000L, 5000L));
+
+	@BeforeEach
+	void setUp() {
+		index.put(1, NIKE, SHOES, 900);
+		index.put(2, NIKE, BOARDS, 1500);
+		index.put(3, ADIDAS, SHOES, 4999);
+		index.put(4, ADIDAS, SHOES, 7000);
+		index.put(5, NIKE, SHOES, 1000);
+	}
+
+	@Test
+	void unfilteredQueryCountsEverything() {
+		FacetResult result = index.query(query(Set.of(), Set.of(), null, null));
+
+		assertThat(result.total()).isEqualTo(5);
+		assertThat(result.brandCounts()).isEqualTo(Map.of(NIKE, 3, ADIDAS, 2));
+		assertThat(result.typeCounts()).isEqualTo(Map.of(SHOES, 4, BOARDS, 1));
+		assertThat(result.priceBucketCounts()).containsExactly(1, 3, 1);
+	}
+
+	@Test
+	void andsDimensionsAndOrsValues() {
+		FacetResult result = index.query(query(Set.of(NIKE, ADIDAS), Set.of(SHOES), null, null));
+
+		assertThat(result.productIds()).containsExactly(1, 3, 4, 5);
+		assertThat(result.typeCounts()).isEqualTo(Map.of(SHOES, 4));
+	}
+
+	@Test
+	void priceRangeChecksStraddlingBucketsExactly() {
+		FacetResult result = index.query(query(Set.of(), Set.of(), 950L, 5000L));
+
+		assertThat(result.productIds()).containsExactly(2, 3, 5);
+		assertThat(result.brandCounts()).isEqualTo(Map.of(NIKE, 2, ADIDAS, 1));
+	}
+
+	@Test
+	void updateMovesProductBetweenValues() {
+		index.put(1, ADIDAS, BOARDS, 6000);
+		index.remove(2);
+
+		FacetResult result = index.query(query(Set.of(ADIDAS), Set.of(BOARDS), null, null));
+
+		assertThat(result.productIds()).containsExactly(1);
+		assertThat(index.size()).isEqualTo(4);
+	}
+
+	@Test
+	void windowStartsAfterGivenId() {
+		FacetResult result = index.query(new FacetQuery(Set.of(), Set.of(), null, null, 2, 2));
+
+		assertThat(result.productIds()).containsExactly(3, 4);
+		assertThat(result.total()).isEqualTo(5);
+	}
+
+	private static FacetQuery query(Set<Integer> brands, Set<Integer> types, Long min, Long max) {
+		return new FacetQuery(brands, types, min, max, -1, 100);
+	}
+
+}
@@ -0,0 +1,112 @@
+package com.ecommerce.sportscenter.ingest;
+
+import com.ecommerce.sportscenter.ingest.CatalogFileParser.Chunk;
+import com.ecommerce.sportscenter.ingest.CatalogFileParser.ParsedChunk;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+class CatalogFileParserTest {
+
+	@TempDir
+	Path directory;
+
+	@Test
+	void splitsAtRecordBoundariesAndKeepsRowNumbers() throws IOException {
+		StringBuilder csv = new StringBuilder("SKU,Name,Price,Brand,Type,Picture_Url\r\n");
+		for (int i = 1; i <= 500; i++) {
+			csv.append("SKU-").append(i).append(',')
+					.append(i % 7 == 0 ? "\"Boots, size\n" + i + "\"" : "Ball " + i)
+					.append(',').append(i * 100).append(",Brand,Type,\r\n");
+		}
+
+		List<ImportRow> rows = new ArrayList<>();
+		List<Chunk> chunks = parseAll(ImportFormat.CSV, csv.toString(), 512, rows, new ArrayList<>());
+
+		assertThat(chunks).hasSizeGreaterThan(10);
+		assertThat(rows).hasSize(500);
+		assertThat(rows.get(0)).isEqualTo(new ImportRow(2, "SKU-1", "Ball 1", null, 100, null, "Brand", "Type"));
+		assertThat(rows.get(6).name()).isEqualTo("Boots, size\n7");
+		assertThat(rows.get(499).row()).isEqualTo(501);
+		assertThat(rows.get(499).sku()).isEqualTo("SKU-500");
+	}
+
+	@Test
+	void reportsInvalidCsvRowsWithoutStopping() throws IOException {
+		String csv = """
+				sku,name,description,price,brand,type
+				A-1,Ball,"Quoted ""text""",1999,Brand,Type
+				A-2,Ball,,12.50,Brand,Type
+				,Ball,,100,Brand,Type
+
+				A-3,"Broken,100,Brand,Type
+				""";
+
+		List<ImportRow> rows = new ArrayList<>();
+		List<RowError> errors = new ArrayList<>();
+		parseAll(ImportFormat.CSV, csv, 1 << 20, rows, errors);
+
+		assertThat(rows).singleElement().satisfies(row -> {
+			assertThat(row.row()).isEqualTo(2);
+			assertThat(row.description()).isEqualTo("Quoted \"text\"");
+		});
+		assertThat(errors).extracting(RowError::row).containsExactly(3L, 4L, 6L);
+		assertThat(errors.get(0).message()).contains("whole number of cents");
+		assertThat(errors.get(1).message()).isEqualTo("Missing sku");
+	}
+
+	@Test
+	void parsesJsonLines() throws IOException {
+		String json = """
+				{"sku":"J-1","name":"Racket","price":2599,"brand":"Brand","type":"Type","pictureUrl":"/r.png"}
+				not json
+				{"sku":"J-2","name":"Shuttle","price":"150","brand":"Brand","type":"Type"}
+				""";
+
+		List<ImportRow> rows = new ArrayList<>();
+		List<RowError> errors = new ArrayList<>();
+		parseAll(ImportFormat.NDJSON, json, 64, rows, errors);
+
+		assertThat(rows).extracting(ImportRow::sku).containsExactly("J-1", "J-2");
+		assertThat(rows.get(0).pictureUrl()).isEqualTo("/r.png");
+		assertThat(rows.get(1).price()).isEqualTo(150);
+		assertThat(errors).extracting(RowError::row).containsExactly(2L);
+	}
+
+	@Test
+	void rejectsCsvWithoutRequiredColumns() throws IOException {
+		assertThatIllegalArgumentException()
+				.isThrownBy(() -> parseAll(ImportFormat.CSV, "sku,name,brand,type\nA,B,C,D\n", 1024, new ArrayList<>(),
+						new ArrayList<>()))
+				.withMessageContaining("'price'");
+	}
+
+	private List<Chunk> parseAll(ImportFormat format, String content, int chunkSize, List<ImportRow> rows,
+			List<RowError> errors) throws IOException {
+		Path file = directory.resolve("import." + format.name());
+		Files.writeString(file, content, StandardCharsets.UTF_8);
+		CatalogFileParser parser = new CatalogFileParser(format, new ObjectMapper(), chunkSize);
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+			List<Chunk> chunks = parser.split(channel);
+			for (Chunk chunk : chunks) {
+				ParsedChunk parsed = parser.parse(channel, chunk);
+				rows.addAll(parsed.rows());
+				errors.addAll(parsed.errors());
+			}
+			return chunks;
+		}
+	}
+
+}
@@ -0,0 +1,276 @@
+package com.ecommerce.sportscenter.inventory;
+
+import com.ecommerce.sportscenter.exceptions.InsufficientStockException;
+import com.ecommerce.sportscenter.exceptions.ReservationNotFoundException;
+import com.ecommerce.sportscenter.inventory.JournalEntry.Moved;
+import com.ecommerce.sportscenter.inventory.JournalEntry.StockLine;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ReservationEngineTest {
+
+	private static final Duration TTL = Duration.ofMinutes(10);
+
+	@TempDir
+	Path directory;
+
+	private final MutableClock clock = new MutableClock();
+	private final List<ReservationJournal> journals = new ArrayList<>();
+
+	@AfterEach
+	void closeJournals() throws IOException {
+		for (ReservationJournal journal : journals) {
+			journal.close();
+		}
+	}
+
+	@Test
+	void neverOversellsUnderConcurrentReservations() throws Exception {
+		ReservationEngine engine = start(Map.of(1, 500), 0);
+		int threads = 16;
+		CountDownLatch start = new CountDownLatch(1);
+		AtomicInteger rejected = new AtomicInteger();
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+		try {
+			List<Future<Integer>> results = new ArrayList<>();
+			for (int t = 0; t < threads; t++) {
+				results.add(executor.submit(() -> {
+					start.await();
+					int committed = 0;
+					for (int i = 0; i < 100; i++) {
+						try {
+							Reservation reservation = engine.reserve(List.of(new StockLine(1, 1)), TTL);
+							engine.commit(reservation.id());
+							committed++;
+						}
+						catch (InsufficientStockException ex) {
+							rejected.incrementAndGet();
+						}
+					}
+					return committed;
+				}));
+			}
+			start.countDown();
+			int committed = 0;
+			for (Future<Integer> result : results) {
+				committed += result.get();
+			}
+
+			assertThat(committed).isEqualTo(500);
+			assertThat(rejected).hasValue(threads * 100 - 500);
+			assertThat(engine.available(1)).isZero();
+		}
+		finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	void reservationIsAllOrNothing() throws IOException {
+		ReservationEngine engine = start(Map.of(1, 5, 2, 1), 0);
+
+		assertThatThrownBy(() -> engine.reserve(List.of(new StockLine(1, 2), new StockLine(2, 2)), TTL))
+				.isInstanceOf(InsufficientStockException.class);
+
+		assertThat(engine.available(1)).isEqualTo(5);
+		assertThat(engine.available(2)).isEqualTo(1);
+	}
+
+	@Test
+	void expiredReservationsReturnTheirUnits() throws IOException {
+		ReservationEngine engine = start(Map.of(1, 3), 0);
+		Reservation reservation = engine.reserve(List.of(new StockLine(1, 2)), TTL);
+		assertThat(engine.available(1)).isEqualTo(1);
+
+		clock.advance(TTL);
+
+		assertThat(engine.find(reservation.id())).isEmpty();
+		assertThatThrownBy(() -> engine.commit(reservation.id())).isInstanceOf(ReservationNotFoundException.class);
+		assertThat(engine.available(1)).isEqualTo(3);
+		assertThat(engine.releaseExpired()).isZero();
+	}
+
+	@Test
+	void replayRestoresOpenHoldsAndUnreconciledCommits() throws IOException {
+		ReservationEngine engine = start(Map.of(1, 10, 2, 10), 0);
+		Reservation committed = engine.reserve(List.of(new StockLine(1, 3)), TTL);
+		engine.commit(committed.id());
+		Reservation open = engine.reserve(List.of(new StockLine(2, 4)), TTL);
+		Reservation released = engine.reserve(List.of(new StockLine(2, 1)), TTL);
+		engine.release(released.id());
+		closeJournals();
+
+		ReservationEngine restarted = start(Map.of(1, 10, 2, 10), 0);
+
+		assertThat(restarted.available(1)).isEqualTo(7);
+		assertThat(restarted.available(2)).isEqualTo(6);
+		assertThat(restarted.find(open.id())).isPresent();
+		assertThat(restarted.unreconciled(10)).singleElement()
+				.extracting(Moved::deltas)
+				.isEqualTo(List.of(new StockLine(1, -3)));
+	}
+
+	@Test
+	void replaySkipsChangesAlreadyInTheDatabase() throws IOException {
+		ReservationEngine engine = start(Map.of(1, 10), 0);
+		engine.commit(engine.reserve(List.of(new StockLine(1, 3)), TTL).id());
+		List<Moved> batch = engine.unreconciled(10);
+		long reconciled = batch.get(batch.size() - 1).sequence();
+		engine.markReconciled(batch.size());
+		engine.adjustTo(1, 20);
+		closeJournals();
+
+		ReservationEngine restarted = start(Map.of(1, 7), reconciled);
+
+		assertThat(restarted.available(1)).isEqualTo(20);
+		assertThat(restarted.unreconciled(10)).hasSize(1);
+	}
+
+	@Test
+	void replayIgnoresATornLastRecord() throws IOException {
+		ReservationEngine engine = start(Map.of(1, 10), 0);
+		engine.commit(engine.reserve(List.of(new StockLine(1, 3)), TTL).id());
+		closeJournals();
+		try (FileChannel channel = FileChannel.open(journalPath(), StandardOpenOption.WRITE)) {
+			channel.truncate(channel.size() - 5);
+		}
+
+		ReservationEngine restarted = start(Map.of(1, 10), 0);
+
+		// The commit is lost, but its reservation is still held.
+		assertThat(restarted.available(1)).isEqualTo(7);
+		assertThat(restarted.openReservations()).isEqualTo(1);
+	}
+
+	@Test
+	void compactionKeepsOnlyLiveRecords() throws IOException {
+		ReservationEngine engine = start(Map.of(1, 1_000), 0);
+		for (int i = 0; i < 200; i++) {
+			engine.release(engine.reserve(List.of(new StockLine(1, 1)), TTL).id());
+		}
+		Reservation open = engine.reserve(List.of(new StockLine(1, 5)), TTL);
+		engine.commit(engine.reserve(List.of(new StockLine(1, 2)), TTL).id());
+
+		engine.compactIfLargerThan(0);
+		engine.reserve(List.of(new StockLine(1, 1)), TTL);
+		closeJournals();
+
+		ReservationEngine restarted = start(Map.of(1, 1_000), 0);
+		assertThat(restarted.available(1)).isEqualTo(1_000 - 5 - 2 - 1);
+		assertThat(restarted.find(open.id())).isPresent();
+		assertThat(restarted.openReservations()).isEqualTo(2);
+	}
+
+	@Test
+	void compactionDoesNotDisturbConcurrentCommits() throws Exception {
+		ReservationEngine engine = start(Map.of(1, 100_000), 0);
+		AtomicInteger committed = new AtomicInteger();
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+		try {
+			Future<?> commits = executor.submit(() -> {
+				for (int i = 0; i < 500; i++) {
+					engine.commit(engine.reserve(List.of(new StockLine(1, 1)), TTL).id());
+					committed.incrementAndGet();
+				}
+				return null;
+			});
+			Future<?> compactions = executor.submit(() -> {
+				while (!commits.isDone()) {
+					engine.compactIfLargerThan(0);
+				}
+				return null;
+			});
+			commits.get();
+			compactions.get();
+		}
+		finally {
+			executor.shutdownNow();
+		}
+		closeJournals();
+
+		ReservationEngine restarted = start(Map.of(1, 100_000), 0);
+		assertThat(committed).hasValue(500);
+		assertThat(restarted.available(1)).isEqualTo(100_000 - 500);
+	}
+
+	@Test
+	void failedCommitSyncCancelsTheDeductionAndKeepsTheHold() throws IOException {
+		ReservationJournal failing = new ReservationJournal(journalPath(), true) {
+			@Override
+			public void sync(long sequence) {
+				throw new UncheckedIOException(new IOException("disk full"));
+			}
+		};
+		journals.add(failing);
+		ReservationEngine engine = new ReservationEngine(failing, Map.of(1, 10), 0, clock);
+		Reservation reservation = engine.reserve(List.of(new StockLine(1, 3)), TTL);
+
+		assertThatThrownBy(() -> engine.commit(reservation.id())).isInstanceOf(UncheckedIOException.class);
+
+		assertThat(engine.find(reservation.id())).isPresent();
+		assertThat(engine.available(1)).isEqualTo(7);
+		assertThat(engine.unreconciled(10)).extracting(Moved::deltas)
+				.containsExactly(List.of(new StockLine(1, -3)), List.of(new StockLine(1, 3)));
+		assertThat(engine.release(reservation.id())).isTrue();
+		assertThat(engine.available(1)).isEqualTo(10);
+	}
+
+	private ReservationEngine start(Map<Integer, Integer> stock, long reconciledSequence) throws IOException {
+		ReservationJournal journal = new ReservationJournal(journalPath(), true);
+		journals.add(journal);
+		return new ReservationEngine(journal, stock, reconciledSequence, clock);
+	}
+
+	private Path journalPath() {
+		return directory.resolve("inventory.journal");
+	}
+
+	private static final class MutableClock extends Clock {
+
+		private Instant now = Instant.parse("2024-06-01T00:00:00Z");
+
+		void advance(Duration duration) {
+			now = now.plus(duration);
+		}
+
+		@Override
+		public ZoneId getZone() {
+			return ZoneOffset.UTC;
+		}
+
+		@Override
+		public Clock withZone(ZoneId zone) {
+			return this;
+		}
+
+		@Override
+		public Instant instant() {
+			return now;
+		}
+
+	}
+
+}
@@ -0,0 +1,58 @@
+package com.ecommerce.sportscenter.jfr;
+
+import com.ecommerce.sportscenter.search.SearchEvent;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ContinuousRecordingTest {
+
+	@TempDir
+	private Path directory;
+
+	@Test
+	void dumpsTheRecordingWhenAnEventBreachesItsSla() throws Exception {
+		FlightRecorderProperties properties = new FlightRecorderProperties();
+		properties.setDumpDirectory(directory);
+		properties.setSearchSla(Duration.ofMillis(50));
+
+		try (ContinuousRecording recording = new ContinuousRecording(properties)) {
+			recording.start();
+			SearchEvent fast = new SearchEvent();
+			fast.commit();
+			SearchEvent slow = new SearchEvent();
+			slow.begin();
+			Thread.sleep(100);
+			slow.commit();
+
+			// The stream delivers events about once a second.
+			long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+			while (dumps().isEmpty() && System.nanoTime() < deadline) {
+				Thread.sleep(100);
+			}
+		}
+
+		List<Path> dumps = dumps();
+		assertThat(dumps).hasSize(1);
+		List<RecordedEvent> searches = RecordingFile.readAllEvents(dumps.get(0)).stream()
+				.filter(event -> event.getEventType().getName().equals(SearchEvent.NAME))
+				.toList();
+		assertThat(searches).anyMatch(event -> event.getDuration().toMillis() >= 100);
+	}
+
+	private List<Path> dumps() throws Exception {
+		try (Stream<Path> files = Files.list(directory)) {
+			return files.filter(file -> file.toString().endsWith(".jfr")).toList();
+		}
+	}
+
+}
@@ -0,0 +1,116 @@
+package com.ecommerce.sportscenter.order;
+
+import com.ecommerce.sportscenter.exceptions.IdempotencyKeyReusedException;
+import com.ecommerce.sportscenter.exceptions.InsufficientStockException;
+import com.ecommerce.sportscenter.model.CheckoutRequest;
+import com.ecommerce.sportscenter.model.OrderResponse;
+import com.ecommerce.sportscenter.repository.CustomerOrderRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.mockito.Mockito.mock;
+
+class IdempotencyStoreTest {
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+	private final IdempotencyStore store = new IdempotencyStore(new OrderProperties(),
+			mock(CustomerOrderRepository.class), new TransactionTemplate(), meterRegistry);
+	private final CheckoutRequest request = CheckoutRequest.builder().basketId(UUID.randomUUID()).build();
+	private final AtomicInteger checkouts = new AtomicInteger();
+
+	@Test
+	void replaysTheFirstResult() {
+		OrderResponse first = store.execute("key-1", request, () -> place(1L));
+		OrderResponse retry = store.execute("key-1", copy(request), () -> place(2L));
+
+		assertThat(retry).isSameAs(first);
+		assertThat(checkouts).hasValue(1);
+		assertThat(meterRegistry.get("sportscenter.checkout.replays").counter().count()).isEqualTo(1);
+	}
+
+	@Test
+	void coalescesConcurrentDuplicates() throws Exception {
+		CountDownLatch release = new CountDownLatch(1);
+		CompletableFuture<OrderResponse> first = CompletableFuture.supplyAsync(() -> store.execute("key-1", request,
+				() -> {
+					await(release);
+					return place(1L);
+				}));
+		while (checkouts.get() == 0 && !first.isDone()) {
+			Thread.onSpinWait();
+		}
+		CompletableFuture<OrderResponse> duplicate = CompletableFuture.supplyAsync(() -> store.execute("key-1",
+				request, () -> place(2L)));
+		while (meterRegistry.get("sportscenter.checkout.replays").counter().count() == 0) {
+			Thread.onSpinWait();
+		}
+		release.countDown();
+
+		assertThat(duplicate.get(5, TimeUnit.SECONDS)).isSameAs(first.get(5, TimeUnit.SECONDS));
+		assertThat(checkouts).hasValue(1);
+	}
+
+	@Test
+	void forgetsFailuresSoTheClientCanRetry() {
+		assertThatExceptionOfType(InsufficientStockException.class).isThrownBy(() -> store.execute("key-1", request,
+				() -> {
+					checkouts.incrementAndGet();
+					throw new InsufficientStockException(List.of(1));
+				}));
+
+		OrderResponse retry = store.execute("key-1", request, () -> place(1L));
+
+		assertThat(retry.getId()).isEqualTo(1L);
+		assertThat(checkouts).hasValue(2);
+	}
+
+	@Test
+	void rejectsAKeyReusedForADifferentRequest() {
+		store.execute("key-1", request, () -> place(1L));
+		CheckoutRequest other = CheckoutRequest.builder().basketId(UUID.randomUUID()).build();
+
+		assertThatExceptionOfType(IdempotencyKeyReusedException.class)
+				.isThrownBy(() -> store.execute("key-1", other, () -> place(2L)));
+		assertThat(checkouts).hasValue(1);
+	}
+
+	@Test
+	void rejectsMalformedKeys() {
+		assertThatIllegalArgumentException().isThrownBy(() -> store.execute(" ", request, () -> place(1L)));
+		assertThatIllegalArgumentException().isThrownBy(() -> store.execute("k".repeat(65), request, () -> place(1L)));
+	}
+
+	private OrderResponse place(long orderId) {
+		checkouts.incrementAndGet();
+		return OrderResponse.builder().id(orderId).basketId(request.getBasketId()).build();
+	}
+
+	private static CheckoutRequest copy(CheckoutRequest request) {
+		return CheckoutRequest.builder()
+				.basketId(request.getBasketId())
+				.reservationId(request.getReservationId())
+				.couponCode(request.getCouponCode())
+				.build();
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			latch.await(5, TimeUnit.SECONDS);
+		}
+		catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+}
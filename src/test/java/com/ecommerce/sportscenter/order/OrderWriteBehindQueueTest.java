@@ -0,0 +1,97 @@
+package com.ecommerce.sportscenter.order;
+
+import com.ecommerce.sportscenter.entity.CustomerOrder;
+import com.ecommerce.sportscenter.exceptions.CheckoutUnavailableException;
+import com.ecommerce.sportscenter.exceptions.InsufficientStockException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+class OrderWriteBehindQueueTest {
+
+	private final OrderWriter orderWriter = mock(OrderWriter.class);
+	private final List<Integer> groupSizes = new CopyOnWriteArrayList<>();
+	private OrderWriteBehindQueue queue;
+
+	@AfterEach
+	void tearDown() throws InterruptedException {
+		if (queue != null) {
+			queue.stop();
+		}
+	}
+
+	@Test
+	void writesQueuedOrdersInOneGroup() throws Exception {
+		recordGroups(null);
+		queue = new OrderWriteBehindQueue(orderWriter, new OrderProperties());
+		List<CompletableFuture<CustomerOrder>> results = List.of(queue.submit(order()), queue.submit(order()),
+				queue.submit(order()));
+
+		queue.start();
+
+		CompletableFuture.allOf(results.toArray(CompletableFuture[]::new)).get(5, TimeUnit.SECONDS);
+		assertThat(groupSizes).containsExactly(3);
+	}
+
+	@Test
+	void retriesOrdersOneByOneWhenTheirGroupFails() throws Exception {
+		CustomerOrder outOfStock = order();
+		recordGroups(outOfStock);
+		queue = new OrderWriteBehindQueue(orderWriter, new OrderProperties());
+		CompletableFuture<CustomerOrder> first = queue.submit(order());
+		CompletableFuture<CustomerOrder> failing = queue.submit(outOfStock);
+		CompletableFuture<CustomerOrder> last = queue.submit(order());
+
+		queue.start();
+
+		assertThat(first.get(5, TimeUnit.SECONDS)).isNotNull();
+		assertThat(last.get(5, TimeUnit.SECONDS)).isNotNull();
+		assertThatExceptionOfType(ExecutionException.class).isThrownBy(() -> failing.get(5, TimeUnit.SECONDS))
+				.withCauseInstanceOf(InsufficientStockException.class);
+		assertThat(groupSizes).containsExactly(3, 1, 1, 1);
+	}
+
+	@Test
+	void turnsOrdersAwayWhenTheQueueIsFull() {
+		OrderProperties properties = new OrderProperties();
+		properties.setWriteBehindQueueCapacity(1);
+		queue = new OrderWriteBehindQueue(orderWriter, properties);
+		queue.submit(order());
+
+		assertThatExceptionOfType(CheckoutUnavailableException.class).isThrownBy(() -> queue.submit(order()));
+	}
+
+	private void recordGroups(CustomerOrder failing) {
+		doAnswer(invocation -> {
+			List<CustomerOrder> orders = invocation.getArgument(0);
+			groupSizes.add(orders.size());
+			if (failing != null && orders.contains(failing)) {
+				throw new InsufficientStockException(List.of(1));
+			}
+			return null;
+		}).when(orderWriter).write(anyList());
+	}
+
+	private static CustomerOrder order() {
+		return CustomerOrder.builder()
+				.basketId(UUID.randomUUID())
+				.createdAt(Instant.now())
+				.totalQuantity(1)
+				.subtotal(100L)
+				.build();
+	}
+
+}
@@ -0,0 +1,128 @@
+package com.ecommerce.sportscenter.order;
+
+import com.ecommerce.sportscenter.entity.CustomerOrder;
+import com.ecommerce.sportscenter.entity.OrderLine;
+import com.ecommerce.sportscenter.entity.ProductStock;
+import com.ecommerce.sportscenter.exceptions.InsufficientStockException;
+import com.ecommerce.sportscenter.inventory.InventoryProperties;
+import com.ecommerce.sportscenter.outbox.Outbox;
+import com.ecommerce.sportscenter.repository.CustomerOrderRepository;
+import com.ecommerce.sportscenter.repository.OutboxEventRepository;
+import com.ecommerce.sportscenter.repository.ProductStockRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+// Not transactional: the writer commits or rolls back its own transaction.
+@DataJpaTest
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class OrderWriterTest {
+
+	private static final int BALL = 1;
+	private static final int BOOTS = 2;
+
+	@Autowired
+	private OrderWriter orderWriter;
+
+	@Autowired
+	private ProductStockRepository stockRepository;
+
+	@Autowired
+	private CustomerOrderRepository orderRepository;
+
+	@Autowired
+	private OutboxEventRepository outboxRepository;
+
+	@BeforeEach
+	void setUp() {
+		stockRepository.saveAll(List.of(new ProductStock(BALL, 5), new ProductStock(BOOTS, 1)));
+	}
+
+	@AfterEach
+	void tearDown() {
+		outboxRepository.deleteAllInBatch();
+		orderRepository.deleteAll();
+		stockRepository.deleteAllInBatch();
+	}
+
+	@Test
+	void takesStockForEveryOrderInTheGroup() {
+		orderWriter.write(List.of(order(BALL, 2), order(BALL, 1), order(BOOTS, 1)));
+
+		assertThat(available(BALL)).isEqualTo(2);
+		assertThat(available(BOOTS)).isZero();
+		assertThat(orderRepository.count()).isEqualTo(3);
+	}
+
+	@Test
+	void aShortLineFailsTheGroupAndLeavesTheOtherOrdersWritable() {
+		CustomerOrder ball = order(BALL, 2);
+		CustomerOrder boots = order(BOOTS, 3);
+
+		assertThatExceptionOfType(InsufficientStockException.class)
+				.isThrownBy(() -> orderWriter.write(List.of(ball, boots)))
+				.withMessageContaining("[" + BOOTS + "]");
+
+		assertThat(available(BALL)).isEqualTo(5);
+		assertThat(available(BOOTS)).isEqualTo(1);
+		assertThat(orderRepository.count()).isZero();
+		assertThat(outboxRepository.count()).isZero();
+		assertThat(ball.getId()).isNull();
+
+		orderWriter.write(List.of(ball));
+
+		assertThat(available(BALL)).isEqualTo(3);
+		assertThat(orderRepository.count()).isEqualTo(1);
+		assertThat(outboxRepository.count()).isEqualTo(1);
+	}
+
+	@Test
+	void productsWithoutStockRowsAreShort() {
+		assertThatExceptionOfType(InsufficientStockException.class)
+				.isThrownBy(() -> orderWriter.write(List.of(order(99, 1))))
+				.withMessageContaining("[99]");
+	}
+
+	private int available(int productId) {
+		return stockRepository.findById(productId).orElseThrow().getAvailable();
+	}
+
+	private static CustomerOrder order(int productId, int quantity) {
+		CustomerOrder order = CustomerOrder.builder()
+				.createdAt(Instant.now())
+				.totalQuantity(quantity)
+				.subtotal(1000L * quantity)
+				.build();
+		order.addLine(OrderLine.builder()
+				.productId(productId)
+				.productName("Product " + productId)
+				.unitPrice(1000L)
+				.quantity(quantity)
+				.lineTotal(1000L * quantity)
+				.build());
+		return order;
+	}
+
+	@TestConfiguration
+	@EnableConfigurationProperties(InventoryProperties.class)
+	@Import({OrderWriter.class, Outbox.class})
+	static class OrderWriterTestConfig {
+	}
+
+}
@@ -0,0 +1,87 @@
+package com.ecommerce.sportscenter.outbox;
+
+import com.ecommerce.sportscenter.entity.OutboxEvent;
+import com.ecommerce.sportscenter.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Not transactional: each relay batch commits its own transaction.
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class OutboxRelayTest {
+
+	@Autowired
+	private OutboxEventRepository repository;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	private final OutboxProperties properties = new OutboxProperties();
+	private final List<List<OutboxMessage>> batches = new ArrayList<>();
+
+	@BeforeEach
+	void setUp() {
+		properties.setBatchSize(2);
+		List<OutboxEvent> events = new ArrayList<>();
+		for (int i = 1; i <= 5; i++) {
+			events.add(OutboxEvent.builder()
+					.eventType(Outbox.ORDER_PLACED)
+					.aggregateId(String.valueOf(i))
+					.payload("{\"id\":" + i + "}")
+					.createdAt(Instant.now())
+					.build());
+		}
+		repository.saveAll(events);
+	}
+
+	@AfterEach
+	void tearDown() {
+		repository.deleteAllInBatch();
+	}
+
+	@Test
+	void publishesInBatchesInOrderAndDeletesThem() {
+		long relayed = relay(batches::add);
+
+		assertThat(relayed).isEqualTo(5);
+		assertThat(batches).extracting(List::size).containsExactly(2, 2, 1);
+		assertThat(batches.stream().flatMap(List::stream).map(OutboxMessage::aggregateId))
+				.containsExactly("1", "2", "3", "4", "5");
+		assertThat(batches.get(0).get(0).payload()).isEqualTo("{\"id\":1}");
+		assertThat(repository.count()).isZero();
+	}
+
+	@Test
+	void keepsEventsWhenPublishingFails() {
+		long relayed = relay(messages -> {
+			throw new IOException("broker unavailable");
+		});
+
+		assertThat(relayed).isZero();
+		assertThat(repository.count()).isEqualTo(5);
+
+		assertThat(relay(batches::add)).isEqualTo(5);
+		assertThat(repository.count()).isZero();
+	}
+
+	private long relay(OutboxSink sink) {
+		return new OutboxRelay(repository, new TransactionTemplate(transactionManager), sink, properties,
+				new SimpleMeterRegistry()).relay();
+	}
+
+}
@@ -0,0 +1,31 @@
+package com.ecommerce.sportscenter.pagination;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+class ProductCursorTest {
+
+	@Test
+	void roundTripsPriceCursor() {
+		ProductCursor cursor = new ProductCursor(ProductSortField.PRICE, Sort.Direction.DESC, 4999L, 42);
+
+		assertThat(ProductCursor.decode(cursor.encode())).isEqualTo(cursor);
+	}
+
+	@Test
+	void roundTripsNameContainingSeparator() {
+		ProductCursor cursor = new ProductCursor(ProductSortField.NAME, Sort.Direction.ASC, "Boots | Trail", 7);
+
+		assertThat(ProductCursor.decode(cursor.encode())).isEqualTo(cursor);
+	}
+
+	@Test
+	void rejectsTamperedToken() {
+		assertThatIllegalArgumentException().isThrownBy(() -> ProductCursor.decode("not-a-cursor"));
+		assertThatIllegalArgumentException().isThrownBy(() -> ProductCursor.decode("%%%"));
+	}
+
+}
@@ -0,0 +1,164 @@
+package com.ecommerce.sportscenter.pricing;
+
+import com.ecommerce.sportscenter.pricing.PromotionRule.Scope;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+class CompiledPromotionsTest {
+
+	private static final int NIKE = 1;
+	private static final int ADIDAS = 2;
+	private static final int SHOES = 10;
+	private static final int BOARDS = 20;
+	private static final long NOW = Instant.parse("2024-06-01T12:00:00Z").toEpochMilli();
+
+	@Test
+	void appliesTheLargestDiscountInScope() {
+		CompiledPromotions promotions = CompiledPromotions.compile(List.of(
+				percent("nike-10", Scope.BRAND, NIKE, 10),
+				amount("shoes-15", Scope.TYPE, SHOES, 1500),
+				percent("all-5", Scope.ALL, null, 5)));
+
+		assertThat(promotions.unitPrice(NIKE, SHOES, 10_000, NOW)).isEqualTo(8_500);
+		assertThat(promotions.unitPrice(NIKE, SHOES, 20_000, NOW)).isEqualTo(18_000);
+		assertThat(promotions.unitPrice(NIKE, BOARDS, 10_000, NOW)).isEqualTo(9_000);
+		assertThat(promotions.unitPrice(ADIDAS, BOARDS, 10_000, NOW)).isEqualTo(9_500);
+	}
+
+	@Test
+	void amountOffNeverGoesBelowZero() {
+		CompiledPromotions promotions = CompiledPromotions.compile(List.of(amount("big", Scope.ALL, null, 5_000)));
+
+		assertThat(promotions.unitPrice(NIKE, SHOES, 3_000, NOW)).isZero();
+	}
+
+	@Test
+	void earlierRuleWinsATie() {
+		CompiledPromotions promotions = CompiledPromotions.compile(List.of(
+				percent("first", Scope.TYPE, SHOES, 10),
+				percent("second", Scope.BRAND, NIKE, 10)));
+
+		assertThat(priceBasket(promotions, null, line(NIKE, SHOES, 1_000, 1)).rules()).containsExactly(0);
+	}
+
+	@Test
+	void couponRulesOnlyApplyWithTheirCoupon() {
+		CompiledPromotions promotions = CompiledPromotions.compile(List.of(
+				new PromotionRule("summer", Scope.ALL, null, 20, null, null, "SUMMER24", null, null)));
+
+		assertThat(promotions.unitPrice(NIKE, SHOES, 1_000, NOW)).isEqualTo(1_000);
+		assertThat(priceBasket(promotions, null, line(NIKE, SHOES, 1_000, 1)).unitPrices()).containsExactly(1_000);
+		assertThat(priceBasket(promotions, "WINTER", line(NIKE, SHOES, 1_000, 1)).unitPrices()).containsExactly(1_000);
+		assertThat(priceBasket(promotions, " summer24 ", line(NIKE, SHOES, 1_000, 1)).unitPrices())
+				.containsExactly(800);
+	}
+
+	@Test
+	void minimumSubtotalIsCheckedAgainstListPrices() {
+		CompiledPromotions promotions = CompiledPromotions.compile(List.of(
+				new PromotionRule("over-50", Scope.ALL, null, null, 500L, 5_000L, null, null, null),
+				new PromotionRule("over-100", Scope.ALL, null, null, 1_500L, 10_000L, null, null, null)));
+
+		assertThat(promotions.unitPrice(NIKE, SHOES, 20_000, NOW)).isEqualTo(20_000);
+		assertThat(priceBasket(promotions, null, line(NIKE, SHOES, 2_000, 2)).unitPrices()).containsExactly(2_000);
+		assertThat(priceBasket(promotions, null, line(NIKE, SHOES, 2_500, 2)).unitPrices()).containsExactly(2_000);
+
+		Priced priced = priceBasket(promotions, null, line(NIKE, SHOES, 2_500, 2), line(ADIDAS, BOARDS, 5_000, 1));
+		assertThat(priced.unitPrices()).containsExactly(1_000, 3_500);
+		assertThat(priced.discount()).isEqualTo(4_500);
+	}
+
+	@Test
+	void rulesOnlyApplyWithinTheirValidity() {
+		Instant start = Instant.ofEpochMilli(NOW + 1_000);
+		Instant end = Instant.ofEpochMilli(NOW + 2_000);
+		CompiledPromotions promotions = CompiledPromotions.compile(List.of(
+				new PromotionRule("flash", Scope.ALL, null, 50, null, null, null, start, end)));
+
+		assertThat(promotions.unitPrice(NIKE, SHOES, 1_000, NOW)).isEqualTo(1_000);
+		assertThat(promotions.nextChangeAfter(NOW)).isEqualTo(start.toEpochMilli());
+		assertThat(promotions.unitPrice(NIKE, SHOES, 1_000, start.toEpochMilli())).isEqualTo(500);
+		assertThat(promotions.nextChangeAfter(start.toEpochMilli())).isEqualTo(end.toEpochMilli());
+		assertThat(promotions.unitPrice(NIKE, SHOES, 1_000, end.toEpochMilli())).isEqualTo(1_000);
+		assertThat(promotions.nextChangeAfter(end.toEpochMilli())).isEqualTo(Long.MAX_VALUE);
+	}
+
+	@Test
+	void handlesRuleSetsLargerThanOneWord() {
+		List<PromotionRule> rules = new ArrayList<>();
+		for (int i = 0; i < 200; i++) {
+			rules.add(amount("brand-" + i, Scope.BRAND, i, i + 1));
+		}
+		CompiledPromotions promotions = CompiledPromotions.compile(rules);
+
+		assertThat(promotions.unitPrice(150, SHOES, 1_000, NOW)).isEqualTo(849);
+		assertThat(promotions.unitPrice(500, SHOES, 1_000, NOW)).isEqualTo(1_000);
+		assertThat(promotions.rule(priceBasket(promotions, null, line(199, SHOES, 1_000, 1)).rules()[0]).id())
+				.isEqualTo("brand-199");
+	}
+
+	@Test
+	void emptyRuleSetLeavesPricesAlone() {
+		Priced priced = priceBasket(CompiledPromotions.empty(), "ANY", line(NIKE, SHOES, 1_000, 3));
+
+		assertThat(priced.unitPrices()).containsExactly(1_000);
+		assertThat(priced.rules()).containsExactly(-1);
+		assertThat(priced.discount()).isZero();
+	}
+
+	@Test
+	void rejectsInvalidRules() {
+		assertThatIllegalArgumentException().isThrownBy(() -> CompiledPromotions.compile(List.of(
+				new PromotionRule("both", Scope.ALL, null, 10, 100L, null, null, null, null))));
+		assertThatIllegalArgumentException().isThrownBy(() -> CompiledPromotions.compile(List.of(
+				percent("no-target", Scope.BRAND, null, 10))));
+		assertThatIllegalArgumentException().isThrownBy(() -> CompiledPromotions.compile(List.of(
+				percent("too-much", Scope.ALL, null, 101))));
+		assertThatIllegalArgumentException().isThrownBy(() -> CompiledPromotions.compile(List.of(
+				percent("same", Scope.ALL, null, 10), percent("same", Scope.ALL, null, 20))));
+		assertThatIllegalArgumentException().isThrownBy(() -> CompiledPromotions.compile(List.of(
+				new PromotionRule("backwards", Scope.ALL, null, 10, null, null, null, Instant.ofEpochMilli(NOW),
+						Instant.ofEpochMilli(NOW)))));
+	}
+
+	private static PromotionRule percent(String id, Scope scope, Integer targetId, int percentOff) {
+		return new PromotionRule(id, scope, targetId, percentOff, null, null, null, null, null);
+	}
+
+	private static PromotionRule amount(String id, Scope scope, Integer targetId, long amountOff) {
+		return new PromotionRule(id, scope, targetId, null, amountOff, null, null, null, null);
+	}
+
+	private static long[] line(int brandId, int typeId, long price, int quantity) {
+		return new long[] {brandId, typeId, price, quantity};
+	}
+
+	private static Priced priceBasket(CompiledPromotions promotions, String couponCode, long[]... lines) {
+		int count = lines.length;
+		int[] brandIds = new int[count];
+		int[] typeIds = new int[count];
+		long[] prices = new long[count];
+		int[] quantities = new int[count];
+		for (int i = 0; i < count; i++) {
+			brandIds[i] = (int) lines[i][0];
+			typeIds[i] = (int) lines[i][1];
+			prices[i] = lines[i][2];
+			quantities[i] = (int) lines[i][3];
+		}
+		long[] unitPrices = new long[count];
+		int[] rules = new int[count];
+		long discount = promotions.priceBasket(brandIds, typeIds, prices, quantities, count, couponCode, NOW,
+				unitPrices, rules);
+		return new Priced(unitPrices, rules, discount);
+	}
+
+	private record Priced(long[] unitPrices, int[] rules, long discount) {
+	}
+
+}
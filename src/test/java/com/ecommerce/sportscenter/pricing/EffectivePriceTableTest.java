@@ -0,0 +1,100 @@
+package com.ecommerce.sportscenter.pricing;
+
+import com.ecommerce.sportscenter.cache.CatalogVersions;
+import com.ecommerce.sportscenter.event.ProductChangedEvent;
+import com.ecommerce.sportscenter.event.ProductChangedEvent.ChangeType;
+import com.ecommerce.sportscenter.event.PromotionsChangedEvent;
+import com.ecommerce.sportscenter.model.ProductResponse;
+import com.ecommerce.sportscenter.pricing.PromotionRule.Scope;
+import com.ecommerce.sportscenter.service.ProductCatalogScanner;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class EffectivePriceTableTest {
+
+	private static final int NIKE = 1;
+	private static final int ADIDAS = 2;
+	private static final int SHOES = 10;
+
+	private final ProductCatalogScanner scanner = mock(ProductCatalogScanner.class);
+	private final CatalogVersions versions = new CatalogVersions();
+	private EffectivePriceTable table;
+	private PricingEngine engine;
+
+	@BeforeEach
+	void setUp() {
+		engine = new PricingEngine(new PricingProperties(), new ObjectMapper(), event -> {
+			if (event instanceof PromotionsChangedEvent changed && table != null) {
+				table.onPromotionsChanged(changed);
+			}
+		});
+		table = new EffectivePriceTable(scanner, engine, versions, new PricingProperties());
+		doAnswer(invocation -> {
+			Consumer<List<ProductResponse>> consumer = invocation.getArgument(1);
+			consumer.accept(List.of(product(1, NIKE, 1_000), product(2, ADIDAS, 2_000)));
+			return 2L;
+		}).when(scanner).scan(anyInt(), any());
+		engine.install(List.of(percent("nike", Scope.BRAND, NIKE, 10)));
+		table.load();
+	}
+
+	@Test
+	void servesPricesComputedAtLoad() {
+		assertThat(table.effectivePrice(product(1, NIKE, 1_000))).isEqualTo(900);
+		assertThat(table.effectivePrice(product(2, ADIDAS, 2_000))).isEqualTo(2_000);
+	}
+
+	@Test
+	void recomputesAffectedProductsWhenPromotionsChange() {
+		String eTag = versions.catalog().eTag();
+
+		engine.install(List.of(percent("nike", Scope.BRAND, NIKE, 10), percent("adidas", Scope.BRAND, ADIDAS, 25)));
+
+		assertThat(table.effectivePrice(product(2, ADIDAS, 2_000))).isEqualTo(1_500);
+		assertThat(versions.catalog().eTag()).isNotEqualTo(eTag);
+	}
+
+	@Test
+	void updatesSlotOnProductChange() {
+		when(scanner.load(3)).thenReturn(Optional.of(product(3, NIKE, 5_000)));
+		table.onProductChanged(new ProductChangedEvent(3, ChangeType.CREATED));
+		when(scanner.load(2)).thenReturn(Optional.of(product(2, NIKE, 2_000)));
+		table.onProductChanged(new ProductChangedEvent(2, ChangeType.UPDATED));
+
+		assertThat(table.effectivePrice(product(3, NIKE, 5_000))).isEqualTo(4_500);
+		assertThat(table.effectivePrice(product(2, NIKE, 2_000))).isEqualTo(1_800);
+	}
+
+	@Test
+	void evaluatesPromotionsWhenTheTableIsBehind() {
+		assertThat(table.effectivePrice(product(1, NIKE, 3_000))).isEqualTo(2_700);
+		assertThat(table.effectivePrice(product(99, ADIDAS, 3_000))).isEqualTo(3_000);
+	}
+
+	private static PromotionRule percent(String id, Scope scope, Integer targetId, int percentOff) {
+		return new PromotionRule(id, scope, targetId, percentOff, null, null, null, null, null);
+	}
+
+	private static ProductResponse product(int id, int brandId, long price) {
+		return ProductResponse.builder()
+				.id(id)
+				.name("Product " + id)
+				.price(price)
+				.brandId(brandId)
+				.typeId(SHOES)
+				.build();
+	}
+
+}
@@ -0,0 +1,94 @@
+package com.ecommerce.sportscenter.querybudget;
+
+import com.ecommerce.sportscenter.entity.Brand;
+import com.ecommerce.sportscenter.entity.Product;
+import com.ecommerce.sportscenter.entity.Type;
+import com.ecommerce.sportscenter.repository.BrandRepository;
+import com.ecommerce.sportscenter.repository.ProductRepository;
+import com.ecommerce.sportscenter.repository.TypeRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Catalog reads stay within the query budget, which the test profile enforces: a request that runs
+ * into an N+1 fails instead of returning 200.
+ */
+@SpringBootTest(properties = {
+		"sportscenter.query-budget.max-statements=10",
+		"sportscenter.query-budget.max-repeats=2"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class CatalogQueryBudgetTest {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private ProductRepository productRepository;
+
+	@Autowired
+	private BrandRepository brandRepository;
+
+	@Autowired
+	private TypeRepository typeRepository;
+
+	private final List<Product> products = new ArrayList<>();
+
+	@BeforeEach
+	void setUp() {
+		List<Brand> brands = new ArrayList<>();
+		List<Type> types = new ArrayList<>();
+		for (int i = 0; i < 5; i++) {
+			brands.add(brandRepository.save(Brand.builder().name("Brand " + i).build()));
+			types.add(typeRepository.save(Type.builder().name("Type " + i).build()));
+		}
+		for (int i = 0; i < 20; i++) {
+			products.add(productRepository.save(Product.builder()
+					.name("Product " + i)
+					.price(1000L + i)
+					.brand(brands.get(i % brands.size()))
+					.type(types.get(i % types.size()))
+					.build()));
+		}
+	}
+
+	@AfterEach
+	void tearDown() {
+		productRepository.deleteAllInBatch();
+		brandRepository.deleteAll();
+		typeRepository.deleteAll();
+	}
+
+	@Test
+	void listsProductsWithinBudget() throws Exception {
+		mockMvc.perform(get("/api/products").param("size", "20")).andExpect(status().isOk());
+		mockMvc.perform(get("/api/products/cursor").param("size", "20")).andExpect(status().isOk());
+	}
+
+	@Test
+	void loadsSingleProductsWithinBudget() throws Exception {
+		for (Product product : products) {
+			mockMvc.perform(get("/api/products/{id}", product.getId())).andExpect(status().isOk());
+		}
+	}
+
+	@Test
+	void listsReferenceDataWithinBudget() throws Exception {
+		mockMvc.perform(get("/api/products/brands")).andExpect(status().isOk());
+		mockMvc.perform(get("/api/products/types")).andExpect(status().isOk());
+	}
+
+}
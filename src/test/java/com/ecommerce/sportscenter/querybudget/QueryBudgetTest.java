@@ -0,0 +1,65 @@
+package com.ecommerce.sportscenter.querybudget;
+
+import com.ecommerce.sportscenter.exceptions.QueryBudgetExceededException;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class QueryBudgetTest {
+
+	private final QueryCountingInspector inspector = new QueryCountingInspector();
+
+	@Test
+	void countsStatementsOnlyInsideABudget() {
+		inspector.inspect("select 1");
+		try (QueryBudget budget = QueryBudget.open("test", 10, 10, true)) {
+			inspector.inspect("select 1");
+			inspector.inspect("select 2");
+
+			assertThat(budget.statements()).isEqualTo(2);
+			assertThat(budget.violations()).isZero();
+		}
+	}
+
+	@Test
+	void failsTheStatementThatRepeatsTooOften() {
+		try (QueryBudget budget = QueryBudget.open("GET /api/products", 100, 3, true)) {
+			for (int i = 0; i < 3; i++) {
+				inspector.inspect("select b.name from brands b where b.id=?");
+			}
+
+			assertThatThrownBy(() -> inspector.inspect("select b.name from brands b where b.id=?"))
+					.isInstanceOf(QueryBudgetExceededException.class)
+					.hasMessageContaining("GET /api/products")
+					.hasMessageContaining("likely N+1");
+			assertThat(budget.violations()).isEqualTo(1);
+		}
+	}
+
+	@Test
+	void onlyLogsWhenNotFailing() {
+		try (QueryBudget budget = QueryBudget.open("test", 2, 10, false)) {
+			for (int i = 0; i < 5; i++) {
+				inspector.inspect("select " + i);
+			}
+
+			assertThat(budget.statements()).isEqualTo(5);
+			assertThat(budget.violations()).isEqualTo(1);
+		}
+	}
+
+	@Test
+	void resumesTheEnclosingBudget() {
+		try (QueryBudget outer = QueryBudget.open("outer", 10, 10, true)) {
+			try (QueryBudget inner = QueryBudget.open("inner", 10, 10, true)) {
+				inspector.inspect("select 1");
+				assertThat(inner.statements()).isEqualTo(1);
+			}
+			inspector.inspect("select 1");
+
+			assertThat(outer.statements()).isEqualTo(1);
+		}
+	}
+
+}
@@ -0,0 +1,54 @@
+package com.ecommerce.sportscenter.replica;
+
+import com.ecommerce.sportscenter.concurrency.ConnectionLimitingDataSource;
+import com.ecommerce.sportscenter.concurrency.VirtualThreadConfig;
+import com.ecommerce.sportscenter.concurrency.VirtualThreadProperties;
+import com.ecommerce.sportscenter.replica.ReplicaRoutingDataSource.Replica;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReplicaConfigTest {
+
+	private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+			.withConfiguration(AutoConfigurations.of(DataSourceAutoConfiguration.class))
+			.withUserConfiguration(SettingsConfig.class, VirtualThreadConfig.class, ReplicaConfig.class)
+			.withPropertyValues("spring.threads.virtual.enabled=true",
+					"spring.datasource.url=jdbc:h2:mem:primary-" + UUID.randomUUID(),
+					"sportscenter.datasource.replicas.enabled=true",
+					"sportscenter.datasource.replicas.nodes[0].url=jdbc:h2:mem:replica-" + UUID.randomUUID(),
+					"sportscenter.datasource.replicas.maximum-pool-size=3",
+					"sportscenter.datasource.replicas.lag-query=select 0");
+
+	@Test
+	void limitsThePrimaryAndEachReplicaPoolOnItsOwn() {
+		contextRunner.run(context -> {
+			DataSource dataSource = context.getBean(DataSource.class);
+			assertThat(dataSource).isInstanceOf(ReadWriteSplittingDataSource.class);
+
+			LazyConnectionDataSourceProxy proxy =
+					(LazyConnectionDataSourceProxy) ((ReadWriteSplittingDataSource) dataSource).getTargetDataSource();
+			assertThat(proxy.getTargetDataSource()).isInstanceOfSatisfying(ConnectionLimitingDataSource.class,
+					primary -> assertThat(primary.availablePermits()).isEqualTo(10));
+
+			Replica replica = dataSource.unwrap(ReplicaRoutingDataSource.class).replicas().get(0);
+			assertThat(replica.dataSource()).isInstanceOfSatisfying(ConnectionLimitingDataSource.class,
+					pool -> assertThat(pool.availablePermits()).isEqualTo(3));
+			assertThat(replica.pool()).isNotNull();
+			assertThat(replica.usable()).isTrue();
+		});
+	}
+
+	@EnableConfigurationProperties({VirtualThreadProperties.class, ReplicaProperties.class})
+	static class SettingsConfig {
+	}
+
+}
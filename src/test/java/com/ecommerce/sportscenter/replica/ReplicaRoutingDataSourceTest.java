@@ -0,0 +1,119 @@
+package com.ecommerce.sportscenter.replica;
+
+import com.ecommerce.sportscenter.replica.ReplicaRoutingDataSource.Replica;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Statement;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+class ReplicaRoutingDataSourceTest {
+
+	private static final String LAG_QUERY = "select seconds from replica_lag";
+
+	private final JdbcDataSource primary = database("primary");
+	private final JdbcDataSource replica = database("replica");
+	private ReplicaRoutingDataSource routing;
+	private LazyConnectionDataSourceProxy dataSource;
+
+	@BeforeEach
+	void setUp() {
+		routing = routing(List.of(new Replica("replica", replica)));
+		routing.checkHealth();
+	}
+
+	@Test
+	void sendsReadOnlyWorkToTheReplicaAndWritesToThePrimary() throws SQLException {
+		assertThat(serverOf(true)).isEqualTo("replica");
+		assertThat(serverOf(false)).isEqualTo("primary");
+		assertThat(routing.primaryFallbacks()).isZero();
+	}
+
+	@Test
+	void fallsBackToThePrimaryWhenTheReplicaLags() throws SQLException {
+		new JdbcTemplate(replica).update("update replica_lag set seconds = 30");
+		routing.checkHealth();
+
+		assertThat(routing.replicas().get(0).usable()).isFalse();
+		assertThat(routing.replicas().get(0).lagSeconds()).isEqualTo(30);
+		assertThat(serverOf(true)).isEqualTo("primary");
+
+		new JdbcTemplate(replica).update("update replica_lag set seconds = 1");
+		routing.checkHealth();
+		assertThat(serverOf(true)).isEqualTo("replica");
+	}
+
+	@Test
+	void skipsUnreachableReplicas() throws SQLException {
+		JdbcDataSource down = new JdbcDataSource();
+		down.setURL("jdbc:h2:mem:" + UUID.randomUUID() + ";IFEXISTS=TRUE");
+		routing = routing(List.of(new Replica("down", down), new Replica("replica", replica)));
+		routing.checkHealth();
+
+		for (int i = 0; i < 4; i++) {
+			assertThat(serverOf(true)).isEqualTo("replica");
+		}
+		assertThat(routing.replicas().get(0).usable()).isFalse();
+	}
+
+	@Test
+	void pinnedReadsGoToThePrimary() throws SQLException {
+		routing.pinPrimary(Duration.ofSeconds(10));
+
+		assertThat(serverOf(true)).isEqualTo("primary");
+		assertThat(routing.primaryFallbacks()).isEqualTo(1);
+	}
+
+	@Test
+	void refusesConnectionsForOtherCredentials() {
+		assertThatExceptionOfType(SQLFeatureNotSupportedException.class)
+				.isThrownBy(() -> routing.getConnection("other", "secret"));
+		assertThat(routing.replicas().get(0).usable()).isTrue();
+	}
+
+	private ReplicaRoutingDataSource routing(List<Replica> replicas) {
+		ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(replicas, primary, LAG_QUERY,
+				Duration.ofSeconds(5), Clock.fixed(Instant.parse("2024-06-01T00:00:00Z"), ZoneOffset.UTC));
+		dataSource = new LazyConnectionDataSourceProxy(primary);
+		dataSource.setReadOnlyDataSource(routing);
+		return routing;
+	}
+
+	private String serverOf(boolean readOnly) throws SQLException {
+		try (Connection connection = dataSource.getConnection()) {
+			connection.setReadOnly(readOnly);
+			try (Statement statement = connection.createStatement();
+					ResultSet result = statement.executeQuery("select name from server")) {
+				result.next();
+				return result.getString(1);
+			}
+		}
+	}
+
+	private static JdbcDataSource database(String name) {
+		JdbcDataSource dataSource = new JdbcDataSource();
+		dataSource.setURL("jdbc:h2:mem:" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+		JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+		jdbc.execute("create table server (name varchar(20))");
+		jdbc.update("insert into server values (?)", name);
+		jdbc.execute("create table replica_lag (seconds int)");
+		jdbc.update("insert into replica_lag values (0)");
+		return dataSource;
+	}
+
+}
@@ -0,0 +1,88 @@
+package com.ecommerce.sportscenter.repository;
+
+import com.ecommerce.sportscenter.entity.Brand;
+import com.ecommerce.sportscenter.entity.Product;
+import com.ecommerce.sportscenter.entity.Type;
+import com.ecommerce.sportscenter.pagination.KeysetRow;
+import com.ecommerce.sportscenter.pagination.ProductCursor;
+import com.ecommerce.sportscenter.pagination.ProductSortField;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Sort;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+class ProductKeysetPaginationTest {
+
+	@Autowired
+	private ProductRepository productRepository;
+
+	@Autowired
+	private BrandRepository brandRepository;
+
+	@Autowired
+	private TypeRepository typeRepository;
+
+	private final List<Product> products = new ArrayList<>();
+
+	@BeforeEach
+	void setUp() {
+		Brand brand = brandRepository.save(Brand.builder().name("Brand").build());
+		Type type = typeRepository.save(Type.builder().name("Type").build());
+		// Repeated prices force the id tie-breaker to do its job.
+		long[] prices = {500, 100, 300, 100, 500, 200, 300, 100};
+		for (int i = 0; i < prices.length; i++) {
+			products.add(productRepository.save(Product.builder()
+					.name("Product " + i)
+					.price(prices[i])
+					.brand(brand)
+					.type(type)
+					.build()));
+		}
+	}
+
+	@Test
+	void walksEveryProductExactlyOnceInPriceOrder() {
+		assertThat(walk(ProductSortField.PRICE, Sort.Direction.ASC, 3)).containsExactlyElementsOf(products.stream()
+				.sorted(Comparator.comparing(Product::getPrice).thenComparing(Product::getId))
+				.map(Product::getId)
+				.toList());
+	}
+
+	@Test
+	void walksDescendingWithTies() {
+		assertThat(walk(ProductSortField.PRICE, Sort.Direction.DESC, 2)).containsExactlyElementsOf(products.stream()
+				.sorted(Comparator.comparing(Product::getPrice).thenComparing(Product::getId).reversed())
+				.map(Product::getId)
+				.toList());
+	}
+
+	@Test
+	void walksById() {
+		assertThat(walk(ProductSortField.ID, Sort.Direction.ASC, 5))
+				.containsExactlyElementsOf(products.stream().map(Product::getId).sorted().toList());
+	}
+
+	private List<Integer> walk(ProductSortField field, Sort.Direction direction, int size) {
+		List<Integer> ids = new ArrayList<>();
+		ProductCursor cursor = null;
+		List<KeysetRow> page;
+		do {
+			page = productRepository.findIdsAfter(field, direction, cursor, size);
+			page.forEach(row -> ids.add(row.id()));
+			if (!page.isEmpty()) {
+				KeysetRow last = page.get(page.size() - 1);
+				cursor = new ProductCursor(field, direction, last.sortValue(), last.id());
+			}
+		} while (page.size() == size);
+		return ids;
+	}
+
+}
@@ -0,0 +1,114 @@
+package com.ecommerce.sportscenter.repository;
+
+import com.ecommerce.sportscenter.entity.Brand;
+import com.ecommerce.sportscenter.entity.Product;
+import com.ecommerce.sportscenter.entity.Type;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Not transactional: the caches are only filled and trusted once writes have committed.
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ReferenceDataCacheTest {
+
+	@Autowired
+	private ProductRepository productRepository;
+
+	@Autowired
+	private BrandRepository brandRepository;
+
+	@Autowired
+	private TypeRepository typeRepository;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	private Statistics statistics;
+	private final List<Product> products = new ArrayList<>();
+
+	@BeforeEach
+	void setUp() {
+		statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		statistics.setStatisticsEnabled(true);
+		Brand brand = brandRepository.save(Brand.builder().name("Brand").build());
+		Type type = typeRepository.save(Type.builder().name("Type").build());
+		for (int i = 0; i < 3; i++) {
+			products.add(productRepository.save(Product.builder()
+					.name("Product " + i)
+					.price(1000L)
+					.brand(brand)
+					.type(type)
+					.build()));
+		}
+	}
+
+	@AfterEach
+	void tearDown() {
+		productRepository.deleteAllInBatch();
+		brandRepository.deleteAll();
+		typeRepository.deleteAll();
+	}
+
+	@Test
+	void resolvesProductReferencesWithoutQueryingThem() {
+		statistics.clear();
+
+		String references = new TransactionTemplate(transactionManager).execute(status -> {
+			Product product = productRepository.findById(products.get(1).getId()).orElseThrow();
+			return product.getBrand().getName() + "/" + product.getType().getName();
+		});
+
+		assertThat(references).isEqualTo("Brand/Type");
+		assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+		assertThat(statistics.getDomainDataRegionStatistics("brands").getHitCount()).isEqualTo(1);
+	}
+
+	@Test
+	void answersReferenceListsFromTheQueryCache() {
+		assertThat(brandRepository.findAll()).extracting(Brand::getName).containsExactly("Brand");
+		statistics.clear();
+
+		assertThat(brandRepository.findAll()).extracting(Brand::getName).containsExactly("Brand");
+
+		assertThat(statistics.getPrepareStatementCount()).isZero();
+		assertThat(statistics.getQueryCacheHitCount()).isEqualTo(1);
+	}
+
+	@Test
+	void invalidatesCachedListsOnWrite() {
+		brandRepository.findAll();
+		brandRepository.save(Brand.builder().name("Other").build());
+
+		assertThat(brandRepository.findAll()).extracting(Brand::getName).containsExactlyInAnyOrder("Brand", "Other");
+	}
+
+	@Test
+	void findsReferencesByNameFromTheNaturalIdCache() {
+		assertThat(typeRepository.findByNaturalId("Type")).isPresent();
+		statistics.clear();
+
+		assertThat(typeRepository.findByNaturalId("Type")).map(Type::getName).contains("Type");
+		assertThat(typeRepository.findByNaturalId("Missing")).isEmpty();
+
+		assertThat(statistics.getNaturalIdCacheHitCount()).isEqualTo(1);
+	}
+
+}
@@ -0,0 +1,70 @@
+package com.ecommerce.sportscenter.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InvertedIndexTest {
+
+	private final TextAnalyzer analyzer = new TextAnalyzer();
+	private final InvertedIndex index = new InvertedIndex();
+
+	@Test
+	void analyzerStemsAndDropsStopWords() {
+		assertThat(analyzer.analyze("The Running Shoes, for trail-runners!"))
+				.containsExactly("run", "shoe", "trail", "runner");
+	}
+
+	@Test
+	void ranksRarerAndMoreFrequentTermsHigher() {
+		add(1, "trail running shoe");
+		add(2, "road running shoe");
+		add(3, "trail trail jacket");
+		add(4, "gym bag");
+
+		List<SearchHit> hits = index.search(analyzer.analyze("trail shoes"), 10);
+
+		assertThat(hits).extracting(SearchHit::productId).containsExactly(1, 3, 2);
+		assertThat(hits.get(0).score()).isGreaterThan(hits.get(1).score());
+	}
+
+	@Test
+	void limitKeepsBestHits() {
+		for (int id = 0; id < 50; id++) {
+			add(id, id % 10 == 0 ? "ball ball ball" : "ball");
+		}
+
+		assertThat(index.search(List.of("ball"), 3)).extracting(SearchHit::productId).containsExactly(0, 10, 20);
+	}
+
+	@Test
+	void reindexReplacesOldPostings() {
+		add(7, "blue football");
+		add(7, "red basketball");
+
+		assertThat(index.search(analyzer.analyze("football"), 10)).isEmpty();
+		assertThat(index.search(analyzer.analyze("basketball"), 10)).extracting(SearchHit::productId).containsExactly(7);
+		assertThat(index.size()).isEqualTo(1);
+	}
+
+	@Test
+	void removeDropsDocument() {
+		add(1, "tennis racket");
+		add(2, "tennis ball");
+
+		index.remove(1);
+
+		assertThat(index.search(analyzer.analyze("tennis"), 10)).extracting(SearchHit::productId).containsExactly(2);
+	}
+
+	private void add(int id, String text) {
+		Map<String, Integer> frequencies = new HashMap<>();
+		analyzer.analyze(text).forEach(term -> frequencies.merge(term, 1, Integer::sum));
+		index.index(id, frequencies);
+	}
+
+}